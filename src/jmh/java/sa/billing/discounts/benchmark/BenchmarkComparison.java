@@ -0,0 +1,118 @@
+package sa.billing.discounts.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files and prints one row per benchmark and parameter set with the
+ * score change and the normalized allocation change from {@code -prof gc}. A row is a regression
+ * when it is worse by more than the threshold and by more than the combined score error. The
+ * process exits with status 1 if any row regressed, so it can gate a build.
+ *
+ * <p>Usage: {@code BenchmarkComparison <baseline.json> <current.json> [thresholdPercent]}
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Result> baseline = read(mapper.readTree(Path.of(args[0]).toFile()));
+        Map<String, Result> current = read(mapper.readTree(Path.of(args[1]).toFile()));
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-90s %14s %14s %9s %16s%n", "benchmark", "baseline", "current", "change", "alloc B/op");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-90s %14s %14.3f %9s %16s%n",
+                        entry.getKey(), "-", now.score, "new", allocation(null, now));
+                continue;
+            }
+            double change = (now.score - before.score) / before.score * 100.0;
+            // Throughput regresses downwards, every time-based mode regresses upwards
+            double worsening = now.higherIsBetter ? -change : change;
+            boolean regressed = worsening > threshold
+                    && Math.abs(now.score - before.score) > before.error + now.error;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-90s %14.3f %14.3f %+8.1f%% %16s%s%n",
+                    entry.getKey(), before.score, now.score, change, allocation(before, now),
+                    regressed ? "  REGRESSION" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf(Locale.ROOT, "%-90s %14.3f %14s %9s%n", key, baseline.get(key).score, "-", "missing");
+            }
+        }
+        System.out.printf(Locale.ROOT, "%n%d regression(s) above %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static String allocation(Result before, Result now) {
+        if (now.allocatedBytes < 0) {
+            return "-";
+        }
+        if (before == null || before.allocatedBytes < 0) {
+            return String.format(Locale.ROOT, "%.0f", now.allocatedBytes);
+        }
+        return String.format(Locale.ROOT, "%.0f -> %.0f", before.allocatedBytes, now.allocatedBytes);
+    }
+
+    private static Map<String, Result> read(JsonNode results) {
+        Map<String, Result> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            String benchmark = result.path("benchmark").asText();
+            String shortName = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            String key = params.isEmpty() ? shortName : shortName + " " + params;
+            JsonNode primary = result.path("primaryMetric");
+            byKey.put(key, new Result(
+                    primary.path("score").asDouble(),
+                    primary.path("scoreError").isNumber() ? primary.path("scoreError").asDouble() : 0.0,
+                    "thrpt".equals(result.path("mode").asText()),
+                    allocatedBytes(result.path("secondaryMetrics"))));
+        }
+        return byKey;
+    }
+
+    private static double allocatedBytes(JsonNode secondaryMetrics) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = secondaryMetrics.fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            // Older JMH versions prefix profiler metrics with a middle dot
+            if (metric.getKey().replace("·", "").equals(ALLOCATION_METRIC)) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return -1;
+    }
+
+    private record Result(double score, double error, boolean higherIsBetter, double allocatedBytes) {
+    }
+}
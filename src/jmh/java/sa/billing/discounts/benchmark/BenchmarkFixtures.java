@@ -0,0 +1,71 @@
+package sa.billing.discounts.benchmark;
+
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic customers, catalogues and carts shared by the domain and service benchmarks
+final class BenchmarkFixtures {
+
+    // Benchmark @Param values; LOYAL is a regular customer registered long enough ago to get the loyalty discount
+    static final String EMPLOYEE = "EMPLOYEE";
+    static final String AFFILIATE = "AFFILIATE";
+    static final String LOYAL = "LOYAL";
+    static final String REGULAR = "REGULAR";
+
+    private BenchmarkFixtures() {
+    }
+
+    static Customer customer(String profile) {
+        LocalDateTime longAgo = LocalDateTime.now().minusYears(3);
+        Customer customer = switch (profile) {
+            case EMPLOYEE -> Customer.createEmployee("Employee", "employee@store.com", longAgo);
+            case AFFILIATE -> Customer.createAffiliate("Affiliate", "affiliate@store.com", longAgo);
+            case LOYAL -> Customer.createRegular("Loyal", "loyal@store.com", longAgo);
+            case REGULAR -> Customer.createRegular("Regular", "regular@store.com", LocalDateTime.now());
+            default -> throw new IllegalArgumentException("Unknown customer profile: " + profile);
+        };
+        return withId(customer, profile.toLowerCase());
+    }
+
+    static List<Product> catalogue(int size) {
+        Random random = new Random(7);
+        ProductCategory[] categories = ProductCategory.values();
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Money price = Money.of(BigDecimal.valueOf(100 + random.nextInt(50_000), 2));
+            products.add(withId(Product.create("product " + i, "", price, categories[i % categories.length]),
+                    String.format("product-%06d", i)));
+        }
+        return products;
+    }
+
+    static List<BillItem> cart(List<Product> catalogue, int itemCount) {
+        Random random = new Random(42);
+        List<BillItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(BillItem.create(catalogue.get(random.nextInt(catalogue.size())), 1 + random.nextInt(9)));
+        }
+        return items;
+    }
+
+    static <T> T withId(T entity, String id) {
+        try {
+            Field idField = entity.getClass().getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not set ID for benchmark fixture", e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package sa.billing.discounts.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.bill.BillTotals;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Sequential vs fork-join aggregation per line count; the crossover picks billing.aggregation.parallel-threshold
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BillAggregationBenchmark {
+
+    @Param({"100", "1000", "5000", "10000", "50000", "200000"})
+    private int itemCount;
+
+    private List<BillItem> items;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ProductCategory[] categories = ProductCategory.values();
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Money price = Money.of(BigDecimal.valueOf(1 + random.nextInt(100_000), 2));
+            Product product = Product.create("product " + i, "", price, categories[i % categories.length]);
+            items.add(BillItem.create(product, 1 + random.nextInt(20)));
+        }
+    }
+
+    @Benchmark
+    public BillTotals sequential() {
+        return BillTotals.sequential(items);
+    }
+
+    @Benchmark
+    public BillTotals parallel() {
+        return BillTotals.parallel(items);
+    }
+}
@@ -0,0 +1,74 @@
+package sa.billing.discounts.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryCustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end service cost with lookups served from memory, so the numbers exclude MongoDB round trips
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BillCalculationBenchmark {
+
+    @Param({"1", "50", "1000"})
+    private int itemCount;
+
+    @Param({BenchmarkFixtures.EMPLOYEE, BenchmarkFixtures.AFFILIATE, BenchmarkFixtures.LOYAL, BenchmarkFixtures.REGULAR})
+    private String customerType;
+
+    private BillCalculationService service;
+    private BillCalculationRequest request;
+
+    @Setup
+    public void setUp() {
+        Customer customer = BenchmarkFixtures.customer(customerType);
+        List<Product> catalogue = BenchmarkFixtures.catalogue(500);
+        InMemoryCustomerRepository customers = new InMemoryCustomerRepository();
+        customers.save(customer);
+        InMemoryProductRepository products = new InMemoryProductRepository();
+        catalogue.forEach(products::save);
+        service = BillCalculationService.builder(customers, products).build();
+
+        List<BillItemRequest> lines = new ArrayList<>(itemCount);
+        for (BillItem item : BenchmarkFixtures.cart(catalogue, itemCount)) {
+            lines.add(new BillItemRequest(item.getProduct().getId(), item.getQuantity()));
+        }
+        request = new BillCalculationRequest(customer.getId(), lines);
+    }
+
+    @Benchmark
+    public BillCalculationResponse calculate() {
+        return service.calculateBillDiscount(request);
+    }
+
+    @Benchmark
+    public BillCalculationSummaryResponse summary() {
+        return service.calculateBillSummary(request);
+    }
+}
@@ -0,0 +1,100 @@
+package sa.billing.discounts.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sa.billing.discounts.application.config.DiscountConfig;
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillBasedDiscount;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.bill.BillTotals;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.discount.AffiliateDiscount;
+import sa.billing.discounts.domain.model.discount.EmployeeDiscount;
+import sa.billing.discounts.domain.model.discount.LoyaltyDiscount;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Bill construction and each discount rule; the rules read the bill's cached totals, so they time the rule alone
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscountBenchmark {
+
+    // Read once, so reading the clock is not part of what is measured
+    private static final LocalDateTime CREATED_AT = LocalDateTime.now();
+
+    @Param({"1", "50", "1000"})
+    private int itemCount;
+
+    @Param({BenchmarkFixtures.EMPLOYEE, BenchmarkFixtures.AFFILIATE, BenchmarkFixtures.LOYAL, BenchmarkFixtures.REGULAR})
+    private String customerType;
+
+    private Customer customer;
+    private List<BillItem> items;
+    private Bill bill;
+    private BillTotals totals;
+    private EmployeeDiscount employeeDiscount;
+    private AffiliateDiscount affiliateDiscount;
+    private LoyaltyDiscount loyaltyDiscount;
+    private BillBasedDiscount billBasedDiscount;
+
+    @Setup
+    public void setUp() {
+        DiscountConfig config = new DiscountConfig();
+        employeeDiscount = new EmployeeDiscount(config.getEmployeePercentage());
+        affiliateDiscount = new AffiliateDiscount(config.getAffiliatePercentage());
+        loyaltyDiscount = new LoyaltyDiscount(config.getLoyaltyPercentage());
+        billBasedDiscount = new BillBasedDiscount(config.getBillThreshold(), config.getBillDiscountAmount());
+
+        customer = BenchmarkFixtures.customer(customerType);
+        items = BenchmarkFixtures.cart(BenchmarkFixtures.catalogue(200), itemCount);
+        bill = Bill.create(customer.getId(), items, CREATED_AT);
+        totals = bill.getTotals();
+    }
+
+    @Benchmark
+    public BillTotals createBill() {
+        return Bill.create(customer.getId(), items, CREATED_AT).getTotals();
+    }
+
+    @Benchmark
+    public Money employeeDiscount() {
+        return employeeDiscount.calculateDiscount(bill, customer);
+    }
+
+    @Benchmark
+    public Money affiliateDiscount() {
+        return affiliateDiscount.calculateDiscount(bill, customer);
+    }
+
+    @Benchmark
+    public Money loyaltyDiscount() {
+        return loyaltyDiscount.calculateDiscount(bill, customer);
+    }
+
+    @Benchmark
+    public Money billBasedDiscount() {
+        return billBasedDiscount.calculateDiscount(bill, customer);
+    }
+
+    @Benchmark
+    public Money billBasedDiscountFromTotals() {
+        return billBasedDiscount.calculateDiscount(totals, customer, bill.getUpdatedAt());
+    }
+}
@@ -0,0 +1,73 @@
+package sa.billing.discounts.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.domain.model.valueobject.Percentage;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Single value-object operations; each one allocates at least the resulting Money
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private Money price;
+    private Money other;
+    private BigDecimal rawAmount;
+    private Percentage percentage;
+    private int quantity;
+
+    @Setup
+    public void setUp() {
+        price = Money.of("1234.56");
+        other = Money.of("78.90");
+        rawAmount = new BigDecimal("1234.5678");
+        percentage = Percentage.of(30);
+        quantity = 7;
+    }
+
+    @Benchmark
+    public Money of() {
+        return Money.of(rawAmount);
+    }
+
+    @Benchmark
+    public Money add() {
+        return price.add(other);
+    }
+
+    @Benchmark
+    public Money subtract() {
+        return price.subtract(other);
+    }
+
+    @Benchmark
+    public Money multiplyByQuantity() {
+        return price.multiply(quantity);
+    }
+
+    @Benchmark
+    public boolean compare() {
+        return price.isGreaterThanOrEqual(other);
+    }
+
+    @Benchmark
+    public Money percentageApplyTo() {
+        return percentage.applyTo(price);
+    }
+}
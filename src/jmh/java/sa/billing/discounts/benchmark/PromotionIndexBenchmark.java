@@ -0,0 +1,105 @@
+package sa.billing.discounts.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.discount.PromotionDiscount;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.promotion.Promotion;
+import sa.billing.discounts.domain.model.promotion.PromotionIndex;
+import sa.billing.discounts.domain.model.promotion.PromotionKind;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Pricing a 20-line cart against a year of scheduled promotions: interval index vs a scan of all of them
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromotionIndexBenchmark {
+
+    private static final Instant YEAR_START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Param({"10000", "100000"})
+    private int promotionCount;
+
+    private List<Promotion> promotions;
+    private PromotionIndex index;
+    private List<BillItem> cart;
+    private Instant at;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(43);
+        List<Product> catalogue = BenchmarkFixtures.catalogue(2_000);
+        ProductCategory[] categories = ProductCategory.values();
+        promotions = new ArrayList<>(promotionCount);
+        for (int i = 0; i < promotionCount; i++) {
+            // Mostly day-to-fortnight product deals, with a long-running category sale every tenth
+            Instant from = YEAR_START.plusSeconds(random.nextInt(365 * 24 * 3600));
+            String id = String.format("promotion-%06d", i);
+            Promotion promotion = i % 10 == 0
+                    ? Promotion.forCategory(id, categories[random.nextInt(categories.length)], PromotionKind.PERCENTAGE,
+                            BigDecimal.valueOf(5 + random.nextInt(20)), from, from.plus(Duration.ofDays(1 + random.nextInt(30))))
+                    : Promotion.forProduct(id, catalogue.get(random.nextInt(catalogue.size())).getId(), PromotionKind.FIXED_AMOUNT,
+                            BigDecimal.valueOf(50 + random.nextInt(500), 2), from, from.plus(Duration.ofDays(1 + random.nextInt(14))));
+            promotions.add(BenchmarkFixtures.withId(promotion, id));
+        }
+        index = PromotionIndex.of(promotions);
+        cart = BenchmarkFixtures.cart(catalogue, 20);
+        at = YEAR_START.plus(Duration.ofDays(180));
+    }
+
+    @Benchmark
+    public Money indexed() {
+        PromotionDiscount discount = new PromotionDiscount(index, at);
+        for (BillItem item : cart) {
+            discount.apply(item);
+        }
+        return discount.getAppliedAmount();
+    }
+
+    @Benchmark
+    public Money linearScan() {
+        Money applied = Money.zero();
+        for (BillItem item : cart) {
+            Money best = Money.zero();
+            for (Promotion promotion : promotions) {
+                if (promotion.isActiveAt(at) && promotion.appliesTo(item.getProduct())) {
+                    Money perUnit = promotion.discountPerUnit(item.getUnitPrice());
+                    if (perUnit.isGreaterThan(best)) {
+                        best = perUnit;
+                    }
+                }
+            }
+            applied = applied.add(best.multiply(item.getQuantity()));
+        }
+        return applied;
+    }
+
+    // What a promotion write costs readers: the next calculation rebuilds the index
+    @Benchmark
+    public PromotionIndex build() {
+        return PromotionIndex.of(promotions);
+    }
+}
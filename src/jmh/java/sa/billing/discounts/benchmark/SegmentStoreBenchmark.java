@@ -0,0 +1,74 @@
+package sa.billing.discounts.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.infrastructure.persistence.segment.SegmentBillRepository;
+
+import java.time.LocalDateTime;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Write rate of the edge bill store: one new bill per save, plus re-saves that leave garbage for compaction
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentStoreBenchmark {
+
+    // Read once, so reading the clock is not part of what is measured
+    private static final LocalDateTime CREATED_AT = LocalDateTime.now();
+
+    @Param({"5", "50"})
+    private int itemCount;
+
+    @Param({"false", "true"})
+    private boolean syncWrites;
+
+    private Path directory;
+    private SegmentBillRepository repository;
+    private List<Product> catalogue;
+    private Bill existing;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("segment-bench");
+        repository = new SegmentBillRepository(directory, 16 * 1024 * 1024, 0.5, syncWrites);
+        catalogue = BenchmarkFixtures.catalogue(500);
+        existing = repository.save(Bill.create("customer", BenchmarkFixtures.cart(catalogue, itemCount), CREATED_AT));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        repository.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Bill insert() {
+        return repository.save(Bill.create("customer", BenchmarkFixtures.cart(catalogue, itemCount), CREATED_AT));
+    }
+
+    @Benchmark
+    public Bill update() {
+        return repository.save(existing);
+    }
+}
@@ -0,0 +1,119 @@
+package sa.billing.discounts.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.BillItemResponse;
+import sa.billing.discounts.application.dto.CompactBillCalculationRequest;
+import sa.billing.discounts.infrastructure.serialization.BillCalculationCodec;
+import sa.billing.discounts.presentation.dto.ApiResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "50", "1000"})
+    private int itemCount;
+
+    @Param({"JSON", "CBOR"})
+    private BillCalculationCodec.Format format;
+
+    private ObjectWriter responseWriter;
+    private ObjectReader responseReader;
+    private ObjectReader requestReader;
+    private ObjectReader compactRequestReader;
+    private ApiResponse<BillCalculationResponse> response;
+    private byte[] encodedResponse;
+    private byte[] encodedRequest;
+    private byte[] encodedCompactRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper jsonMapper = mapperBuilder().build();
+        ObjectMapper cborMapper = mapperBuilder().factory(new CBORFactory()).build();
+        BillCalculationCodec codec = new BillCalculationCodec(jsonMapper, cborMapper);
+
+        responseWriter = codec.responseWriter(BillCalculationResponse.class, format);
+        requestReader = codec.reader(BillCalculationRequest.class, format);
+        compactRequestReader = codec.reader(CompactBillCalculationRequest.class, format);
+
+        List<BillItemRequest> itemRequests = new ArrayList<>(itemCount);
+        List<BillItemResponse> itemResponses = new ArrayList<>(itemCount);
+        ObjectNode compactRequest = jsonMapper.createObjectNode().put("customerId", "65a1b2c3d4e5f6a7b8c9d0e1");
+        ArrayNode compactItems = compactRequest.putArray("items");
+        for (int i = 0; i < itemCount; i++) {
+            String productId = String.format("65a1b2c3d4e5f6a7b8%06d", i);
+            itemRequests.add(new BillItemRequest(productId, 1 + i % 5));
+            compactItems.addArray().add(productId).add(1 + i % 5);
+            itemResponses.add(new BillItemResponse(productId, "product " + i, "ELECTRONICS", 1 + i % 5,
+                new BigDecimal("19.99"), new BigDecimal("19.99").multiply(BigDecimal.valueOf(1 + i % 5)), true));
+        }
+        response = ApiResponse.success("Bill calculated successfully", new BillCalculationResponse(
+            "65a1b2c3d4e5f6a7b8c9d0e1", itemResponses, new BigDecimal("1999.00"), new BigDecimal("599.70"),
+            "EMPLOYEE", new BigDecimal("95.00"), new BigDecimal("694.70"), new BigDecimal("1304.30")));
+
+        ObjectMapper mapper = format == BillCalculationCodec.Format.CBOR ? cborMapper : jsonMapper;
+        responseReader = mapper.readerFor(mapper.getTypeFactory()
+            .constructParametricType(ApiResponse.class, BillCalculationResponse.class));
+        encodedResponse = responseWriter.writeValueAsBytes(response);
+        encodedRequest = mapper.writeValueAsBytes(
+            new BillCalculationRequest("65a1b2c3d4e5f6a7b8c9d0e1", itemRequests));
+        encodedCompactRequest = mapper.writeValueAsBytes(compactRequest);
+    }
+
+    private static Jackson2ObjectMapperBuilder mapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws Exception {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ApiResponse<BillCalculationResponse> decodeResponse() throws Exception {
+        return responseReader.readValue(encodedResponse);
+    }
+
+    @Benchmark
+    public BillCalculationRequest decodeRequest() throws Exception {
+        return requestReader.readValue(encodedRequest);
+    }
+
+    @Benchmark
+    public CompactBillCalculationRequest decodeCompactRequest() throws Exception {
+        return compactRequestReader.readValue(encodedCompactRequest);
+    }
+}
@@ -0,0 +1,150 @@
+package sa.billing.discounts.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Replays scenario files against a running instance at a series of constant arrival rates and
+ * writes, per run, a percentile distribution for each rate ({@code latency-<rate>rps.hgrm}), the
+ * throughput/latency curve ({@code curve.csv}) and a Markdown summary ({@code report.md}).
+ *
+ * <pre>
+ * mvn -Pload test-compile exec:exec -Dload.args="--target http://localhost:8080 \
+ *     --scenarios src/load/scenarios/checkout-mix.jsonl --rates 100,200,400 --duration 30"
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI target = URI.create(options.getOrDefault("target", "http://localhost:8080"));
+        Pattern include = Pattern.compile(options.getOrDefault("include", ".*"));
+        int[] rates = Arrays.stream(options.getOrDefault("rates", "50,100,200").split(","))
+                .mapToInt(rate -> Integer.parseInt(rate.trim()))
+                .toArray();
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "10")));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+        Path out = Path.of(options.getOrDefault("out", "reports/load"))
+                .resolve(options.getOrDefault("label", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))));
+
+        ScenarioLoader loader = new ScenarioLoader();
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String file : options.getOrDefault("scenarios", "src/load/scenarios/checkout-mix.jsonl").split(",")) {
+            for (Scenario scenario : loader.load(Path.of(file.trim()))) {
+                if (include.matcher(scenario.method() + " " + scenario.path()).find()) {
+                    scenarios.add(scenario);
+                }
+            }
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("No scenarios matched --include " + include);
+        }
+        System.out.printf("Replaying %d scenario(s) against %s%n", scenarios.size(), target);
+        scenarios.forEach(scenario -> System.out.printf("  x%d %s%n", scenario.weight(), scenario.name()));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        OpenLoopRun run = new OpenLoopRun(client, target, scenarios, timeout, maxInFlight);
+        List<OpenLoopRun.Result> results = new ArrayList<>();
+        Files.createDirectories(out);
+        for (int rate : rates) {
+            System.out.printf("%n%d req/s: %ds warmup, %ds measured...%n", rate, warmup.toSeconds(), duration.toSeconds());
+            OpenLoopRun.Result result = run.run(rate, warmup, duration);
+            results.add(result);
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(out.resolve("latency-" + rate + "rps.hgrm")))) {
+                // Recorded in microseconds, reported in milliseconds
+                result.latencyMicros().outputPercentileDistribution(hgrm, 1000.0);
+            }
+            System.out.println(row(result));
+        }
+        writeCurve(out.resolve("curve.csv"), results);
+        writeReport(out.resolve("report.md"), target, scenarios, warmup, duration, results);
+        System.out.printf("%nReports written to %s%n", out);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got " + String.join(" ", args));
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String header() {
+        return "| target req/s | achieved req/s | requests | errors | dropped | p50 ms | p90 ms | p99 ms | p99.9 ms | max ms |";
+    }
+
+    private static String row(OpenLoopRun.Result result) {
+        Histogram histogram = result.latencyMicros();
+        StringBuilder row = new StringBuilder(String.format(Locale.ROOT, "| %d | %.1f | %d | %d | %d |",
+                result.targetRate(), result.achievedRate(), result.requests(), result.errors(), result.dropped()));
+        for (double percentile : PERCENTILES) {
+            row.append(String.format(Locale.ROOT, " %.2f |", millis(histogram, percentile)));
+        }
+        return row.append(String.format(Locale.ROOT, " %.2f |", histogram.getMaxValue() / 1000.0)).toString();
+    }
+
+    private static void writeCurve(Path file, List<OpenLoopRun.Result> results) throws IOException {
+        try (Writer csv = Files.newBufferedWriter(file)) {
+            csv.write("target_rps,achieved_rps,requests,errors,dropped,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+            for (OpenLoopRun.Result result : results) {
+                Histogram histogram = result.latencyMicros();
+                csv.write(String.format(Locale.ROOT, "%d,%.1f,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                        result.targetRate(), result.achievedRate(), result.requests(), result.errors(), result.dropped(),
+                        millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                        histogram.getMaxValue() / 1000.0));
+            }
+        }
+    }
+
+    private static void writeReport(Path file, URI target, List<Scenario> scenarios, Duration warmup, Duration duration,
+                                    List<OpenLoopRun.Result> results) throws IOException {
+        try (Writer report = Files.newBufferedWriter(file)) {
+            report.write("# Load test " + LocalDateTime.now().withNano(0) + "\n\n");
+            report.write("Target `" + target + "`, " + warmup.toSeconds() + "s warmup and "
+                    + duration.toSeconds() + "s measured per rate. Open-loop: latency is measured from each request's "
+                    + "scheduled start.\n\n");
+            report.write(header() + "\n|---|---|---|---|---|---|---|---|---|---|\n");
+            for (OpenLoopRun.Result result : results) {
+                report.write(row(result) + "\n");
+            }
+            report.write("\n## Scenarios\n\n");
+            for (Scenario scenario : scenarios) {
+                report.write("- x" + scenario.weight() + " " + scenario.name() + "\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package sa.billing.discounts.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives one constant arrival rate against the target. Requests are scheduled on a fixed timetable
+ * and sent without waiting for earlier responses, and each latency is measured from the request's
+ * scheduled start rather than from when it was actually sent. A slow server therefore shows up as
+ * higher latency instead of as fewer requests (no coordinated omission).
+ */
+final class OpenLoopRun {
+
+    record Result(int targetRate, Histogram latencyMicros, long requests, long errors, long dropped,
+                  double achievedRate, double measuredSeconds) {
+    }
+
+    private final HttpClient client;
+    private final URI target;
+    private final List<HttpRequest> schedule;
+    private final Duration timeout;
+    private final int maxInFlight;
+
+    OpenLoopRun(HttpClient client, URI target, List<Scenario> scenarios, Duration timeout, int maxInFlight) {
+        this.client = client;
+        this.target = target;
+        this.timeout = timeout;
+        this.maxInFlight = maxInFlight;
+        this.schedule = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            HttpRequest request = toRequest(scenario);
+            for (int i = 0; i < scenario.weight(); i++) {
+                schedule.add(request);
+            }
+        }
+    }
+
+    private HttpRequest toRequest(Scenario scenario) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(scenario.path())).timeout(timeout);
+        scenario.headers().forEach((name, value) -> {
+            if (!name.equalsIgnoreCase("Host") && !name.equalsIgnoreCase("Content-Length")) {
+                builder.header(name, value);
+            }
+        });
+        HttpRequest.BodyPublisher body = scenario.body() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(scenario.body());
+        return builder.method(scenario.method(), body).build();
+    }
+
+    Result run(int rate, Duration warmup, Duration duration) throws InterruptedException {
+        Recorder recorder = new Recorder(3);
+        LongAdder completed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LongAdder dropped = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long period = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * period;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureFrom;
+            // Past the in-flight cap the client itself would become the bottleneck, so count and skip
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(schedule.get((int) (i % schedule.size())), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        inFlight.decrementAndGet();
+                        if (!measured) {
+                            return;
+                        }
+                        recorder.recordValue(Math.max(1, (System.nanoTime() - intended) / 1_000));
+                        completed.increment();
+                        if (failure != null || response.statusCode() >= 400) {
+                            errors.increment();
+                        }
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        double seconds = duration.toNanos() / 1e9;
+        long requests = completed.sum();
+        return new Result(rate, recorder.getIntervalHistogram(), requests, errors.sum(), dropped.sum(),
+                (requests - errors.sum()) / seconds, seconds);
+    }
+}
@@ -0,0 +1,7 @@
+package sa.billing.discounts.load;
+
+import java.util.Map;
+
+// One request to replay; weight is how many slots it gets in each round of the schedule
+record Scenario(String name, String method, String path, Map<String, String> headers, String body, int weight) {
+}
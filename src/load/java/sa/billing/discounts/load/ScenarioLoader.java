@@ -0,0 +1,148 @@
+package sa.billing.discounts.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads replayable requests from IntelliJ/VS Code style {@code .http} files and from JSONL files with
+ * one {@code {"name", "method", "path", "headers", "body", "weight"}} object per line. Hosts in
+ * {@code .http} URLs are dropped so every request goes to the load target.
+ */
+final class ScenarioLoader {
+
+    private static final Pattern VARIABLE_DEFINITION = Pattern.compile("^@(\\w+)\\s*=\\s*(.*)$");
+    private static final Pattern VARIABLE_REFERENCE = Pattern.compile("\\{\\{(\\w+)}}");
+    private static final Pattern REQUEST_LINE = Pattern.compile("^(GET|POST|PUT|PATCH|DELETE|HEAD|OPTIONS)\\s+(\\S+).*$");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    List<Scenario> load(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".http")) {
+            return fromHttpFile(file);
+        } else if (name.endsWith(".jsonl")) {
+            return fromJsonLines(file);
+        }
+        throw new IllegalArgumentException("Unsupported scenario file (expected .http or .jsonl): " + file);
+    }
+
+    private List<Scenario> fromHttpFile(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        Map<String, String> variables = new HashMap<>();
+        List<Scenario> scenarios = new ArrayList<>();
+        List<String> block = new ArrayList<>();
+        for (String line : lines) {
+            if (line.startsWith("###")) {
+                addHttpBlock(file, block, variables, scenarios);
+                block.clear();
+                continue;
+            }
+            Matcher definition = VARIABLE_DEFINITION.matcher(line.trim());
+            if (definition.matches()) {
+                variables.put(definition.group(1), definition.group(2).trim());
+            } else {
+                block.add(line);
+            }
+        }
+        addHttpBlock(file, block, variables, scenarios);
+        return scenarios;
+    }
+
+    private static void addHttpBlock(Path file, List<String> block, Map<String, String> variables, List<Scenario> scenarios) {
+        int index = 0;
+        String method = null;
+        String path = null;
+        for (; index < block.size(); index++) {
+            String line = block.get(index).trim();
+            if (line.isEmpty() || line.startsWith("#") || line.startsWith("//")) {
+                continue;
+            }
+            Matcher request = REQUEST_LINE.matcher(substitute(line, variables));
+            if (!request.matches()) {
+                return;
+            }
+            method = request.group(1);
+            path = pathOf(request.group(2));
+            index++;
+            break;
+        }
+        if (method == null) {
+            return;
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (; index < block.size() && !block.get(index).isBlank(); index++) {
+            String line = block.get(index);
+            int colon = line.indexOf(':');
+            if (colon > 0 && !line.startsWith("#")) {
+                headers.put(line.substring(0, colon).trim(), substitute(line.substring(colon + 1).trim(), variables));
+            }
+        }
+        StringBuilder body = new StringBuilder();
+        for (; index < block.size(); index++) {
+            body.append(block.get(index)).append('\n');
+        }
+        String payload = substitute(body.toString().strip(), variables);
+        String name = file.getFileName() + "#" + (scenarios.size() + 1) + " " + method + " " + path;
+        scenarios.add(new Scenario(name, method, path, headers, payload.isEmpty() ? null : payload, 1));
+    }
+
+    private List<Scenario> fromJsonLines(Path file) throws IOException {
+        List<Scenario> scenarios = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(file)) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node = objectMapper.readTree(line);
+            String method = node.path("method").asText("GET");
+            String path = pathOf(node.path("path").asText());
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.path("headers").fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> header = fields.next();
+                headers.put(header.getKey(), header.getValue().asText());
+            }
+            JsonNode body = node.get("body");
+            String payload = null;
+            if (body != null && !body.isNull()) {
+                payload = body.isTextual() ? body.asText() : objectMapper.writeValueAsString(body);
+                headers.putIfAbsent("Content-Type", "application/json");
+            }
+            String name = node.path("name").asText(file.getFileName() + ":" + lineNumber + " " + method + " " + path);
+            scenarios.add(new Scenario(name, method, path, headers, payload, Math.max(1, node.path("weight").asInt(1))));
+        }
+        return scenarios;
+    }
+
+    private static String substitute(String text, Map<String, String> variables) {
+        Matcher reference = VARIABLE_REFERENCE.matcher(text);
+        StringBuilder result = new StringBuilder();
+        while (reference.find()) {
+            reference.appendReplacement(result, Matcher.quoteReplacement(
+                    variables.getOrDefault(reference.group(1), reference.group())));
+        }
+        return reference.appendTail(result).toString();
+    }
+
+    private static String pathOf(String url) {
+        if (!url.startsWith("http://") && !url.startsWith("https://")) {
+            return url.startsWith("/") ? url : "/" + url;
+        }
+        URI uri = URI.create(url);
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return uri.getRawQuery() != null ? path + "?" + uri.getRawQuery() : path;
+    }
+}
@@ -0,0 +1,25 @@
+package sa.billing.discounts.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import sa.billing.discounts.domain.model.bill.BillTotals;
+
+@Component
+@ConfigurationProperties(prefix = "billing.aggregation")
+public class AggregationConfig {
+    
+    private int parallelThreshold = BillTotals.DEFAULT_PARALLEL_THRESHOLD;
+    
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+    
+    // Checked at binding, so a bad value fails at startup rather than on the first large bill
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+}
@@ -0,0 +1,33 @@
+package sa.billing.discounts.application.config;
+
+import java.math.BigDecimal;
+
+/**
+ * Raw settings for one product category. {@code eligible} decides whether percentage discounts apply
+ * to the category at all; a percentage replaces the customer type's base rate on it. Any component may
+ * be {@code null}, meaning the built-in eligibility or the base rate.
+ */
+public record CategoryParameters(Boolean eligible,
+                                 BigDecimal employeePercentage,
+                                 BigDecimal affiliatePercentage,
+                                 BigDecimal loyaltyPercentage) {
+
+    public CategoryParameters orElse(CategoryParameters defaults) {
+        if (defaults == null) {
+            return this;
+        }
+        return new CategoryParameters(
+                eligible != null ? eligible : defaults.eligible,
+                employeePercentage != null ? employeePercentage : defaults.employeePercentage,
+                affiliatePercentage != null ? affiliatePercentage : defaults.affiliatePercentage,
+                loyaltyPercentage != null ? loyaltyPercentage : defaults.loyaltyPercentage);
+    }
+
+    boolean hasSameValuesAs(CategoryParameters other) {
+        return other != null
+                && (eligible == null ? other.eligible == null : eligible.equals(other.eligible))
+                && DiscountParameters.sameValue(employeePercentage, other.employeePercentage)
+                && DiscountParameters.sameValue(affiliatePercentage, other.affiliatePercentage)
+                && DiscountParameters.sameValue(loyaltyPercentage, other.loyaltyPercentage);
+    }
+}
@@ -0,0 +1,16 @@
+package sa.billing.discounts.application.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    // The one source of "now" for calculations, so tests can pin it and a request reads it once
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
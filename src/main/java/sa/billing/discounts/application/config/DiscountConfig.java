@@ -3,7 +3,11 @@ package sa.billing.discounts.application.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import sa.billing.discounts.domain.model.product.ProductCategory;
+
 import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Component
 @ConfigurationProperties(prefix = "discount")
@@ -14,6 +18,8 @@ public class DiscountConfig {
     private BigDecimal loyaltyPercentage = new BigDecimal("5");
     private BigDecimal billThreshold = new BigDecimal("100");
     private BigDecimal billDiscountAmount = new BigDecimal("5");
+    // Per-category eligibility and rate overrides, e.g. discount.categories.ELECTRONICS.affiliate-percentage=0
+    private Map<ProductCategory, CategoryParameters> categories = new EnumMap<>(ProductCategory.class);
     
     public BigDecimal getEmployeePercentage() {
         return employeePercentage;
@@ -54,4 +60,12 @@ public class DiscountConfig {
     public void setBillDiscountAmount(BigDecimal billDiscountAmount) {
         this.billDiscountAmount = billDiscountAmount;
     }
+    
+    public Map<ProductCategory, CategoryParameters> getCategories() {
+        return categories;
+    }
+    
+    public void setCategories(Map<ProductCategory, CategoryParameters> categories) {
+        this.categories = categories;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package sa.billing.discounts.application.config;
+
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+
+import sa.billing.discounts.domain.model.product.ProductCategory;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Raw discount settings as read from a source, before validation. Any component may be {@code null}
+ * when the source does not set it; {@link #orElse} fills those from another set of parameters.
+ * {@code categories} holds the per-category rules, merged category by category.
+ */
+public record DiscountParameters(BigDecimal employeePercentage,
+                                 BigDecimal affiliatePercentage,
+                                 BigDecimal loyaltyPercentage,
+                                 BigDecimal billThreshold,
+                                 BigDecimal billDiscountAmount,
+                                 Map<ProductCategory, CategoryParameters> categories) {
+
+    // The binder needs to be told which constructor to use once there is more than one
+    @ConstructorBinding
+    public DiscountParameters {
+        categories = categories == null || categories.isEmpty()
+                ? Map.of()
+                : Collections.unmodifiableMap(new EnumMap<>(categories));
+    }
+
+    public DiscountParameters(BigDecimal employeePercentage,
+                              BigDecimal affiliatePercentage,
+                              BigDecimal loyaltyPercentage,
+                              BigDecimal billThreshold,
+                              BigDecimal billDiscountAmount) {
+        this(employeePercentage, affiliatePercentage, loyaltyPercentage, billThreshold, billDiscountAmount, null);
+    }
+
+    public static DiscountParameters of(DiscountConfig config) {
+        return new DiscountParameters(
+                config.getEmployeePercentage(),
+                config.getAffiliatePercentage(),
+                config.getLoyaltyPercentage(),
+                config.getBillThreshold(),
+                config.getBillDiscountAmount(),
+                config.getCategories());
+    }
+
+    public DiscountParameters orElse(DiscountParameters defaults) {
+        Map<ProductCategory, CategoryParameters> merged = new EnumMap<>(ProductCategory.class);
+        merged.putAll(defaults.categories);
+        categories.forEach((category, rule) -> merged.put(category, rule.orElse(defaults.categories.get(category))));
+        return new DiscountParameters(
+                employeePercentage != null ? employeePercentage : defaults.employeePercentage,
+                affiliatePercentage != null ? affiliatePercentage : defaults.affiliatePercentage,
+                loyaltyPercentage != null ? loyaltyPercentage : defaults.loyaltyPercentage,
+                billThreshold != null ? billThreshold : defaults.billThreshold,
+                billDiscountAmount != null ? billDiscountAmount : defaults.billDiscountAmount,
+                merged);
+    }
+
+    public CategoryParameters category(ProductCategory category) {
+        return categories.get(category);
+    }
+
+    // Numeric comparison, so rewriting 30 as 30.00 in a file is not a change
+    boolean hasSameValuesAs(DiscountParameters other) {
+        return sameValue(employeePercentage, other.employeePercentage)
+                && sameValue(affiliatePercentage, other.affiliatePercentage)
+                && sameValue(loyaltyPercentage, other.loyaltyPercentage)
+                && sameValue(billThreshold, other.billThreshold)
+                && sameValue(billDiscountAmount, other.billDiscountAmount)
+                && categories.keySet().equals(other.categories.keySet())
+                && categories.entrySet().stream()
+                        .allMatch(entry -> entry.getValue().hasSameValuesAs(other.categories.get(entry.getKey())));
+    }
+
+    static boolean sameValue(BigDecimal left, BigDecimal right) {
+        return left == null ? right == null : right != null && left.compareTo(right) == 0;
+    }
+}
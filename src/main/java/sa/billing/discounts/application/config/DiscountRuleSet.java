@@ -0,0 +1,132 @@
+package sa.billing.discounts.application.config;
+
+import sa.billing.discounts.domain.model.bill.BillBasedDiscount;
+import sa.billing.discounts.domain.model.discount.AffiliateDiscount;
+import sa.billing.discounts.domain.model.discount.CategoryRates;
+import sa.billing.discounts.domain.model.discount.EmployeeDiscount;
+import sa.billing.discounts.domain.model.discount.LoyaltyDiscount;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * One validated, immutable generation of the discount rules, with the discount objects built once.
+ * A calculation takes a single rule set at its start and uses it throughout, so it never mixes
+ * values from two generations.
+ */
+public final class DiscountRuleSet {
+
+    private final long version;
+    private final String source;
+    private final LocalDateTime loadedAt;
+    private final DiscountParameters parameters;
+    private final Set<ProductCategory> eligibleCategories;
+    private final EmployeeDiscount employeeDiscount;
+    private final AffiliateDiscount affiliateDiscount;
+    private final LoyaltyDiscount loyaltyDiscount;
+    private final BillBasedDiscount billBasedDiscount;
+
+    private DiscountRuleSet(long version, String source, DiscountParameters parameters) {
+        this.version = version;
+        this.source = source;
+        this.loadedAt = LocalDateTime.now();
+        this.parameters = parameters;
+        // Percentage.of and Money.of reject out-of-range values here, before the set can be published
+        this.eligibleCategories = eligibleCategories(parameters);
+        BigDecimal employee = required(parameters.employeePercentage(), "employee-percentage");
+        BigDecimal affiliate = required(parameters.affiliatePercentage(), "affiliate-percentage");
+        BigDecimal loyalty = required(parameters.loyaltyPercentage(), "loyalty-percentage");
+        this.employeeDiscount = new EmployeeDiscount(employee,
+                categoryRates(employee, CategoryParameters::employeePercentage));
+        this.affiliateDiscount = new AffiliateDiscount(affiliate,
+                categoryRates(affiliate, CategoryParameters::affiliatePercentage));
+        this.loyaltyDiscount = new LoyaltyDiscount(loyalty,
+                categoryRates(loyalty, CategoryParameters::loyaltyPercentage));
+        BigDecimal threshold = required(parameters.billThreshold(), "bill-threshold");
+        if (threshold.signum() <= 0) {
+            throw new IllegalArgumentException("Discount bill-threshold must be positive: " + threshold);
+        }
+        this.billBasedDiscount = new BillBasedDiscount(threshold,
+                required(parameters.billDiscountAmount(), "bill-discount-amount"));
+    }
+
+    /**
+     * @throws IllegalArgumentException if a value is missing or out of range
+     */
+    public static DiscountRuleSet compile(long version, DiscountParameters parameters, String source) {
+        return new DiscountRuleSet(version, source, parameters);
+    }
+
+    private static Set<ProductCategory> eligibleCategories(DiscountParameters parameters) {
+        Set<ProductCategory> eligible = EnumSet.noneOf(ProductCategory.class);
+        for (ProductCategory category : ProductCategory.values()) {
+            CategoryParameters rule = parameters.category(category);
+            boolean byDefault = CategoryRates.isEligibleByDefault(category);
+            if (rule == null || rule.eligible() == null ? byDefault : rule.eligible()) {
+                eligible.add(category);
+            }
+        }
+        return eligible;
+    }
+
+    // The base rate on every eligible category unless the category sets its own for this customer type
+    private CategoryRates categoryRates(BigDecimal base, Function<CategoryParameters, BigDecimal> override) {
+        Map<ProductCategory, BigDecimal> rates = new EnumMap<>(ProductCategory.class);
+        for (ProductCategory category : eligibleCategories) {
+            CategoryParameters rule = parameters.category(category);
+            BigDecimal rate = rule != null ? override.apply(rule) : null;
+            rates.put(category, rate != null ? rate : base);
+        }
+        return CategoryRates.of(rates);
+    }
+
+    private static BigDecimal required(BigDecimal value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException("Discount " + name + " is required");
+        }
+        return value;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    public DiscountParameters getParameters() {
+        return parameters;
+    }
+
+    // Whether percentage discounts apply to the category at all, whatever the customer type's rate on it
+    public boolean isEligible(ProductCategory category) {
+        return eligibleCategories.contains(category);
+    }
+
+    public EmployeeDiscount getEmployeeDiscount() {
+        return employeeDiscount;
+    }
+
+    public AffiliateDiscount getAffiliateDiscount() {
+        return affiliateDiscount;
+    }
+
+    public LoyaltyDiscount getLoyaltyDiscount() {
+        return loyaltyDiscount;
+    }
+
+    public BillBasedDiscount getBillBasedDiscount() {
+        return billBasedDiscount;
+    }
+}
@@ -0,0 +1,50 @@
+package sa.billing.discounts.application.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The discount rule set currently in force. {@link DiscountConfig} provides version 1 at startup;
+ * {@link #reload} validates new values and swaps in the next generation. Readers only ever do a
+ * single reference read, so the calculation path takes no lock.
+ */
+@Component
+public class DiscountRules {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscountRules.class);
+    static final String STARTUP_SOURCE = "application properties";
+
+    // Values a reload falls back to for anything its source leaves out
+    private final DiscountParameters defaults;
+    private final AtomicReference<DiscountRuleSet> current;
+
+    public DiscountRules(DiscountConfig discountConfig) {
+        this.defaults = DiscountParameters.of(discountConfig);
+        this.current = new AtomicReference<>(DiscountRuleSet.compile(1, defaults, STARTUP_SOURCE));
+    }
+
+    public DiscountRuleSet current() {
+        return current.get();
+    }
+
+    /**
+     * Publishes the given values, with unset ones taken from the startup configuration, as the next
+     * version. Values equal to the active ones leave the current rule set in place.
+     *
+     * @throws IllegalArgumentException if a value is out of range; the active rule set is kept
+     */
+    public synchronized DiscountRuleSet reload(DiscountParameters overrides, String source) {
+        DiscountParameters parameters = overrides.orElse(defaults);
+        DiscountRuleSet active = current.get();
+        if (parameters.hasSameValuesAs(active.getParameters())) {
+            return active;
+        }
+        DiscountRuleSet next = DiscountRuleSet.compile(active.getVersion() + 1, parameters, source);
+        current.set(next);
+        logger.info("Discount rules version {} loaded from {}: {}", next.getVersion(), source, parameters);
+        return next;
+    }
+}
@@ -0,0 +1,32 @@
+package sa.billing.discounts.application.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import sa.billing.discounts.application.service.RollingSpendService;
+import sa.billing.discounts.domain.model.customer.LoyaltyPolicy;
+
+import java.util.Locale;
+
+@Configuration
+public class LoyaltyConfig {
+
+    /**
+     * {@code billing.loyalty.rule}: {@code tenure} (registered more than two years ago), {@code spend}
+     * (at least {@code billing.loyalty.spend-threshold} over the last twelve months) or {@code either}.
+     *
+     * @throws IllegalArgumentException for any other rule, so a typo fails at startup
+     */
+    @Bean
+    public LoyaltyPolicy loyaltyPolicy(@Value("${billing.loyalty.rule:tenure}") String rule,
+                                       RollingSpendService rollingSpendService) {
+        return switch (rule.trim().toLowerCase(Locale.ROOT)) {
+            case "tenure" -> LoyaltyPolicy.TENURE;
+            case "spend" -> rollingSpendService::isLoyal;
+            case "either" -> (customer, at) -> LoyaltyPolicy.TENURE.isLoyal(customer, at)
+                    || rollingSpendService.isLoyal(customer, at);
+            default -> throw new IllegalArgumentException("Unsupported loyalty rule: " + rule);
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package sa.billing.discounts.application.dto;
+
+import java.math.BigDecimal;
+
+// What one audience of a quote would pay; customerId is null when a customer type was quoted
+public class AudienceQuote {
+    private final String customerId;
+    private final String customerType;
+    private final String percentageDiscountType;
+    private final BigDecimal percentageBasedDiscount;
+    private final BigDecimal billBasedDiscount;
+    private final BigDecimal totalDiscount;
+    private final BigDecimal netAmount;
+
+    public AudienceQuote(String customerId, String customerType, String percentageDiscountType,
+                         BigDecimal percentageBasedDiscount, BigDecimal billBasedDiscount,
+                         BigDecimal totalDiscount, BigDecimal netAmount) {
+        this.customerId = customerId;
+        this.customerType = customerType;
+        this.percentageDiscountType = percentageDiscountType;
+        this.percentageBasedDiscount = percentageBasedDiscount;
+        this.billBasedDiscount = billBasedDiscount;
+        this.totalDiscount = totalDiscount;
+        this.netAmount = netAmount;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerType() {
+        return customerType;
+    }
+
+    public String getPercentageDiscountType() {
+        return percentageDiscountType;
+    }
+
+    public BigDecimal getPercentageBasedDiscount() {
+        return percentageBasedDiscount;
+    }
+
+    public BigDecimal getBillBasedDiscount() {
+        return billBasedDiscount;
+    }
+
+    public BigDecimal getTotalDiscount() {
+        return totalDiscount;
+    }
+
+    public BigDecimal getNetAmount() {
+        return netAmount;
+    }
+
+    @Override
+    public String toString() {
+        return "AudienceQuote{" +
+                "customerId='" + customerId + '\'' +
+                ", customerType='" + customerType + '\'' +
+                ", percentageBasedDiscount=" + percentageBasedDiscount +
+                ", billBasedDiscount=" + billBasedDiscount +
+                ", netAmount=" + netAmount +
+                '}';
+    }
+}
@@ -3,6 +3,7 @@ package sa.billing.discounts.application.dto;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.util.List;
 import java.util.Objects;
@@ -16,6 +17,10 @@ public class BillCalculationRequest {
     @Valid
     private List<BillItemRequest> items;
     
+    // Optional; priced into the calculation, redeemed only when a draft bill is finalized
+    @Size(max = 64, message = "Coupon code cannot be longer than 64 characters")
+    private String couponCode;
+    
     public BillCalculationRequest() {
     }
     
@@ -40,17 +45,26 @@ public class BillCalculationRequest {
         this.items = items;
     }
     
+    public String getCouponCode() {
+        return couponCode;
+    }
+    
+    public void setCouponCode(String couponCode) {
+        this.couponCode = couponCode;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         BillCalculationRequest that = (BillCalculationRequest) o;
-        return Objects.equals(customerId, that.customerId) && Objects.equals(items, that.items);
+        return Objects.equals(customerId, that.customerId) && Objects.equals(items, that.items)
+                && Objects.equals(couponCode, that.couponCode);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(customerId, items);
+        return Objects.hash(customerId, items, couponCode);
     }
     
     @Override
@@ -58,6 +72,7 @@ public class BillCalculationRequest {
         return "BillCalculationRequest{" +
                 "customerId='" + customerId + '\'' +
                 ", items=" + items +
+                ", couponCode='" + couponCode + '\'' +
                 '}';
     }
 }
\ No newline at end of file
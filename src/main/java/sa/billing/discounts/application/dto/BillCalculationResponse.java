@@ -14,10 +14,17 @@ public class BillCalculationResponse {
     private BigDecimal billBasedDiscount;
     private BigDecimal totalDiscount;
     private BigDecimal netAmount;
+    // The time the calculation ran at, the same one its promotions and loyalty check went by
     private LocalDateTime calculatedAt;
+    // Version of the discount rule set the amounts were calculated with
+    private long configVersion;
+    // Taken off line prices by promotions before the subtotal; not part of totalDiscount
+    private BigDecimal promotionDiscount = BigDecimal.ZERO.setScale(2);
+    // Coupon priced into this bill, if any, and what it took off after the other discounts; part of totalDiscount
+    private String couponCode;
+    private BigDecimal couponDiscount = BigDecimal.ZERO.setScale(2);
     
     public BillCalculationResponse() {
-        this.calculatedAt = LocalDateTime.now();
     }
     
     public BillCalculationResponse(String customerId, List<BillItemResponse> items, 
@@ -32,7 +39,6 @@ public class BillCalculationResponse {
         this.billBasedDiscount = billBasedDiscount;
         this.totalDiscount = totalDiscount;
         this.netAmount = netAmount;
-        this.calculatedAt = LocalDateTime.now();
     }
     
     public String getCustomerId() {
@@ -107,6 +113,38 @@ public class BillCalculationResponse {
         this.calculatedAt = calculatedAt;
     }
     
+    public long getConfigVersion() {
+        return configVersion;
+    }
+    
+    public void setConfigVersion(long configVersion) {
+        this.configVersion = configVersion;
+    }
+    
+    public BigDecimal getPromotionDiscount() {
+        return promotionDiscount;
+    }
+    
+    public void setPromotionDiscount(BigDecimal promotionDiscount) {
+        this.promotionDiscount = promotionDiscount;
+    }
+    
+    public String getCouponCode() {
+        return couponCode;
+    }
+    
+    public void setCouponCode(String couponCode) {
+        this.couponCode = couponCode;
+    }
+    
+    public BigDecimal getCouponDiscount() {
+        return couponDiscount;
+    }
+    
+    public void setCouponDiscount(BigDecimal couponDiscount) {
+        this.couponDiscount = couponDiscount;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -139,6 +177,10 @@ public class BillCalculationResponse {
                 ", totalDiscount=" + totalDiscount +
                 ", netAmount=" + netAmount +
                 ", calculatedAt=" + calculatedAt +
+                ", configVersion=" + configVersion +
+                ", promotionDiscount=" + promotionDiscount +
+                ", couponCode='" + couponCode + '\'' +
+                ", couponDiscount=" + couponDiscount +
                 '}';
     }
 }
\ No newline at end of file
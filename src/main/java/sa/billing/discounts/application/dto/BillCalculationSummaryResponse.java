@@ -0,0 +1,174 @@
+package sa.billing.discounts.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class BillCalculationSummaryResponse {
+    private String customerId;
+    private BigDecimal subtotal;
+    private BigDecimal percentageBasedDiscount;
+    private String percentageDiscountType;
+    private BigDecimal billBasedDiscount;
+    private BigDecimal totalDiscount;
+    private BigDecimal netAmount;
+    // The time the calculation ran at, the same one its promotions and loyalty check went by
+    private LocalDateTime calculatedAt;
+    // Version of the discount rule set the amounts were calculated with
+    private long configVersion;
+    // Taken off line prices by promotions before the subtotal; not part of totalDiscount
+    private BigDecimal promotionDiscount = BigDecimal.ZERO.setScale(2);
+    // Coupon priced into this bill, if any, and what it took off after the other discounts; part of totalDiscount
+    private String couponCode;
+    private BigDecimal couponDiscount = BigDecimal.ZERO.setScale(2);
+
+    public BillCalculationSummaryResponse() {
+    }
+
+    public BillCalculationSummaryResponse(String customerId, BigDecimal subtotal,
+                                        BigDecimal percentageBasedDiscount, String percentageDiscountType,
+                                        BigDecimal billBasedDiscount, BigDecimal totalDiscount,
+                                        BigDecimal netAmount) {
+        this.customerId = customerId;
+        this.subtotal = subtotal;
+        this.percentageBasedDiscount = percentageBasedDiscount;
+        this.percentageDiscountType = percentageDiscountType;
+        this.billBasedDiscount = billBasedDiscount;
+        this.totalDiscount = totalDiscount;
+        this.netAmount = netAmount;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+    }
+
+    public BigDecimal getPercentageBasedDiscount() {
+        return percentageBasedDiscount;
+    }
+
+    public void setPercentageBasedDiscount(BigDecimal percentageBasedDiscount) {
+        this.percentageBasedDiscount = percentageBasedDiscount;
+    }
+
+    public String getPercentageDiscountType() {
+        return percentageDiscountType;
+    }
+
+    public void setPercentageDiscountType(String percentageDiscountType) {
+        this.percentageDiscountType = percentageDiscountType;
+    }
+
+    public BigDecimal getBillBasedDiscount() {
+        return billBasedDiscount;
+    }
+
+    public void setBillBasedDiscount(BigDecimal billBasedDiscount) {
+        this.billBasedDiscount = billBasedDiscount;
+    }
+
+    public BigDecimal getTotalDiscount() {
+        return totalDiscount;
+    }
+
+    public void setTotalDiscount(BigDecimal totalDiscount) {
+        this.totalDiscount = totalDiscount;
+    }
+
+    public BigDecimal getNetAmount() {
+        return netAmount;
+    }
+
+    public void setNetAmount(BigDecimal netAmount) {
+        this.netAmount = netAmount;
+    }
+
+    public LocalDateTime getCalculatedAt() {
+        return calculatedAt;
+    }
+
+    public void setCalculatedAt(LocalDateTime calculatedAt) {
+        this.calculatedAt = calculatedAt;
+    }
+
+    public long getConfigVersion() {
+        return configVersion;
+    }
+
+    public void setConfigVersion(long configVersion) {
+        this.configVersion = configVersion;
+    }
+
+    public BigDecimal getPromotionDiscount() {
+        return promotionDiscount;
+    }
+
+    public void setPromotionDiscount(BigDecimal promotionDiscount) {
+        this.promotionDiscount = promotionDiscount;
+    }
+    
+    public String getCouponCode() {
+        return couponCode;
+    }
+    
+    public void setCouponCode(String couponCode) {
+        this.couponCode = couponCode;
+    }
+    
+    public BigDecimal getCouponDiscount() {
+        return couponDiscount;
+    }
+    
+    public void setCouponDiscount(BigDecimal couponDiscount) {
+        this.couponDiscount = couponDiscount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BillCalculationSummaryResponse that = (BillCalculationSummaryResponse) o;
+        return Objects.equals(customerId, that.customerId) &&
+               Objects.equals(subtotal, that.subtotal) &&
+               Objects.equals(percentageBasedDiscount, that.percentageBasedDiscount) &&
+               Objects.equals(percentageDiscountType, that.percentageDiscountType) &&
+               Objects.equals(billBasedDiscount, that.billBasedDiscount) &&
+               Objects.equals(totalDiscount, that.totalDiscount) &&
+               Objects.equals(netAmount, that.netAmount);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(customerId, subtotal, percentageBasedDiscount,
+                           percentageDiscountType, billBasedDiscount, totalDiscount, netAmount);
+    }
+
+    @Override
+    public String toString() {
+        return "BillCalculationSummaryResponse{" +
+                "customerId='" + customerId + '\'' +
+                ", subtotal=" + subtotal +
+                ", percentageBasedDiscount=" + percentageBasedDiscount +
+                ", percentageDiscountType='" + percentageDiscountType + '\'' +
+                ", billBasedDiscount=" + billBasedDiscount +
+                ", totalDiscount=" + totalDiscount +
+                ", netAmount=" + netAmount +
+                ", calculatedAt=" + calculatedAt +
+                ", configVersion=" + configVersion +
+                ", promotionDiscount=" + promotionDiscount +
+                ", couponCode='" + couponCode + '\'' +
+                ", couponDiscount=" + couponDiscount +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package sa.billing.discounts.application.dto;
+
+public enum BillLineView {
+    ORIGINAL,
+    MERGED;
+
+    public static BillLineView fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ORIGINAL;
+        }
+        for (BillLineView view : values()) {
+            if (view.name().equalsIgnoreCase(value.trim())) {
+                return view;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported lines option: " + value);
+    }
+}
@@ -0,0 +1,82 @@
+package sa.billing.discounts.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Objects;
+
+// One cart priced for several audiences: stored customers by ID and/or whole customer types
+public class BillQuoteRequest {
+    
+    public static final int MAX_AUDIENCES = 1_000;
+    
+    @NotEmpty(message = "Bill items cannot be empty")
+    @Valid
+    private List<BillItemRequest> items;
+    
+    @Size(max = MAX_AUDIENCES, message = "No more than 1000 customer IDs can be quoted at once")
+    private List<String> customerIds;
+    
+    // EMPLOYEE, AFFILIATE, LOYALTY or REGULAR, as for the price list
+    @Size(max = MAX_AUDIENCES, message = "No more than 1000 customer types can be quoted at once")
+    private List<String> customerTypes;
+    
+    public BillQuoteRequest() {
+    }
+    
+    public BillQuoteRequest(List<BillItemRequest> items, List<String> customerIds, List<String> customerTypes) {
+        this.items = items;
+        this.customerIds = customerIds;
+        this.customerTypes = customerTypes;
+    }
+    
+    public List<BillItemRequest> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<BillItemRequest> items) {
+        this.items = items;
+    }
+    
+    public List<String> getCustomerIds() {
+        return customerIds != null ? customerIds : List.of();
+    }
+    
+    public void setCustomerIds(List<String> customerIds) {
+        this.customerIds = customerIds;
+    }
+    
+    public List<String> getCustomerTypes() {
+        return customerTypes != null ? customerTypes : List.of();
+    }
+    
+    public void setCustomerTypes(List<String> customerTypes) {
+        this.customerTypes = customerTypes;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BillQuoteRequest that = (BillQuoteRequest) o;
+        return Objects.equals(items, that.items) &&
+               Objects.equals(customerIds, that.customerIds) &&
+               Objects.equals(customerTypes, that.customerTypes);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(items, customerIds, customerTypes);
+    }
+    
+    @Override
+    public String toString() {
+        return "BillQuoteRequest{" +
+                "items=" + items +
+                ", customerIds=" + customerIds +
+                ", customerTypes=" + customerTypes +
+                '}';
+    }
+}
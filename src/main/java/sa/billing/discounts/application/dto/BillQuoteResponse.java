@@ -0,0 +1,54 @@
+package sa.billing.discounts.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// The cart's shared amounts once, then one entry per audience in request order: customer IDs first, then types
+public class BillQuoteResponse {
+    private final BigDecimal subtotal;
+    // Taken off line prices by promotions before the subtotal, the same for every audience
+    private final BigDecimal promotionDiscount;
+    private final long configVersion;
+    private final LocalDateTime calculatedAt;
+    private final List<AudienceQuote> quotes;
+
+    public BillQuoteResponse(BigDecimal subtotal, BigDecimal promotionDiscount, long configVersion,
+                             LocalDateTime calculatedAt, List<AudienceQuote> quotes) {
+        this.subtotal = subtotal;
+        this.promotionDiscount = promotionDiscount;
+        this.configVersion = configVersion;
+        this.calculatedAt = calculatedAt;
+        this.quotes = quotes;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public BigDecimal getPromotionDiscount() {
+        return promotionDiscount;
+    }
+
+    public long getConfigVersion() {
+        return configVersion;
+    }
+
+    public LocalDateTime getCalculatedAt() {
+        return calculatedAt;
+    }
+
+    public List<AudienceQuote> getQuotes() {
+        return quotes;
+    }
+
+    @Override
+    public String toString() {
+        return "BillQuoteResponse{" +
+                "subtotal=" + subtotal +
+                ", promotionDiscount=" + promotionDiscount +
+                ", configVersion=" + configVersion +
+                ", quotes=" + quotes +
+                '}';
+    }
+}
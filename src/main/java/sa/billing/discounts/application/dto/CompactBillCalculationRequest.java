@@ -0,0 +1,105 @@
+package sa.billing.discounts.application.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.springframework.http.MediaType;
+
+import sa.billing.discounts.infrastructure.serialization.CompactBillCalculationRequestDeserializer;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+@JsonDeserialize(using = CompactBillCalculationRequestDeserializer.class)
+public class CompactBillCalculationRequest {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.billing.compact+json";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private final String customerId;
+    private final String[] productIds;
+    private final int[] quantities;
+    // Optional; priced like BillCalculationRequest's couponCode
+    private final String couponCode;
+
+    public CompactBillCalculationRequest(String customerId, String[] productIds, int[] quantities) {
+        this(customerId, productIds, quantities, null);
+    }
+
+    public CompactBillCalculationRequest(String customerId, String[] productIds, int[] quantities, String couponCode) {
+        this.customerId = customerId;
+        this.productIds = productIds;
+        this.quantities = quantities;
+        this.couponCode = couponCode;
+    }
+
+    // Mirrors the Bean Validation constraints of BillCalculationRequest, which this format bypasses
+    public void validate() {
+        if (customerId == null) {
+            throw new IllegalArgumentException("Customer ID cannot be null");
+        }
+        if (productIds == null || productIds.length == 0) {
+            throw new IllegalArgumentException("Bill items cannot be empty");
+        }
+        if (quantities == null || quantities.length != productIds.length) {
+            throw new IllegalArgumentException("Product IDs and quantities must have the same length");
+        }
+        for (int i = 0; i < productIds.length; i++) {
+            if (productIds[i] == null) {
+                throw new IllegalArgumentException("Product ID cannot be null");
+            }
+            if (quantities[i] < 1) {
+                throw new IllegalArgumentException("Quantity must be at least 1");
+            }
+        }
+        if (couponCode != null && couponCode.length() > 64) {
+            throw new IllegalArgumentException("Coupon code cannot be longer than 64 characters");
+        }
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public String[] getProductIds() {
+        return productIds;
+    }
+
+    public int[] getQuantities() {
+        return quantities;
+    }
+
+    public String getCouponCode() {
+        return couponCode;
+    }
+
+    public int size() {
+        return productIds == null ? 0 : productIds.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompactBillCalculationRequest that = (CompactBillCalculationRequest) o;
+        return Objects.equals(customerId, that.customerId) &&
+               Arrays.equals(productIds, that.productIds) &&
+               Arrays.equals(quantities, that.quantities) &&
+               Objects.equals(couponCode, that.couponCode);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(customerId, couponCode);
+        result = 31 * result + Arrays.hashCode(productIds);
+        result = 31 * result + Arrays.hashCode(quantities);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactBillCalculationRequest{" +
+                "customerId='" + customerId + '\'' +
+                ", items=" + size() +
+                ", couponCode='" + couponCode + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,102 @@
+package sa.billing.discounts.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+
+// maxRedemptions and expiresAt are optional; without them the coupon can be redeemed any number of times, forever
+public class CouponRequest {
+    
+    @NotBlank(message = "Coupon code cannot be blank")
+    private String code;
+    
+    @NotNull(message = "Coupon kind cannot be null")
+    private String kind;
+    
+    @NotNull(message = "Coupon value cannot be null")
+    private BigDecimal value;
+    
+    private Integer maxRedemptions;
+    
+    private Instant expiresAt;
+    
+    public CouponRequest() {
+    }
+    
+    public CouponRequest(String code, String kind, BigDecimal value, Integer maxRedemptions, Instant expiresAt) {
+        this.code = code;
+        this.kind = kind;
+        this.value = value;
+        this.maxRedemptions = maxRedemptions;
+        this.expiresAt = expiresAt;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    public void setCode(String code) {
+        this.code = code;
+    }
+    
+    public String getKind() {
+        return kind;
+    }
+    
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+    
+    public BigDecimal getValue() {
+        return value;
+    }
+    
+    public void setValue(BigDecimal value) {
+        this.value = value;
+    }
+    
+    public Integer getMaxRedemptions() {
+        return maxRedemptions;
+    }
+    
+    public void setMaxRedemptions(Integer maxRedemptions) {
+        this.maxRedemptions = maxRedemptions;
+    }
+    
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CouponRequest that = (CouponRequest) o;
+        return Objects.equals(code, that.code) && Objects.equals(kind, that.kind)
+                && Objects.equals(value, that.value) && Objects.equals(maxRedemptions, that.maxRedemptions)
+                && Objects.equals(expiresAt, that.expiresAt);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(code, kind, value, maxRedemptions, expiresAt);
+    }
+    
+    @Override
+    public String toString() {
+        return "CouponRequest{" +
+                "code='" + code + '\'' +
+                ", kind='" + kind + '\'' +
+                ", value=" + value +
+                ", maxRedemptions=" + maxRedemptions +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,60 @@
+package sa.billing.discounts.application.dto;
+
+import sa.billing.discounts.domain.model.coupon.Coupon;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class CouponResponse {
+    private final String code;
+    private final String kind;
+    private final BigDecimal value;
+    private final Integer maxRedemptions;
+    private final long redemptions;
+    private final Instant expiresAt;
+    
+    public CouponResponse(String code, String kind, BigDecimal value, Integer maxRedemptions, long redemptions,
+                          Instant expiresAt) {
+        this.code = code;
+        this.kind = kind;
+        this.value = value;
+        this.maxRedemptions = maxRedemptions;
+        this.redemptions = redemptions;
+        this.expiresAt = expiresAt;
+    }
+    
+    public static CouponResponse from(Coupon coupon) {
+        return new CouponResponse(
+                coupon.getCode(),
+                coupon.getKind().name(),
+                coupon.getValue(),
+                coupon.getMaxRedemptions(),
+                coupon.getRedemptions(),
+                coupon.getExpiresAt()
+        );
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    public String getKind() {
+        return kind;
+    }
+    
+    public BigDecimal getValue() {
+        return value;
+    }
+    
+    public Integer getMaxRedemptions() {
+        return maxRedemptions;
+    }
+    
+    public long getRedemptions() {
+        return redemptions;
+    }
+    
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
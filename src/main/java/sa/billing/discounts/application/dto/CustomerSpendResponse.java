@@ -0,0 +1,53 @@
+package sa.billing.discounts.application.dto;
+
+import sa.billing.discounts.domain.model.customer.CustomerSpend;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class CustomerSpendResponse {
+    private final String customerId;
+    private final long billCount;
+    private final BigDecimal lifetimeSpend;
+    private final BigDecimal lifetimeDiscount;
+    private final LocalDateTime lastBillAt;
+    
+    public CustomerSpendResponse(String customerId, long billCount, BigDecimal lifetimeSpend,
+                                 BigDecimal lifetimeDiscount, LocalDateTime lastBillAt) {
+        this.customerId = customerId;
+        this.billCount = billCount;
+        this.lifetimeSpend = lifetimeSpend;
+        this.lifetimeDiscount = lifetimeDiscount;
+        this.lastBillAt = lastBillAt;
+    }
+    
+    public static CustomerSpendResponse from(CustomerSpend spend) {
+        return new CustomerSpendResponse(
+                spend.getCustomerId(),
+                spend.getBillCount(),
+                spend.getLifetimeSpend().getAmount(),
+                spend.getLifetimeDiscount().getAmount(),
+                spend.getLastBillAt()
+        );
+    }
+    
+    public String getCustomerId() {
+        return customerId;
+    }
+    
+    public long getBillCount() {
+        return billCount;
+    }
+    
+    public BigDecimal getLifetimeSpend() {
+        return lifetimeSpend;
+    }
+    
+    public BigDecimal getLifetimeDiscount() {
+        return lifetimeDiscount;
+    }
+    
+    public LocalDateTime getLastBillAt() {
+        return lastBillAt;
+    }
+}
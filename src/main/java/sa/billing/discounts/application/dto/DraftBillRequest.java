@@ -0,0 +1,63 @@
+package sa.billing.discounts.application.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+
+public class DraftBillRequest {
+    
+    @NotNull(message = "Customer ID cannot be null")
+    private String customerId;
+    
+    // Optional; priced on every change and redeemed when the draft is finalized
+    private String couponCode;
+    
+    public DraftBillRequest() {
+    }
+    
+    public DraftBillRequest(String customerId) {
+        this.customerId = customerId;
+    }
+    
+    public DraftBillRequest(String customerId, String couponCode) {
+        this.customerId = customerId;
+        this.couponCode = couponCode;
+    }
+    
+    public String getCustomerId() {
+        return customerId;
+    }
+    
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+    
+    public String getCouponCode() {
+        return couponCode;
+    }
+    
+    public void setCouponCode(String couponCode) {
+        this.couponCode = couponCode;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DraftBillRequest that = (DraftBillRequest) o;
+        return Objects.equals(customerId, that.customerId) && Objects.equals(couponCode, that.couponCode);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(customerId, couponCode);
+    }
+    
+    @Override
+    public String toString() {
+        return "DraftBillRequest{" +
+                "customerId='" + customerId + '\'' +
+                ", couponCode='" + couponCode + '\'' +
+                '}';
+    }
+}
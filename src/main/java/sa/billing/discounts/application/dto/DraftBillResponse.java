@@ -0,0 +1,50 @@
+package sa.billing.discounts.application.dto;
+
+// A draft's running totals after a change; billId is set once the draft has been finalized and stored
+public class DraftBillResponse {
+    private final String draftId;
+    private final String billId;
+    private final String status;
+    private final int itemCount;
+    private final BillCalculationSummaryResponse totals;
+
+    public DraftBillResponse(String draftId, String billId, String status, int itemCount,
+                             BillCalculationSummaryResponse totals) {
+        this.draftId = draftId;
+        this.billId = billId;
+        this.status = status;
+        this.itemCount = itemCount;
+        this.totals = totals;
+    }
+
+    public String getDraftId() {
+        return draftId;
+    }
+
+    public String getBillId() {
+        return billId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public BillCalculationSummaryResponse getTotals() {
+        return totals;
+    }
+
+    @Override
+    public String toString() {
+        return "DraftBillResponse{" +
+                "draftId='" + draftId + '\'' +
+                ", billId='" + billId + '\'' +
+                ", status='" + status + '\'' +
+                ", itemCount=" + itemCount +
+                ", totals=" + totals +
+                '}';
+    }
+}
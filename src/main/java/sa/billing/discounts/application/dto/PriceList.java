@@ -0,0 +1,36 @@
+package sa.billing.discounts.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class PriceList {
+    private final PriceTier tier;
+    private final LocalDateTime generatedAt;
+    private final long configVersion;
+    private final List<PriceListEntry> items;
+
+    public PriceList(PriceTier tier, LocalDateTime generatedAt, long configVersion, List<PriceListEntry> items) {
+        this.tier = tier;
+        this.generatedAt = generatedAt;
+        this.configVersion = configVersion;
+        this.items = items;
+    }
+
+    public PriceTier getTier() {
+        return tier;
+    }
+
+    // When the underlying table was computed, not when this list was requested
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    // Version of the discount rule set the prices were computed with
+    public long getConfigVersion() {
+        return configVersion;
+    }
+
+    public List<PriceListEntry> getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,53 @@
+package sa.billing.discounts.application.dto;
+
+import java.math.BigDecimal;
+
+// One product of a price list; immutable because the same instances are shared by every reader
+public class PriceListEntry {
+    private final String productId;
+    private final String productName;
+    private final String category;
+    private final BigDecimal listPrice;
+    private final BigDecimal discountPercentage;
+    private final BigDecimal unitPrice;
+    private final boolean eligibleForPercentageDiscount;
+
+    public PriceListEntry(String productId, String productName, String category, BigDecimal listPrice,
+                          BigDecimal discountPercentage, BigDecimal unitPrice, boolean eligibleForPercentageDiscount) {
+        this.productId = productId;
+        this.productName = productName;
+        this.category = category;
+        this.listPrice = listPrice;
+        this.discountPercentage = discountPercentage;
+        this.unitPrice = unitPrice;
+        this.eligibleForPercentageDiscount = eligibleForPercentageDiscount;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public BigDecimal getListPrice() {
+        return listPrice;
+    }
+
+    public BigDecimal getDiscountPercentage() {
+        return discountPercentage;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public boolean isEligibleForPercentageDiscount() {
+        return eligibleForPercentageDiscount;
+    }
+}
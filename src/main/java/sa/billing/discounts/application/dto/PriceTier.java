@@ -0,0 +1,38 @@
+package sa.billing.discounts.application.dto;
+
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.LoyaltyPolicy;
+
+import java.time.LocalDateTime;
+
+// Which percentage discount a price list is computed for; REGULAR customers get list prices
+public enum PriceTier {
+    EMPLOYEE,
+    AFFILIATE,
+    LOYALTY,
+    REGULAR;
+
+    // Same precedence as the cart calculation: employee, then affiliate, then loyalty
+    public static PriceTier of(Customer customer, LocalDateTime at) {
+        return of(customer, LoyaltyPolicy.TENURE, at);
+    }
+
+    public static PriceTier of(Customer customer, LoyaltyPolicy loyaltyPolicy, LocalDateTime at) {
+        if (customer.isEmployee()) {
+            return EMPLOYEE;
+        }
+        if (customer.isAffiliate()) {
+            return AFFILIATE;
+        }
+        return loyaltyPolicy.isLoyal(customer, at) ? LOYALTY : REGULAR;
+    }
+
+    public static PriceTier fromParameter(String value) {
+        for (PriceTier tier : values()) {
+            if (tier.name().equalsIgnoreCase(value.trim())) {
+                return tier;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported customer type: " + value);
+    }
+}
@@ -0,0 +1,130 @@
+package sa.billing.discounts.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+
+// Exactly one of category or productId selects what the promotion applies to
+public class PromotionRequest {
+    
+    @NotBlank(message = "Promotion name cannot be blank")
+    private String name;
+    
+    private String category;
+    
+    private String productId;
+    
+    @NotNull(message = "Promotion kind cannot be null")
+    private String kind;
+    
+    @NotNull(message = "Promotion value cannot be null")
+    private BigDecimal value;
+    
+    @NotNull(message = "Promotion start cannot be null")
+    private Instant startsAt;
+    
+    @NotNull(message = "Promotion end cannot be null")
+    private Instant endsAt;
+    
+    public PromotionRequest() {
+    }
+    
+    public PromotionRequest(String name, String category, String productId, String kind, BigDecimal value,
+                            Instant startsAt, Instant endsAt) {
+        this.name = name;
+        this.category = category;
+        this.productId = productId;
+        this.kind = kind;
+        this.value = value;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public String getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+    
+    public String getKind() {
+        return kind;
+    }
+    
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+    
+    public BigDecimal getValue() {
+        return value;
+    }
+    
+    public void setValue(BigDecimal value) {
+        this.value = value;
+    }
+    
+    public Instant getStartsAt() {
+        return startsAt;
+    }
+    
+    public void setStartsAt(Instant startsAt) {
+        this.startsAt = startsAt;
+    }
+    
+    public Instant getEndsAt() {
+        return endsAt;
+    }
+    
+    public void setEndsAt(Instant endsAt) {
+        this.endsAt = endsAt;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PromotionRequest that = (PromotionRequest) o;
+        return Objects.equals(name, that.name) && Objects.equals(category, that.category)
+                && Objects.equals(productId, that.productId) && Objects.equals(kind, that.kind)
+                && Objects.equals(value, that.value) && Objects.equals(startsAt, that.startsAt)
+                && Objects.equals(endsAt, that.endsAt);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, category, productId, kind, value, startsAt, endsAt);
+    }
+    
+    @Override
+    public String toString() {
+        return "PromotionRequest{" +
+                "name='" + name + '\'' +
+                ", category='" + category + '\'' +
+                ", productId='" + productId + '\'' +
+                ", kind='" + kind + '\'' +
+                ", value=" + value +
+                ", startsAt=" + startsAt +
+                ", endsAt=" + endsAt +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+package sa.billing.discounts.application.dto;
+
+import sa.billing.discounts.domain.model.promotion.Promotion;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class PromotionResponse {
+    private final String id;
+    private final String name;
+    private final String scope;
+    private final String category;
+    private final String productId;
+    private final String kind;
+    private final BigDecimal value;
+    private final Instant startsAt;
+    private final Instant endsAt;
+    
+    public PromotionResponse(String id, String name, String scope, String category, String productId, String kind,
+                             BigDecimal value, Instant startsAt, Instant endsAt) {
+        this.id = id;
+        this.name = name;
+        this.scope = scope;
+        this.category = category;
+        this.productId = productId;
+        this.kind = kind;
+        this.value = value;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+    }
+    
+    public static PromotionResponse from(Promotion promotion) {
+        return new PromotionResponse(
+                promotion.getId(),
+                promotion.getName(),
+                promotion.getScope().name(),
+                promotion.getCategory() != null ? promotion.getCategory().name() : null,
+                promotion.getProductId(),
+                promotion.getKind().name(),
+                promotion.getValue(),
+                promotion.getStartsAt(),
+                promotion.getEndsAt()
+        );
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getScope() {
+        return scope;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public String getProductId() {
+        return productId;
+    }
+    
+    public String getKind() {
+        return kind;
+    }
+    
+    public BigDecimal getValue() {
+        return value;
+    }
+    
+    public Instant getStartsAt() {
+        return startsAt;
+    }
+    
+    public Instant getEndsAt() {
+        return endsAt;
+    }
+}
@@ -2,7 +2,24 @@ package sa.billing.discounts.application.service;
 
 import sa.billing.discounts.application.dto.BillCalculationRequest;
 import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.BillLineView;
+import sa.billing.discounts.application.dto.BillQuoteRequest;
+import sa.billing.discounts.application.dto.BillQuoteResponse;
+import sa.billing.discounts.application.dto.CompactBillCalculationRequest;
 
 public interface BillCalculationInterface {
     BillCalculationResponse calculateBillDiscount(BillCalculationRequest request);
+
+    BillCalculationResponse calculateBillDiscount(BillCalculationRequest request, BillLineView lineView);
+
+    BillCalculationSummaryResponse calculateBillSummary(BillCalculationRequest request);
+
+    BillCalculationResponse calculateBillDiscount(CompactBillCalculationRequest request);
+
+    BillCalculationResponse calculateBillDiscount(CompactBillCalculationRequest request, BillLineView lineView);
+
+    BillCalculationSummaryResponse calculateBillSummary(CompactBillCalculationRequest request);
+
+    BillQuoteResponse quote(BillQuoteRequest request);
 }
\ No newline at end of file
@@ -2,28 +2,47 @@ package sa.billing.discounts.application.service;
 
 import sa.billing.discounts.application.dto.BillCalculationRequest;
 import sa.billing.discounts.application.dto.BillCalculationResponse;
-import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.AudienceQuote;
+import sa.billing.discounts.application.dto.BillQuoteRequest;
+import sa.billing.discounts.application.dto.BillQuoteResponse;
 import sa.billing.discounts.application.dto.BillItemResponse;
+import sa.billing.discounts.application.dto.BillLineView;
+import sa.billing.discounts.application.dto.CompactBillCalculationRequest;
+import sa.billing.discounts.application.dto.PriceTier;
 import sa.billing.discounts.domain.model.bill.Bill;
 import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.bill.BillTotals;
+import sa.billing.discounts.domain.model.coupon.Coupon;
 import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.LoyaltyPolicy;
+import sa.billing.discounts.domain.model.discount.PromotionDiscount;
 import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.promotion.PromotionIndex;
 import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.domain.exception.CouponNotFoundException;
 import sa.billing.discounts.domain.exception.CustomerNotFoundException;
 import sa.billing.discounts.domain.exception.ProductNotFoundException;
 import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
 import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
-import sa.billing.discounts.domain.model.bill.BillBasedDiscount;
-import sa.billing.discounts.domain.model.discount.AffiliateDiscount;
-import sa.billing.discounts.domain.model.discount.Discount;
-import sa.billing.discounts.domain.model.discount.EmployeeDiscount;
-import sa.billing.discounts.domain.model.discount.LoyaltyDiscount;
+import sa.billing.discounts.application.config.AggregationConfig;
 import sa.billing.discounts.application.config.DiscountConfig;
+import sa.billing.discounts.application.config.DiscountRuleSet;
+import sa.billing.discounts.application.config.DiscountRules;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Service
@@ -32,48 +51,383 @@ public class BillCalculationService implements BillCalculationInterface {
     
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
-    private final List<Discount> availableDiscounts;
-    private final DiscountConfig discountConfig;
+    private final DiscountRules discountRules;
+    private final Supplier<PromotionIndex> promotions;
+    // null when coupons are not set up; every coupon code is then unknown
+    private final CouponService couponService;
+    private final LoyaltyPolicy loyaltyPolicy;
+    // Read once per calculation; every date check in that calculation uses the same instant
+    private final Clock clock;
+    private final int parallelThreshold;
     
+    @Autowired
     public BillCalculationService(CustomerRepository customerRepository,
                                  ProductRepository productRepository,
-                                 DiscountConfig discountConfig) {
+                                 DiscountRules discountRules,
+                                 PromotionService promotionService,
+                                 CouponService couponService,
+                                 LoyaltyPolicy loyaltyPolicy,
+                                 Clock clock,
+                                 AggregationConfig aggregationConfig) {
+        this(customerRepository, productRepository, discountRules, promotionService::currentIndex, couponService,
+                loyaltyPolicy, clock, aggregationConfig.getParallelThreshold());
+    }
+    
+    private BillCalculationService(CustomerRepository customerRepository,
+                                  ProductRepository productRepository,
+                                  DiscountRules discountRules,
+                                  Supplier<PromotionIndex> promotions,
+                                  CouponService couponService,
+                                  LoyaltyPolicy loyaltyPolicy,
+                                  Clock clock,
+                                  int parallelThreshold) {
         this.customerRepository = customerRepository;
         this.productRepository = productRepository;
-        this.discountConfig = discountConfig;
-        this.availableDiscounts = List.of(
-            new EmployeeDiscount(discountConfig.getEmployeePercentage()),
-            new AffiliateDiscount(discountConfig.getAffiliatePercentage()), 
-            new LoyaltyDiscount(discountConfig.getLoyaltyPercentage()),
-            new BillBasedDiscount(discountConfig.getBillThreshold(), discountConfig.getBillDiscountAmount())
-        );
+        this.discountRules = discountRules;
+        this.promotions = promotions;
+        this.couponService = couponService;
+        this.loyaltyPolicy = loyaltyPolicy;
+        this.clock = clock;
+        this.parallelThreshold = parallelThreshold;
+    }
+    
+    /**
+     * A service outside the application context, for tests and benchmarks. Unless set otherwise it
+     * uses the default discount configuration, no promotions, no coupons, the tenure loyalty rule,
+     * the system clock and the default parallel aggregation threshold.
+     */
+    public static Builder builder(CustomerRepository customerRepository, ProductRepository productRepository) {
+        return new Builder(customerRepository, productRepository);
+    }
+    
+    public static final class Builder {
+        private final CustomerRepository customerRepository;
+        private final ProductRepository productRepository;
+        private DiscountRules discountRules;
+        private Supplier<PromotionIndex> promotions = PromotionIndex::empty;
+        private CouponService couponService;
+        private LoyaltyPolicy loyaltyPolicy = LoyaltyPolicy.TENURE;
+        private Clock clock = Clock.systemDefaultZone();
+        private int parallelThreshold = BillTotals.DEFAULT_PARALLEL_THRESHOLD;
+        
+        private Builder(CustomerRepository customerRepository, ProductRepository productRepository) {
+            this.customerRepository = customerRepository;
+            this.productRepository = productRepository;
+        }
+        
+        // Rules fixed at the given configuration
+        public Builder discountConfig(DiscountConfig discountConfig) {
+            return discountRules(new DiscountRules(discountConfig));
+        }
+        
+        public Builder discountRules(DiscountRules discountRules) {
+            this.discountRules = discountRules;
+            return this;
+        }
+        
+        public Builder promotions(PromotionService promotionService) {
+            this.promotions = promotionService::currentIndex;
+            return this;
+        }
+        
+        public Builder coupons(CouponService couponService) {
+            this.couponService = couponService;
+            return this;
+        }
+        
+        public Builder loyaltyPolicy(LoyaltyPolicy loyaltyPolicy) {
+            this.loyaltyPolicy = loyaltyPolicy;
+            return this;
+        }
+        
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+        
+        public Builder aggregation(AggregationConfig aggregationConfig) {
+            this.parallelThreshold = aggregationConfig.getParallelThreshold();
+            return this;
+        }
+        
+        public BillCalculationService build() {
+            DiscountRules rules = discountRules != null ? discountRules : new DiscountRules(new DiscountConfig());
+            return new BillCalculationService(customerRepository, productRepository, rules, promotions, couponService,
+                    loyaltyPolicy, clock, parallelThreshold);
+        }
     }
     
     @Override
     public BillCalculationResponse calculateBillDiscount(BillCalculationRequest request) {
+        return calculateBillDiscount(request, BillLineView.ORIGINAL);
+    }
+    
+    @Override
+    public BillCalculationResponse calculateBillDiscount(BillCalculationRequest request, BillLineView lineView) {
+        Instant now = now();
         Customer customer = findCustomerById(request.getCustomerId());
-        List<BillItem> billItems = createBillItems(request.getItems());
-        Bill bill = Bill.create(customer.getId(), billItems);
+        Coupon coupon = resolveCoupon(request.getCouponCode(), now);
+        return calculate(customer, CoalescedBillLines.of(request.getItems()), lineView, coupon, now);
+    }
+    
+    @Override
+    public BillCalculationResponse calculateBillDiscount(CompactBillCalculationRequest request) {
+        return calculateBillDiscount(request, BillLineView.ORIGINAL);
+    }
+    
+    @Override
+    public BillCalculationResponse calculateBillDiscount(CompactBillCalculationRequest request, BillLineView lineView) {
+        Instant now = now();
+        Customer customer = findCustomerById(request.getCustomerId());
+        Coupon coupon = resolveCoupon(request.getCouponCode(), now);
+        return calculate(customer, CoalescedBillLines.of(request.getProductIds(), request.getQuantities()), lineView,
+                coupon, now);
+    }
+    
+    @Override
+    public BillCalculationSummaryResponse calculateBillSummary(BillCalculationRequest request) {
+        Instant now = now();
+        Customer customer = findCustomerById(request.getCustomerId());
+        Coupon coupon = resolveCoupon(request.getCouponCode(), now);
+        PromotionDiscount promotion = promotionsAt(now);
+        Bill bill = Bill.create(customer.getId(), createBillItems(CoalescedBillLines.of(request.getItems()), promotion),
+                parallelThreshold, localTime(now));
+        return summarize(customer, bill.getTotals(), promotion.getAppliedAmount(), discountRules.current(), coupon, now);
+    }
+    
+    @Override
+    public BillCalculationSummaryResponse calculateBillSummary(CompactBillCalculationRequest request) {
+        Instant now = now();
+        Customer customer = findCustomerById(request.getCustomerId());
+        Coupon coupon = resolveCoupon(request.getCouponCode(), now);
+        PromotionDiscount promotion = promotionsAt(now);
+        Bill bill = Bill.create(customer.getId(),
+                createBillItems(CoalescedBillLines.of(request.getProductIds(), request.getQuantities()), promotion),
+                parallelThreshold, localTime(now));
+        return summarize(customer, bill.getTotals(), promotion.getAppliedAmount(), discountRules.current(), coupon, now);
+    }
+    
+    /**
+     * Prices one cart for every listed customer and customer type. Products are resolved, promoted
+     * and aggregated once; only the percentage discount depends on the audience, and that only on
+     * its {@link PriceTier}, so it is worked out at most once per tier however many audiences share it.
+     */
+    @Override
+    public BillQuoteResponse quote(BillQuoteRequest request) {
+        if (request.getCustomerIds().isEmpty() && request.getCustomerTypes().isEmpty()) {
+            throw new IllegalArgumentException("At least one customer ID or customer type is required");
+        }
+        Instant now = now();
+        LocalDateTime at = localTime(now);
+        List<PriceTier> types = request.getCustomerTypes().stream().map(PriceTier::fromParameter).toList();
+        Map<String, Customer> customers = findCustomersById(request.getCustomerIds());
+        
+        PromotionDiscount promotion = promotionsAt(now);
+        BillTotals totals = BillTotals.of(createBillItems(CoalescedBillLines.of(request.getItems()), promotion),
+                parallelThreshold);
+        
+        long started = CalculationTrace.begin(CalculationTrace.Stage.DISCOUNT_EVALUATION);
+        DiscountRuleSet rules = discountRules.current();
+        // The bill-based discount only looks at the subtotal, so it is the same for every audience
+        Money billBasedDiscount = rules.getBillBasedDiscount().calculateDiscount(totals, null, at);
+        Map<PriceTier, Money> percentageDiscounts = new EnumMap<>(PriceTier.class);
+        List<AudienceQuote> quotes = new ArrayList<>(customers.size() + types.size());
+        for (String customerId : request.getCustomerIds()) {
+            PriceTier tier = PriceTier.of(customers.get(customerId), loyaltyPolicy, at);
+            Money percentageDiscount = percentageDiscounts.computeIfAbsent(tier, t -> getPercentageDiscount(t, totals, rules));
+            quotes.add(quote(customerId, tier, totals, percentageDiscount, billBasedDiscount));
+        }
+        for (PriceTier tier : types) {
+            Money percentageDiscount = percentageDiscounts.computeIfAbsent(tier, t -> getPercentageDiscount(t, totals, rules));
+            quotes.add(quote(null, tier, totals, percentageDiscount, billBasedDiscount));
+        }
+        CalculationTrace.record(CalculationTrace.Stage.DISCOUNT_EVALUATION, started);
+        
+        return new BillQuoteResponse(totals.getSubtotal().getAmount(), promotion.getAppliedAmount().getAmount(),
+                rules.getVersion(), at, quotes);
+    }
+    
+    private static AudienceQuote quote(String customerId, PriceTier tier, BillTotals totals,
+                                       Money percentageDiscount, Money billBasedDiscount) {
+        Money totalDiscount = percentageDiscount.add(billBasedDiscount);
+        return new AudienceQuote(
+                customerId,
+                tier.name(),
+                tier == PriceTier.REGULAR ? null : tier.name(),
+                percentageDiscount.getAmount(),
+                billBasedDiscount.getAmount(),
+                totalDiscount.getAmount(),
+                totals.getSubtotal().subtract(totalDiscount).getAmount()
+        );
+    }
+    
+    // Promotions come first (DiscountType.PROMOTION) and reprice the lines, so the customer and
+    // bill-based discounts below see the promoted amounts. A coupon comes last, on what is left to pay.
+    private BillCalculationResponse calculate(Customer customer, CoalescedBillLines lines, BillLineView lineView,
+                                              Coupon coupon, Instant now) {
+        PromotionDiscount promotion = promotionsAt(now);
+        List<BillItem> billItems = createBillItems(lines, promotion);
+        LocalDateTime at = localTime(now);
+        Bill bill = Bill.create(customer.getId(), billItems, parallelThreshold, at);
+        
+        long started = CalculationTrace.begin(CalculationTrace.Stage.DISCOUNT_EVALUATION);
+        // One rule set for the discounts and the per-line eligibility flags alike
+        DiscountRuleSet rules = discountRules.current();
+        boolean loyal = isLoyal(customer, now);
+        Money percentageDiscount = getBestPercentageDiscount(bill, customer, loyal, rules);
+        Money billBasedDiscount = rules.getBillBasedDiscount().calculateDiscount(bill, customer);
+        Money couponDiscount = couponDiscount(coupon,
+                bill.getSubtotal().subtract(percentageDiscount).subtract(billBasedDiscount));
+        String discountType = getDiscountType(customer, loyal);
+        CalculationTrace.tagDiscountType(discountType);
+        CalculationTrace.record(CalculationTrace.Stage.DISCOUNT_EVALUATION, started);
+        
+        started = CalculationTrace.begin(CalculationTrace.Stage.RESPONSE_MAPPING);
+        List<BillItemResponse> itemResponses = lineView == BillLineView.MERGED || !lines.isMerged()
+                ? mapBillItemsToResponse(billItems, rules)
+                : mapOriginalLinesToResponse(lines, billItems, rules);
         
-        Money totalDiscount = calculateTotalDiscount(bill, customer);
+        BillCalculationResponse response = mapToResponse(customer, itemResponses, bill, discountType,
+                percentageDiscount, billBasedDiscount, couponDiscount);
+        response.setCalculatedAt(at);
+        response.setConfigVersion(rules.getVersion());
+        response.setPromotionDiscount(promotion.getAppliedAmount().getAmount());
+        if (coupon != null) {
+            response.setCouponCode(coupon.getCode());
+            response.setCouponDiscount(couponDiscount.getAmount());
+        }
+        CalculationTrace.record(CalculationTrace.Stage.RESPONSE_MAPPING, started);
+        return response;
+    }
+    
+    // Summaries only need the aggregated totals, so they are shared by the buffered and streaming paths
+    BillCalculationSummaryResponse summarize(Customer customer, BillTotals totals, Money promotionDiscount,
+                                             DiscountRuleSet rules, Coupon coupon, Instant now) {
+        long started = CalculationTrace.begin(CalculationTrace.Stage.DISCOUNT_EVALUATION);
+        boolean loyal = isLoyal(customer, now);
+        Money percentageDiscount = getBestPercentageDiscount(totals, customer, loyal, rules);
+        Money billBasedDiscount = rules.getBillBasedDiscount().calculateDiscount(totals, customer, localTime(now));
+        Money couponDiscount = couponDiscount(coupon,
+                totals.getSubtotal().subtract(percentageDiscount).subtract(billBasedDiscount));
+        Money totalDiscount = percentageDiscount.add(billBasedDiscount).add(couponDiscount);
+        String discountType = getDiscountType(customer, loyal);
+        CalculationTrace.tagDiscountType(discountType);
+        CalculationTrace.record(CalculationTrace.Stage.DISCOUNT_EVALUATION, started);
         
-        return mapToResponse(customer, billItems, bill, totalDiscount);
+        started = CalculationTrace.begin(CalculationTrace.Stage.RESPONSE_MAPPING);
+        BillCalculationSummaryResponse response = new BillCalculationSummaryResponse(
+                customer.getId(),
+                totals.getSubtotal().getAmount(),
+                percentageDiscount.getAmount(),
+                discountType,
+                billBasedDiscount.getAmount(),
+                totalDiscount.getAmount(),
+                totals.getSubtotal().subtract(totalDiscount).getAmount()
+        );
+        response.setCalculatedAt(localTime(now));
+        response.setConfigVersion(rules.getVersion());
+        response.setPromotionDiscount(promotionDiscount.getAmount());
+        if (coupon != null) {
+            response.setCouponCode(coupon.getCode());
+            response.setCouponDiscount(couponDiscount.getAmount());
+        }
+        CalculationTrace.record(CalculationTrace.Stage.RESPONSE_MAPPING, started);
+        return response;
+    }
+    
+    // Checked before any product is looked up, so a bad code fails fast. Calculations only price the
+    // coupon; it is redeemed when a draft bill is finalized.
+    Coupon resolveCoupon(String code, Instant now) {
+        if (code == null) {
+            return null;
+        }
+        if (couponService == null) {
+            throw new CouponNotFoundException("Coupon not found: " + code);
+        }
+        return couponService.resolve(code, now);
+    }
+    
+    void redeemCoupon(Coupon coupon) {
+        if (coupon != null) {
+            couponService.redeem(coupon);
+        }
+    }
+    
+    private static Money couponDiscount(Coupon coupon, Money remaining) {
+        return coupon != null ? coupon.discountOn(remaining) : Money.zero();
+    }
+    
+    // Promotions running at the calculation's reading of the clock
+    PromotionDiscount promotionsAt(Instant now) {
+        return new PromotionDiscount(promotions.get(), now);
+    }
+    
+    // The calculation's single reading of the clock
+    Instant now() {
+        return clock.instant();
+    }
+    
+    LocalDateTime localTime(Instant now) {
+        return LocalDateTime.ofInstant(now, clock.getZone());
+    }
+    
+    // Decided once per calculation, so the discount and its reported type can never disagree;
+    // employees and affiliates never reach the policy
+    private boolean isLoyal(Customer customer, Instant now) {
+        return !customer.isEmployee() && !customer.isAffiliate() && loyaltyPolicy.isLoyal(customer, localTime(now));
+    }
+    
+    DiscountRuleSet currentRules() {
+        return discountRules.current();
+    }
+    
+    public StreamingBillCalculation startStreamingCalculation(StreamingBillCalculation.LineConsumer lineConsumer) {
+        return new StreamingBillCalculation(this, lineConsumer);
     }
     
-    private Customer findCustomerById(String customerId) {
-        return customerRepository.findById(customerId)
+    Customer findCustomerById(String customerId) {
+        long started = CalculationTrace.begin(CalculationTrace.Stage.CUSTOMER_LOOKUP);
+        Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + customerId));
+        CalculationTrace.record(CalculationTrace.Stage.CUSTOMER_LOOKUP, started);
+        CalculationTrace.tagCustomer(customer);
+        return customer;
     }
     
-    private List<BillItem> createBillItems(List<BillItemRequest> itemRequests) {
-        return itemRequests.stream()
-                .map(this::createBillItem)
-                .collect(Collectors.toList());
+    // One query for all audiences; the first unknown ID fails the quote like a single unknown customer would
+    private Map<String, Customer> findCustomersById(List<String> customerIds) {
+        if (customerIds.isEmpty()) {
+            return Map.of();
+        }
+        long started = CalculationTrace.begin(CalculationTrace.Stage.CUSTOMER_LOOKUP);
+        Map<String, Customer> customers = new HashMap<>(Math.max(16, customerIds.size() * 4 / 3 + 1));
+        for (Customer customer : customerRepository.findAllById(customerIds)) {
+            customers.put(customer.getId(), customer);
+        }
+        CalculationTrace.record(CalculationTrace.Stage.CUSTOMER_LOOKUP, started);
+        for (String customerId : customerIds) {
+            if (!customers.containsKey(customerId)) {
+                throw new CustomerNotFoundException("Customer not found with ID: " + customerId);
+            }
+        }
+        return customers;
     }
     
-    private BillItem createBillItem(BillItemRequest request) {
-        Product product = findProductById(request.getProductId());
-        return BillItem.create(product, request.getQuantity());
+    // One lookup and one BillItem per distinct product, at its promoted price; duplicate lines were merged beforehand
+    private List<BillItem> createBillItems(CoalescedBillLines lines, PromotionDiscount promotion) {
+        CalculationTrace.tagItemCount(lines.originalLineCount());
+        long started = CalculationTrace.begin(CalculationTrace.Stage.PRODUCT_RESOLUTION);
+        List<BillItem> billItems = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            billItems.add(promotion.apply(BillItem.create(findProductById(lines.productId(i)), lines.quantity(i))));
+        }
+        CalculationTrace.record(CalculationTrace.Stage.PRODUCT_RESOLUTION, started);
+        return billItems;
+    }
+    
+    // One line at its promoted price, for callers that build a bill a line at a time
+    BillItem createBillItem(String productId, int quantity, PromotionDiscount promotion) {
+        return promotion.apply(BillItem.create(findProductById(productId), quantity));
     }
     
     private Product findProductById(String productId) {
@@ -81,51 +435,60 @@ public class BillCalculationService implements BillCalculationInterface {
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + productId));
     }
     
-    private Money calculateTotalDiscount(Bill bill, Customer customer) {
-        Money percentageDiscount = getBestPercentageDiscount(bill, customer);
-        
-        Money billBasedDiscount = new BillBasedDiscount(
-            discountConfig.getBillThreshold(), 
-            discountConfig.getBillDiscountAmount()
-        ).calculateDiscount(bill, customer);
-        
-        return percentageDiscount.add(billBasedDiscount);
+    Map<String, Product> findProductsById(Collection<String> productIds) {
+        Map<String, Product> products = new HashMap<>(Math.max(16, productIds.size() * 4 / 3 + 1));
+        for (Product product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+        return products;
     }
     
-    private Money getBestPercentageDiscount(Bill bill, Customer customer) {
+    private Money getBestPercentageDiscount(Bill bill, Customer customer, boolean loyal, DiscountRuleSet rules) {
         Money bestDiscount = Money.zero();
         
         if (customer.isEmployee()) {
-            bestDiscount = new EmployeeDiscount(discountConfig.getEmployeePercentage())
-                .calculateDiscount(bill, customer);
+            bestDiscount = rules.getEmployeeDiscount().calculateDiscount(bill, customer);
         }
         else if (customer.isAffiliate()) {
-            bestDiscount = new AffiliateDiscount(discountConfig.getAffiliatePercentage())
-                .calculateDiscount(bill, customer);
+            bestDiscount = rules.getAffiliateDiscount().calculateDiscount(bill, customer);
         }
-        else if (customer.isLoyalCustomer(LocalDateTime.now())) {
-            bestDiscount = new LoyaltyDiscount(discountConfig.getLoyaltyPercentage())
-                .calculateDiscount(bill, customer);
+        // The policy has already decided, so the discount's own registration-date check is skipped
+        else if (loyal) {
+            bestDiscount = rules.getLoyaltyDiscount().calculateDiscount(bill.getTotals());
         }
         
         return bestDiscount;
     }
     
-    private BillCalculationResponse mapToResponse(Customer customer, List<BillItem> billItems, 
-                                                 Bill bill, Money totalDiscount) {
-        
-        List<BillItemResponse> itemResponses = billItems.stream()
-                .map(this::mapBillItemToResponse)
-                .collect(Collectors.toList());
-        
-        Money percentageDiscount = getBestPercentageDiscount(bill, customer);
-        Money billBasedDiscount = new BillBasedDiscount(
-            discountConfig.getBillThreshold(), 
-            discountConfig.getBillDiscountAmount()
-        ).calculateDiscount(bill, customer);
+    private Money getBestPercentageDiscount(BillTotals totals, Customer customer, boolean loyal, DiscountRuleSet rules) {
+        Money bestDiscount = Money.zero();
         
-        String discountType = getDiscountType(customer);
+        if (customer.isEmployee()) {
+            bestDiscount = rules.getEmployeeDiscount().calculateDiscount(totals);
+        }
+        else if (customer.isAffiliate()) {
+            bestDiscount = rules.getAffiliateDiscount().calculateDiscount(totals);
+        }
+        else if (loyal) {
+            bestDiscount = rules.getLoyaltyDiscount().calculateDiscount(totals);
+        }
         
+        return bestDiscount;
+    }
+    
+    private static Money getPercentageDiscount(PriceTier tier, BillTotals totals, DiscountRuleSet rules) {
+        return switch (tier) {
+            case EMPLOYEE -> rules.getEmployeeDiscount().calculateDiscount(totals);
+            case AFFILIATE -> rules.getAffiliateDiscount().calculateDiscount(totals);
+            case LOYALTY -> rules.getLoyaltyDiscount().calculateDiscount(totals);
+            case REGULAR -> Money.zero();
+        };
+    }
+    
+    private BillCalculationResponse mapToResponse(Customer customer, List<BillItemResponse> itemResponses, Bill bill,
+                                                 String discountType, Money percentageDiscount, Money billBasedDiscount,
+                                                 Money couponDiscount) {
+        Money totalDiscount = percentageDiscount.add(billBasedDiscount).add(couponDiscount);
         return new BillCalculationResponse(
                 customer.getId(),
                 itemResponses,
@@ -133,24 +496,49 @@ public class BillCalculationService implements BillCalculationInterface {
                 percentageDiscount.getAmount(),
                 discountType,
                 billBasedDiscount.getAmount(),
-                percentageDiscount.add(billBasedDiscount).getAmount(),
-                bill.getSubtotal().subtract(percentageDiscount.add(billBasedDiscount)).getAmount()
+                totalDiscount.getAmount(),
+                bill.getSubtotal().subtract(totalDiscount).getAmount()
         );
     }
     
-    private String getDiscountType(Customer customer) {
+    private List<BillItemResponse> mapBillItemsToResponse(List<BillItem> billItems, DiscountRuleSet rules) {
+        return billItems.stream()
+                .map(billItem -> mapBillItemToResponse(billItem, rules))
+                .collect(Collectors.toList());
+    }
+    
+    private List<BillItemResponse> mapOriginalLinesToResponse(CoalescedBillLines lines, List<BillItem> billItems,
+                                                              DiscountRuleSet rules) {
+        List<BillItemResponse> itemResponses = new ArrayList<>(lines.originalLineCount());
+        for (int line = 0; line < lines.originalLineCount(); line++) {
+            BillItem merged = billItems.get(lines.mergedIndex(line));
+            int quantity = lines.originalQuantity(line);
+            itemResponses.add(new BillItemResponse(
+                    merged.getProduct().getId(),
+                    merged.getProduct().getName(),
+                    merged.getProduct().getCategory().name(),
+                    quantity,
+                    merged.getUnitPrice().getAmount(),
+                    merged.getUnitPrice().multiply(quantity).getAmount(),
+                    rules.isEligible(merged.getProduct().getCategory())
+            ));
+        }
+        return itemResponses;
+    }
+    
+    private String getDiscountType(Customer customer, boolean loyal) {
         if (customer.isEmployee()) {
             return "EMPLOYEE";
         } else if (customer.isAffiliate()) {
             return "AFFILIATE";
-        } else if (customer.isLoyalCustomer(LocalDateTime.now())) {
+        } else if (loyal) {
             return "LOYALTY";
         } else {
             return null;
         }
     }
     
-    private BillItemResponse mapBillItemToResponse(BillItem billItem) {
+    private BillItemResponse mapBillItemToResponse(BillItem billItem, DiscountRuleSet rules) {
         return new BillItemResponse(
                 billItem.getProduct().getId(),
                 billItem.getProduct().getName(),
@@ -158,7 +546,7 @@ public class BillCalculationService implements BillCalculationInterface {
                 billItem.getQuantity(),
                 billItem.getUnitPrice().getAmount(),
                 billItem.getTotalPrice().getAmount(),
-                !billItem.isGrocery()
+                rules.isEligible(billItem.getProduct().getCategory())
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,211 @@
+package sa.billing.discounts.application.service;
+
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.infrastructure.jfr.CalculationStageEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Per-request stage timings for a bill calculation. A trace is bound to the calling thread by
+ * {@link #start()}; while none is bound, recording is a no-op so the service can be used unobserved.
+ * Each traced stage is also emitted as a {@link CalculationStageEvent} when that JFR event is enabled.
+ */
+public final class CalculationTrace {
+
+    public enum Stage {
+        CUSTOMER_LOOKUP("customer"),
+        PRODUCT_RESOLUTION("products"),
+        DISCOUNT_EVALUATION("discounts"),
+        RESPONSE_MAPPING("mapping"),
+        SERIALIZATION("serialize");
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final ThreadLocal<CalculationTrace> CURRENT = new ThreadLocal<>();
+    private static final Stage[] STAGES = Stage.values();
+    private static final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN = allocationMxBean();
+
+    private final long[] stageNanos = new long[STAGES.length];
+    private final boolean[] recorded = new boolean[STAGES.length];
+    private final CalculationStageEvent[] stageEvents = new CalculationStageEvent[STAGES.length];
+    private final long startedAt = System.nanoTime();
+    private final long allocatedAtStart = currentThreadAllocatedBytes();
+    private long elapsedNanos = -1;
+    private long allocatedBytes = -1;
+    private int databaseCommands;
+    private String customerType = "UNKNOWN";
+    private int customerIdHash;
+    private int itemCount;
+    private String discountType;
+
+    private CalculationTrace() {
+    }
+
+    public static CalculationTrace start() {
+        CalculationTrace trace = new CalculationTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public static void end() {
+        CalculationTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.elapsedNanos = System.nanoTime() - trace.startedAt;
+            long allocatedAtEnd = currentThreadAllocatedBytes();
+            if (trace.allocatedAtStart >= 0 && allocatedAtEnd >= 0) {
+                trace.allocatedBytes = allocatedAtEnd - trace.allocatedAtStart;
+            }
+        }
+        CURRENT.remove();
+    }
+
+    // Returns the stage start time to hand back to record()
+    public static long begin(Stage stage) {
+        CalculationTrace trace = CURRENT.get();
+        if (trace != null) {
+            CalculationStageEvent event = new CalculationStageEvent();
+            if (event.isEnabled()) {
+                event.begin();
+                trace.stageEvents[stage.ordinal()] = event;
+            }
+        }
+        return System.nanoTime();
+    }
+
+    public static void record(Stage stage, long startedAt) {
+        CalculationTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.stageNanos[stage.ordinal()] += System.nanoTime() - startedAt;
+            trace.recorded[stage.ordinal()] = true;
+            trace.commitEvent(stage);
+        }
+    }
+
+    private void commitEvent(Stage stage) {
+        CalculationStageEvent event = stageEvents[stage.ordinal()];
+        if (event == null) {
+            return;
+        }
+        stageEvents[stage.ordinal()] = null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.describe(stage.getMetricName(), customerIdHash, customerType, itemCount, discountType);
+            event.commit();
+        }
+    }
+
+    public static void countDatabaseCommand() {
+        CalculationTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.databaseCommands++;
+        }
+    }
+
+    static void tagCustomer(Customer customer) {
+        CalculationTrace trace = CURRENT.get();
+        if (trace != null) {
+            if (customer.getType() != null) {
+                trace.customerType = customer.getType().name();
+            }
+            trace.customerIdHash = Objects.hashCode(customer.getId());
+        }
+    }
+
+    static void tagDiscountType(String discountType) {
+        CalculationTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.discountType = discountType;
+        }
+    }
+
+    static void tagItemCount(int itemCount) {
+        CalculationTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.itemCount = itemCount;
+        }
+    }
+
+    public boolean isRecorded(Stage stage) {
+        return recorded[stage.ordinal()];
+    }
+
+    public long getNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    // Wall time from start() to end(); -1 while the trace is still open
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // Bytes allocated by the request thread; -1 when the JVM cannot measure it
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public int getDatabaseCommands() {
+        return databaseCommands;
+    }
+
+    public String getCustomerType() {
+        return customerType;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    // Coarse buckets keep the tag cardinality fixed
+    public String getItemCountBucket() {
+        if (itemCount <= 10) {
+            return "1-10";
+        } else if (itemCount <= 100) {
+            return "11-100";
+        } else if (itemCount <= 1_000) {
+            return "101-1000";
+        } else if (itemCount <= 10_000) {
+            return "1001-10000";
+        }
+        return "10000+";
+    }
+
+    // Server-Timing header value, durations in milliseconds
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        for (Stage stage : STAGES) {
+            if (!recorded[stage.ordinal()]) {
+                continue;
+            }
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            header.append(stage.getMetricName())
+                    .append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.3f", stageNanos[stage.ordinal()] / 1_000_000.0));
+        }
+        return header.toString();
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        return ALLOCATION_MX_BEAN != null ? ALLOCATION_MX_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationMxBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+}
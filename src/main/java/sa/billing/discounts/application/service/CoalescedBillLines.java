@@ -0,0 +1,94 @@
+package sa.billing.discounts.application.service;
+
+import sa.billing.discounts.application.dto.BillItemRequest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Request lines with duplicate product IDs merged, keeping first-occurrence order and a map back to the original lines
+final class CoalescedBillLines {
+
+    private final String[] productIds;
+    private final int[] quantities;
+    private final int[] originalQuantities;
+    private final int[] lineIndex;
+
+    private CoalescedBillLines(String[] productIds, int[] quantities, int[] originalQuantities, int[] lineIndex) {
+        this.productIds = productIds;
+        this.quantities = quantities;
+        this.originalQuantities = originalQuantities;
+        this.lineIndex = lineIndex;
+    }
+
+    static CoalescedBillLines of(List<BillItemRequest> itemRequests) {
+        String[] productIds = new String[itemRequests.size()];
+        int[] quantities = new int[itemRequests.size()];
+        for (int i = 0; i < productIds.length; i++) {
+            BillItemRequest itemRequest = itemRequests.get(i);
+            productIds[i] = itemRequest.getProductId();
+            quantities[i] = itemRequest.getQuantity();
+        }
+        return of(productIds, quantities);
+    }
+
+    static CoalescedBillLines of(String[] productIds, int[] quantities) {
+        int lineCount = productIds.length;
+        Map<String, Integer> positions = new HashMap<>(Math.max(16, lineCount * 4 / 3 + 1));
+        String[] mergedIds = new String[lineCount];
+        int[] mergedQuantities = new int[lineCount];
+        int[] lineIndex = new int[lineCount];
+        int distinct = 0;
+
+        for (int i = 0; i < lineCount; i++) {
+            Integer position = positions.putIfAbsent(productIds[i], distinct);
+            if (position == null) {
+                mergedIds[distinct] = productIds[i];
+                mergedQuantities[distinct] = quantities[i];
+                lineIndex[i] = distinct++;
+            } else {
+                try {
+                    mergedQuantities[position] = Math.addExact(mergedQuantities[position], quantities[i]);
+                } catch (ArithmeticException e) {
+                    throw new IllegalArgumentException("Total quantity overflows for product ID: " + productIds[i], e);
+                }
+                lineIndex[i] = position;
+            }
+        }
+
+        if (distinct == lineCount) {
+            return new CoalescedBillLines(productIds, quantities, quantities, lineIndex);
+        }
+        return new CoalescedBillLines(Arrays.copyOf(mergedIds, distinct), Arrays.copyOf(mergedQuantities, distinct),
+                quantities, lineIndex);
+    }
+
+    int size() {
+        return productIds.length;
+    }
+
+    String productId(int index) {
+        return productIds[index];
+    }
+
+    int quantity(int index) {
+        return quantities[index];
+    }
+
+    boolean isMerged() {
+        return productIds.length != originalQuantities.length;
+    }
+
+    int originalLineCount() {
+        return originalQuantities.length;
+    }
+
+    int originalQuantity(int line) {
+        return originalQuantities[line];
+    }
+
+    int mergedIndex(int line) {
+        return lineIndex[line];
+    }
+}
@@ -0,0 +1,188 @@
+package sa.billing.discounts.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import sa.billing.discounts.application.dto.CouponRequest;
+import sa.billing.discounts.domain.exception.CouponNotFoundException;
+import sa.billing.discounts.domain.exception.CouponNotRedeemableException;
+import sa.billing.discounts.domain.model.coupon.Coupon;
+import sa.billing.discounts.domain.model.coupon.CouponCodeFilter;
+import sa.billing.discounts.domain.model.coupon.CouponKind;
+import sa.billing.discounts.infrastructure.persistence.repository.CouponRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CouponsChangedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coupon codes and their redemption. A {@link CouponCodeFilter} of every stored code sits in front of
+ * the repository, so a code that was never created is turned away without a database round trip; the
+ * definitions of codes that pass are cached. Codes inserted through a repository are added to the
+ * filter as they are written. Deletes only evict the cache, because a deleted code left in the filter
+ * merely costs a lookup. The filter is rebuilt from the repository after
+ * {@code billing.coupons.max-age}, which also picks up codes written outside this application, and
+ * sooner once more codes were added than it was sized for.
+ */
+@Service
+public class CouponService {
+
+    static final double FALSE_POSITIVE_RATE = 0.01;
+    // Head room for codes added before the next rebuild
+    private static final int MIN_EXPECTED_CODES = 1_024;
+
+    private final CouponRepository couponRepository;
+    private final long maxAgeNanos;
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot;
+    // Definitions never change after insert, so a cached one is only dropped when its code is deleted
+    private final ConcurrentHashMap<String, Coupon> definitions = new ConcurrentHashMap<>();
+    // Codes whose last redeem found them used up; they stay used up until deleted
+    private final Set<String> exhausted = ConcurrentHashMap.newKeySet();
+    private final LongAdder filteredLookups = new LongAdder();
+    private final LongAdder repositoryLookups = new LongAdder();
+
+    private record Snapshot(long builtAtNanos, CouponCodeFilter filter) {
+    }
+
+    public CouponService(CouponRepository couponRepository,
+                         @Value("${billing.coupons.max-age:5m}") Duration maxAge) {
+        this.couponRepository = couponRepository;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    public Coupon create(CouponRequest request) {
+        CouponKind kind = parseKind(request.getKind());
+        return couponRepository.insert(Coupon.create(request.getCode(), kind, request.getValue(),
+                request.getMaxRedemptions(), request.getExpiresAt()));
+    }
+
+    // Straight from the repository, so the redemption count is current
+    public Coupon findByCode(String code) {
+        String normalized = Coupon.normalize(code);
+        return couponRepository.findByCode(normalized)
+                .orElseThrow(() -> new CouponNotFoundException("Coupon not found: " + normalized));
+    }
+
+    public void delete(String code) {
+        String normalized = Coupon.normalize(code);
+        if (!couponRepository.existsByCode(normalized)) {
+            throw new CouponNotFoundException("Coupon not found: " + normalized);
+        }
+        couponRepository.deleteByCode(normalized);
+    }
+
+    /**
+     * The coupon for a code entered at checkout, checked for expiry but not yet redeemed. Unknown codes
+     * are mostly rejected by the filter alone.
+     *
+     * @throws CouponNotFoundException     if no coupon has the code
+     * @throws CouponNotRedeemableException if the coupon has expired or is known to be used up
+     */
+    public Coupon resolve(String code, Instant at) {
+        String normalized = Coupon.normalize(code);
+        if (!currentSnapshot().filter().mightContain(normalized)) {
+            filteredLookups.increment();
+            throw new CouponNotFoundException("Coupon not found: " + normalized);
+        }
+        Coupon coupon = definitions.get(normalized);
+        if (coupon == null) {
+            repositoryLookups.increment();
+            coupon = couponRepository.findByCode(normalized)
+                    .orElseThrow(() -> new CouponNotFoundException("Coupon not found: " + normalized));
+            definitions.putIfAbsent(normalized, coupon);
+        }
+        if (coupon.isExpiredAt(at)) {
+            throw new CouponNotRedeemableException("Coupon has expired: " + normalized);
+        }
+        if (exhausted.contains(normalized)) {
+            throw new CouponNotRedeemableException("Coupon has no redemptions left: " + normalized);
+        }
+        return coupon;
+    }
+
+    /**
+     * Counts one use of a resolved coupon. The repository checks the limit and increments in one
+     * atomic step, so concurrent checkouts never redeem a coupon more often than its limit allows.
+     *
+     * @throws CouponNotRedeemableException if the limit has been reached
+     */
+    public void redeem(Coupon coupon) {
+        if (!couponRepository.redeem(coupon.getCode())) {
+            if (coupon.getMaxRedemptions() != null) {
+                exhausted.add(coupon.getCode());
+            }
+            throw new CouponNotRedeemableException("Coupon has no redemptions left: " + coupon.getCode());
+        }
+    }
+
+    @EventListener
+    public void onCouponsChanged(CouponsChangedEvent event) {
+        definitions.remove(event.code());
+        exhausted.remove(event.code());
+        if (!event.deleted()) {
+            // Under the lock, so a rebuild in progress cannot swap in a filter that misses this code
+            synchronized (rebuildLock) {
+                Snapshot current = snapshot;
+                if (current != null) {
+                    current.filter().add(event.code());
+                }
+            }
+        }
+    }
+
+    // Codes rejected by the filter without touching the repository
+    public long getFilteredLookups() {
+        return filteredLookups.sum();
+    }
+
+    // Codes that passed the filter and were not cached yet
+    public long getRepositoryLookups() {
+        return repositoryLookups.sum();
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (rebuildLock) {
+            current = snapshot;
+            if (!isFresh(current)) {
+                current = build();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private boolean isFresh(Snapshot candidate) {
+        return candidate != null
+                && !candidate.filter().isOverCapacity()
+                && System.nanoTime() - candidate.builtAtNanos() < maxAgeNanos;
+    }
+
+    private Snapshot build() {
+        long builtAt = System.nanoTime();
+        List<String> codes = couponRepository.findAllCodes();
+        // A rebuild also forgets cached state, so edits made directly in the database show up
+        definitions.clear();
+        exhausted.clear();
+        int expected = Math.max(MIN_EXPECTED_CODES, codes.size() * 2);
+        return new Snapshot(builtAt, CouponCodeFilter.of(codes, expected, FALSE_POSITIVE_RATE));
+    }
+
+    private static CouponKind parseKind(String value) {
+        for (CouponKind kind : CouponKind.values()) {
+            if (kind.name().equalsIgnoreCase(value.trim())) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported coupon kind: " + value);
+    }
+}
@@ -0,0 +1,163 @@
+package sa.billing.discounts.application.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import sa.billing.discounts.domain.exception.CustomerNotFoundException;
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillStatus;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.CustomerSpend;
+import sa.billing.discounts.infrastructure.persistence.repository.BillRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerSpendRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.FinalizedBillsChangedEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lifetime spend per customer, read from a summary the repositories keep current instead of from
+ * the customer's bills. Every finalized bill stored or deleted through a bill repository is added
+ * to or taken out of its customer's summary with one atomic increment, and the customer's cached
+ * summary is dropped. Cached summaries are otherwise served for {@code billing.customer-spend.max-age}.
+ *
+ * <p>Bills written outside this application, or an increment lost to a crash between the bill and
+ * its summary, make a summary drift. {@link #repair()} rebuilds every customer's summary from their
+ * finalized bills, several partitions of customers at a time, and rewrites only the ones that differ.
+ */
+@Service
+public class CustomerSpendService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSpendService.class);
+    // Rebuilds of one customer before leaving them to the next run, when increments keep landing
+    private static final int REPAIR_ATTEMPTS = 3;
+
+    private final CustomerSpendRepository customerSpendRepository;
+    private final CustomerRepository customerRepository;
+    private final BillRepository billRepository;
+    private final Clock clock;
+    private final long maxAgeNanos;
+    private final int maxCached;
+    private final Duration repairSettle;
+    private final int repairPartitions;
+    private final ConcurrentHashMap<String, Cached> cache = new ConcurrentHashMap<>();
+
+    private record Cached(CustomerSpend spend, long loadedAtNanos) {
+    }
+
+    public CustomerSpendService(CustomerSpendRepository customerSpendRepository,
+                                CustomerRepository customerRepository,
+                                BillRepository billRepository,
+                                Clock clock,
+                                @Value("${billing.customer-spend.max-age:1m}") Duration maxAge,
+                                @Value("${billing.customer-spend.max-cached:10000}") int maxCached,
+                                @Value("${billing.customer-spend.repair-settle:5m}") Duration repairSettle,
+                                @Value("${billing.customer-spend.repair-partitions:4}") int repairPartitions) {
+        if (maxCached < 1) {
+            throw new IllegalArgumentException("Maximum number of cached summaries must be positive");
+        }
+        if (repairPartitions < 1) {
+            throw new IllegalArgumentException("Number of repair partitions must be positive");
+        }
+        this.customerSpendRepository = customerSpendRepository;
+        this.customerRepository = customerRepository;
+        this.billRepository = billRepository;
+        this.clock = clock;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.maxCached = maxCached;
+        this.repairSettle = repairSettle;
+        this.repairPartitions = repairPartitions;
+    }
+
+    /**
+     * The customer's summary; a customer without finalized bills gets an empty one.
+     *
+     * @throws CustomerNotFoundException if there is neither a summary nor a customer with the ID
+     */
+    public CustomerSpend findByCustomerId(String customerId) {
+        long now = System.nanoTime();
+        Cached cached = customerId != null ? cache.get(customerId) : null;
+        if (cached != null && now - cached.loadedAtNanos() < maxAgeNanos) {
+            return cached.spend();
+        }
+        CustomerSpend spend = customerSpendRepository.findByCustomerId(customerId)
+                .orElseGet(() -> emptyIfCustomerExists(customerId));
+        if (cache.size() >= maxCached) {
+            // Cheaper than tracking recency; every entry is one repository read away
+            cache.clear();
+        }
+        cache.put(customerId, new Cached(spend, now));
+        return spend;
+    }
+
+    @EventListener
+    public void onFinalizedBillsChanged(FinalizedBillsChangedEvent event) {
+        Bill bill = event.bill();
+        long sign = event.removed() ? -1 : 1;
+        customerSpendRepository.record(bill.getCustomerId(), sign,
+                sign * CustomerSpend.toCents(bill.getNetAmount()),
+                sign * CustomerSpend.toCents(bill.getTotalDiscount()),
+                event.removed() ? null : bill.getUpdatedAt());
+        cache.remove(bill.getCustomerId());
+    }
+
+    /**
+     * Rebuilds each customer's summary from their finalized bills. Customers are split into
+     * {@code billing.customer-spend.repair-partitions} partitions that are repaired in parallel.
+     * A summary that differs from the rebuilt one is replaced only if nothing was recorded since it
+     * was read; otherwise the customer is read and rebuilt again, so a concurrent increment is never
+     * overwritten. A customer with a bill finalized within {@code billing.customer-spend.repair-settle}
+     * is left for the next run, because that bill's increment may not have landed yet and would
+     * then be counted twice.
+     *
+     * @return the number of summaries rewritten
+     */
+    public int repair() {
+        LocalDateTime settledBefore = LocalDateTime.now(clock).minus(repairSettle);
+        List<String> customerIds = customerRepository.findAll().stream().map(Customer::getId).toList();
+        int partitions = PartitionedRepair.partitionsFor(customerIds.size(), repairPartitions);
+        int repaired = PartitionedRepair.run("Customer spend repair", "customer-spend-repair",
+                customerIds, partitions, customerId -> repair(customerId, settledBefore));
+        logger.info("Checked spend summaries of {} customer(s) in {} partition(s); rewrote {}",
+                customerIds.size(), partitions, repaired);
+        return repaired;
+    }
+
+    private boolean repair(String customerId, LocalDateTime settledBefore) {
+        for (int attempt = 0; attempt < REPAIR_ATTEMPTS; attempt++) {
+            Optional<CustomerSpend> before = customerSpendRepository.findByCustomerId(customerId);
+            List<Bill> bills = billRepository.findByCustomerIdAndStatus(customerId, BillStatus.FINALIZED);
+            for (Bill bill : bills) {
+                if (bill.getUpdatedAt().isAfter(settledBefore)) {
+                    return false;
+                }
+            }
+            CustomerSpend rebuilt = CustomerSpend.ofBills(customerId, bills);
+            if (before.map(rebuilt::equals).orElse(rebuilt.getBillCount() == 0 && rebuilt.getLastBillAt() == null)) {
+                return false;
+            }
+            if (customerSpendRepository.replace(before.orElse(null), rebuilt)) {
+                cache.remove(customerId);
+                return true;
+            }
+            // A bill was recorded between the read and the write
+        }
+        logger.debug("Left the spend summary of customer {} for the next repair; it kept changing", customerId);
+        return false;
+    }
+
+    private CustomerSpend emptyIfCustomerExists(String customerId) {
+        if (customerId == null || !customerRepository.existsById(customerId)) {
+            throw new CustomerNotFoundException("Customer not found with ID: " + customerId);
+        }
+        return CustomerSpend.empty(customerId);
+    }
+}
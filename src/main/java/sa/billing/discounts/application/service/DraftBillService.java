@@ -0,0 +1,278 @@
+package sa.billing.discounts.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.DraftBillResponse;
+import sa.billing.discounts.domain.exception.CouponNotRedeemableException;
+import sa.billing.discounts.domain.exception.DraftBillNotFoundException;
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.coupon.Coupon;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.persistence.repository.BillRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bills a point of sale builds one scan at a time. Each draft keeps its {@link Bill} in memory, and a
+ * scan adjusts the bill's totals by the one line instead of resending and recalculating the cart.
+ * Edits to one draft are serialized on that draft alone, so tills never wait on each other.
+ *
+ * <p>Drafts expire {@code billing.drafts.ttl} after their last change and are swept lazily when
+ * drafts are created. At most {@code billing.drafts.max-drafts} are kept; when the store is full
+ * of live drafts, the one left untouched the longest makes room. Finalizing stores the bill
+ * through the {@link BillRepository} and closes the draft.
+ *
+ * <p>Finalizing is the checkout: a draft's coupon is priced on every change but only redeemed
+ * there, once per draft however often a failed save is retried.
+ */
+@Service
+public class DraftBillService {
+
+    private final BillCalculationService billCalculationService;
+    private final BillRepository billRepository;
+    private final long ttlNanos;
+    private final int maxDrafts;
+    private final Map<String, Draft> drafts = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepNanos;
+
+    // Guarded by its own monitor; lastTouchedNanos is also read unlocked when looking for the oldest draft
+    private static final class Draft {
+        private final String id;
+        private final Customer customer;
+        private final Bill bill;
+        private final Coupon coupon;
+        private boolean couponRedeemed;
+        private Money promotionDiscount = Money.zero();
+        private volatile long lastTouchedNanos;
+        private boolean closed;
+
+        private Draft(String id, Customer customer, Coupon coupon, LocalDateTime createdAt, long now) {
+            this.id = id;
+            this.customer = customer;
+            this.coupon = coupon;
+            this.bill = Bill.draft(customer.getId(), createdAt);
+            this.lastTouchedNanos = now;
+        }
+    }
+
+    public DraftBillService(BillCalculationService billCalculationService,
+                            BillRepository billRepository,
+                            @Value("${billing.drafts.ttl:30m}") Duration ttl,
+                            @Value("${billing.drafts.max-drafts:10000}") int maxDrafts) {
+        if (maxDrafts < 1) {
+            throw new IllegalArgumentException("Maximum number of drafts must be positive");
+        }
+        this.billCalculationService = billCalculationService;
+        this.billRepository = billRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxDrafts = maxDrafts;
+        this.nextSweepNanos = new AtomicLong(System.nanoTime() + sweepInterval());
+    }
+
+    public DraftBillResponse create(String customerId) {
+        return create(customerId, null);
+    }
+    
+    // An unknown, expired or used-up coupon fails here rather than at checkout
+    public DraftBillResponse create(String customerId, String couponCode) {
+        Customer customer = billCalculationService.findCustomerById(customerId);
+        Instant createdAt = billCalculationService.now();
+        Coupon coupon = billCalculationService.resolveCoupon(couponCode, createdAt);
+        long now = System.nanoTime();
+        makeRoom(now);
+        Draft draft = new Draft(UUID.randomUUID().toString(), customer, coupon,
+                billCalculationService.localTime(createdAt), now);
+        drafts.put(draft.id, draft);
+        synchronized (draft) {
+            return respond(draft);
+        }
+    }
+
+    // Only the new line is priced; the bill's totals take it in without another pass over the others
+    public DraftBillResponse addLine(String draftId, String productId, int quantity) {
+        if (productId == null) {
+            throw new IllegalArgumentException("Product ID cannot be null");
+        }
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+        Draft draft = find(draftId);
+        Instant now = billCalculationService.now();
+        BillItem item = billCalculationService.createBillItem(productId, quantity, billCalculationService.promotionsAt(now));
+        synchronized (draft) {
+            ensureOpen(draft);
+            draft.bill.addItem(item, billCalculationService.localTime(now));
+            draft.promotionDiscount = draft.promotionDiscount.add(promotionTaken(item));
+            draft.lastTouchedNanos = System.nanoTime();
+            return respond(draft);
+        }
+    }
+
+    // Lines are numbered from 0 in the order they were added; later lines move up by one
+    public DraftBillResponse removeLine(String draftId, int lineIndex) {
+        Draft draft = find(draftId);
+        synchronized (draft) {
+            ensureOpen(draft);
+            if (lineIndex < 0 || lineIndex >= draft.bill.getItems().size()) {
+                throw new IllegalArgumentException("Draft " + draftId + " has no line " + lineIndex);
+            }
+            BillItem item = draft.bill.getItems().get(lineIndex);
+            draft.bill.removeItem(item, billCalculationService.localTime(billCalculationService.now()));
+            draft.promotionDiscount = draft.promotionDiscount.subtract(promotionTaken(item));
+            draft.lastTouchedNanos = System.nanoTime();
+            return respond(draft);
+        }
+    }
+
+    public DraftBillResponse get(String draftId) {
+        Draft draft = find(draftId);
+        synchronized (draft) {
+            ensureOpen(draft);
+            return respond(draft);
+        }
+    }
+
+    /**
+     * Prices the draft with the rules in force now, redeems its coupon, finalizes its bill and stores
+     * it. The draft is closed only once the bill is stored, so a failed save can be retried without
+     * rescanning; the coupon is not redeemed a second time.
+     *
+     * @throws IllegalArgumentException     if the draft has no lines
+     * @throws CouponNotRedeemableException if the coupon expired or ran out since the draft was opened
+     */
+    public DraftBillResponse finalizeDraft(String draftId) {
+        Draft draft = find(draftId);
+        synchronized (draft) {
+            ensureOpen(draft);
+            if (draft.bill.isEmpty()) {
+                throw new IllegalArgumentException("Draft " + draftId + " has no lines");
+            }
+            // One reading of the clock prices the draft, checks the coupon and stamps the bill
+            Instant now = billCalculationService.now();
+            BillCalculationSummaryResponse totals = summarize(draft, now);
+            if (draft.coupon != null && !draft.couponRedeemed) {
+                // Checked again, since the coupon may have expired or run out while the draft was open
+                billCalculationService.resolveCoupon(draft.coupon.getCode(), now);
+                billCalculationService.redeemCoupon(draft.coupon);
+                draft.couponRedeemed = true;
+            }
+            LocalDateTime finalizedAt = billCalculationService.localTime(now);
+            draft.bill.applyDiscount(Money.of(totals.getTotalDiscount()), finalizedAt);
+            if (!draft.bill.isFinalized()) {
+                draft.bill.finalize(finalizedAt);
+            }
+            Bill saved = billRepository.save(draft.bill);
+            close(draft);
+            return new DraftBillResponse(draft.id, saved.getId(), saved.getStatus().name(),
+                    saved.getItems().size(), totals);
+        }
+    }
+
+    public void discard(String draftId) {
+        Draft draft = find(draftId);
+        synchronized (draft) {
+            ensureOpen(draft);
+            close(draft);
+        }
+    }
+
+    // Open drafts, expired ones included until the next sweep
+    public int size() {
+        return drafts.size();
+    }
+
+    private Draft find(String draftId) {
+        Draft draft = draftId != null ? drafts.get(draftId) : null;
+        if (draft == null) {
+            throw notFound(draftId);
+        }
+        return draft;
+    }
+
+    // Called with the draft's monitor held
+    private void ensureOpen(Draft draft) {
+        if (!draft.closed && isExpired(draft, System.nanoTime())) {
+            close(draft);
+        }
+        if (draft.closed) {
+            throw notFound(draft.id);
+        }
+    }
+
+    private void close(Draft draft) {
+        draft.closed = true;
+        drafts.remove(draft.id, draft);
+    }
+
+    private boolean isExpired(Draft draft, long now) {
+        return now - draft.lastTouchedNanos >= ttlNanos;
+    }
+
+    private void makeRoom(long now) {
+        long due = nextSweepNanos.get();
+        if ((now - due >= 0 || drafts.size() >= maxDrafts) && nextSweepNanos.compareAndSet(due, now + sweepInterval())) {
+            sweep(now);
+        }
+        while (drafts.size() >= maxDrafts) {
+            Draft oldest = null;
+            for (Draft draft : drafts.values()) {
+                if (oldest == null || draft.lastTouchedNanos - oldest.lastTouchedNanos < 0) {
+                    oldest = draft;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            synchronized (oldest) {
+                close(oldest);
+            }
+        }
+    }
+
+    private void sweep(long now) {
+        for (Draft draft : drafts.values()) {
+            if (isExpired(draft, now)) {
+                synchronized (draft) {
+                    // Re-checked under the lock, since a scan may have landed in between
+                    if (isExpired(draft, now)) {
+                        close(draft);
+                    }
+                }
+            }
+        }
+    }
+
+    // Often enough that expired drafts never outnumber live ones by much
+    private long sweepInterval() {
+        return Math.max(1, ttlNanos / 4);
+    }
+
+    private DraftBillResponse respond(Draft draft) {
+        return new DraftBillResponse(draft.id, null, draft.bill.getStatus().name(),
+                draft.bill.getItems().size(), summarize(draft, billCalculationService.now()));
+    }
+
+    private BillCalculationSummaryResponse summarize(Draft draft, Instant now) {
+        return billCalculationService.summarize(draft.customer, draft.bill.getTotals(), draft.promotionDiscount,
+                billCalculationService.currentRules(), draft.coupon, now);
+    }
+
+    // What promotions took off the line when it was scanned; its product keeps the list price it had then
+    private static Money promotionTaken(BillItem item) {
+        return item.getProduct().getPrice().multiply(item.getQuantity()).subtract(item.getTotalPrice());
+    }
+
+    private static DraftBillNotFoundException notFound(String draftId) {
+        return new DraftBillNotFoundException("Draft bill not found: " + draftId);
+    }
+}
@@ -0,0 +1,59 @@
+package sa.billing.discounts.application.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+// Runs a per-customer repair over every ID, split into partitions that each get their own daemon thread
+final class PartitionedRepair {
+
+    private PartitionedRepair() {
+    }
+
+    // The number of partitions actually used, never more than there are IDs
+    static int partitionsFor(int ids, int maxPartitions) {
+        return Math.min(maxPartitions, Math.max(1, ids));
+    }
+
+    /**
+     * @return how many IDs the repair returned true for
+     * @throws IllegalStateException if a repair threw or the caller was interrupted
+     */
+    static int run(String what, String threadName, List<String> ids, int partitions, Predicate<String> repair) {
+        AtomicInteger repaired = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(partitions, runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(partitions);
+            for (int p = 0; p < partitions; p++) {
+                int partition = p;
+                futures.add(executor.submit(() -> {
+                    for (int i = partition; i < ids.size(); i += partitions) {
+                        if (repair.test(ids.get(i))) {
+                            repaired.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(what + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(what + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return repaired.get();
+    }
+}
@@ -0,0 +1,163 @@
+package sa.billing.discounts.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import sa.billing.discounts.application.config.DiscountRuleSet;
+import sa.billing.discounts.application.config.DiscountRules;
+import sa.billing.discounts.application.dto.PriceList;
+import sa.billing.discounts.application.dto.PriceListEntry;
+import sa.billing.discounts.application.dto.PriceTier;
+import sa.billing.discounts.domain.exception.CustomerNotFoundException;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.LoyaltyPolicy;
+import sa.billing.discounts.domain.model.discount.CategoryRates;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.domain.model.valueobject.Percentage;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductCatalogChangedEvent;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Discounted unit price of every catalog product for each {@link PriceTier}, computed for all tiers
+ * in one pass over the catalog and then shared by every reader. The table is rebuilt on the next
+ * read after a product is saved or deleted through a repository, after a new {@link DiscountRuleSet}
+ * is published, and at the latest after {@code billing.price-list.max-age}, which
+ * bounds staleness for catalog writes made outside this application.
+ *
+ * <p>Prices are per unit: the cart calculation applies the percentage to the eligible total, so a
+ * multi-unit line can differ from quantity times unit price by a cent of rounding.
+ */
+@Service
+public class PriceListService {
+
+    private final ProductRepository productRepository;
+    private final CustomerRepository customerRepository;
+    private final DiscountRules discountRules;
+    private final LoyaltyPolicy loyaltyPolicy;
+    private final Clock clock;
+    private final long maxAgeNanos;
+    // Bumped on every catalog change; a table built from an older version is stale
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Object rebuildLock = new Object();
+    private volatile PriceTable table;
+
+    private record PriceTable(long catalogVersion, DiscountRuleSet rules, long builtAtNanos, LocalDateTime generatedAt,
+                              Map<PriceTier, List<PriceListEntry>> entries) {
+    }
+
+    public PriceListService(ProductRepository productRepository,
+                            CustomerRepository customerRepository,
+                            DiscountRules discountRules,
+                            LoyaltyPolicy loyaltyPolicy,
+                            Clock clock,
+                            @Value("${billing.price-list.max-age:5m}") Duration maxAge) {
+        this.productRepository = productRepository;
+        this.customerRepository = customerRepository;
+        this.discountRules = discountRules;
+        this.loyaltyPolicy = loyaltyPolicy;
+        this.clock = clock;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    public PriceList priceList(PriceTier tier) {
+        PriceTable current = currentTable();
+        return new PriceList(tier, current.generatedAt(), current.rules().getVersion(), current.entries().get(tier));
+    }
+
+    public PriceTier tierOf(String customerId) {
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + customerId));
+        return PriceTier.of(customer, loyaltyPolicy, LocalDateTime.now(clock));
+    }
+
+    @EventListener
+    public void onCatalogChanged(ProductCatalogChangedEvent event) {
+        catalogVersion.incrementAndGet();
+    }
+
+    private PriceTable currentTable() {
+        PriceTable current = table;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (rebuildLock) {
+            current = table;
+            if (!isFresh(current)) {
+                current = build();
+                table = current;
+            }
+            return current;
+        }
+    }
+
+    private boolean isFresh(PriceTable candidate) {
+        return candidate != null
+                && candidate.catalogVersion() == catalogVersion.get()
+                && candidate.rules() == discountRules.current()
+                && System.nanoTime() - candidate.builtAtNanos() < maxAgeNanos;
+    }
+
+    private PriceTable build() {
+        // Read the version first, so a change that lands while the catalog is loading forces another build
+        long version = catalogVersion.get();
+        DiscountRuleSet rules = discountRules.current();
+        long builtAt = System.nanoTime();
+        List<Product> products = new ArrayList<>(productRepository.findAll());
+        products.sort(Comparator.comparing(Product::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Map<PriceTier, List<PriceListEntry>> entries = new EnumMap<>(PriceTier.class);
+        for (PriceTier tier : PriceTier.values()) {
+            CategoryRates rates = ratesOf(tier, rules);
+            List<PriceListEntry> tierEntries = new ArrayList<>(products.size());
+            for (Product product : products) {
+                tierEntries.add(entry(product, rules.isEligible(product.getCategory()), rates));
+            }
+            entries.put(tier, List.copyOf(tierEntries));
+        }
+        return new PriceTable(version, rules, builtAt, LocalDateTime.now(clock), entries);
+    }
+
+    // Regular customers get no percentage discount, so every category is at 0 for them
+    private static CategoryRates ratesOf(PriceTier tier, DiscountRuleSet rules) {
+        return switch (tier) {
+            case EMPLOYEE -> rules.getEmployeeDiscount().getCategoryRates();
+            case AFFILIATE -> rules.getAffiliateDiscount().getCategoryRates();
+            case LOYALTY -> rules.getLoyaltyDiscount().getCategoryRates();
+            case REGULAR -> CategoryRates.of(Map.of());
+        };
+    }
+
+    private static PriceListEntry entry(Product product, boolean eligible, CategoryRates rates) {
+        Money listPrice = product.getPrice();
+        Percentage percentage = rates.rateFor(product.getCategory());
+        // Percentage keeps four decimals; show 30 rather than 30.0000
+        BigDecimal rate = percentage.getValue().stripTrailingZeros();
+        if (rate.scale() < 0) {
+            rate = rate.setScale(0);
+        }
+        Money unitPrice = eligible ? listPrice.subtract(percentage.applyTo(listPrice)) : listPrice;
+        return new PriceListEntry(
+                product.getId(),
+                product.getName(),
+                product.getCategory().name(),
+                listPrice.getAmount(),
+                eligible ? rate : BigDecimal.ZERO,
+                unitPrice.getAmount(),
+                eligible
+        );
+    }
+}
@@ -0,0 +1,147 @@
+package sa.billing.discounts.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import sa.billing.discounts.application.dto.PromotionRequest;
+import sa.billing.discounts.domain.exception.PromotionNotFoundException;
+import sa.billing.discounts.domain.model.discount.PromotionDiscount;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.promotion.Promotion;
+import sa.billing.discounts.domain.model.promotion.PromotionIndex;
+import sa.billing.discounts.domain.model.promotion.PromotionKind;
+import sa.billing.discounts.infrastructure.persistence.repository.PromotionRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.PromotionsChangedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scheduled promotions and the {@link PromotionIndex} the calculation looks them up in. The index is
+ * built from every promotion that has not ended yet and shared by all readers; it is rebuilt on the
+ * next read after a promotion is saved or deleted through a repository, and at the latest after
+ * {@code billing.promotions.max-age}, which bounds staleness for writes made outside this application.
+ */
+@Service
+public class PromotionService {
+
+    private final PromotionRepository promotionRepository;
+    private final long maxAgeNanos;
+    // Bumped on every promotion change; an index built from an older version is stale
+    private final AtomicLong promotionsVersion = new AtomicLong();
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot;
+
+    // Holds every promotion ending after indexedFrom, so it answers for that instant and later
+    private record Snapshot(long version, long builtAtNanos, Instant indexedFrom, PromotionIndex index) {
+    }
+
+    public PromotionService(PromotionRepository promotionRepository,
+                            @Value("${billing.promotions.max-age:1m}") Duration maxAge) {
+        this.promotionRepository = promotionRepository;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    public Promotion create(PromotionRequest request) {
+        if ((request.getCategory() == null) == (request.getProductId() == null)) {
+            throw new IllegalArgumentException("Exactly one of category or productId is required");
+        }
+        PromotionKind kind = parse(PromotionKind.class, request.getKind(), "promotion kind");
+        Promotion promotion = request.getCategory() != null
+                ? Promotion.forCategory(request.getName(), parse(ProductCategory.class, request.getCategory(), "category"),
+                        kind, request.getValue(), request.getStartsAt(), request.getEndsAt())
+                : Promotion.forProduct(request.getName(), request.getProductId(),
+                        kind, request.getValue(), request.getStartsAt(), request.getEndsAt());
+        return promotionRepository.save(promotion);
+    }
+
+    public Promotion findById(String id) {
+        return promotionRepository.findById(id)
+                .orElseThrow(() -> new PromotionNotFoundException("Promotion not found with ID: " + id));
+    }
+
+    public void delete(String id) {
+        if (!promotionRepository.existsById(id)) {
+            throw new PromotionNotFoundException("Promotion not found with ID: " + id);
+        }
+        promotionRepository.deleteById(id);
+    }
+
+    // Ended promotions are not indexed, so asking about an earlier instant falls back to a scan
+    public List<Promotion> activeAt(Instant at, String category, String productId) {
+        if (category != null && productId != null) {
+            throw new IllegalArgumentException("At most one of category or productId can be given");
+        }
+        ProductCategory productCategory = category != null ? parse(ProductCategory.class, category, "category") : null;
+        Snapshot current = currentSnapshot();
+        if (at.isBefore(current.indexedFrom())) {
+            return promotionRepository.findAll().stream()
+                    .filter(promotion -> promotion.isActiveAt(at))
+                    .filter(promotion -> productCategory == null || promotion.getCategory() == productCategory)
+                    .filter(promotion -> productId == null || productId.equals(promotion.getProductId()))
+                    .sorted(Comparator.comparing(Promotion::getId))
+                    .toList();
+        }
+        PromotionIndex index = current.index();
+        if (productCategory != null) {
+            return index.activeForCategory(productCategory, at);
+        }
+        return productId != null ? index.activeForProduct(productId, at) : index.activeAt(at);
+    }
+
+    // One instance per calculation; it keeps the amount taken off so far
+    public PromotionDiscount discountAt(Instant at) {
+        return new PromotionDiscount(currentIndex(), at);
+    }
+
+    public PromotionIndex currentIndex() {
+        return currentSnapshot().index();
+    }
+
+    @EventListener
+    public void onPromotionsChanged(PromotionsChangedEvent event) {
+        promotionsVersion.incrementAndGet();
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (rebuildLock) {
+            current = snapshot;
+            if (!isFresh(current)) {
+                current = build();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private boolean isFresh(Snapshot candidate) {
+        return candidate != null
+                && candidate.version() == promotionsVersion.get()
+                && System.nanoTime() - candidate.builtAtNanos() < maxAgeNanos;
+    }
+
+    private Snapshot build() {
+        // Read the version first, so a change that lands while loading forces another build
+        long version = promotionsVersion.get();
+        long builtAt = System.nanoTime();
+        Instant indexedFrom = Instant.now();
+        return new Snapshot(version, builtAt, indexedFrom, PromotionIndex.of(promotionRepository.findEndingAfter(indexedFrom)));
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String label) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value.trim())) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported " + label + ": " + value);
+    }
+}
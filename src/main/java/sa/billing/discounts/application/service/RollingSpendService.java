@@ -0,0 +1,302 @@
+package sa.billing.discounts.application.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillStatus;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.CustomerSpend;
+import sa.billing.discounts.domain.model.customer.SpendWindow;
+import sa.billing.discounts.domain.model.customer.SpendWindowCheckpoint;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.persistence.repository.BillRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.FinalizedBillsChangedEvent;
+import sa.billing.discounts.infrastructure.persistence.repository.SpendWindowRepository;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Each customer's net spend over the last twelve calendar months, for the spend-based loyalty rule.
+ * Windows live in memory, one {@link SpendWindow} per customer, and take in every finalized bill
+ * stored or deleted through a bill repository as it happens, so deciding whether a customer is loyal
+ * reads one running total however long their purchase history is.
+ *
+ * <p>A window is loaded from the store when first needed and reloaded after
+ * {@code billing.loyalty.max-age}, so it picks up what other instances checkpointed. What this
+ * instance added since its last checkpoint is kept as per-month deltas and laid over every reload;
+ * {@link #checkpoint()} increments the stored months by those deltas. At most
+ * {@code billing.loyalty.max-cached} windows are kept, not counting ones with deltas still to write.
+ *
+ * <p>Deltas lost to a crash, and bills finalized before the spend rule was turned on, are restored by
+ * {@link #repair()}, which rebuilds the stored months from each customer's finalized bills.
+ */
+@Service
+public class RollingSpendService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollingSpendService.class);
+
+    private final SpendWindowRepository spendWindowRepository;
+    private final CustomerRepository customerRepository;
+    private final BillRepository billRepository;
+    private final Clock clock;
+    private final long thresholdCents;
+    private final long maxAgeNanos;
+    private final int maxCached;
+    private final Duration repairSettle;
+    private final int repairPartitions;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Customers with deltas not yet checkpointed
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    // Guarded by its own monitor
+    private static final class Entry {
+        // The stored months plus every delta below; null until loaded, or when due for a reload
+        private SpendWindow window;
+        private long loadedAtNanos;
+        // Month to cents added since the last checkpoint, and what the running checkpoint is writing
+        private Map<Integer, Long> pending = new HashMap<>();
+        private Map<Integer, Long> inFlight = Map.of();
+        // Dropped from the map; whoever still holds it looks the customer up again
+        private boolean evicted;
+
+        private boolean isClean() {
+            return pending.isEmpty() && inFlight.isEmpty();
+        }
+    }
+
+    public RollingSpendService(SpendWindowRepository spendWindowRepository,
+                               CustomerRepository customerRepository,
+                               BillRepository billRepository,
+                               Clock clock,
+                               @Value("${billing.loyalty.spend-threshold:1000}") BigDecimal threshold,
+                               @Value("${billing.loyalty.max-age:1m}") Duration maxAge,
+                               @Value("${billing.loyalty.max-cached:10000}") int maxCached,
+                               @Value("${billing.loyalty.repair-settle:5m}") Duration repairSettle,
+                               @Value("${billing.loyalty.repair-partitions:4}") int repairPartitions) {
+        if (maxCached < 1) {
+            throw new IllegalArgumentException("Maximum number of cached spend windows must be positive");
+        }
+        if (repairPartitions < 1) {
+            throw new IllegalArgumentException("Number of repair partitions must be positive");
+        }
+        this.spendWindowRepository = spendWindowRepository;
+        this.customerRepository = customerRepository;
+        this.billRepository = billRepository;
+        this.clock = clock;
+        this.thresholdCents = CustomerSpend.toCents(Money.of(threshold));
+        this.maxAgeNanos = maxAge.toNanos();
+        this.maxCached = maxCached;
+        this.repairSettle = repairSettle;
+        this.repairPartitions = repairPartitions;
+    }
+
+    // Net spend in the twelve calendar months ending with the month of at
+    public Money spendInWindow(String customerId, LocalDateTime at) {
+        return Money.of(BigDecimal.valueOf(centsInWindow(customerId, at), 2));
+    }
+
+    public boolean isLoyal(Customer customer, LocalDateTime at) {
+        return centsInWindow(customer.getId(), at) >= thresholdCents;
+    }
+
+    @EventListener
+    public void onFinalizedBillsChanged(FinalizedBillsChangedEvent event) {
+        Bill bill = event.bill();
+        long cents = CustomerSpend.toCents(bill.getNetAmount());
+        long delta = event.removed() ? -cents : cents;
+        int month = SpendWindow.monthOf(bill.getUpdatedAt());
+        while (true) {
+            Entry entry = entry(bill.getCustomerId());
+            synchronized (entry) {
+                if (entry.evicted) {
+                    continue;
+                }
+                entry.pending.merge(month, delta, Long::sum);
+                if (entry.window != null) {
+                    entry.window.add(month, delta);
+                }
+            }
+            dirty.add(bill.getCustomerId());
+            return;
+        }
+    }
+
+    /**
+     * Adds every customer's deltas since the last checkpoint to the stored months, in one batch.
+     * Windows written are reloaded on next use, so they also pick up other instances' deltas.
+     *
+     * @return the number of customers written
+     */
+    public synchronized int checkpoint() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<SpendWindowCheckpoint> deltas = new ArrayList<>();
+        List<Entry> written = new ArrayList<>();
+        for (String customerId : dirty) {
+            // Removed before the snapshot, so a bill landing in between marks the customer dirty again
+            dirty.remove(customerId);
+            Entry entry = entries.get(customerId);
+            if (entry == null) {
+                continue;
+            }
+            synchronized (entry) {
+                if (entry.pending.isEmpty()) {
+                    continue;
+                }
+                entry.inFlight = entry.pending;
+                entry.pending = new HashMap<>();
+                deltas.add(SpendWindowCheckpoint.of(customerId, entry.inFlight, now));
+                written.add(entry);
+            }
+        }
+        try {
+            spendWindowRepository.incrementAll(deltas);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < written.size(); i++) {
+                Entry entry = written.get(i);
+                synchronized (entry) {
+                    entry.inFlight.forEach((month, cents) -> entry.pending.merge(month, cents, Long::sum));
+                    entry.inFlight = Map.of();
+                }
+                dirty.add(deltas.get(i).getCustomerId());
+            }
+            throw e;
+        }
+        for (Entry entry : written) {
+            synchronized (entry) {
+                entry.inFlight = Map.of();
+                entry.window = null;
+            }
+        }
+        if (!deltas.isEmpty()) {
+            logger.debug("Checkpointed spend deltas of {} customer(s)", deltas.size());
+        }
+        return deltas.size();
+    }
+
+    /**
+     * Rebuilds each customer's stored months from their finalized bills, in
+     * {@code billing.loyalty.repair-partitions} partitions at a time. This seeds the windows when the
+     * spend rule is first turned on and puts back deltas lost to a crash. A customer with a bill
+     * finalized within {@code billing.loyalty.repair-settle} is left for the next run, because some
+     * instance may still hold that bill's delta for its next checkpoint. Stored months are only
+     * rewritten when the ones inside the window differ from the rebuilt ones and did not change while
+     * the bills were read. Months that have left the window are not compared; a rewrite drops them.
+     *
+     * @return the number of customers rewritten
+     */
+    public int repair() {
+        checkpoint();
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<String> customerIds = customerRepository.findAll().stream().map(Customer::getId).toList();
+        int partitions = PartitionedRepair.partitionsFor(customerIds.size(), repairPartitions);
+        int repaired = PartitionedRepair.run("Rolling spend repair", "rolling-spend-repair",
+                customerIds, partitions, customerId -> repair(customerId, now));
+        logger.info("Checked spend windows of {} customer(s) in {} partition(s); rewrote {}",
+                customerIds.size(), partitions, repaired);
+        return repaired;
+    }
+
+    private boolean repair(String customerId, LocalDateTime now) {
+        int oldestMonth = SpendWindow.monthOf(now) - SpendWindow.MONTHS + 1;
+        LocalDateTime settledBefore = now.minus(repairSettle);
+        Map<Integer, Long> rebuilt = new HashMap<>();
+        for (Bill bill : billRepository.findByCustomerIdAndStatus(customerId, BillStatus.FINALIZED)) {
+            if (bill.getUpdatedAt().isAfter(settledBefore)) {
+                return false;
+            }
+            int month = SpendWindow.monthOf(bill.getUpdatedAt());
+            if (month >= oldestMonth) {
+                rebuilt.merge(month, CustomerSpend.toCents(bill.getNetAmount()), Long::sum);
+            }
+        }
+        rebuilt.values().removeIf(cents -> cents == 0);
+        Map<Integer, Long> before = storedMonths(customerId);
+        Map<Integer, Long> beforeInWindow = new HashMap<>(before);
+        beforeInWindow.keySet().removeIf(month -> month < oldestMonth);
+        beforeInWindow.values().removeIf(cents -> cents == 0);
+        if (rebuilt.equals(beforeInWindow)) {
+            return false;
+        }
+        if (!storedMonths(customerId).equals(before)) {
+            // A checkpoint landed in the meantime; the next run checks this customer again
+            return false;
+        }
+        spendWindowRepository.save(SpendWindowCheckpoint.of(customerId, rebuilt, now));
+        Entry entry = entries.get(customerId);
+        if (entry != null) {
+            synchronized (entry) {
+                entry.window = null;
+            }
+        }
+        return true;
+    }
+
+    private Map<Integer, Long> storedMonths(String customerId) {
+        return spendWindowRepository.findByCustomerId(customerId)
+                .map(SpendWindowCheckpoint::getCentsByMonth)
+                .orElseGet(Map::of);
+    }
+
+    // A customer that was never stored has no bills
+    private long centsInWindow(String customerId, LocalDateTime at) {
+        if (customerId == null) {
+            return 0;
+        }
+        while (true) {
+            Entry entry = entry(customerId);
+            synchronized (entry) {
+                if (entry.evicted) {
+                    continue;
+                }
+                long now = System.nanoTime();
+                if (entry.window == null || now - entry.loadedAtNanos >= maxAgeNanos) {
+                    // Read under the entry's own lock, so a slow read only holds up this customer
+                    SpendWindow window = spendWindowRepository.findByCustomerId(customerId)
+                            .map(SpendWindowCheckpoint::toWindow)
+                            .orElseGet(SpendWindow::empty);
+                    entry.inFlight.forEach(window::add);
+                    entry.pending.forEach(window::add);
+                    entry.window = window;
+                    entry.loadedAtNanos = now;
+                }
+                return entry.window.totalAt(SpendWindow.monthOf(at));
+            }
+        }
+    }
+
+    private Entry entry(String customerId) {
+        Entry entry = entries.get(customerId);
+        if (entry != null) {
+            return entry;
+        }
+        if (entries.size() >= maxCached) {
+            evictClean();
+        }
+        return entries.computeIfAbsent(customerId, id -> new Entry());
+    }
+
+    // Cheaper than tracking recency; a clean window is one store read away
+    private void evictClean() {
+        entries.forEach((customerId, entry) -> {
+            synchronized (entry) {
+                if (!entry.evicted && entry.isClean() && entries.remove(customerId, entry)) {
+                    entry.evicted = true;
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package sa.billing.discounts.application.service;
+
+import sa.billing.discounts.application.config.DiscountRuleSet;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.domain.exception.ProductNotFoundException;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.bill.BillTotals;
+import sa.billing.discounts.domain.model.coupon.Coupon;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.discount.PromotionDiscount;
+import sa.billing.discounts.domain.model.product.Product;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Folds bill lines into running totals as they arrive, resolving products one chunk at a time
+public class StreamingBillCalculation {
+
+    public static final int CHUNK_SIZE = 500;
+
+    @FunctionalInterface
+    public interface LineConsumer {
+        void accept(BillItem item, boolean eligibleForPercentageDiscount) throws IOException;
+    }
+
+    private final BillCalculationService service;
+    private final LineConsumer lineConsumer;
+    private final BillTotals.Accumulator totals = new BillTotals.Accumulator();
+    // When the calculation started; the promotions and loyalty check both go by it
+    private final Instant startedAt;
+    private final PromotionDiscount promotion;
+    private final DiscountRuleSet rules;
+    private final String[] chunkProductIds = new String[CHUNK_SIZE];
+    private final int[] chunkQuantities = new int[CHUNK_SIZE];
+    private int chunkSize;
+    private Customer customer;
+    private Coupon coupon;
+
+    StreamingBillCalculation(BillCalculationService service, LineConsumer lineConsumer) {
+        this.service = service;
+        this.lineConsumer = lineConsumer;
+        this.startedAt = service.now();
+        this.promotion = service.promotionsAt(startedAt);
+        this.rules = service.currentRules();
+    }
+
+    public void customer(String customerId) {
+        if (customerId == null) {
+            throw new IllegalArgumentException("Customer ID cannot be null");
+        }
+        this.customer = service.findCustomerById(customerId);
+    }
+
+    // Checked as soon as it is read, so a bad code fails before the lines are priced
+    public void coupon(String couponCode) {
+        this.coupon = service.resolveCoupon(couponCode, startedAt);
+    }
+
+    public void addLine(String productId, int quantity) throws IOException {
+        if (productId == null) {
+            throw new IllegalArgumentException("Product ID cannot be null");
+        }
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+        chunkProductIds[chunkSize] = productId;
+        chunkQuantities[chunkSize] = quantity;
+        if (++chunkSize == CHUNK_SIZE) {
+            flush();
+        }
+    }
+
+    public int getItemCount() {
+        return totals.getItemCount() + chunkSize;
+    }
+
+    public BillCalculationSummaryResponse finish() throws IOException {
+        flush();
+        if (customer == null) {
+            throw new IllegalArgumentException("Customer ID cannot be null");
+        }
+        if (totals.getItemCount() == 0) {
+            throw new IllegalArgumentException("Bill items cannot be empty");
+        }
+        return service.summarize(customer, totals.toTotals(), promotion.getAppliedAmount(), rules, coupon, startedAt);
+    }
+
+    private void flush() throws IOException {
+        if (chunkSize == 0) {
+            return;
+        }
+        Set<String> distinctIds = new LinkedHashSet<>(Arrays.asList(chunkProductIds).subList(0, chunkSize));
+        Map<String, Product> products = service.findProductsById(distinctIds);
+        for (int i = 0; i < chunkSize; i++) {
+            Product product = products.get(chunkProductIds[i]);
+            if (product == null) {
+                throw new ProductNotFoundException("Product not found with ID: " + chunkProductIds[i]);
+            }
+            BillItem item = promotion.apply(BillItem.create(product, chunkQuantities[i]));
+            totals.add(item);
+            lineConsumer.accept(item, rules.isEligible(product.getCategory()));
+        }
+        Arrays.fill(chunkProductIds, 0, chunkSize, null);
+        chunkSize = 0;
+    }
+}
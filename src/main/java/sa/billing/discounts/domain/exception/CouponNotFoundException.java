@@ -0,0 +1,12 @@
+package sa.billing.discounts.domain.exception;
+
+public class CouponNotFoundException extends RuntimeException {
+    
+    public CouponNotFoundException(String message) {
+        super(message);
+    }
+    
+    public CouponNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
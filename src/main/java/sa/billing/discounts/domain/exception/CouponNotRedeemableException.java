@@ -0,0 +1,13 @@
+package sa.billing.discounts.domain.exception;
+
+// The coupon exists but has expired or reached its redemption limit
+public class CouponNotRedeemableException extends RuntimeException {
+    
+    public CouponNotRedeemableException(String message) {
+        super(message);
+    }
+    
+    public CouponNotRedeemableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
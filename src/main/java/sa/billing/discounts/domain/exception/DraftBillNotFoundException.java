@@ -0,0 +1,13 @@
+package sa.billing.discounts.domain.exception;
+
+// No open draft with the ID: never created, expired, discarded or already finalized
+public class DraftBillNotFoundException extends RuntimeException {
+    
+    public DraftBillNotFoundException(String message) {
+        super(message);
+    }
+    
+    public DraftBillNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
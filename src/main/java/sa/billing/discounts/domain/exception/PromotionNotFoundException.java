@@ -0,0 +1,12 @@
+package sa.billing.discounts.domain.exception;
+
+public class PromotionNotFoundException extends RuntimeException {
+    
+    public PromotionNotFoundException(String message) {
+        super(message);
+    }
+    
+    public PromotionNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
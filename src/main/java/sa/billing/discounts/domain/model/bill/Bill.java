@@ -1,6 +1,7 @@
 package sa.billing.discounts.domain.model.bill;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import sa.billing.discounts.domain.model.customer.Customer;
 import sa.billing.discounts.domain.model.valueobject.Money;
@@ -25,64 +26,93 @@ public class Bill {
     private BillStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @Transient
+    private BillTotals totals;
     
     protected Bill() {
         this.items = new ArrayList<>();
     }
     
-    private Bill(String customerId, List<BillItem> items) {
+    private Bill(String customerId, List<BillItem> items, BillTotals totals, LocalDateTime createdAt) {
         this.customerId = Objects.requireNonNull(customerId, "Customer ID cannot be null");
         this.items = new ArrayList<>(Objects.requireNonNull(items, "Items cannot be null"));
         this.status = BillStatus.DRAFT;
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.createdAt = Objects.requireNonNull(createdAt, "Creation time cannot be null");
+        this.updatedAt = createdAt;
+        this.totals = totals;
         calculateAmounts();
     }
     
-    public static Bill create(String customerId, List<BillItem> items) {
+    // Every change is stamped with a time the caller passes, so it follows the caller's clock
+    public static Bill create(String customerId, List<BillItem> items, LocalDateTime createdAt) {
+        return create(customerId, items, BillTotals.DEFAULT_PARALLEL_THRESHOLD, createdAt);
+    }
+    
+    // For callers that configure billing.aggregation.parallel-threshold and read their own clock
+    public static Bill create(String customerId, List<BillItem> items, int parallelThreshold, LocalDateTime createdAt) {
         if (items.isEmpty()) {
             throw new IllegalArgumentException("Bill must have at least one item");
         }
-        return new Bill(customerId, items);
+        return new Bill(customerId, items, BillTotals.of(items, parallelThreshold), createdAt);
     }
     
-    public void addItem(BillItem item) {
+    // A draft a point of sale fills one scan at a time; create requires the lines up front
+    public static Bill draft(String customerId, LocalDateTime createdAt) {
+        return new Bill(customerId, List.of(), BillTotals.sequential(List.of()), createdAt);
+    }
+    
+    // The totals are adjusted by the one line, so a scan costs the same however long the bill already is
+    public void addItem(BillItem item, LocalDateTime at) {
         Objects.requireNonNull(item, "Bill item cannot be null");
+        BillTotals before = getTotals();
         this.items.add(item);
+        this.totals = before.plus(item);
         calculateAmounts();
-        this.updatedAt = LocalDateTime.now();
+        touch(at);
     }
     
-    public void removeItem(BillItem item) {
-        this.items.remove(item);
+    public void removeItem(BillItem item, LocalDateTime at) {
+        BillTotals before = getTotals();
+        if (this.items.remove(item)) {
+            this.totals = before.minus(item);
+        }
         calculateAmounts();
-        this.updatedAt = LocalDateTime.now();
+        touch(at);
     }
     
     public Money calculateSubtotal() {
-        return items.stream()
-                .map(BillItem::getTotalPrice)
-                .reduce(Money.zero(), Money::add);
+        return getTotals().getSubtotal();
     }
     
     public Money calculateEligibleAmountForPercentageDiscount() {
-        return items.stream()
-                .map(BillItem::calculateEligibleAmountForPercentageDiscount)
-                .reduce(Money.zero(), Money::add);
+        return getTotals().getEligibleAmount();
     }
     
-    public void applyDiscount(Money discountAmount) {
+    // Items only change through addItem/removeItem, so one aggregation pass serves every amount query
+    public BillTotals getTotals() {
+        if (totals == null) {
+            totals = BillTotals.of(items);
+        }
+        return totals;
+    }
+    
+    public void applyDiscount(Money discountAmount, LocalDateTime at) {
         this.totalDiscount = Objects.requireNonNull(discountAmount, "Discount amount cannot be null");
         calculateAmounts();
-        this.updatedAt = LocalDateTime.now();
+        touch(at);
     }
     
-    public void finalize() {
+    // finalizedAt becomes updatedAt, which decides the month the bill counts towards in spend windows
+    public void finalize(LocalDateTime finalizedAt) {
         if (status == BillStatus.FINALIZED) {
             throw new IllegalStateException("Bill is already finalized");
         }
         this.status = BillStatus.FINALIZED;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = Objects.requireNonNull(finalizedAt, "Finalization time cannot be null");
+    }
+    
+    private void touch(LocalDateTime at) {
+        this.updatedAt = Objects.requireNonNull(at, "Update time cannot be null");
     }
     
     private void calculateAmounts() {
@@ -138,15 +168,11 @@ public class Bill {
     }
     
     public Money getNonGroceryAmount() {
-        return items.stream()
-            .filter(item -> !item.isGrocery())
-            .map(BillItem::getTotalPrice)
-            .reduce(Money.zero(), Money::add);
+        return getTotals().getNonGroceryAmount();
     }
     
     public boolean hasNonGroceryItems() {
-        return items.stream()
-            .anyMatch(item -> !item.isGrocery());
+        return getTotals().hasNonGroceryItems();
     }
     
     @Override
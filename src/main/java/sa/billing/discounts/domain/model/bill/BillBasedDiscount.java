@@ -1,6 +1,8 @@
 package sa.billing.discounts.domain.model.bill;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
 
 import sa.billing.discounts.domain.model.customer.Customer;
 import sa.billing.discounts.domain.model.discount.Discount;
@@ -22,11 +24,7 @@ public class BillBasedDiscount extends Discount {
             return Money.zero();
         }
         
-        Money subtotal = bill.calculateSubtotal();
-        BigDecimal discountMultiplier = subtotal.getAmount()
-                .divide(discountThreshold.getAmount(), 0, BigDecimal.ROUND_DOWN);
-        
-        return discountAmount.multiply(discountMultiplier);
+        return discountOn(bill.calculateSubtotal());
     }
     
     @Override
@@ -34,4 +32,21 @@ public class BillBasedDiscount extends Discount {
         return !bill.isEmpty() && 
                bill.calculateSubtotal().isGreaterThanOrEqual(discountThreshold);
     }
+    
+    @Override
+    public Money calculateDiscount(BillTotals totals, Customer customer, LocalDateTime at) {
+        if (totals.getItemCount() == 0 || !totals.getSubtotal().isGreaterThanOrEqual(discountThreshold)) {
+            return Money.zero();
+        }
+        
+        return discountOn(totals.getSubtotal());
+    }
+    
+    // discountAmount for every whole discountThreshold in the subtotal
+    private Money discountOn(Money subtotal) {
+        BigDecimal discountMultiplier = subtotal.getAmount()
+                .divide(discountThreshold.getAmount(), 0, RoundingMode.DOWN);
+        
+        return discountAmount.multiply(discountMultiplier);
+    }
 }
\ No newline at end of file
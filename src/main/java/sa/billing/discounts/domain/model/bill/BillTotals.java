@@ -0,0 +1,235 @@
+package sa.billing.discounts.domain.model.bill;
+
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public final class BillTotals {
+
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+    private static final int LEAF_SIZE = 2_048;
+    private static final ProductCategory[] CATEGORIES = ProductCategory.values();
+
+    private final int itemCount;
+    private final Money subtotal;
+    private final Money eligibleAmount;
+    private final Money nonGroceryAmount;
+    private final int nonGroceryItemCount;
+    // Indexed by ProductCategory ordinal
+    private final Money[] categoryAmounts;
+
+    private BillTotals(int itemCount, Money subtotal, Money eligibleAmount,
+                       Money nonGroceryAmount, int nonGroceryItemCount, Money[] categoryAmounts) {
+        this.itemCount = itemCount;
+        this.subtotal = subtotal;
+        this.eligibleAmount = eligibleAmount;
+        this.nonGroceryAmount = nonGroceryAmount;
+        this.nonGroceryItemCount = nonGroceryItemCount;
+        this.categoryAmounts = categoryAmounts;
+    }
+
+    public static BillTotals of(List<BillItem> items) {
+        return of(items, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    // Bills with at least parallelThreshold lines are aggregated on the fork-join pool
+    public static BillTotals of(List<BillItem> items, int parallelThreshold) {
+        Objects.requireNonNull(items, "Items cannot be null");
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        return items.size() >= parallelThreshold ? parallel(items) : sequential(items);
+    }
+
+    public static BillTotals sequential(List<BillItem> items) {
+        return new Accumulator().addAll(items, 0, items.size()).toTotals();
+    }
+
+    public static BillTotals parallel(List<BillItem> items) {
+        return ForkJoinPool.commonPool().invoke(new AggregationTask(items, 0, items.size())).toTotals();
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public Money getSubtotal() {
+        return subtotal;
+    }
+
+    public Money getEligibleAmount() {
+        return eligibleAmount;
+    }
+
+    public Money getNonGroceryAmount() {
+        return nonGroceryAmount;
+    }
+
+    public int getNonGroceryItemCount() {
+        return nonGroceryItemCount;
+    }
+
+    public boolean hasNonGroceryItems() {
+        return nonGroceryItemCount > 0;
+    }
+
+    // Sum of the line totals in the category, collected in the same pass as every other amount
+    public Money getCategoryAmount(ProductCategory category) {
+        return categoryAmounts[category.ordinal()];
+    }
+
+    /**
+     * These totals with one more line, in a few operations per category rather than another pass
+     * over the bill. Every amount is an exact scale-2 sum, so the result equals re-aggregating.
+     */
+    public BillTotals plus(BillItem item) {
+        return adjust(item, 1);
+    }
+
+    // These totals without a line that was part of them
+    public BillTotals minus(BillItem item) {
+        return adjust(item, -1);
+    }
+
+    private BillTotals adjust(BillItem item, int sign) {
+        Money lineTotal = item.getTotalPrice();
+        Money[] categories = categoryAmounts.clone();
+        int category = item.getProduct().getCategory().ordinal();
+        categories[category] = sign > 0 ? categories[category].add(lineTotal) : categories[category].subtract(lineTotal);
+        Money eligible = eligibleAmount;
+        if (item.isEligibleForPercentageDiscount()) {
+            eligible = sign > 0 ? eligible.add(lineTotal) : eligible.subtract(lineTotal);
+        }
+        Money nonGrocery = nonGroceryAmount;
+        int nonGroceryItems = nonGroceryItemCount;
+        if (!item.isGrocery()) {
+            nonGrocery = sign > 0 ? nonGrocery.add(lineTotal) : nonGrocery.subtract(lineTotal);
+            nonGroceryItems += sign;
+        }
+        return new BillTotals(itemCount + sign,
+                sign > 0 ? subtotal.add(lineTotal) : subtotal.subtract(lineTotal),
+                eligible, nonGrocery, nonGroceryItems, categories);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BillTotals that = (BillTotals) o;
+        return itemCount == that.itemCount &&
+               nonGroceryItemCount == that.nonGroceryItemCount &&
+               Objects.equals(subtotal, that.subtotal) &&
+               Objects.equals(eligibleAmount, that.eligibleAmount) &&
+               Objects.equals(nonGroceryAmount, that.nonGroceryAmount) &&
+               Arrays.equals(categoryAmounts, that.categoryAmounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(itemCount, subtotal, eligibleAmount, nonGroceryAmount, nonGroceryItemCount)
+                * 31 + Arrays.hashCode(categoryAmounts);
+    }
+
+    @Override
+    public String toString() {
+        return "BillTotals{" +
+                "itemCount=" + itemCount +
+                ", subtotal=" + subtotal +
+                ", eligibleAmount=" + eligibleAmount +
+                ", nonGroceryAmount=" + nonGroceryAmount +
+                ", nonGroceryItemCount=" + nonGroceryItemCount +
+                '}';
+    }
+
+    // Line totals are all scale-2 Money, so BigDecimal addition is exact and any split order sums to the same value
+    public static final class Accumulator {
+        private int itemCount;
+        private BigDecimal subtotal = BigDecimal.ZERO;
+        private BigDecimal eligibleAmount = BigDecimal.ZERO;
+        private BigDecimal nonGroceryAmount = BigDecimal.ZERO;
+        private int nonGroceryItemCount;
+        private final BigDecimal[] categoryAmounts = new BigDecimal[CATEGORIES.length];
+
+        public Accumulator() {
+            Arrays.fill(categoryAmounts, BigDecimal.ZERO);
+        }
+
+        public Accumulator add(BillItem item) {
+            BigDecimal lineTotal = item.getTotalPrice().getAmount();
+            subtotal = subtotal.add(lineTotal);
+            int category = item.getProduct().getCategory().ordinal();
+            categoryAmounts[category] = categoryAmounts[category].add(lineTotal);
+            if (item.isEligibleForPercentageDiscount()) {
+                eligibleAmount = eligibleAmount.add(lineTotal);
+            }
+            if (!item.isGrocery()) {
+                nonGroceryAmount = nonGroceryAmount.add(lineTotal);
+                nonGroceryItemCount++;
+            }
+            itemCount++;
+            return this;
+        }
+
+        Accumulator addAll(List<BillItem> items, int from, int to) {
+            for (int i = from; i < to; i++) {
+                add(items.get(i));
+            }
+            return this;
+        }
+
+        Accumulator merge(Accumulator other) {
+            itemCount += other.itemCount;
+            subtotal = subtotal.add(other.subtotal);
+            eligibleAmount = eligibleAmount.add(other.eligibleAmount);
+            nonGroceryAmount = nonGroceryAmount.add(other.nonGroceryAmount);
+            nonGroceryItemCount += other.nonGroceryItemCount;
+            for (int i = 0; i < categoryAmounts.length; i++) {
+                categoryAmounts[i] = categoryAmounts[i].add(other.categoryAmounts[i]);
+            }
+            return this;
+        }
+
+        public int getItemCount() {
+            return itemCount;
+        }
+
+        public BillTotals toTotals() {
+            Money[] categories = new Money[categoryAmounts.length];
+            for (int i = 0; i < categories.length; i++) {
+                categories[i] = Money.of(categoryAmounts[i]);
+            }
+            return new BillTotals(itemCount, Money.of(subtotal), Money.of(eligibleAmount),
+                    Money.of(nonGroceryAmount), nonGroceryItemCount, categories);
+        }
+    }
+
+    private static final class AggregationTask extends RecursiveTask<Accumulator> {
+        private final List<BillItem> items;
+        private final int from;
+        private final int to;
+
+        AggregationTask(List<BillItem> items, int from, int to) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from <= LEAF_SIZE) {
+                return new Accumulator().addAll(items, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            AggregationTask left = new AggregationTask(items, from, middle);
+            left.fork();
+            Accumulator right = new AggregationTask(items, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
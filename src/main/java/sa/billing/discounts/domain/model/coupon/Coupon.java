@@ -0,0 +1,151 @@
+package sa.billing.discounts.domain.model.coupon;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.domain.model.valueobject.Percentage;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A code a customer enters to take a percentage or a fixed amount off the bill, after every other
+ * discount. The normalized code is the document ID, so a code is unique and looked up by key.
+ * {@code maxRedemptions} caps how often it can be redeemed overall; {@code null} means no cap.
+ */
+@Document(collection = "coupons")
+public class Coupon {
+
+    public static final int MAX_CODE_LENGTH = 64;
+
+    @Id
+    private String id;
+    private CouponKind kind;
+    private BigDecimal value;
+    private Integer maxRedemptions;
+    private Instant expiresAt;
+    // Only ever changed by the repository's atomic redeem
+    private volatile long redemptions;
+    private LocalDateTime createdAt;
+
+    protected Coupon() {
+    }
+
+    private Coupon(String code, CouponKind kind, BigDecimal value, Integer maxRedemptions, Instant expiresAt) {
+        this.id = normalize(code);
+        this.kind = Objects.requireNonNull(kind, "Coupon kind cannot be null");
+        this.value = Objects.requireNonNull(value, "Coupon value cannot be null");
+        this.maxRedemptions = maxRedemptions;
+        // Whole milliseconds, as MongoDB stores dates
+        this.expiresAt = expiresAt != null ? expiresAt.truncatedTo(ChronoUnit.MILLIS) : null;
+        if (value.signum() <= 0) {
+            throw new IllegalArgumentException("Coupon value must be positive");
+        }
+        if (kind == CouponKind.PERCENTAGE && value.compareTo(BigDecimal.valueOf(100)) > 0) {
+            throw new IllegalArgumentException("Coupon percentage cannot exceed 100");
+        }
+        if (maxRedemptions != null && maxRedemptions < 1) {
+            throw new IllegalArgumentException("Coupon max redemptions must be at least 1");
+        }
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static Coupon create(String code, CouponKind kind, BigDecimal value, Integer maxRedemptions, Instant expiresAt) {
+        return new Coupon(code, kind, value, maxRedemptions, expiresAt);
+    }
+
+    /**
+     * Codes are compared without surrounding blanks and without case, so {@code " save10"} and
+     * {@code "SAVE10"} are the same coupon.
+     *
+     * @throws IllegalArgumentException if the code is blank or longer than {@value #MAX_CODE_LENGTH}
+     */
+    public static String normalize(String code) {
+        if (code == null || code.isBlank()) {
+            throw new IllegalArgumentException("Coupon code cannot be blank");
+        }
+        String normalized = code.trim().toUpperCase(Locale.ROOT);
+        if (normalized.length() > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("Coupon code cannot be longer than " + MAX_CODE_LENGTH + " characters");
+        }
+        return normalized;
+    }
+
+    public boolean isExpiredAt(Instant instant) {
+        return expiresAt != null && !instant.isBefore(expiresAt);
+    }
+
+    public boolean hasRedemptionsLeft() {
+        return maxRedemptions == null || redemptions < maxRedemptions;
+    }
+
+    // Callers hold the coupon's lock, so two redeems never pass the limit check with the same count
+    public void recordRedemption() {
+        redemptions++;
+    }
+
+    // Amount taken off what is left to pay; rounded like every other discount and capped at that amount
+    public Money discountOn(Money amount) {
+        if (kind == CouponKind.PERCENTAGE) {
+            return Percentage.of(value).applyTo(amount);
+        }
+        Money fixed = Money.of(value);
+        return fixed.isGreaterThan(amount) ? amount : fixed;
+    }
+
+    public String getCode() {
+        return id;
+    }
+
+    public CouponKind getKind() {
+        return kind;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public Integer getMaxRedemptions() {
+        return maxRedemptions;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public long getRedemptions() {
+        return redemptions;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Objects.equals(id, ((Coupon) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "Coupon{" +
+                "code='" + id + '\'' +
+                ", kind=" + kind +
+                ", value=" + value +
+                ", maxRedemptions=" + maxRedemptions +
+                ", redemptions=" + redemptions +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
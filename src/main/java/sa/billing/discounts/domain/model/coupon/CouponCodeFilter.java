@@ -0,0 +1,117 @@
+package sa.billing.discounts.domain.model.coupon;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over normalized coupon codes. {@link #mightContain} never answers {@code false} for a
+ * code that was added, and answers {@code true} for a code that was not with about the configured
+ * false-positive rate while no more than the expected number of codes have been added. Codes can be
+ * added while other threads query it; there is no removal, so a deleted code stays a (harmless)
+ * false positive until the filter is rebuilt.
+ */
+public final class CouponCodeFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final int expectedCodes;
+    private final AtomicInteger added = new AtomicInteger();
+
+    private CouponCodeFilter(int expectedCodes, double falsePositiveRate) {
+        // Standard sizing: m = -n ln p / (ln 2)^2 bits and k = m/n ln 2 hash functions
+        long bits = (long) Math.ceil(-expectedCodes * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedCodes * Math.log(2)));
+        this.expectedCodes = expectedCodes;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code expectedCodes} is not positive or the rate is not
+     *                                  strictly between 0 and 1
+     */
+    public static CouponCodeFilter create(int expectedCodes, double falsePositiveRate) {
+        if (expectedCodes < 1) {
+            throw new IllegalArgumentException("Expected codes must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        return new CouponCodeFilter(expectedCodes, falsePositiveRate);
+    }
+
+    public static CouponCodeFilter of(Collection<String> codes, int expectedCodes, double falsePositiveRate) {
+        CouponCodeFilter filter = create(expectedCodes, falsePositiveRate);
+        codes.forEach(filter::add);
+        return filter;
+    }
+
+    public void add(String code) {
+        long hash = hash(code);
+        int step = (int) (hash >>> 32);
+        int base = (int) hash;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(base + i * step);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+        added.incrementAndGet();
+    }
+
+    public boolean mightContain(String code) {
+        long hash = hash(code);
+        int step = (int) (hash >>> 32);
+        int base = (int) hash;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(base + i * step);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Past this the false-positive rate climbs above the configured one, so the filter should be rebuilt larger
+    public boolean isOverCapacity() {
+        return added.get() > expectedCodes;
+    }
+
+    public int getExpectedCodes() {
+        return expectedCodes;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private long index(int combined) {
+        return (combined & 0xffffffffL) % bitCount;
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so both halves are well spread
+    private static long hash(String code) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : code.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,8 @@
+package sa.billing.discounts.domain.model.coupon;
+
+public enum CouponKind {
+    // Percentage of the amount left after every other discount
+    PERCENTAGE,
+    // Fixed amount off the bill, never more than is left to pay
+    FIXED_AMOUNT
+}
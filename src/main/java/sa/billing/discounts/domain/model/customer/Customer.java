@@ -10,6 +10,8 @@ import java.util.Objects;
 @Document(collection = "customers")
 public class Customer {
     
+    static final int LOYALTY_YEARS = 2;
+    
     @Id
     private String id;
     private String name;
@@ -18,29 +20,39 @@ public class Customer {
     private LocalDateTime registrationDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Loyal strictly after this; derived on first use for customers stored before it was kept
+    private LocalDateTime loyaltyEligibleFrom;
     
     protected Customer() {
     }
     
-    private Customer(String name, String email, CustomerType type, LocalDateTime registrationDate) {
+    private Customer(String name, String email, CustomerType type, LocalDateTime registrationDate,
+                     LocalDateTime createdAt) {
         this.name = Objects.requireNonNull(name, "Customer name cannot be null");
         this.email = Objects.requireNonNull(email, "Customer email cannot be null");
         this.type = Objects.requireNonNull(type, "Customer type cannot be null");
         this.registrationDate = Objects.requireNonNull(registrationDate, "Registration date cannot be null");
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.loyaltyEligibleFrom = registrationDate.plusYears(LOYALTY_YEARS);
+        this.createdAt = Objects.requireNonNull(createdAt, "Creation time cannot be null");
+        this.updatedAt = createdAt;
+    }
+    
+    // For callers that read their own clock; the factories below are stamped with the system time
+    public static Customer create(CustomerType type, String name, String email, LocalDateTime registrationDate,
+                                  LocalDateTime createdAt) {
+        return new Customer(name, email, type, registrationDate, createdAt);
     }
     
     public static Customer createEmployee(String name, String email, LocalDateTime registrationDate) {
-        return new Customer(name, email, CustomerType.EMPLOYEE, registrationDate);
+        return create(CustomerType.EMPLOYEE, name, email, registrationDate, LocalDateTime.now());
     }
     
     public static Customer createAffiliate(String name, String email, LocalDateTime registrationDate) {
-        return new Customer(name, email, CustomerType.AFFILIATE, registrationDate);
+        return create(CustomerType.AFFILIATE, name, email, registrationDate, LocalDateTime.now());
     }
     
     public static Customer createRegular(String name, String email, LocalDateTime registrationDate) {
-        return new Customer(name, email, CustomerType.REGULAR, registrationDate);
+        return create(CustomerType.REGULAR, name, email, registrationDate, LocalDateTime.now());
     }
     
     public boolean isEmployee() {
@@ -51,9 +63,10 @@ public class Customer {
         return type == CustomerType.AFFILIATE;
     }
     
+    // A single comparison against the precomputed cutoff. Registered on 29 February, the cutoff
+    // is 28 February two years on.
     public boolean isLoyalCustomer(LocalDateTime currentDate) {
-        return type == CustomerType.REGULAR && 
-               registrationDate.isBefore(currentDate.minusYears(2));
+        return type == CustomerType.REGULAR && currentDate.isAfter(getLoyaltyEligibleFrom());
     }
     
     public void updateType(CustomerType newType) {
@@ -89,6 +102,13 @@ public class Customer {
         return updatedAt;
     }
     
+    public LocalDateTime getLoyaltyEligibleFrom() {
+        if (loyaltyEligibleFrom == null) {
+            loyaltyEligibleFrom = registrationDate.plusYears(LOYALTY_YEARS);
+        }
+        return loyaltyEligibleFrom;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
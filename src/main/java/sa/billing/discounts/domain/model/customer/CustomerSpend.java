@@ -0,0 +1,124 @@
+package sa.billing.discounts.domain.model.customer;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * What a customer has been billed so far, over finalized bills only. The customer ID is the
+ * document ID. Amounts are kept as whole cents so the repository can add to them with an atomic
+ * {@code $inc}; BigDecimal fields are stored as strings and cannot be incremented in place.
+ */
+@Document(collection = "customer_spend")
+public class CustomerSpend {
+
+    @Id
+    private String id;
+    private long billCount;
+    private long spendCents;
+    private long discountCents;
+    // When the latest finalized bill was finalized; not moved back when a bill is deleted
+    private LocalDateTime lastBillAt;
+
+    protected CustomerSpend() {
+    }
+
+    private CustomerSpend(String customerId, long billCount, long spendCents, long discountCents,
+                          LocalDateTime lastBillAt) {
+        this.id = Objects.requireNonNull(customerId, "Customer ID cannot be null");
+        this.billCount = billCount;
+        this.spendCents = spendCents;
+        this.discountCents = discountCents;
+        this.lastBillAt = lastBillAt;
+    }
+
+    public static CustomerSpend empty(String customerId) {
+        return new CustomerSpend(customerId, 0, 0, 0, null);
+    }
+
+    public static CustomerSpend of(String customerId, long billCount, long spendCents, long discountCents,
+                                   LocalDateTime lastBillAt) {
+        return new CustomerSpend(customerId, billCount, spendCents, discountCents, lastBillAt);
+    }
+
+    // Summed the way the repository increments, so a rebuilt summary compares equal to a maintained one
+    public static CustomerSpend ofBills(String customerId, Iterable<Bill> finalizedBills) {
+        CustomerSpend spend = empty(customerId);
+        for (Bill bill : finalizedBills) {
+            spend = spend.plus(1, toCents(bill.getNetAmount()), toCents(bill.getTotalDiscount()), bill.getUpdatedAt());
+        }
+        return spend;
+    }
+
+    public CustomerSpend plus(long bills, long spendCents, long discountCents, LocalDateTime billedAt) {
+        LocalDateTime latest = lastBillAt == null || (billedAt != null && billedAt.isAfter(lastBillAt))
+                ? billedAt : lastBillAt;
+        return new CustomerSpend(id, billCount + bills, this.spendCents + spendCents,
+                this.discountCents + discountCents, latest);
+    }
+
+    public static long toCents(Money money) {
+        return money != null ? money.getAmount().movePointRight(2).longValueExact() : 0;
+    }
+
+    public String getCustomerId() {
+        return id;
+    }
+
+    public long getBillCount() {
+        return billCount;
+    }
+
+    public long getSpendCents() {
+        return spendCents;
+    }
+
+    public long getDiscountCents() {
+        return discountCents;
+    }
+
+    public Money getLifetimeSpend() {
+        return Money.of(BigDecimal.valueOf(spendCents, 2));
+    }
+
+    public Money getLifetimeDiscount() {
+        return Money.of(BigDecimal.valueOf(discountCents, 2));
+    }
+
+    public LocalDateTime getLastBillAt() {
+        return lastBillAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CustomerSpend that = (CustomerSpend) o;
+        return billCount == that.billCount
+                && spendCents == that.spendCents
+                && discountCents == that.discountCents
+                && Objects.equals(id, that.id)
+                && Objects.equals(lastBillAt, that.lastBillAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, billCount, spendCents, discountCents, lastBillAt);
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerSpend{" +
+                "customerId='" + id + '\'' +
+                ", billCount=" + billCount +
+                ", spendCents=" + spendCents +
+                ", discountCents=" + discountCents +
+                ", lastBillAt=" + lastBillAt +
+                '}';
+    }
+}
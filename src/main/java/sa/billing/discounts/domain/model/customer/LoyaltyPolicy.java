@@ -0,0 +1,13 @@
+package sa.billing.discounts.domain.model.customer;
+
+import java.time.LocalDateTime;
+
+// Decides whether a customer who is neither an employee nor an affiliate gets the loyalty discount
+@FunctionalInterface
+public interface LoyaltyPolicy {
+
+    // The original rule: registered more than two years ago
+    LoyaltyPolicy TENURE = Customer::isLoyalCustomer;
+
+    boolean isLoyal(Customer customer, LocalDateTime at);
+}
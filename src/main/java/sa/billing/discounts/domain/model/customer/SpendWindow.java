@@ -0,0 +1,84 @@
+package sa.billing.discounts.domain.model.customer;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * A customer's spend over the last {@link #MONTHS} calendar months, the current one included, in one
+ * bucket per month. Buckets are reused in a ring, and the running total is adjusted as amounts are
+ * added and as months fall out of the window, so reading the total costs the same however many bills
+ * went into it. Months are counted from year 0 ({@link #monthOf}); amounts are in cents.
+ *
+ * <p>Not thread safe; callers serialize access to one window.
+ */
+public final class SpendWindow {
+
+    public static final int MONTHS = 12;
+
+    private final long[] buckets;
+    private int newestMonth;
+    private long total;
+
+    private SpendWindow(int newestMonth, long[] buckets) {
+        this.newestMonth = newestMonth;
+        this.buckets = buckets;
+        this.total = Arrays.stream(buckets).sum();
+    }
+
+    public static SpendWindow empty() {
+        return new SpendWindow(0, new long[MONTHS]);
+    }
+
+    /**
+     * A window as checkpointed by {@link #getNewestMonth} and {@link #getBuckets}.
+     *
+     * @throws IllegalArgumentException if there is not one bucket per month
+     */
+    public static SpendWindow restore(int newestMonth, long[] buckets) {
+        if (buckets == null || buckets.length != MONTHS) {
+            throw new IllegalArgumentException("A spend window needs " + MONTHS + " monthly buckets");
+        }
+        return new SpendWindow(newestMonth, buckets.clone());
+    }
+
+    public static int monthOf(LocalDateTime at) {
+        return at.getYear() * 12 + at.getMonthValue() - 1;
+    }
+
+    // Negative amounts take a bill back out; amounts for months already out of the window are ignored
+    public void add(int month, long cents) {
+        advanceTo(month);
+        if (month <= newestMonth - MONTHS) {
+            return;
+        }
+        buckets[Math.floorMod(month, MONTHS)] += cents;
+        total += cents;
+    }
+
+    // Clears at most MONTHS buckets, however long ago the window last moved
+    public long totalAt(int month) {
+        advanceTo(month);
+        return total;
+    }
+
+    private void advanceTo(int month) {
+        if (month <= newestMonth) {
+            return;
+        }
+        int expired = (int) Math.min(MONTHS, (long) month - newestMonth);
+        for (int i = 1; i <= expired; i++) {
+            int bucket = Math.floorMod(newestMonth + i, MONTHS);
+            total -= buckets[bucket];
+            buckets[bucket] = 0;
+        }
+        newestMonth = month;
+    }
+
+    public int getNewestMonth() {
+        return newestMonth;
+    }
+
+    public long[] getBuckets() {
+        return buckets.clone();
+    }
+}
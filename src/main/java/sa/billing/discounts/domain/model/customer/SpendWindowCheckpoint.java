@@ -0,0 +1,59 @@
+package sa.billing.discounts.domain.model.customer;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// A customer's spend per month as stored, keyed by SpendWindow.monthOf; the customer ID is the document
+// ID. Months are separate fields so each instance's checkpoint can increment them on the server.
+@Document(collection = "customer_spend_windows")
+public class SpendWindowCheckpoint {
+
+    @Id
+    private String id;
+    // Document field names must be strings
+    private Map<String, Long> cents;
+    private LocalDateTime checkpointedAt;
+
+    protected SpendWindowCheckpoint() {
+    }
+
+    private SpendWindowCheckpoint(String customerId, Map<String, Long> cents, LocalDateTime checkpointedAt) {
+        this.id = customerId;
+        this.cents = cents;
+        this.checkpointedAt = checkpointedAt;
+    }
+
+    public static SpendWindowCheckpoint of(String customerId, Map<Integer, Long> centsByMonth, LocalDateTime checkpointedAt) {
+        Map<String, Long> cents = new HashMap<>();
+        centsByMonth.forEach((month, amount) -> cents.put(Integer.toString(month), amount));
+        return new SpendWindowCheckpoint(customerId, cents, checkpointedAt);
+    }
+
+    // Months that are already out of the window are dropped as the window moves past them
+    public SpendWindow toWindow() {
+        SpendWindow window = SpendWindow.empty();
+        new TreeMap<>(getCentsByMonth()).forEach(window::add);
+        return window;
+    }
+
+    public String getCustomerId() {
+        return id;
+    }
+
+    public Map<Integer, Long> getCentsByMonth() {
+        Map<Integer, Long> byMonth = new HashMap<>();
+        if (cents != null) {
+            cents.forEach((month, amount) -> byMonth.put(Integer.parseInt(month), amount));
+        }
+        return byMonth;
+    }
+
+    public LocalDateTime getCheckpointedAt() {
+        return checkpointedAt;
+    }
+}
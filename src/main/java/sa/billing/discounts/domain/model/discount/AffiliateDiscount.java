@@ -1,19 +1,28 @@
 package sa.billing.discounts.domain.model.discount;
 
 import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillTotals;
 import sa.billing.discounts.domain.model.customer.Customer;
 import sa.billing.discounts.domain.model.customer.CustomerType;
 import sa.billing.discounts.domain.model.valueobject.Money;
 import sa.billing.discounts.domain.model.valueobject.Percentage;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 public class AffiliateDiscount extends Discount {
     private final Percentage discountPercentage;
+    private final CategoryRates categoryRates;
     
     public AffiliateDiscount(BigDecimal percentage) {
+        this(percentage, CategoryRates.standard(percentage));
+    }
+    
+    // percentage is the base rate; categoryRates may exclude categories or grant them another rate
+    public AffiliateDiscount(BigDecimal percentage, CategoryRates categoryRates) {
         super(DiscountType.AFFILIATE, percentage + "% discount for affiliates on non-grocery items");
         this.discountPercentage = Percentage.of(percentage);
+        this.categoryRates = categoryRates;
     }
     
     @Override
@@ -22,12 +31,35 @@ public class AffiliateDiscount extends Discount {
             return Money.zero();
         }
         
+        if (!categoryRates.isStandard()) {
+            return categoryRates.applyTo(bill.getTotals());
+        }
         return discountPercentage.applyTo(bill.getNonGroceryAmount());
     }
     
     @Override
     public boolean isApplicable(Bill bill, Customer customer) {
         return customer.getType() == CustomerType.AFFILIATE 
-            && bill.hasNonGroceryItems();
+            && (categoryRates.isStandard() ? bill.hasNonGroceryItems() : !bill.isEmpty());
+    }
+    
+    @Override
+    public Money calculateDiscount(BillTotals totals, Customer customer, LocalDateTime at) {
+        if (customer.getType() != CustomerType.AFFILIATE) {
+            return Money.zero();
+        }
+        return calculateDiscount(totals);
+    }
+    
+    // Affiliate rate without the customer check, for callers that already know the buyer is an affiliate
+    public Money calculateDiscount(BillTotals totals) {
+        if (!categoryRates.isStandard()) {
+            return categoryRates.applyTo(totals);
+        }
+        return discountPercentage.applyTo(totals.getNonGroceryAmount());
+    }
+    
+    public CategoryRates getCategoryRates() {
+        return categoryRates;
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package sa.billing.discounts.domain.model.discount;
+
+import sa.billing.discounts.domain.model.bill.BillTotals;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.domain.model.valueobject.Percentage;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * The rate a percentage discount grants on each {@link ProductCategory}, held by ordinal; a category
+ * without a rate is not eligible. The discount is worked out from the per-category sums in
+ * {@link BillTotals}, so any number of category rules costs a few operations per category and never
+ * another pass over the bill's items.
+ */
+public final class CategoryRates {
+
+    private static final ProductCategory[] CATEGORIES = ProductCategory.values();
+
+    private final Percentage[] rates;
+    // One rate on every category but groceries, which get none: the rule before categories were configurable
+    private final boolean standard;
+
+    private CategoryRates(Percentage[] rates) {
+        this.rates = rates;
+        this.standard = isStandard(rates);
+    }
+
+    // The built-in rule: the same percentage on everything except groceries
+    public static CategoryRates standard(BigDecimal percentage) {
+        Percentage rate = Percentage.of(percentage);
+        Percentage[] rates = new Percentage[CATEGORIES.length];
+        for (ProductCategory category : CATEGORIES) {
+            if (isEligibleByDefault(category)) {
+                rates[category.ordinal()] = rate;
+            }
+        }
+        return new CategoryRates(rates);
+    }
+
+    /**
+     * @param rates percentage per eligible category; categories left out are not eligible
+     * @throws IllegalArgumentException if a percentage is outside 0 to 100
+     */
+    public static CategoryRates of(Map<ProductCategory, BigDecimal> rates) {
+        Percentage[] byOrdinal = new Percentage[CATEGORIES.length];
+        rates.forEach((category, rate) -> byOrdinal[category.ordinal()] = Percentage.of(rate));
+        return new CategoryRates(byOrdinal);
+    }
+
+    // Same as Product.isEligibleForPercentageDiscount, which configured category rules can override
+    public static boolean isEligibleByDefault(ProductCategory category) {
+        return category != ProductCategory.GROCERY;
+    }
+
+    public boolean isEligible(ProductCategory category) {
+        return rates[category.ordinal()] != null;
+    }
+
+    public Percentage rateFor(ProductCategory category) {
+        Percentage rate = rates[category.ordinal()];
+        return rate != null ? rate : Percentage.zero();
+    }
+
+    // True when the eligible amount in BillTotals times a single rate gives the same discount
+    public boolean isStandard() {
+        return standard;
+    }
+
+    // Categories sharing a rate are summed before the percentage is applied, so a bill with one rate
+    // is rounded once over its eligible amount, exactly like the standard rule
+    public Money applyTo(BillTotals totals) {
+        Money discount = Money.zero();
+        boolean[] applied = new boolean[rates.length];
+        for (int i = 0; i < rates.length; i++) {
+            if (rates[i] == null || applied[i]) {
+                continue;
+            }
+            Money amount = Money.zero();
+            for (int j = i; j < rates.length; j++) {
+                if (!applied[j] && rates[i].equals(rates[j])) {
+                    amount = amount.add(totals.getCategoryAmount(CATEGORIES[j]));
+                    applied[j] = true;
+                }
+            }
+            discount = discount.add(rates[i].applyTo(amount));
+        }
+        return discount;
+    }
+
+    private static boolean isStandard(Percentage[] rates) {
+        Percentage common = null;
+        for (ProductCategory category : CATEGORIES) {
+            Percentage rate = rates[category.ordinal()];
+            if (isEligibleByDefault(category) != (rate != null)) {
+                return false;
+            }
+            if (rate != null) {
+                if (common != null && !common.equals(rate)) {
+                    return false;
+                }
+                common = rate;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(rates, ((CategoryRates) o).rates);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(rates);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner text = new StringJoiner(", ", "CategoryRates{", "}");
+        for (ProductCategory category : CATEGORIES) {
+            Percentage rate = rates[category.ordinal()];
+            if (rate != null) {
+                text.add(category + "=" + rate);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -1,8 +1,10 @@
 package sa.billing.discounts.domain.model.discount;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Objects;
 import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillTotals;
 import sa.billing.discounts.domain.model.customer.Customer;
 import sa.billing.discounts.domain.model.valueobject.Money;
 
@@ -19,6 +21,10 @@ public abstract class Discount {
     
     public abstract boolean isApplicable(Bill bill, Customer customer);
     
+    // Same rules evaluated on pre-aggregated totals, for callers that never materialize a Bill.
+    // Totals carry no time of their own, so the caller passes the one its calculation runs at.
+    public abstract Money calculateDiscount(BillTotals totals, Customer customer, LocalDateTime at);
+    
     public DiscountType getType() {
         return type;
     }
@@ -1,6 +1,8 @@
 package sa.billing.discounts.domain.model.discount;
 
 public enum DiscountType {
+    // Reprices lines before any other discount is worked out
+    PROMOTION(0),
     EMPLOYEE(1),
     AFFILIATE(2),
     LOYALTY(3),
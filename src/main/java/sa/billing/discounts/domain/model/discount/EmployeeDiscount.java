@@ -1,18 +1,27 @@
 package sa.billing.discounts.domain.model.discount;
 
 import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillTotals;
 import sa.billing.discounts.domain.model.customer.Customer;
 import sa.billing.discounts.domain.model.valueobject.Money;
 import sa.billing.discounts.domain.model.valueobject.Percentage;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 public class EmployeeDiscount extends Discount {
     private final Percentage discountPercentage;
+    private final CategoryRates categoryRates;
     
     public EmployeeDiscount(BigDecimal percentage) {
+        this(percentage, CategoryRates.standard(percentage));
+    }
+    
+    // percentage is the base rate; categoryRates may exclude categories or grant them another rate
+    public EmployeeDiscount(BigDecimal percentage, CategoryRates categoryRates) {
         super(DiscountType.EMPLOYEE, percentage + "% discount for employees");
         this.discountPercentage = Percentage.of(percentage);
+        this.categoryRates = categoryRates;
     }
     
     @Override
@@ -21,6 +30,9 @@ public class EmployeeDiscount extends Discount {
             return Money.zero();
         }
         
+        if (!categoryRates.isStandard()) {
+            return categoryRates.applyTo(bill.getTotals());
+        }
         Money eligibleAmount = bill.calculateEligibleAmountForPercentageDiscount();
         return discountPercentage.applyTo(eligibleAmount);
     }
@@ -29,4 +41,28 @@ public class EmployeeDiscount extends Discount {
     public boolean isApplicable(Bill bill, Customer customer) {
         return customer.isEmployee() && !bill.isEmpty();
     }
+    
+    @Override
+    public Money calculateDiscount(BillTotals totals, Customer customer, LocalDateTime at) {
+        if (!customer.isEmployee()) {
+            return Money.zero();
+        }
+        return calculateDiscount(totals);
+    }
+    
+    // For a customer already known to qualify, such as every member of a quoted audience
+    public Money calculateDiscount(BillTotals totals) {
+        if (totals.getItemCount() == 0) {
+            return Money.zero();
+        }
+        
+        if (!categoryRates.isStandard()) {
+            return categoryRates.applyTo(totals);
+        }
+        return discountPercentage.applyTo(totals.getEligibleAmount());
+    }
+    
+    public CategoryRates getCategoryRates() {
+        return categoryRates;
+    }
 }
\ No newline at end of file
@@ -4,15 +4,23 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillTotals;
 import sa.billing.discounts.domain.model.customer.Customer;
 import sa.billing.discounts.domain.model.valueobject.Money;
 import sa.billing.discounts.domain.model.valueobject.Percentage;
 public class LoyaltyDiscount extends Discount {
     private final Percentage discountPercentage;
+    private final CategoryRates categoryRates;
     
     public LoyaltyDiscount(BigDecimal percentage) {
+        this(percentage, CategoryRates.standard(percentage));
+    }
+    
+    // percentage is the base rate; categoryRates may exclude categories or grant them another rate
+    public LoyaltyDiscount(BigDecimal percentage, CategoryRates categoryRates) {
         super(DiscountType.LOYALTY, percentage + "% discount for loyal customers (2+ years)");
         this.discountPercentage = Percentage.of(percentage);
+        this.categoryRates = categoryRates;
     }
     
     @Override
@@ -21,12 +29,45 @@ public class LoyaltyDiscount extends Discount {
             return Money.zero();
         }
         
+        if (!categoryRates.isStandard()) {
+            return categoryRates.applyTo(bill.getTotals());
+        }
         Money eligibleAmount = bill.calculateEligibleAmountForPercentageDiscount();
         return discountPercentage.applyTo(eligibleAmount);
     }
     
+    // Loyal as of the bill's last change, which callers stamp with their own reading of the clock
     @Override
     public boolean isApplicable(Bill bill, Customer customer) {
-        return customer.isLoyalCustomer(LocalDateTime.now()) && !bill.isEmpty();
+        return isApplicable(bill, customer, bill.getUpdatedAt());
+    }
+    
+    public boolean isApplicable(Bill bill, Customer customer, LocalDateTime at) {
+        return customer.isLoyalCustomer(at) && !bill.isEmpty();
+    }
+    
+    // Loyal as of the time the caller's calculation runs at
+    @Override
+    public Money calculateDiscount(BillTotals totals, Customer customer, LocalDateTime at) {
+        if (!customer.isLoyalCustomer(at)) {
+            return Money.zero();
+        }
+        return calculateDiscount(totals);
+    }
+    
+    // Skips the loyalty check; the caller has established that the customer qualifies
+    public Money calculateDiscount(BillTotals totals) {
+        if (totals.getItemCount() == 0) {
+            return Money.zero();
+        }
+        
+        if (!categoryRates.isStandard()) {
+            return categoryRates.applyTo(totals);
+        }
+        return discountPercentage.applyTo(totals.getEligibleAmount());
+    }
+    
+    public CategoryRates getCategoryRates() {
+        return categoryRates;
     }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package sa.billing.discounts.domain.model.discount;
+
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.bill.BillTotals;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.promotion.Promotion;
+import sa.billing.discounts.domain.model.promotion.PromotionIndex;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Scheduled promotions, evaluated at one instant. Having the highest priority, they work on line
+ * prices rather than on the bill: {@link #apply} lowers a line's unit price by its best active
+ * promotion, and the customer and bill-based discounts are then worked out on the promoted amounts.
+ * Promotions do not stack; each line gets the one that takes the most off, groceries included.
+ *
+ * <p>An instance serves a single calculation and keeps a running total, so it is not thread-safe.
+ */
+public class PromotionDiscount extends Discount {
+    private final PromotionIndex index;
+    private final Instant at;
+    private Money appliedAmount = Money.zero();
+    
+    public PromotionDiscount(PromotionIndex index, Instant at) {
+        super(DiscountType.PROMOTION, "Scheduled product and category promotions");
+        this.index = index;
+        this.at = at;
+    }
+    
+    // The item at its promoted unit price, or the item itself when no promotion is running for it
+    public BillItem apply(BillItem item) {
+        if (index.isEmpty()) {
+            return item;
+        }
+        Money perUnit = discountPerUnit(item);
+        if (perUnit.isZero()) {
+            return item;
+        }
+        appliedAmount = appliedAmount.add(perUnit.multiply(item.getQuantity()));
+        return BillItem.create(item.getProduct(), item.getQuantity(), item.getUnitPrice().subtract(perUnit));
+    }
+    
+    // Total taken off by apply so far
+    public Money getAppliedAmount() {
+        return appliedAmount;
+    }
+    
+    // What the promotions take off a bill whose lines are still at list price
+    @Override
+    public Money calculateDiscount(Bill bill, Customer customer) {
+        Money discount = Money.zero();
+        if (!isApplicable(bill, customer)) {
+            return discount;
+        }
+        for (BillItem item : bill.getItems()) {
+            discount = discount.add(discountPerUnit(item).multiply(item.getQuantity()));
+        }
+        return discount;
+    }
+    
+    // Totals are only ever built from lines apply has already promoted, so nothing is left to take off
+    @Override
+    public Money calculateDiscount(BillTotals totals, Customer customer, LocalDateTime at) {
+        return Money.zero();
+    }
+    
+    @Override
+    public boolean isApplicable(Bill bill, Customer customer) {
+        return !index.isEmpty() && !bill.isEmpty();
+    }
+    
+    private Money discountPerUnit(BillItem item) {
+        Optional<Promotion> best = index.bestFor(item.getProduct(), item.getUnitPrice(), at);
+        return best.isPresent() ? best.get().discountPerUnit(item.getUnitPrice()) : Money.zero();
+    }
+}
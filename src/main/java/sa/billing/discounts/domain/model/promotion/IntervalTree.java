@@ -0,0 +1,115 @@
+package sa.billing.discounts.domain.model.promotion;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Static centered interval tree over the validity windows of a fixed set of promotions. Each node
+ * holds the windows that contain its center, once sorted by start and once by end. A stabbing query
+ * follows a single root-to-leaf path and, at each node, reads only the windows it reports plus one,
+ * so finding the k promotions active at an instant costs O(log n + k) instead of a scan over all n.
+ */
+final class IntervalTree {
+
+    private static final class Node {
+        private final long center;
+        private final long[] starts;
+        private final Promotion[] byStart;
+        private final long[] ends;
+        private final Promotion[] byEnd;
+        private final Node left;
+        private final Node right;
+
+        private Node(long center, List<Promotion> overlapping, Node left, Node right) {
+            this.center = center;
+            // Already in start order, since the builder only ever partitions a start-sorted list
+            this.byStart = overlapping.toArray(new Promotion[0]);
+            this.starts = new long[byStart.length];
+            for (int i = 0; i < byStart.length; i++) {
+                starts[i] = millis(byStart[i].getStartsAt());
+            }
+            this.byEnd = byStart.clone();
+            Arrays.sort(byEnd, Comparator.comparing(Promotion::getEndsAt).reversed());
+            this.ends = new long[byEnd.length];
+            for (int i = 0; i < byEnd.length; i++) {
+                ends[i] = millis(byEnd[i].getEndsAt());
+            }
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private final Node root;
+    private final int size;
+
+    private IntervalTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static IntervalTree of(List<Promotion> promotions) {
+        List<Promotion> sorted = new ArrayList<>(promotions);
+        sorted.sort(Comparator.comparing(Promotion::getStartsAt));
+        return new IntervalTree(build(sorted), sorted.size());
+    }
+
+    // The median start is inside its own window, so every node keeps at least one promotion and both
+    // subtrees get at most half of the rest: depth stays logarithmic
+    private static Node build(List<Promotion> sortedByStart) {
+        if (sortedByStart.isEmpty()) {
+            return null;
+        }
+        long center = millis(sortedByStart.get(sortedByStart.size() / 2).getStartsAt());
+        List<Promotion> before = new ArrayList<>();
+        List<Promotion> overlapping = new ArrayList<>();
+        List<Promotion> after = new ArrayList<>();
+        for (Promotion promotion : sortedByStart) {
+            if (millis(promotion.getEndsAt()) <= center) {
+                before.add(promotion);
+            } else if (millis(promotion.getStartsAt()) > center) {
+                after.add(promotion);
+            } else {
+                overlapping.add(promotion);
+            }
+        }
+        return new Node(center, overlapping, build(before), build(after));
+    }
+
+    // Calls the action for every promotion whose window contains the instant
+    void forEachActiveAt(Instant instant, Consumer<Promotion> action) {
+        long at = millis(instant);
+        Node node = root;
+        while (node != null) {
+            if (at < node.center) {
+                // These windows all end after the center, so only the start decides
+                for (int i = 0; i < node.starts.length && node.starts[i] <= at; i++) {
+                    action.accept(node.byStart[i]);
+                }
+                node = node.left;
+            } else {
+                // These windows all start at or before the center, so only the end decides
+                for (int i = 0; i < node.ends.length && node.ends[i] > at; i++) {
+                    action.accept(node.byEnd[i]);
+                }
+                node = node.right;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Windows are whole milliseconds, so flooring the query instant loses nothing; clamped outside the long range
+    private static long millis(Instant instant) {
+        try {
+            return instant.toEpochMilli();
+        } catch (ArithmeticException e) {
+            return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package sa.billing.discounts.domain.model.promotion;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.domain.model.valueobject.Percentage;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * A discount on one product or on every product of a category, valid from {@code startsAt}
+ * (inclusive) until {@code endsAt} (exclusive).
+ */
+@Document(collection = "promotions")
+public class Promotion {
+
+    @Id
+    private String id;
+    private String name;
+    private PromotionScope scope;
+    private ProductCategory category;
+    private String productId;
+    private PromotionKind kind;
+    private BigDecimal value;
+    private Instant startsAt;
+    private Instant endsAt;
+    private LocalDateTime createdAt;
+
+    protected Promotion() {
+    }
+
+    private Promotion(String name, PromotionScope scope, ProductCategory category, String productId,
+                      PromotionKind kind, BigDecimal value, Instant startsAt, Instant endsAt) {
+        this.name = Objects.requireNonNull(name, "Promotion name cannot be null");
+        this.scope = scope;
+        this.category = category;
+        this.productId = productId;
+        this.kind = Objects.requireNonNull(kind, "Promotion kind cannot be null");
+        this.value = Objects.requireNonNull(value, "Promotion value cannot be null");
+        // Whole milliseconds, as MongoDB stores dates
+        this.startsAt = Objects.requireNonNull(startsAt, "Promotion start cannot be null").truncatedTo(ChronoUnit.MILLIS);
+        this.endsAt = Objects.requireNonNull(endsAt, "Promotion end cannot be null").truncatedTo(ChronoUnit.MILLIS);
+        if (value.signum() <= 0) {
+            throw new IllegalArgumentException("Promotion value must be positive");
+        }
+        if (kind == PromotionKind.PERCENTAGE && value.compareTo(BigDecimal.valueOf(100)) > 0) {
+            throw new IllegalArgumentException("Promotion percentage cannot exceed 100");
+        }
+        if (!this.endsAt.isAfter(this.startsAt)) {
+            throw new IllegalArgumentException("Promotion must end after it starts");
+        }
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static Promotion forCategory(String name, ProductCategory category, PromotionKind kind, BigDecimal value,
+                                        Instant startsAt, Instant endsAt) {
+        Objects.requireNonNull(category, "Promotion category cannot be null");
+        return new Promotion(name, PromotionScope.CATEGORY, category, null, kind, value, startsAt, endsAt);
+    }
+
+    public static Promotion forProduct(String name, String productId, PromotionKind kind, BigDecimal value,
+                                       Instant startsAt, Instant endsAt) {
+        Objects.requireNonNull(productId, "Promotion product ID cannot be null");
+        return new Promotion(name, PromotionScope.PRODUCT, null, productId, kind, value, startsAt, endsAt);
+    }
+
+    public boolean isActiveAt(Instant instant) {
+        return !instant.isBefore(startsAt) && instant.isBefore(endsAt);
+    }
+
+    public boolean appliesTo(Product product) {
+        return scope == PromotionScope.PRODUCT
+                ? productId.equals(product.getId())
+                : category == product.getCategory();
+    }
+
+    // Amount taken off one unit; rounded like every other discount and capped at the unit price
+    public Money discountPerUnit(Money unitPrice) {
+        if (kind == PromotionKind.PERCENTAGE) {
+            return Percentage.of(value).applyTo(unitPrice);
+        }
+        Money amount = Money.of(value);
+        return amount.isGreaterThan(unitPrice) ? unitPrice : amount;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public PromotionScope getScope() {
+        return scope;
+    }
+
+    public ProductCategory getCategory() {
+        return category;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public PromotionKind getKind() {
+        return kind;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public Instant getStartsAt() {
+        return startsAt;
+    }
+
+    public Instant getEndsAt() {
+        return endsAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Promotion promotion = (Promotion) o;
+        if (id == null || promotion.id == null) return false;
+        return Objects.equals(id, promotion.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? Objects.hash(id) : System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Promotion{" +
+                "id='" + id + '\'' +
+                ", name='" + name + '\'' +
+                ", scope=" + scope +
+                ", target=" + (scope == PromotionScope.PRODUCT ? productId : category) +
+                ", kind=" + kind +
+                ", value=" + value +
+                ", startsAt=" + startsAt +
+                ", endsAt=" + endsAt +
+                '}';
+    }
+}
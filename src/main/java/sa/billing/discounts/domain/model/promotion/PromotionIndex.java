@@ -0,0 +1,149 @@
+package sa.billing.discounts.domain.model.promotion;
+
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable lookup of the promotions active at an instant, with one {@link IntervalTree} per product ID
+ * and one per {@link ProductCategory}. A product's candidates are the union of its own tree and its
+ * category's tree, so the cost of pricing a line does not grow with the promotions scheduled for
+ * other products, nor with those that are not running at the time.
+ */
+public final class PromotionIndex {
+
+    private static final PromotionIndex EMPTY = new PromotionIndex(Map.of(), Map.of(), 0);
+    private static final Comparator<Promotion> BY_ID =
+            Comparator.comparing(Promotion::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Map<String, IntervalTree> byProduct;
+    private final Map<ProductCategory, IntervalTree> byCategory;
+    private final int size;
+
+    private PromotionIndex(Map<String, IntervalTree> byProduct, Map<ProductCategory, IntervalTree> byCategory, int size) {
+        this.byProduct = byProduct;
+        this.byCategory = byCategory;
+        this.size = size;
+    }
+
+    public static PromotionIndex empty() {
+        return EMPTY;
+    }
+
+    public static PromotionIndex of(Collection<Promotion> promotions) {
+        if (promotions.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, List<Promotion>> productPromotions = new HashMap<>();
+        Map<ProductCategory, List<Promotion>> categoryPromotions = new EnumMap<>(ProductCategory.class);
+        for (Promotion promotion : promotions) {
+            if (promotion.getScope() == PromotionScope.PRODUCT) {
+                productPromotions.computeIfAbsent(promotion.getProductId(), id -> new ArrayList<>()).add(promotion);
+            } else {
+                categoryPromotions.computeIfAbsent(promotion.getCategory(), category -> new ArrayList<>()).add(promotion);
+            }
+        }
+        Map<String, IntervalTree> byProduct = new HashMap<>(productPromotions.size() * 4 / 3 + 1);
+        productPromotions.forEach((productId, list) -> byProduct.put(productId, IntervalTree.of(list)));
+        Map<ProductCategory, IntervalTree> byCategory = new EnumMap<>(ProductCategory.class);
+        categoryPromotions.forEach((category, list) -> byCategory.put(category, IntervalTree.of(list)));
+        return new PromotionIndex(byProduct, byCategory, promotions.size());
+    }
+
+    // The promotion taking the most off one unit of the product, ties going to the lowest ID
+    public Optional<Promotion> bestFor(Product product, Money unitPrice, Instant at) {
+        if (size == 0) {
+            return Optional.empty();
+        }
+        Best best = new Best(unitPrice);
+        IntervalTree productTree = product.getId() != null ? byProduct.get(product.getId()) : null;
+        if (productTree != null) {
+            productTree.forEachActiveAt(at, best::offer);
+        }
+        IntervalTree categoryTree = byCategory.get(product.getCategory());
+        if (categoryTree != null) {
+            categoryTree.forEachActiveAt(at, best::offer);
+        }
+        return Optional.ofNullable(best.promotion);
+    }
+
+    public List<Promotion> activeFor(Product product, Instant at) {
+        List<Promotion> active = new ArrayList<>();
+        if (product.getId() != null) {
+            collect(byProduct.get(product.getId()), at, active);
+        }
+        collect(byCategory.get(product.getCategory()), at, active);
+        active.sort(BY_ID);
+        return active;
+    }
+
+    public List<Promotion> activeForProduct(String productId, Instant at) {
+        List<Promotion> active = new ArrayList<>();
+        collect(byProduct.get(productId), at, active);
+        active.sort(BY_ID);
+        return active;
+    }
+
+    public List<Promotion> activeForCategory(ProductCategory category, Instant at) {
+        List<Promotion> active = new ArrayList<>();
+        collect(byCategory.get(category), at, active);
+        active.sort(BY_ID);
+        return active;
+    }
+
+    public List<Promotion> activeAt(Instant at) {
+        List<Promotion> active = new ArrayList<>();
+        for (IntervalTree tree : byCategory.values()) {
+            collect(tree, at, active);
+        }
+        for (IntervalTree tree : byProduct.values()) {
+            collect(tree, at, active);
+        }
+        active.sort(BY_ID);
+        return active;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static void collect(IntervalTree tree, Instant at, List<Promotion> into) {
+        if (tree != null) {
+            tree.forEachActiveAt(at, into::add);
+        }
+    }
+
+    private static final class Best {
+        private final Money unitPrice;
+        private Promotion promotion;
+        private Money discount;
+
+        private Best(Money unitPrice) {
+            this.unitPrice = unitPrice;
+        }
+
+        private void offer(Promotion candidate) {
+            Money candidateDiscount = candidate.discountPerUnit(unitPrice);
+            if (promotion == null
+                    || candidateDiscount.isGreaterThan(discount)
+                    || candidateDiscount.equals(discount) && BY_ID.compare(candidate, promotion) < 0) {
+                promotion = candidate;
+                discount = candidateDiscount;
+            }
+        }
+    }
+}
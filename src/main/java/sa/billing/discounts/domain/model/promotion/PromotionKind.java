@@ -0,0 +1,8 @@
+package sa.billing.discounts.domain.model.promotion;
+
+public enum PromotionKind {
+    // Percentage off the unit price
+    PERCENTAGE,
+    // Fixed amount off each unit, never more than the unit price
+    FIXED_AMOUNT
+}
@@ -0,0 +1,6 @@
+package sa.billing.discounts.domain.model.promotion;
+
+public enum PromotionScope {
+    CATEGORY,
+    PRODUCT
+}
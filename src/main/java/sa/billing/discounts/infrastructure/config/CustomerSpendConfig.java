@@ -0,0 +1,42 @@
+package sa.billing.discounts.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import sa.billing.discounts.application.service.CustomerSpendService;
+import sa.billing.discounts.application.service.RollingSpendService;
+
+import java.time.Duration;
+
+@Configuration
+public class CustomerSpendConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "billing.customer-spend.repair-interval")
+    public CustomerSpendRepairJob customerSpendRepairJob(CustomerSpendService customerSpendService,
+                                                         @Value("${billing.customer-spend.repair-interval}") Duration interval) {
+        CustomerSpendRepairJob job = new CustomerSpendRepairJob(customerSpendService, interval);
+        job.start();
+        return job;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "billing.loyalty.checkpoint-interval")
+    public RollingSpendCheckpointJob rollingSpendCheckpointJob(RollingSpendService rollingSpendService,
+                                                               @Value("${billing.loyalty.checkpoint-interval}") Duration interval) {
+        RollingSpendCheckpointJob job = new RollingSpendCheckpointJob(rollingSpendService, interval);
+        job.start();
+        return job;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "billing.loyalty.repair-interval")
+    public RollingSpendRepairJob rollingSpendRepairJob(RollingSpendService rollingSpendService,
+                                                       @Value("${billing.loyalty.repair-interval}") Duration interval) {
+        RollingSpendRepairJob job = new RollingSpendRepairJob(rollingSpendService, interval);
+        job.start();
+        return job;
+    }
+}
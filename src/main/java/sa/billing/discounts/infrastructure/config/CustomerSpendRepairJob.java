@@ -0,0 +1,57 @@
+package sa.billing.discounts.infrastructure.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import sa.billing.discounts.application.service.CustomerSpendService;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link CustomerSpendService#repair()} in the background at a fixed delay, first one interval
+ * after startup. A failed run is logged and the next one goes ahead as scheduled.
+ */
+public class CustomerSpendRepairJob implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSpendRepairJob.class);
+
+    private final CustomerSpendService customerSpendService;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+
+    public CustomerSpendRepairJob(CustomerSpendService customerSpendService, Duration interval) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Repair interval must be positive");
+        }
+        this.customerSpendService = customerSpendService;
+        this.interval = interval;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "customer-spend-repair-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::repairQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void repairQuietly() {
+        try {
+            customerSpendService.repair();
+        } catch (RuntimeException e) {
+            logger.warn("Customer spend repair failed; retrying in {}: {}", interval, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
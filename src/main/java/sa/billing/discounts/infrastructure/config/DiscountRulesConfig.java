@@ -0,0 +1,32 @@
+package sa.billing.discounts.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import sa.billing.discounts.application.config.DiscountRules;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class DiscountRulesConfig {
+
+    @Bean
+    public DiscountRulesEndpoint discountRulesEndpoint(DiscountRules discountRules) {
+        return new DiscountRulesEndpoint(discountRules);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "billing.discount-rules.file")
+    public DiscountRulesFileWatcher discountRulesFileWatcher(DiscountRules discountRules,
+                                                             @Value("${billing.discount-rules.file}") Path file,
+                                                             @Value("${billing.discount-rules.poll-interval:5s}") Duration pollInterval)
+            throws IOException {
+        DiscountRulesFileWatcher watcher = new DiscountRulesFileWatcher(discountRules, file, pollInterval);
+        watcher.start();
+        return watcher;
+    }
+}
@@ -0,0 +1,38 @@
+package sa.billing.discounts.infrastructure.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import sa.billing.discounts.application.config.DiscountParameters;
+import sa.billing.discounts.application.config.DiscountRuleSet;
+import sa.billing.discounts.application.config.DiscountRules;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Endpoint(id = "discountrules")
+public class DiscountRulesEndpoint {
+
+    private final DiscountRules discountRules;
+
+    public DiscountRulesEndpoint(DiscountRules discountRules) {
+        this.discountRules = discountRules;
+    }
+
+    @ReadOperation
+    public Map<String, Object> active() {
+        DiscountRuleSet rules = discountRules.current();
+        DiscountParameters parameters = rules.getParameters();
+        Map<String, Object> active = new LinkedHashMap<>();
+        active.put("version", rules.getVersion());
+        active.put("source", rules.getSource());
+        active.put("loadedAt", rules.getLoadedAt());
+        active.put("employeePercentage", parameters.employeePercentage());
+        active.put("affiliatePercentage", parameters.affiliatePercentage());
+        active.put("loyaltyPercentage", parameters.loyaltyPercentage());
+        active.put("billThreshold", parameters.billThreshold());
+        active.put("billDiscountAmount", parameters.billDiscountAmount());
+        active.put("categories", parameters.categories());
+        return active;
+    }
+}
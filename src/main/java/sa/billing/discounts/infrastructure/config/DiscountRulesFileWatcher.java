@@ -0,0 +1,108 @@
+package sa.billing.discounts.infrastructure.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.io.FileSystemResource;
+
+import sa.billing.discounts.application.config.DiscountParameters;
+import sa.billing.discounts.application.config.DiscountRules;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads {@link DiscountRules} from a local {@code .yml}, {@code .yaml} or {@code .properties} file
+ * that uses the same {@code discount.*} keys as the application configuration. The file is polled
+ * rather than watched, since polling also sees a mounted config map being swapped through a
+ * symlink. A file that cannot be read or holds invalid values is logged and the active rules stay
+ * in force; at startup the same problems fail fast instead.
+ */
+public class DiscountRulesFileWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscountRulesFileWatcher.class);
+
+    private final DiscountRules discountRules;
+    private final Path file;
+    private final Duration pollInterval;
+    private ScheduledExecutorService poller;
+    // Modification time and size of the last version read; touched only by the polling thread after start
+    private FileTime lastModified;
+    private long lastSize = -1;
+
+    public DiscountRulesFileWatcher(DiscountRules discountRules, Path file, Duration pollInterval) {
+        this.discountRules = discountRules;
+        this.file = file;
+        this.pollInterval = pollInterval;
+    }
+
+    public void start() throws IOException {
+        poll();
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "discount-rules-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = pollInterval.toMillis();
+        poller.scheduleWithFixedDelay(this::pollQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Reloads when the file's modification time or size changed since the last read
+    void poll() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        if (Objects.equals(attributes.lastModifiedTime(), lastModified) && attributes.size() == lastSize) {
+            return;
+        }
+        DiscountParameters parameters = read(file);
+        discountRules.reload(parameters, "file " + file);
+        lastModified = attributes.lastModifiedTime();
+        lastSize = attributes.size();
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Keeping discount rules version {}; could not load {}: {}",
+                    discountRules.current().getVersion(), file, e.getMessage());
+        }
+    }
+
+    static DiscountParameters read(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        Properties properties;
+        if (name.endsWith(".yml") || name.endsWith(".yaml")) {
+            YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+            yaml.setResources(new FileSystemResource(file));
+            properties = yaml.getObject();
+        } else {
+            properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+        }
+        // Same relaxed binding as startup, so employee-percentage, employeePercentage and so on all work
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bind("discount", DiscountParameters.class)
+                .orElseGet(() -> new DiscountParameters(null, null, null, null, null));
+    }
+
+    @Override
+    public void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+}
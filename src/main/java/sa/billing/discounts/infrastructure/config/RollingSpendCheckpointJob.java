@@ -0,0 +1,58 @@
+package sa.billing.discounts.infrastructure.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import sa.billing.discounts.application.service.RollingSpendService;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkpoints the rolling spend windows at a fixed delay, and once more on shutdown so a clean stop
+ * loses nothing. A failed checkpoint is logged; its windows stay dirty and go out with the next one.
+ */
+public class RollingSpendCheckpointJob implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollingSpendCheckpointJob.class);
+
+    private final RollingSpendService rollingSpendService;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+
+    public RollingSpendCheckpointJob(RollingSpendService rollingSpendService, Duration interval) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.rollingSpendService = rollingSpendService;
+        this.interval = interval;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rolling-spend-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkpointQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkpointQuietly() {
+        try {
+            rollingSpendService.checkpoint();
+        } catch (RuntimeException e) {
+            logger.warn("Could not checkpoint spend windows; retrying in {}: {}", interval, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        checkpointQuietly();
+    }
+}
@@ -0,0 +1,57 @@
+package sa.billing.discounts.infrastructure.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import sa.billing.discounts.application.service.RollingSpendService;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link RollingSpendService#repair()} in the background at a fixed delay. The first run starts
+ * right after startup, so turning the spend rule on seeds every window from the bills already stored.
+ * A failed run is logged and the next one goes ahead as scheduled.
+ */
+public class RollingSpendRepairJob implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollingSpendRepairJob.class);
+
+    private final RollingSpendService rollingSpendService;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+
+    public RollingSpendRepairJob(RollingSpendService rollingSpendService, Duration interval) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Repair interval must be positive");
+        }
+        this.rollingSpendService = rollingSpendService;
+        this.interval = interval;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rolling-spend-repair-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::repairQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void repairQuietly() {
+        try {
+            rollingSpendService.repair();
+        } catch (RuntimeException e) {
+            logger.warn("Rolling spend repair failed; retrying in {}: {}", interval, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package sa.billing.discounts.infrastructure.data;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDateTime;
 
 import org.slf4j.Logger;
@@ -10,6 +11,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.CustomerType;
 import sa.billing.discounts.domain.model.product.Product;
 import sa.billing.discounts.domain.model.product.ProductCategory;
 import sa.billing.discounts.domain.model.valueobject.Money;
@@ -17,18 +19,21 @@ import sa.billing.discounts.infrastructure.persistence.repository.CustomerReposi
 import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
 
 @Component
-@Profile("dev")
+@Profile({"dev", "memory"})
 public class DataInitializer implements CommandLineRunner, DataInitializationService {
 
   private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
   private final CustomerRepository customerRepository;
   private final ProductRepository productRepository;
+  private final Clock clock;
 
   public DataInitializer(CustomerRepository customerRepository, 
-                        ProductRepository productRepository) {
+                        ProductRepository productRepository,
+                        Clock clock) {
     this.customerRepository = customerRepository;
     this.productRepository = productRepository;
+    this.clock = clock;
   }
 
   @Override
@@ -52,31 +57,36 @@ public class DataInitializer implements CommandLineRunner, DataInitializationSer
       return;
     }
 
-    Customer employee = Customer.createEmployee(
+    LocalDateTime now = LocalDateTime.now(clock);
+    Customer employee = Customer.create(CustomerType.EMPLOYEE,
         SampleData.CUSTOMER_EMPLOYEE_NAME,
         SampleData.CUSTOMER_EMPLOYEE_EMAIL,
-        LocalDateTime.now().minusYears(1)
+        now.minusYears(1),
+        now
     );
     setCustomerId(employee, SampleData.CUSTOMER_EMPLOYEE_ID);
 
-    Customer affiliate = Customer.createAffiliate(
+    Customer affiliate = Customer.create(CustomerType.AFFILIATE,
         SampleData.CUSTOMER_AFFILIATE_NAME,
         SampleData.CUSTOMER_AFFILIATE_EMAIL,
-        LocalDateTime.now().minusYears(2)
+        now.minusYears(2),
+        now
     );
     setCustomerId(affiliate, SampleData.CUSTOMER_AFFILIATE_ID);
 
-    Customer loyalCustomer = Customer.createRegular(
+    Customer loyalCustomer = Customer.create(CustomerType.REGULAR,
         SampleData.CUSTOMER_LOYAL_NAME,
         SampleData.CUSTOMER_LOYAL_EMAIL,
-        LocalDateTime.now().minusYears(3)
+        now.minusYears(3),
+        now
     );
     setCustomerId(loyalCustomer, SampleData.CUSTOMER_LOYAL_ID);
 
-    Customer regularCustomer = Customer.createRegular(
+    Customer regularCustomer = Customer.create(CustomerType.REGULAR,
         SampleData.CUSTOMER_REGULAR_NAME,
         SampleData.CUSTOMER_REGULAR_EMAIL,
-        LocalDateTime.now().minusMonths(6)
+        now.minusMonths(6),
+        now
     );
     setCustomerId(regularCustomer, SampleData.CUSTOMER_REGULAR_ID);
 
@@ -0,0 +1,15 @@
+package sa.billing.discounts.infrastructure.database;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+import sa.billing.discounts.application.service.CalculationTrace;
+
+// The sync driver reports commands on the calling thread, so they land on that request's trace
+public class MongoCommandCounter implements CommandListener {
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        CalculationTrace.countDatabaseCommand();
+    }
+}
@@ -1,13 +1,16 @@
 package sa.billing.discounts.infrastructure.database;
 
 import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 
 @Configuration
+@Profile("!memory")
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
     private final String mongoUri;
@@ -24,7 +27,10 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
 
     @Override
     public MongoClient mongoClient() {
-        return MongoClients.create(mongoUri);
+        return MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(mongoUri))
+                .addCommandListener(new MongoCommandCounter())
+                .build());
     }
 
     @Override
@@ -10,8 +10,12 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
+import sa.billing.discounts.domain.exception.CouponNotFoundException;
+import sa.billing.discounts.domain.exception.CouponNotRedeemableException;
 import sa.billing.discounts.domain.exception.CustomerNotFoundException;
+import sa.billing.discounts.domain.exception.DraftBillNotFoundException;
 import sa.billing.discounts.domain.exception.ProductNotFoundException;
+import sa.billing.discounts.domain.exception.PromotionNotFoundException;
 import sa.billing.discounts.presentation.dto.ApiResponse;
 
 import java.util.HashMap;
@@ -38,6 +42,40 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), "PRODUCT_NOT_FOUND"));
     }
     
+    @ExceptionHandler(PromotionNotFoundException.class)
+    public ResponseEntity<ApiResponse<Object>> handlePromotionNotFoundException(
+            PromotionNotFoundException ex, WebRequest request) {
+        logger.error("Promotion not found: {}", ex.getMessage(), ex);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(ex.getMessage(), "PROMOTION_NOT_FOUND"));
+    }
+    
+    // Guessed and mistyped codes arrive in bulk, so these are logged without a stack trace
+    @ExceptionHandler(CouponNotFoundException.class)
+    public ResponseEntity<ApiResponse<Object>> handleCouponNotFoundException(
+            CouponNotFoundException ex, WebRequest request) {
+        logger.warn("Coupon not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(ex.getMessage(), "COUPON_NOT_FOUND"));
+    }
+    
+    @ExceptionHandler(CouponNotRedeemableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleCouponNotRedeemableException(
+            CouponNotRedeemableException ex, WebRequest request) {
+        logger.warn("Coupon not redeemable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(ex.getMessage(), "COUPON_NOT_REDEEMABLE"));
+    }
+    
+    // Expired drafts are routine at a till that was left idle, so no stack trace either
+    @ExceptionHandler(DraftBillNotFoundException.class)
+    public ResponseEntity<ApiResponse<Object>> handleDraftBillNotFoundException(
+            DraftBillNotFoundException ex, WebRequest request) {
+        logger.warn("Draft bill not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(ex.getMessage(), "DRAFT_BILL_NOT_FOUND"));
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
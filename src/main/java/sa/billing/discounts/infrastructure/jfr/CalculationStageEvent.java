@@ -0,0 +1,40 @@
+package sa.billing.discounts.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("sa.billing.CalculationStage")
+@Label("Bill Calculation Stage")
+@Description("One stage of a bill calculation request")
+@Category({"Billing", "Calculation"})
+@StackTrace(false)
+public class CalculationStageEvent extends Event {
+
+    @Label("Stage")
+    private String stage;
+
+    @Label("Customer ID Hash")
+    @Description("Hash of the customer ID, so requests can be correlated without recording the ID")
+    private int customerIdHash;
+
+    @Label("Customer Type")
+    private String customerType;
+
+    @Label("Item Count")
+    private int itemCount;
+
+    @Label("Discount Type")
+    private String discountType;
+
+    public void describe(String stage, int customerIdHash, String customerType, int itemCount, String discountType) {
+        this.stage = stage;
+        this.customerIdHash = customerIdHash;
+        this.customerType = customerType;
+        this.itemCount = itemCount;
+        this.discountType = discountType;
+    }
+}
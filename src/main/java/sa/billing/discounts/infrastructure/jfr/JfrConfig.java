@@ -0,0 +1,14 @@
+package sa.billing.discounts.infrastructure.jfr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JfrConfig {
+
+    @Bean
+    public JfrRecordingEndpoint jfrRecordingEndpoint(@Value("${billing.jfr.max-recording-seconds:60}") int maxSeconds) {
+        return new JfrRecordingEndpoint(maxSeconds);
+    }
+}
@@ -0,0 +1,88 @@
+package sa.billing.discounts.infrastructure.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a time-boxed JDK Flight Recorder recording with the JDK {@code profile} settings plus the
+ * billing events, and returns the {@code .jfr} file. Only one recording runs at a time, like the
+ * heap dump endpoint this blocks the calling request for the duration.
+ *
+ * <p>Events that copy the process environment, system properties or JVM arguments are left out,
+ * since those can hold the database URI and its credentials.
+ */
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final int DEFAULT_SECONDS = 30;
+    static final List<String> EXCLUDED_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final int maxSeconds;
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    public JfrRecordingEndpoint(int maxSeconds) {
+        this.maxSeconds = maxSeconds;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> record(@Nullable Integer seconds) throws IOException {
+        int duration = seconds != null ? seconds : DEFAULT_SECONDS;
+        if (duration < 1 || duration > maxSeconds) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!recording.compareAndSet(false, true)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        try {
+            Path file = record(Duration.ofSeconds(duration));
+            // The temporary file goes away once the response has been streamed
+            return new WebEndpointResponse<>(
+                    new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        } finally {
+            recording.set(false);
+        }
+    }
+
+    Path record(Duration duration) throws IOException, InterruptedException {
+        Configuration profile;
+        try {
+            profile = Configuration.getConfiguration("profile");
+        } catch (ParseException e) {
+            throw new IOException("Could not load the JFR profile configuration", e);
+        }
+        Path file = Files.createTempFile("billing-", ".jfr");
+        try (Recording jfr = new Recording(profile)) {
+            jfr.setName("billing-on-demand");
+            jfr.enable(CalculationStageEvent.class);
+            jfr.enable(RepositoryCallEvent.class);
+            EXCLUDED_EVENTS.forEach(jfr::disable);
+            jfr.start();
+            Thread.sleep(duration.toMillis());
+            jfr.stop();
+            jfr.dump(file);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+}
@@ -0,0 +1,45 @@
+package sa.billing.discounts.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("sa.billing.RepositoryCall")
+@Label("Repository Call")
+@Description("A hot-path repository lookup made while calculating a bill")
+@Category({"Billing", "Persistence"})
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Requested IDs")
+    private int requestedIds;
+
+    @Label("Result Count")
+    private int resultCount;
+
+    public static RepositoryCallEvent begin(String repository, String operation, int requestedIds) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.repository = repository;
+        event.operation = operation;
+        event.requestedIds = requestedIds;
+        event.begin();
+        return event;
+    }
+
+    public void complete(int resultCount) {
+        end();
+        if (shouldCommit()) {
+            this.resultCount = resultCount;
+            commit();
+        }
+    }
+}
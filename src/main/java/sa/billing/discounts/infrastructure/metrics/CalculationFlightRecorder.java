@@ -0,0 +1,84 @@
+package sa.billing.discounts.infrastructure.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent and the slowest calculation samples in two fixed-size slot arrays.
+ * Writers never block: recent samples overwrite the slot under a shared cursor, and a slow sample
+ * replaces the fastest retained one with a compare-and-set, retrying if another writer got there first.
+ */
+public class CalculationFlightRecorder {
+
+    private final int capacity;
+    private final AtomicReferenceArray<CalculationSample> recent;
+    private final AtomicReferenceArray<CalculationSample> slowest;
+    private final AtomicLong recentCursor = new AtomicLong();
+
+    public CalculationFlightRecorder(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Flight recorder capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.recent = new AtomicReferenceArray<>(capacity);
+        this.slowest = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void record(CalculationSample sample) {
+        recent.set((int) (recentCursor.getAndIncrement() % capacity), sample);
+        offerSlowest(sample);
+    }
+
+    private void offerSlowest(CalculationSample sample) {
+        while (true) {
+            int victim = 0;
+            CalculationSample victimSample = slowest.get(0);
+            for (int i = 0; i < capacity && victimSample != null; i++) {
+                CalculationSample current = slowest.get(i);
+                if (current == null || current.getDurationNanos() < victimSample.getDurationNanos()) {
+                    victim = i;
+                    victimSample = current;
+                }
+            }
+            if (victimSample != null && victimSample.getDurationNanos() >= sample.getDurationNanos()) {
+                return;
+            }
+            if (slowest.compareAndSet(victim, victimSample, sample)) {
+                return;
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Newest first
+    public List<CalculationSample> getRecent() {
+        long end = recentCursor.get();
+        List<CalculationSample> samples = new ArrayList<>(capacity);
+        for (long i = end - 1; i >= 0 && i >= end - capacity; i--) {
+            CalculationSample sample = recent.get((int) (i % capacity));
+            if (sample != null) {
+                samples.add(sample);
+            }
+        }
+        return samples;
+    }
+
+    // Slowest first
+    public List<CalculationSample> getSlowest() {
+        List<CalculationSample> samples = new ArrayList<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            CalculationSample sample = slowest.get(i);
+            if (sample != null) {
+                samples.add(sample);
+            }
+        }
+        samples.sort(Comparator.comparingLong(CalculationSample::getDurationNanos).reversed());
+        return samples;
+    }
+}
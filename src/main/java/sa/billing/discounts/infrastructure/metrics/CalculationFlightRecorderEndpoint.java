@@ -0,0 +1,26 @@
+package sa.billing.discounts.infrastructure.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Endpoint(id = "calculations")
+public class CalculationFlightRecorderEndpoint {
+
+    private final CalculationFlightRecorder recorder;
+
+    public CalculationFlightRecorderEndpoint(CalculationFlightRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public Map<String, Object> samples() {
+        Map<String, Object> samples = new LinkedHashMap<>();
+        samples.put("capacity", recorder.getCapacity());
+        samples.put("slowest", recorder.getSlowest());
+        samples.put("recent", recorder.getRecent());
+        return samples;
+    }
+}
@@ -0,0 +1,94 @@
+package sa.billing.discounts.infrastructure.metrics;
+
+import sa.billing.discounts.application.service.CalculationTrace;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Immutable snapshot of one finished calculation request, as shown by the calculations endpoint
+public final class CalculationSample {
+
+    private final Instant completedAt;
+    private final String method;
+    private final String path;
+    private final int status;
+    private final long durationNanos;
+    private final String customerType;
+    private final int itemCount;
+    private final int databaseCommands;
+    private final long allocatedBytes;
+    private final Map<String, Double> stagesMillis;
+
+    private CalculationSample(Instant completedAt, String method, String path, int status, CalculationTrace trace) {
+        this.completedAt = completedAt;
+        this.method = method;
+        this.path = path;
+        this.status = status;
+        this.durationNanos = trace.getElapsedNanos();
+        this.customerType = trace.getCustomerType();
+        this.itemCount = trace.getItemCount();
+        this.databaseCommands = trace.getDatabaseCommands();
+        this.allocatedBytes = trace.getAllocatedBytes();
+        Map<String, Double> stages = new LinkedHashMap<>();
+        for (CalculationTrace.Stage stage : CalculationTrace.Stage.values()) {
+            if (trace.isRecorded(stage)) {
+                stages.put(stage.getMetricName(), toMillis(trace.getNanos(stage)));
+            }
+        }
+        this.stagesMillis = Collections.unmodifiableMap(stages);
+    }
+
+    public static CalculationSample of(String method, String path, int status, CalculationTrace trace) {
+        return new CalculationSample(Instant.now(), method, path, status, trace);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public double getDurationMillis() {
+        return toMillis(durationNanos);
+    }
+
+    public String getCustomerType() {
+        return customerType;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public int getDatabaseCommands() {
+        return databaseCommands;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public Map<String, Double> getStagesMillis() {
+        return stagesMillis;
+    }
+}
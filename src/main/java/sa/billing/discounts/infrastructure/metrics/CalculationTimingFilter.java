@@ -0,0 +1,70 @@
+package sa.billing.discounts.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import sa.billing.discounts.application.service.CalculationTrace;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds a {@link CalculationTrace} to each calculate request and publishes its stage timings as
+ * the {@code billing.calculation.stage} histogram and to the {@link CalculationFlightRecorder}. When the request carries {@value #DEBUG_HEADER},
+ * the body is buffered so the timings can also be returned in a {@code Server-Timing} header.
+ */
+public class CalculationTimingFilter extends OncePerRequestFilter {
+
+    public static final String DEBUG_HEADER = "X-Debug-Timing";
+    public static final String METRIC_NAME = "billing.calculation.stage";
+
+    private final MeterRegistry meterRegistry;
+    private final CalculationFlightRecorder flightRecorder;
+
+    public CalculationTimingFilter(MeterRegistry meterRegistry, CalculationFlightRecorder flightRecorder) {
+        this.meterRegistry = meterRegistry;
+        this.flightRecorder = flightRecorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean debug = Boolean.parseBoolean(request.getHeader(DEBUG_HEADER));
+        ContentCachingResponseWrapper bufferedResponse = debug ? new ContentCachingResponseWrapper(response) : null;
+        CalculationTrace trace = CalculationTrace.start();
+        try {
+            filterChain.doFilter(request, debug ? bufferedResponse : response);
+        } finally {
+            CalculationTrace.end();
+            publish(trace);
+            flightRecorder.record(CalculationSample.of(request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), trace));
+            if (debug) {
+                bufferedResponse.setHeader("Server-Timing", trace.toServerTiming());
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void publish(CalculationTrace trace) {
+        for (CalculationTrace.Stage stage : CalculationTrace.Stage.values()) {
+            if (!trace.isRecorded(stage)) {
+                continue;
+            }
+            Timer.builder(METRIC_NAME)
+                    .description("Time spent in one stage of a bill calculation")
+                    .tag("stage", stage.getMetricName())
+                    .tag("customerType", trace.getCustomerType())
+                    .tag("items", trace.getItemCountBucket())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(trace.getNanos(stage), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package sa.billing.discounts.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public CalculationFlightRecorder calculationFlightRecorder(
+            @Value("${billing.metrics.flight-recorder-size:20}") int capacity) {
+        return new CalculationFlightRecorder(capacity);
+    }
+
+    @Bean
+    public CalculationFlightRecorderEndpoint calculationFlightRecorderEndpoint(CalculationFlightRecorder recorder) {
+        return new CalculationFlightRecorderEndpoint(recorder);
+    }
+
+    @Bean
+    public FilterRegistrationBean<CalculationTimingFilter> calculationTimingFilter(MeterRegistry meterRegistry,
+                                                                                   CalculationFlightRecorder recorder) {
+        FilterRegistrationBean<CalculationTimingFilter> registration =
+                new FilterRegistrationBean<>(new CalculationTimingFilter(meterRegistry, recorder));
+        // Exact match: the streaming endpoint writes its body after the filter returns
+        registration.addUrlPatterns("/api/v1/bills/calculate");
+        return registration;
+    }
+}
@@ -0,0 +1,111 @@
+package sa.billing.discounts.infrastructure.persistence.memory;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillStatus;
+import sa.billing.discounts.infrastructure.persistence.repository.BillRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.FinalizedBillsChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+// The edge profile keeps bills in segment files instead
+@Profile("memory & !edge")
+public class InMemoryBillRepository implements BillRepository, ApplicationEventPublisherAware {
+
+    private final SecondaryIndex<Bill, String> byCustomerId = SecondaryIndex.hashed(Bill::getCustomerId);
+    private final SecondaryIndex<Bill, BillStatus> byStatus = SecondaryIndex.hashed(Bill::getStatus);
+    private final SecondaryIndex<Bill, LocalDateTime> byCreatedAt = SecondaryIndex.ordered(Bill::getCreatedAt);
+    private final IndexedStore<Bill> store =
+            new IndexedStore<>(Bill.class, Bill::getId, byCustomerId, byStatus, byCreatedAt);
+    // Stored bills are the caller's instances, so whether one was already finalized is tracked here
+    private final Set<String> finalizedIds = ConcurrentHashMap.newKeySet();
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Bill save(Bill bill) {
+        Bill saved = store.save(bill);
+        if (saved.isFinalized() && finalizedIds.add(saved.getId())) {
+            publishChange(saved, false);
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Bill> findById(String id) {
+        return store.findById(id);
+    }
+
+    @Override
+    public List<Bill> findByCustomerId(String customerId) {
+        return store.find(byCustomerId, customerId);
+    }
+
+    @Override
+    public List<Bill> findByStatus(BillStatus status) {
+        return store.find(byStatus, status);
+    }
+
+    @Override
+    public List<Bill> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end) {
+        return store.findBetween(byCreatedAt, start, end);
+    }
+
+    @Override
+    public List<Bill> findByCustomerIdAndStatus(String customerId, BillStatus status) {
+        return store.find(byCustomerId, customerId, byStatus, status);
+    }
+
+    @Override
+    public List<Bill> findAll() {
+        return store.findAll();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        Optional<Bill> removed = store.findById(id);
+        store.deleteById(id);
+        if (removed.isPresent() && finalizedIds.remove(id)) {
+            publishChange(removed.get(), true);
+        }
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return store.existsById(id);
+    }
+
+    @Override
+    public long count() {
+        return store.count();
+    }
+
+    @Override
+    public long countByStatus(BillStatus status) {
+        return store.count(byStatus, status);
+    }
+
+    @Override
+    public long countByCustomerId(String customerId) {
+        return store.count(byCustomerId, customerId);
+    }
+
+    private void publishChange(Bill bill, boolean removed) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new FinalizedBillsChangedEvent(bill, removed));
+        }
+    }
+}
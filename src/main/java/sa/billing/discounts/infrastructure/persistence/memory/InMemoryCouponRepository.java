@@ -0,0 +1,83 @@
+package sa.billing.discounts.infrastructure.persistence.memory;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import sa.billing.discounts.domain.model.coupon.Coupon;
+import sa.billing.discounts.infrastructure.persistence.repository.CouponRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CouponsChangedEvent;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@Profile("memory")
+public class InMemoryCouponRepository implements CouponRepository, ApplicationEventPublisherAware {
+
+    private final ConcurrentHashMap<String, Coupon> byCode = new ConcurrentHashMap<>();
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Coupon insert(Coupon coupon) {
+        if (byCode.putIfAbsent(coupon.getCode(), coupon) != null) {
+            throw new IllegalArgumentException("Coupon code already exists: " + coupon.getCode());
+        }
+        publishChange(coupon.getCode(), false);
+        return coupon;
+    }
+
+    @Override
+    public Optional<Coupon> findByCode(String code) {
+        return code != null ? Optional.ofNullable(byCode.get(code)) : Optional.empty();
+    }
+
+    @Override
+    public List<String> findAllCodes() {
+        return List.copyOf(byCode.keySet());
+    }
+
+    @Override
+    public boolean redeem(String code) {
+        Coupon coupon = byCode.get(code);
+        if (coupon == null) {
+            return false;
+        }
+        synchronized (coupon) {
+            if (!coupon.hasRedemptionsLeft()) {
+                return false;
+            }
+            coupon.recordRedemption();
+            return true;
+        }
+    }
+
+    @Override
+    public void deleteByCode(String code) {
+        byCode.remove(code);
+        publishChange(code, true);
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        return code != null && byCode.containsKey(code);
+    }
+
+    @Override
+    public long count() {
+        return byCode.size();
+    }
+
+    private void publishChange(String code, boolean deleted) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new CouponsChangedEvent(code, deleted));
+        }
+    }
+}
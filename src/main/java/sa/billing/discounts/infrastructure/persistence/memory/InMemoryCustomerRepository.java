@@ -0,0 +1,78 @@
+package sa.billing.discounts.infrastructure.persistence.memory;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.CustomerType;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("memory")
+public class InMemoryCustomerRepository implements CustomerRepository {
+
+    private final SecondaryIndex<Customer, String> byEmail = SecondaryIndex.hashed(Customer::getEmail);
+    private final SecondaryIndex<Customer, CustomerType> byType = SecondaryIndex.hashed(Customer::getType);
+    private final IndexedStore<Customer> store = new IndexedStore<>(Customer.class, Customer::getId, byEmail, byType);
+
+    @Override
+    public Customer save(Customer customer) {
+        return store.save(customer);
+    }
+
+    @Override
+    public Optional<Customer> findById(String id) {
+        return store.findById(id);
+    }
+
+    @Override
+    public List<Customer> findAllById(Collection<String> ids) {
+        // $in semantics: each matching customer once, whatever the duplicates in ids
+        List<Customer> customers = new ArrayList<>(ids.size());
+        for (String id : new LinkedHashSet<>(ids)) {
+            store.findById(id).ifPresent(customers::add);
+        }
+        return customers;
+    }
+
+    @Override
+    public Optional<Customer> findByEmail(String email) {
+        return store.findFirst(byEmail, email);
+    }
+
+    @Override
+    public List<Customer> findByType(CustomerType type) {
+        return store.find(byType, type);
+    }
+
+    @Override
+    public List<Customer> findAll() {
+        return store.findAll();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        store.deleteById(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return store.existsById(id);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return store.findFirst(byEmail, email).isPresent();
+    }
+
+    @Override
+    public long count() {
+        return store.count();
+    }
+}
@@ -0,0 +1,54 @@
+package sa.billing.discounts.infrastructure.persistence.memory;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import sa.billing.discounts.domain.model.customer.CustomerSpend;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerSpendRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@Profile("memory")
+public class InMemoryCustomerSpendRepository implements CustomerSpendRepository {
+
+    // Summaries are immutable, so compute swapping in a new one is the atomic increment
+    private final ConcurrentHashMap<String, CustomerSpend> byCustomerId = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(String customerId, long bills, long spendCents, long discountCents, LocalDateTime billedAt) {
+        byCustomerId.compute(customerId, (id, current) ->
+                (current != null ? current : CustomerSpend.empty(id)).plus(bills, spendCents, discountCents, billedAt));
+    }
+
+    @Override
+    public Optional<CustomerSpend> findByCustomerId(String customerId) {
+        return customerId != null ? Optional.ofNullable(byCustomerId.get(customerId)) : Optional.empty();
+    }
+
+    @Override
+    public CustomerSpend save(CustomerSpend spend) {
+        byCustomerId.put(spend.getCustomerId(), spend);
+        return spend;
+    }
+
+    @Override
+    public boolean replace(CustomerSpend expected, CustomerSpend spend) {
+        if (expected == null) {
+            return byCustomerId.putIfAbsent(spend.getCustomerId(), spend) == null;
+        }
+        return byCustomerId.replace(spend.getCustomerId(), expected, spend);
+    }
+
+    @Override
+    public void deleteByCustomerId(String customerId) {
+        byCustomerId.remove(customerId);
+    }
+
+    @Override
+    public long count() {
+        return byCustomerId.size();
+    }
+}
@@ -0,0 +1,106 @@
+package sa.billing.discounts.infrastructure.persistence.memory;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductCatalogChangedEvent;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Repository
+@Profile("memory")
+public class InMemoryProductRepository implements ProductRepository, ApplicationEventPublisherAware {
+
+    private final SecondaryIndex<Product, String> byName = SecondaryIndex.hashed(Product::getName);
+    private final SecondaryIndex<Product, ProductCategory> byCategory = SecondaryIndex.hashed(Product::getCategory);
+    private final IndexedStore<Product> store = new IndexedStore<>(Product.class, Product::getId, byName, byCategory);
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product saved = store.save(product);
+        publishChange(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return store.findById(id);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        // $in semantics: each matching product once, whatever the duplicates in ids
+        List<Product> products = new ArrayList<>(ids.size());
+        for (String id : new LinkedHashSet<>(ids)) {
+            store.findById(id).ifPresent(products::add);
+        }
+        return products;
+    }
+
+    @Override
+    public Optional<Product> findByName(String name) {
+        return store.findFirst(byName, name);
+    }
+
+    @Override
+    public List<Product> findByCategory(ProductCategory category) {
+        return store.find(byCategory, category);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return store.findAll();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        store.deleteById(id);
+        publishChange(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return store.existsById(id);
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return store.findFirst(byName, name).isPresent();
+    }
+
+    @Override
+    public long count() {
+        return store.count();
+    }
+
+    // The argument is a regular expression, matched unanchored, exactly like the MongoDB $regex query
+    @Override
+    public List<Product> findByNameContainingIgnoreCase(String name) {
+        Pattern pattern = Pattern.compile(name, Pattern.CASE_INSENSITIVE);
+        return store.findAll().stream()
+                .filter(product -> product.getName() != null && pattern.matcher(product.getName()).find())
+                .toList();
+    }
+
+    private void publishChange(String id) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new ProductCatalogChangedEvent(id));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package sa.billing.discounts.infrastructure.persistence.memory;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import sa.billing.discounts.domain.model.promotion.Promotion;
+import sa.billing.discounts.infrastructure.persistence.repository.PromotionRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.PromotionsChangedEvent;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("memory")
+public class InMemoryPromotionRepository implements PromotionRepository, ApplicationEventPublisherAware {
+
+    private final IndexedStore<Promotion> store = new IndexedStore<>(Promotion.class, Promotion::getId);
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Promotion save(Promotion promotion) {
+        Promotion saved = store.save(promotion);
+        publishChange(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public Optional<Promotion> findById(String id) {
+        return store.findById(id);
+    }
+
+    @Override
+    public List<Promotion> findEndingAfter(Instant instant) {
+        return store.findAll().stream()
+                .filter(promotion -> promotion.getEndsAt().isAfter(instant))
+                .toList();
+    }
+
+    @Override
+    public List<Promotion> findAll() {
+        return store.findAll();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        store.deleteById(id);
+        publishChange(id);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return store.existsById(id);
+    }
+
+    @Override
+    public long count() {
+        return store.count();
+    }
+
+    private void publishChange(String id) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new PromotionsChangedEvent(id));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package sa.billing.discounts.infrastructure.persistence.memory;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import sa.billing.discounts.domain.model.customer.SpendWindowCheckpoint;
+import sa.billing.discounts.infrastructure.persistence.repository.SpendWindowRepository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@Profile("memory")
+public class InMemorySpendWindowRepository implements SpendWindowRepository {
+
+    private final ConcurrentHashMap<String, SpendWindowCheckpoint> byCustomerId = new ConcurrentHashMap<>();
+
+    @Override
+    public void incrementAll(Collection<SpendWindowCheckpoint> deltas) {
+        for (SpendWindowCheckpoint delta : deltas) {
+            byCustomerId.merge(delta.getCustomerId(), delta, (stored, added) -> {
+                Map<Integer, Long> cents = stored.getCentsByMonth();
+                added.getCentsByMonth().forEach((month, amount) -> cents.merge(month, amount, Long::sum));
+                return SpendWindowCheckpoint.of(stored.getCustomerId(), cents,
+                        added.getCheckpointedAt().isAfter(stored.getCheckpointedAt())
+                                ? added.getCheckpointedAt() : stored.getCheckpointedAt());
+            });
+        }
+    }
+
+    @Override
+    public void save(SpendWindowCheckpoint checkpoint) {
+        byCustomerId.put(checkpoint.getCustomerId(), checkpoint);
+    }
+
+    @Override
+    public Optional<SpendWindowCheckpoint> findByCustomerId(String customerId) {
+        return customerId != null ? Optional.ofNullable(byCustomerId.get(customerId)) : Optional.empty();
+    }
+
+    @Override
+    public long count() {
+        return byCustomerId.size();
+    }
+}
@@ -0,0 +1,153 @@
+package sa.billing.discounts.infrastructure.persistence.memory;
+
+import org.bson.types.ObjectId;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Entities by ID plus any number of secondary indexes. Every write for an ID runs inside that ID's
+ * {@link ConcurrentHashMap#compute} call, and the key values indexed at save time are kept with the
+ * entity so a later save or delete can unlink exactly those keys, even if the caller has mutated the
+ * instance since. Readers never lock; index hits are re-checked against the stored keys, so a reader
+ * racing a writer sees the old or the new state of an entity, never a mismatched one.
+ *
+ * <p>Entities are held by reference. Changes a caller makes to a returned instance are visible right
+ * away, but the indexes only pick them up on the next save.
+ */
+final class IndexedStore<T> {
+
+    private record Stored<T>(T entity, Object[] keys) {
+    }
+
+    private final Field idField;
+    private final Function<T, String> idOf;
+    private final List<SecondaryIndex<T, ?>> indexes;
+    private final ConcurrentHashMap<String, Stored<T>> byId = new ConcurrentHashMap<>();
+
+    @SafeVarargs
+    IndexedStore(Class<T> type, Function<T, String> idOf, SecondaryIndex<T, ?>... indexes) {
+        this.idField = Objects.requireNonNull(ReflectionUtils.findField(type, "id"), type + " has no id field");
+        ReflectionUtils.makeAccessible(idField);
+        this.idOf = idOf;
+        this.indexes = List.of(indexes);
+    }
+
+    // Like MongoTemplate.save: assigns an ObjectId when the entity has none, then inserts or replaces
+    T save(T entity) {
+        String id = idOf.apply(entity);
+        if (id == null) {
+            id = new ObjectId().toHexString();
+            ReflectionUtils.setField(idField, entity, id);
+        }
+        Object[] keys = new Object[indexes.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = indexes.get(i).keyOf(entity);
+        }
+        byId.compute(id, (key, previous) -> {
+            for (int i = 0; i < keys.length; i++) {
+                if (previous != null) {
+                    indexes.get(i).remove(previous.keys()[i], key);
+                }
+                indexes.get(i).add(keys[i], key);
+            }
+            return new Stored<>(entity, keys);
+        });
+        return entity;
+    }
+
+    Optional<T> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Stored<T> stored = byId.get(id);
+        return stored != null ? Optional.of(stored.entity()) : Optional.empty();
+    }
+
+    boolean existsById(String id) {
+        return id != null && byId.containsKey(id);
+    }
+
+    void deleteById(String id) {
+        if (id == null) {
+            return;
+        }
+        byId.computeIfPresent(id, (key, previous) -> {
+            for (int i = 0; i < indexes.size(); i++) {
+                indexes.get(i).remove(previous.keys()[i], key);
+            }
+            return null;
+        });
+    }
+
+    List<T> findAll() {
+        List<T> entities = new ArrayList<>(byId.size());
+        for (Stored<T> stored : byId.values()) {
+            entities.add(stored.entity());
+        }
+        return entities;
+    }
+
+    long count() {
+        return byId.size();
+    }
+
+    <K> List<T> find(SecondaryIndex<T, K> index, K key) {
+        int position = indexes.indexOf(index);
+        Object normalized = index.normalize(key);
+        return resolve(index.ids(normalized), keys -> Objects.equals(keys[position], normalized));
+    }
+
+    // Looks up through the first index and filters on the second one's stored key
+    <K, L> List<T> find(SecondaryIndex<T, K> index, K key, SecondaryIndex<T, L> filter, L filterKey) {
+        int position = indexes.indexOf(index);
+        int filterPosition = indexes.indexOf(filter);
+        Object normalized = index.normalize(key);
+        Object normalizedFilter = filter.normalize(filterKey);
+        return resolve(index.ids(normalized), keys -> Objects.equals(keys[position], normalized)
+                && Objects.equals(keys[filterPosition], normalizedFilter));
+    }
+
+    <K> Optional<T> findFirst(SecondaryIndex<T, K> index, K key) {
+        List<T> matches = find(index, key);
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+    }
+
+    <K> long count(SecondaryIndex<T, K> index, K key) {
+        return find(index, key).size();
+    }
+
+    <K extends Comparable<? super K>> List<T> findBetween(SecondaryIndex<T, K> index, K from, K to) {
+        int position = indexes.indexOf(index);
+        List<T> entities = new ArrayList<>();
+        for (Set<String> ids : index.range(from, to)) {
+            entities.addAll(resolve(ids, keys -> inRange(keys[position], from, to)));
+        }
+        return entities;
+    }
+
+    private List<T> resolve(Collection<String> ids, Predicate<Object[]> stillMatches) {
+        List<T> entities = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Stored<T> stored = byId.get(id);
+            if (stored != null && stillMatches.test(stored.keys())) {
+                entities.add(stored.entity());
+            }
+        }
+        return entities;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable<? super K>> boolean inRange(Object key, K from, K to) {
+        return key != null && from.compareTo((K) key) <= 0 && to.compareTo((K) key) >= 0;
+    }
+}
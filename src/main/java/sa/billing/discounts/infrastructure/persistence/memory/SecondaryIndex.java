@@ -0,0 +1,92 @@
+package sa.billing.discounts.infrastructure.persistence.memory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Maps one derived key of an entity to the IDs that currently carry it. Buckets are created and
+ * dropped with atomic per-key compute calls, so concurrent writers never lose each other's IDs.
+ */
+final class SecondaryIndex<T, K> {
+
+    // ConcurrentHashMap rejects null keys; null field values are still findable, as they are in MongoDB
+    private static final Object NULL_KEY = new Object();
+
+    private final Function<T, K> keyOf;
+    private final ConcurrentMap<Object, Set<String>> buckets;
+    private final boolean ordered;
+
+    private SecondaryIndex(Function<T, K> keyOf, ConcurrentMap<Object, Set<String>> buckets, boolean ordered) {
+        this.keyOf = keyOf;
+        this.buckets = buckets;
+        this.ordered = ordered;
+    }
+
+    static <T, K> SecondaryIndex<T, K> hashed(Function<T, K> keyOf) {
+        return new SecondaryIndex<>(keyOf, new ConcurrentHashMap<>(), false);
+    }
+
+    // Supports range lookups; entities whose key is null are left out, as MongoDB range queries skip them
+    static <T, K extends Comparable<? super K>> SecondaryIndex<T, K> ordered(Function<T, K> keyOf) {
+        return new SecondaryIndex<>(keyOf, new ConcurrentSkipListMap<>(), true);
+    }
+
+    Object keyOf(T entity) {
+        K key = keyOf.apply(entity);
+        if (key == null) {
+            return ordered ? null : NULL_KEY;
+        }
+        return key;
+    }
+
+    Object normalize(K key) {
+        return key == null && !ordered ? NULL_KEY : key;
+    }
+
+    void add(Object key, String id) {
+        if (key == null) {
+            return;
+        }
+        buckets.compute(key, (k, ids) -> {
+            Set<String> bucket = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            bucket.add(id);
+            return bucket;
+        });
+    }
+
+    void remove(Object key, String id) {
+        if (key == null) {
+            return;
+        }
+        buckets.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    Set<String> ids(Object key) {
+        if (key == null) {
+            return Set.of();
+        }
+        Set<String> ids = buckets.get(key);
+        return ids != null ? ids : Set.of();
+    }
+
+    // Inclusive on both ends
+    @SuppressWarnings("unchecked")
+    Collection<Set<String>> range(K from, K to) {
+        if (!ordered) {
+            throw new UnsupportedOperationException("Range lookups need an ordered index");
+        }
+        if (from == null || to == null || ((Comparable<Object>) from).compareTo(to) > 0) {
+            return List.of();
+        }
+        return ((ConcurrentNavigableMap<Object, Set<String>>) buckets).subMap(from, true, to, true).values();
+    }
+}
@@ -0,0 +1,117 @@
+package sa.billing.discounts.infrastructure.persistence.mongodb;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Merges point lookups from concurrent requests into one batched query, DataLoader style. The first
+ * caller to open a batch becomes its leader: it waits out the window, then runs the loader for every
+ * key collected meanwhile on its own thread. A batch that reaches the size limit is sent straight
+ * away by the caller that filled it. No extra threads are involved, and a key asked for twice in one
+ * window is loaded once.
+ */
+final class BatchLoader<K, V> {
+
+    private static final class Batch<K, V> {
+        private final Map<K, CompletableFuture<V>> calls = new LinkedHashMap<>();
+        private final Thread leader = Thread.currentThread();
+        private volatile boolean sent;
+    }
+
+    private final Function<Collection<K>, Map<K, V>> loader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch<K, V> open;
+    private volatile DistributionSummary batchSizes;
+
+    BatchLoader(Function<Collection<K>, Map<K, V>> loader, Duration window, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.loader = loader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    V load(K key) {
+        Batch<K, V> batch;
+        Batch<K, V> ready = null;
+        boolean leader = false;
+        CompletableFuture<V> call;
+        lock.lock();
+        try {
+            if (open == null) {
+                open = new Batch<>();
+                leader = true;
+            }
+            batch = open;
+            call = batch.calls.computeIfAbsent(key, ignored -> new CompletableFuture<>());
+            if (batch.calls.size() >= maxBatchSize) {
+                open = null;
+                ready = batch;
+                batch.sent = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (ready != null && !leader) {
+            // Spare the leader the rest of its window
+            LockSupport.unpark(batch.leader);
+        } else if (ready == null && leader) {
+            long deadline = System.nanoTime() + windowNanos;
+            for (long remaining = windowNanos; remaining > 0 && !batch.sent;
+                 remaining = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(remaining);
+            }
+            lock.lock();
+            try {
+                // Otherwise a follower filled the batch and has already sent it
+                if (open == batch) {
+                    open = null;
+                    ready = batch;
+                    batch.sent = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+        return SingleFlight.await(call);
+    }
+
+    private void dispatch(Batch<K, V> batch) {
+        DistributionSummary sizes = batchSizes;
+        if (sizes != null) {
+            sizes.record(batch.calls.size());
+        }
+        try {
+            Map<K, V> found = loader.apply(List.copyOf(batch.calls.keySet()));
+            batch.calls.forEach((key, call) -> call.complete(found.get(key)));
+        } catch (RuntimeException | Error e) {
+            batch.calls.values().forEach(call -> call.completeExceptionally(e));
+        }
+    }
+
+    void bindTo(MeterRegistry registry, String repository) {
+        batchSizes = DistributionSummary.builder("billing.repository.batch.size")
+                .description("Keys per batched findById query")
+                .baseUnit("keys")
+                .tag("repository", repository)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -3,9 +3,14 @@ package sa.billing.discounts.infrastructure.persistence.mongodb;
 import sa.billing.discounts.domain.model.bill.Bill;
 import sa.billing.discounts.domain.model.bill.BillStatus;
 import sa.billing.discounts.infrastructure.persistence.repository.BillRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.FinalizedBillsChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -13,17 +18,39 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public class BillRepositoryImpl implements BillRepository {
+@Profile("!memory")
+public class BillRepositoryImpl implements BillRepository, ApplicationEventPublisherAware {
     
     private final MongoTemplate mongoTemplate;
+    private ApplicationEventPublisher eventPublisher;
     
     public BillRepositoryImpl(MongoTemplate mongoTemplate) {
         this.mongoTemplate = mongoTemplate;
     }
     
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    // A finalized bill is replaced with findAndReplace, whose returned previous version tells whether
+    // this save is the one that finalized it; drafts are saved as before
     @Override
     public Bill save(Bill bill) {
-        return mongoTemplate.save(bill);
+        if (!bill.isFinalized()) {
+            return mongoTemplate.save(bill);
+        }
+        if (bill.getId() == null) {
+            mongoTemplate.insert(bill);
+            publishChange(bill, false);
+            return bill;
+        }
+        Query query = new Query(Criteria.where("id").is(bill.getId()));
+        Bill previous = mongoTemplate.findAndReplace(query, bill, FindAndReplaceOptions.options().upsert());
+        if (previous == null || !previous.isFinalized()) {
+            publishChange(bill, false);
+        }
+        return bill;
     }
     
     @Override
@@ -64,7 +91,10 @@ public class BillRepositoryImpl implements BillRepository {
     @Override
     public void deleteById(String id) {
         Query query = new Query(Criteria.where("id").is(id));
-        mongoTemplate.remove(query, Bill.class);
+        Bill removed = mongoTemplate.findAndRemove(query, Bill.class);
+        if (removed != null && removed.isFinalized()) {
+            publishChange(removed, true);
+        }
     }
     
     @Override
@@ -89,4 +119,11 @@ public class BillRepositoryImpl implements BillRepository {
         Query query = new Query(Criteria.where("customerId").is(customerId));
         return mongoTemplate.count(query, Bill.class);
     }
+    
+    // Lets the customer spend summaries follow the bills
+    private void publishChange(Bill bill, boolean removed) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new FinalizedBillsChangedEvent(bill, removed));
+        }
+    }
 }
\ No newline at end of file
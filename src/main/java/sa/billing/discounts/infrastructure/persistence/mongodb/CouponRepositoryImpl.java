@@ -0,0 +1,98 @@
+package sa.billing.discounts.infrastructure.persistence.mongodb;
+
+import sa.billing.discounts.domain.model.coupon.Coupon;
+import sa.billing.discounts.infrastructure.persistence.repository.CouponRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CouponsChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("!memory")
+public class CouponRepositoryImpl implements CouponRepository, ApplicationEventPublisherAware {
+    
+    private final MongoTemplate mongoTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    
+    public CouponRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @Override
+    public Coupon insert(Coupon coupon) {
+        // The code is the _id, so the primary key index rejects a second insert
+        try {
+            mongoTemplate.insert(coupon);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("Coupon code already exists: " + coupon.getCode(), e);
+        }
+        publishChange(coupon.getCode(), false);
+        return coupon;
+    }
+    
+    @Override
+    public Optional<Coupon> findByCode(String code) {
+        return Optional.ofNullable(mongoTemplate.findById(code, Coupon.class));
+    }
+    
+    @Override
+    public List<String> findAllCodes() {
+        Query query = new Query();
+        query.fields().include("id");
+        return mongoTemplate.find(query, Coupon.class).stream()
+                .map(Coupon::getCode)
+                .toList();
+    }
+    
+    // One conditional $inc: the limit check and the increment happen on the server as a single write
+    @Override
+    public boolean redeem(String code) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("id").is(code),
+                new Criteria().orOperator(
+                        Criteria.where("maxRedemptions").is(null),
+                        Criteria.expr(ComparisonOperators.valueOf("redemptions").lessThan("maxRedemptions")))));
+        return mongoTemplate.updateFirst(query, new Update().inc("redemptions", 1), Coupon.class)
+                .getModifiedCount() == 1;
+    }
+    
+    @Override
+    public void deleteByCode(String code) {
+        Query query = new Query(Criteria.where("id").is(code));
+        mongoTemplate.remove(query, Coupon.class);
+        publishChange(code, true);
+    }
+    
+    @Override
+    public boolean existsByCode(String code) {
+        Query query = new Query(Criteria.where("id").is(code));
+        return mongoTemplate.exists(query, Coupon.class);
+    }
+    
+    @Override
+    public long count() {
+        return mongoTemplate.count(new Query(), Coupon.class);
+    }
+    
+    // Lets the coupon code filter and cache pick up the change
+    private void publishChange(String code, boolean deleted) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new CouponsChangedEvent(code, deleted));
+        }
+    }
+}
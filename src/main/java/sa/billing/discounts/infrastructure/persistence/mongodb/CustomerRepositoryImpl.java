@@ -1,25 +1,50 @@
 package sa.billing.discounts.infrastructure.persistence.mongodb;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import sa.billing.discounts.domain.model.customer.Customer;
 import sa.billing.discounts.domain.model.customer.CustomerType;
+import sa.billing.discounts.infrastructure.jfr.RepositoryCallEvent;
 import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
-public class CustomerRepositoryImpl implements CustomerRepository {
+@Profile("!memory")
+public class CustomerRepositoryImpl implements CustomerRepository, MeterBinder {
     
     private final MongoTemplate mongoTemplate;
+    // Hot customers (store employees during promotions) are looked up by many requests at once
+    private final SingleFlight<String, Customer> findByIdCalls = new SingleFlight<>();
+    // Merges findById calls for different IDs from concurrent requests into one $in query
+    private BatchLoader<String, Customer> findByIdBatches;
     
     public CustomerRepositoryImpl(MongoTemplate mongoTemplate) {
         this.mongoTemplate = mongoTemplate;
     }
     
+    // Off unless a window is configured: a lone request would otherwise wait out the window on every lookup
+    @Autowired
+    void configureBatching(@Value("${billing.repository.batching.window:0}") Duration batchWindow,
+                           @Value("${billing.repository.batching.max-batch-size:100}") int maxBatchSize) {
+        // A zero window turns batching off, so every findById is its own query
+        this.findByIdBatches = batchWindow.isZero() ? null : new BatchLoader<>(this::fetchAllById, batchWindow, maxBatchSize);
+    }
+    
     @Override
     public Customer save(Customer customer) {
         return mongoTemplate.save(customer);
@@ -27,8 +52,55 @@ public class CustomerRepositoryImpl implements CustomerRepository {
     
     @Override
     public Optional<Customer> findById(String id) {
+        if (id == null) {
+            return Optional.ofNullable(fetchById(null));
+        }
+        return Optional.ofNullable(findByIdCalls.load(id,
+                () -> findByIdBatches != null ? findByIdBatches.load(id) : fetchById(id)));
+    }
+    
+    @Override
+    public List<Customer> findAllById(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Customer> found = fetchAllById(new LinkedHashSet<>(ids));
+        // $in semantics: each matching customer once
+        List<Customer> customers = new ArrayList<>(found.size());
+        for (String id : new LinkedHashSet<>(ids)) {
+            Customer customer = found.get(id);
+            if (customer != null) {
+                customers.add(customer);
+            }
+        }
+        return customers;
+    }
+    
+    private Customer fetchById(String id) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("customers", "findById", 1);
         Customer customer = mongoTemplate.findById(id, Customer.class);
-        return Optional.ofNullable(customer);
+        event.complete(customer != null ? 1 : 0);
+        return customer;
+    }
+    
+    private Map<String, Customer> fetchAllById(Collection<String> ids) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("customers", "findAllById", ids.size());
+        Query query = new Query(Criteria.where("id").in(ids));
+        List<Customer> customers = mongoTemplate.find(query, Customer.class);
+        event.complete(customers.size());
+        Map<String, Customer> byId = new HashMap<>(customers.size() * 2);
+        for (Customer customer : customers) {
+            byId.put(customer.getId(), customer);
+        }
+        return byId;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        findByIdCalls.bindTo(registry, "customers");
+        if (findByIdBatches != null) {
+            findByIdBatches.bindTo(registry, "customers");
+        }
     }
     
     @Override
@@ -0,0 +1,82 @@
+package sa.billing.discounts.infrastructure.persistence.mongodb;
+
+import sa.billing.discounts.domain.model.customer.CustomerSpend;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerSpendRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@Profile("!memory")
+public class CustomerSpendRepositoryImpl implements CustomerSpendRepository {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public CustomerSpendRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    // One upsert: the counters are incremented on the server, so concurrent writers never overwrite each other
+    @Override
+    public void record(String customerId, long bills, long spendCents, long discountCents, LocalDateTime billedAt) {
+        Update update = new Update()
+                .inc("billCount", bills)
+                .inc("spendCents", spendCents)
+                .inc("discountCents", discountCents);
+        if (billedAt != null) {
+            update.max("lastBillAt", billedAt);
+        }
+        mongoTemplate.upsert(new Query(Criteria.where("id").is(customerId)), update, CustomerSpend.class);
+    }
+    
+    @Override
+    public Optional<CustomerSpend> findByCustomerId(String customerId) {
+        return Optional.ofNullable(mongoTemplate.findById(customerId, CustomerSpend.class));
+    }
+    
+    @Override
+    public CustomerSpend save(CustomerSpend spend) {
+        return mongoTemplate.save(spend);
+    }
+    
+    // Matches on every stored field, so any record since expected was read makes the update miss
+    @Override
+    public boolean replace(CustomerSpend expected, CustomerSpend spend) {
+        if (expected == null) {
+            try {
+                mongoTemplate.insert(spend);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+        Query query = new Query(Criteria.where("id").is(expected.getCustomerId())
+                .and("billCount").is(expected.getBillCount())
+                .and("spendCents").is(expected.getSpendCents())
+                .and("discountCents").is(expected.getDiscountCents())
+                .and("lastBillAt").is(expected.getLastBillAt()));
+        Update update = new Update()
+                .set("billCount", spend.getBillCount())
+                .set("spendCents", spend.getSpendCents())
+                .set("discountCents", spend.getDiscountCents())
+                .set("lastBillAt", spend.getLastBillAt());
+        return mongoTemplate.updateFirst(query, update, CustomerSpend.class).getMatchedCount() == 1;
+    }
+    
+    @Override
+    public void deleteByCustomerId(String customerId) {
+        mongoTemplate.remove(new Query(Criteria.where("id").is(customerId)), CustomerSpend.class);
+    }
+    
+    @Override
+    public long count() {
+        return mongoTemplate.count(new Query(), CustomerSpend.class);
+    }
+}
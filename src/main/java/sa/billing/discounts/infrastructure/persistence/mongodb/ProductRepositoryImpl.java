@@ -1,35 +1,122 @@
 package sa.billing.discounts.infrastructure.persistence.mongodb;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import sa.billing.discounts.domain.model.product.Product;
 import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.infrastructure.jfr.RepositoryCallEvent;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductCatalogChangedEvent;
 import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
 @Repository
-public class ProductRepositoryImpl implements ProductRepository {
+@Profile("!memory")
+public class ProductRepositoryImpl implements ProductRepository, MeterBinder, ApplicationEventPublisherAware {
     
     private final MongoTemplate mongoTemplate;
+    // Shared by findById and findAllById, so a hot product is fetched once however it is asked for
+    private final SingleFlight<String, Product> loads = new SingleFlight<>();
+    // Merges findById calls for different IDs from concurrent requests into one $in query
+    private BatchLoader<String, Product> findByIdBatches;
+    private ApplicationEventPublisher eventPublisher;
     
     public ProductRepositoryImpl(MongoTemplate mongoTemplate) {
         this.mongoTemplate = mongoTemplate;
     }
     
+    // Off unless a window is configured: a lone request would otherwise wait out the window on every lookup
+    @Autowired
+    void configureBatching(@Value("${billing.repository.batching.window:0}") Duration batchWindow,
+                           @Value("${billing.repository.batching.max-batch-size:100}") int maxBatchSize) {
+        // A zero window turns batching off, so every findById is its own query
+        this.findByIdBatches = batchWindow.isZero() ? null : new BatchLoader<>(this::fetchAllById, batchWindow, maxBatchSize);
+    }
+    
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
     @Override
     public Product save(Product product) {
-        return mongoTemplate.save(product);
+        Product saved = mongoTemplate.save(product);
+        publishChange(saved.getId());
+        return saved;
     }
     
     @Override
     public Optional<Product> findById(String id) {
+        if (id == null) {
+            return Optional.ofNullable(fetchById(null));
+        }
+        return Optional.ofNullable(loads.load(id,
+                () -> findByIdBatches != null ? findByIdBatches.load(id) : fetchById(id)));
+    }
+    
+    private Product fetchById(String id) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("products", "findById", 1);
         Product product = mongoTemplate.findById(id, Product.class);
-        return Optional.ofNullable(product);
+        event.complete(product != null ? 1 : 0);
+        return product;
+    }
+    
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        Map<String, Product> found = loads.loadAll(ids, this::fetchAllById);
+        // $in semantics: each matching product once
+        List<Product> products = new ArrayList<>(found.size());
+        for (String id : new LinkedHashSet<>(ids)) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+    
+    private Map<String, Product> fetchAllById(Collection<String> ids) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("products", "findAllById", ids.size());
+        Query query = new Query(Criteria.where("id").in(ids));
+        List<Product> products = mongoTemplate.find(query, Product.class);
+        event.complete(products.size());
+        Map<String, Product> byId = new HashMap<>(products.size() * 2);
+        for (Product product : products) {
+            byId.put(product.getId(), product);
+        }
+        return byId;
+    }
+    
+    // Lets derived views such as the price list drop what they computed from the old catalog
+    private void publishChange(String id) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new ProductCatalogChangedEvent(id));
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        loads.bindTo(registry, "products");
+        if (findByIdBatches != null) {
+            findByIdBatches.bindTo(registry, "products");
+        }
     }
     
     @Override
@@ -54,6 +141,7 @@ public class ProductRepositoryImpl implements ProductRepository {
     public void deleteById(String id) {
         Query query = new Query(Criteria.where("id").is(id));
         mongoTemplate.remove(query, Product.class);
+        publishChange(id);
     }
     
     @Override
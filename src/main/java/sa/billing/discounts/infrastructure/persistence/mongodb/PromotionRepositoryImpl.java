@@ -0,0 +1,81 @@
+package sa.billing.discounts.infrastructure.persistence.mongodb;
+
+import sa.billing.discounts.domain.model.promotion.Promotion;
+import sa.billing.discounts.infrastructure.persistence.repository.PromotionRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.PromotionsChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("!memory")
+public class PromotionRepositoryImpl implements PromotionRepository, ApplicationEventPublisherAware {
+    
+    private final MongoTemplate mongoTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    
+    public PromotionRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @Override
+    public Promotion save(Promotion promotion) {
+        Promotion saved = mongoTemplate.save(promotion);
+        publishChange(saved.getId());
+        return saved;
+    }
+    
+    @Override
+    public Optional<Promotion> findById(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, Promotion.class));
+    }
+    
+    @Override
+    public List<Promotion> findEndingAfter(Instant instant) {
+        Query query = new Query(Criteria.where("endsAt").gt(instant));
+        return mongoTemplate.find(query, Promotion.class);
+    }
+    
+    @Override
+    public List<Promotion> findAll() {
+        return mongoTemplate.findAll(Promotion.class);
+    }
+    
+    @Override
+    public void deleteById(String id) {
+        Query query = new Query(Criteria.where("id").is(id));
+        mongoTemplate.remove(query, Promotion.class);
+        publishChange(id);
+    }
+    
+    @Override
+    public boolean existsById(String id) {
+        Query query = new Query(Criteria.where("id").is(id));
+        return mongoTemplate.exists(query, Promotion.class);
+    }
+    
+    @Override
+    public long count() {
+        return mongoTemplate.count(new Query(), Promotion.class);
+    }
+    
+    // Lets the promotion index drop what it built from the old set
+    private void publishChange(String id) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new PromotionsChangedEvent(id));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package sa.billing.discounts.infrastructure.persistence.mongodb;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one call: the first caller for a key runs the
+ * loader and everyone arriving while it is in flight waits for and shares its result, including a
+ * {@code null} for "not found" and any exception. Nothing is kept once the call completes, so this is
+ * not a cache; a caller arriving a moment later triggers a fresh load.
+ *
+ * <p>Callers that joined share the same entity instance, which is safe as long as lookups are
+ * treated as read-only, as the calculation path does.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Batch form for {@code $in} lookups: keys already in flight are joined, the rest are loaded
+     * together with one loader call that returns the values found. Missing keys map to {@code null}.
+     * Each caller completes the keys it owns before waiting on anyone else's, so batches that overlap
+     * in any order cannot deadlock.
+     */
+    Map<K, V> loadAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> joined = new HashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            CompletableFuture<V> call = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+            if (existing != null) {
+                joined.put(key, existing);
+            } else {
+                owned.put(key, call);
+            }
+        }
+        coalesced.add(joined.size());
+        Map<K, V> values = new HashMap<>();
+        if (!owned.isEmpty()) {
+            loads.increment();
+            try {
+                Map<K, V> found = loader.apply(List.copyOf(owned.keySet()));
+                owned.forEach((key, call) -> {
+                    V value = found.get(key);
+                    call.complete(value);
+                    values.put(key, value);
+                });
+            } catch (RuntimeException | Error e) {
+                owned.values().forEach(call -> call.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+        joined.forEach((key, call) -> values.put(key, await(call)));
+        return values;
+    }
+
+    static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    void bindTo(MeterRegistry registry, String repository) {
+        FunctionCounter.builder("billing.repository.loads", this, SingleFlight::getLoadCount)
+                .description("Lookups sent to the database after coalescing")
+                .tag("repository", repository)
+                .register(registry);
+        FunctionCounter.builder("billing.repository.coalesced", this, SingleFlight::getCoalescedCount)
+                .description("Lookups that shared another caller's in-flight database call")
+                .tag("repository", repository)
+                .register(registry);
+    }
+
+    // Loader calls actually made
+    long getLoadCount() {
+        return loads.sum();
+    }
+
+    // Lookups answered by joining another caller's in-flight load
+    long getCoalescedCount() {
+        return coalesced.sum();
+    }
+}
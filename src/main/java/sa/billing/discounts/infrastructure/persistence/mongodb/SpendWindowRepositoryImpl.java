@@ -0,0 +1,55 @@
+package sa.billing.discounts.infrastructure.persistence.mongodb;
+
+import sa.billing.discounts.domain.model.customer.SpendWindowCheckpoint;
+import sa.billing.discounts.infrastructure.persistence.repository.SpendWindowRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+@Profile("!memory")
+public class SpendWindowRepositoryImpl implements SpendWindowRepository {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public SpendWindowRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    // One unordered bulk write of upserts, each incrementing cents.<month> on the server
+    @Override
+    public void incrementAll(Collection<SpendWindowCheckpoint> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SpendWindowCheckpoint.class);
+        for (SpendWindowCheckpoint delta : deltas) {
+            Update update = new Update().max("checkpointedAt", delta.getCheckpointedAt());
+            delta.getCentsByMonth().forEach((month, cents) -> update.inc("cents." + month, cents));
+            bulk.upsert(new Query(Criteria.where("id").is(delta.getCustomerId())), update);
+        }
+        bulk.execute();
+    }
+    
+    @Override
+    public void save(SpendWindowCheckpoint checkpoint) {
+        mongoTemplate.save(checkpoint);
+    }
+    
+    @Override
+    public Optional<SpendWindowCheckpoint> findByCustomerId(String customerId) {
+        return Optional.ofNullable(mongoTemplate.findById(customerId, SpendWindowCheckpoint.class));
+    }
+    
+    @Override
+    public long count() {
+        return mongoTemplate.count(new Query(), SpendWindowCheckpoint.class);
+    }
+}
@@ -31,5 +31,6 @@ public interface BillRepository {
     
     long countByStatus(BillStatus status);
     
+    // Every stored bill, drafts included; finalized bill counts and spend come from CustomerSpendRepository
     long countByCustomerId(String customerId);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package sa.billing.discounts.infrastructure.persistence.repository;
+
+import sa.billing.discounts.domain.model.coupon.Coupon;
+
+import java.util.List;
+import java.util.Optional;
+
+// Coupons by normalized code; see Coupon.normalize
+public interface CouponRepository {
+    
+    /**
+     * Stores a new coupon. Unlike save, never replaces an existing one, so creating a code twice
+     * cannot reset its redemption count.
+     *
+     * @throws IllegalArgumentException if a coupon with the same code exists
+     */
+    Coupon insert(Coupon coupon);
+    
+    Optional<Coupon> findByCode(String code);
+    
+    // Every stored code, without loading the rest of the coupons
+    List<String> findAllCodes();
+    
+    /**
+     * Counts one redemption unless the coupon has reached its limit, as a single atomic step, so
+     * concurrent redeems never go past the limit.
+     *
+     * @return false if the coupon does not exist or has no redemptions left
+     */
+    boolean redeem(String code);
+    
+    void deleteByCode(String code);
+    
+    boolean existsByCode(String code);
+    
+    long count();
+}
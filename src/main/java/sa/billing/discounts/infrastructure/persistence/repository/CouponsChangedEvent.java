@@ -0,0 +1,5 @@
+package sa.billing.discounts.infrastructure.persistence.repository;
+
+// Published by coupon repositories after a coupon is inserted or deleted through them
+public record CouponsChangedEvent(String code, boolean deleted) {
+}
@@ -3,6 +3,7 @@ package sa.billing.discounts.infrastructure.persistence.repository;
 import sa.billing.discounts.domain.model.customer.Customer;
 import sa.billing.discounts.domain.model.customer.CustomerType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,8 @@ public interface CustomerRepository {
     
     Optional<Customer> findById(String id);
     
+    List<Customer> findAllById(Collection<String> ids);
+    
     Optional<Customer> findByEmail(String email);
     
     List<Customer> findByType(CustomerType type);
@@ -0,0 +1,35 @@
+package sa.billing.discounts.infrastructure.persistence.repository;
+
+import sa.billing.discounts.domain.model.customer.CustomerSpend;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Per-customer spend summaries, kept up to date as finalized bills are stored and deleted
+public interface CustomerSpendRepository {
+    
+    /**
+     * Adds to the customer's summary in one atomic step, creating it if there is none yet, so
+     * concurrent bills for the same customer are never lost. Negative amounts take a bill back out.
+     * {@code lastBillAt} only ever moves forward.
+     */
+    void record(String customerId, long bills, long spendCents, long discountCents, LocalDateTime billedAt);
+    
+    Optional<CustomerSpend> findByCustomerId(String customerId);
+    
+    // Overwrites the whole summary unconditionally
+    CustomerSpend save(CustomerSpend spend);
+    
+    /**
+     * Overwrites the summary only if it still equals {@code expected}, or, when {@code expected} is
+     * null, only if there is none yet. Used when rebuilding a summary from the customer's bills, so
+     * an increment recorded since the summary was read is never overwritten.
+     *
+     * @return whether the summary was written
+     */
+    boolean replace(CustomerSpend expected, CustomerSpend spend);
+    
+    void deleteByCustomerId(String customerId);
+    
+    long count();
+}
@@ -0,0 +1,7 @@
+package sa.billing.discounts.infrastructure.persistence.repository;
+
+import sa.billing.discounts.domain.model.bill.Bill;
+
+// Published by bill repositories when a bill is first stored as finalized, or a finalized one is deleted
+public record FinalizedBillsChangedEvent(Bill bill, boolean removed) {
+}
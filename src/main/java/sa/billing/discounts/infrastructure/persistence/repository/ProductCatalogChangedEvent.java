@@ -0,0 +1,5 @@
+package sa.billing.discounts.infrastructure.persistence.repository;
+
+// Published by product repositories after a product is saved or deleted through them
+public record ProductCatalogChangedEvent(String productId) {
+}
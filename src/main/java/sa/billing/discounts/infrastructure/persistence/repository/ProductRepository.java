@@ -3,6 +3,7 @@ package sa.billing.discounts.infrastructure.persistence.repository;
 import sa.billing.discounts.domain.model.product.Product;
 import sa.billing.discounts.domain.model.product.ProductCategory;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,8 @@ public interface ProductRepository {
     
     Optional<Product> findById(String id);
     
+    List<Product> findAllById(Collection<String> ids);
+    
     Optional<Product> findByName(String name);
     
     List<Product> findByCategory(ProductCategory category);
@@ -0,0 +1,25 @@
+package sa.billing.discounts.infrastructure.persistence.repository;
+
+import sa.billing.discounts.domain.model.promotion.Promotion;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface PromotionRepository {
+    
+    Promotion save(Promotion promotion);
+    
+    Optional<Promotion> findById(String id);
+    
+    // Promotions still running or yet to start at the given instant
+    List<Promotion> findEndingAfter(Instant instant);
+    
+    List<Promotion> findAll();
+    
+    void deleteById(String id);
+    
+    boolean existsById(String id);
+    
+    long count();
+}
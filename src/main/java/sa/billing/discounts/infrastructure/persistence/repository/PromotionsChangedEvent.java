@@ -0,0 +1,5 @@
+package sa.billing.discounts.infrastructure.persistence.repository;
+
+// Published by promotion repositories after a promotion is saved or deleted through them
+public record PromotionsChangedEvent(String promotionId) {
+}
@@ -0,0 +1,21 @@
+package sa.billing.discounts.infrastructure.persistence.repository;
+
+import sa.billing.discounts.domain.model.customer.SpendWindowCheckpoint;
+
+import java.util.Collection;
+import java.util.Optional;
+
+// Stored spend per customer and month, for the rolling spend windows
+public interface SpendWindowRepository {
+    
+    // Adds each checkpoint's monthly amounts to what is stored for its customer, creating the entry if
+    // needed, in one round trip where the store allows it. Concurrent writers never overwrite each other.
+    void incrementAll(Collection<SpendWindowCheckpoint> deltas);
+    
+    // Replaces everything stored for the checkpoint's customer, as rebuilt from their bills
+    void save(SpendWindowCheckpoint checkpoint);
+    
+    Optional<SpendWindowCheckpoint> findByCustomerId(String customerId);
+    
+    long count();
+}
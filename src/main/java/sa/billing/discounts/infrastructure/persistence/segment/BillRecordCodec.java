@@ -0,0 +1,320 @@
+package sa.billing.discounts.infrastructure.persistence.segment;
+
+import org.springframework.util.ReflectionUtils;
+
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.bill.BillStatus;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary record format of the bill segment log. Every record is
+ * {@code [int length][int crc32c][byte kind][body]}, where {@code length} counts the kind byte and
+ * the body and the checksum covers the same bytes. A zero length marks the unwritten tail of a
+ * segment; a bad length or checksum marks a torn write.
+ *
+ * <p>A {@link #PUT} body holds the whole bill: strings as varint length + 1 (0 for null) followed
+ * by UTF-8, amounts as cents, timestamps as UTC epoch seconds plus nanos, and enums as ordinals, so
+ * new enum constants must be appended. The first four fields (id, customer ID, status, createdAt)
+ * are what the in-memory index needs and can be read on their own with {@link #keys}. A
+ * {@link #DELETE} body is just the bill ID.
+ */
+final class BillRecordCodec {
+
+    static final int HEADER_SIZE = 8;
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final BillStatus[] STATUSES = BillStatus.values();
+    private static final ProductCategory[] CATEGORIES = ProductCategory.values();
+    private static final Constructor<Bill> BILL_CONSTRUCTOR = constructor(Bill.class);
+    private static final Constructor<Product> PRODUCT_CONSTRUCTOR = constructor(Product.class);
+    private static final Field BILL_ID = field(Bill.class, "id");
+    private static final Field BILL_CUSTOMER_ID = field(Bill.class, "customerId");
+    private static final Field BILL_ITEMS = field(Bill.class, "items");
+    private static final Field BILL_SUBTOTAL = field(Bill.class, "subtotal");
+    private static final Field BILL_TOTAL_DISCOUNT = field(Bill.class, "totalDiscount");
+    private static final Field BILL_NET_AMOUNT = field(Bill.class, "netAmount");
+    private static final Field BILL_STATUS = field(Bill.class, "status");
+    private static final Field BILL_CREATED_AT = field(Bill.class, "createdAt");
+    private static final Field BILL_UPDATED_AT = field(Bill.class, "updatedAt");
+    private static final Field PRODUCT_ID = field(Product.class, "id");
+    private static final Field PRODUCT_NAME = field(Product.class, "name");
+    private static final Field PRODUCT_DESCRIPTION = field(Product.class, "description");
+    private static final Field PRODUCT_PRICE = field(Product.class, "price");
+    private static final Field PRODUCT_CATEGORY = field(Product.class, "category");
+    private static final Field PRODUCT_CREATED_AT = field(Product.class, "createdAt");
+    private static final Field PRODUCT_UPDATED_AT = field(Product.class, "updatedAt");
+
+    // The fields of a put record the index is built from
+    record Keys(String id, String customerId, BillStatus status, LocalDateTime createdAt) {
+    }
+
+    private BillRecordCodec() {
+    }
+
+    static byte[] put(Bill bill) {
+        Output out = new Output(256 + bill.getItems().size() * 96);
+        out.writeByte(PUT);
+        out.writeString(bill.getId());
+        out.writeString(bill.getCustomerId());
+        out.writeEnum(bill.getStatus());
+        out.writeTimestamp(bill.getCreatedAt());
+        out.writeTimestamp(bill.getUpdatedAt());
+        out.writeMoney(bill.getSubtotal());
+        out.writeMoney(bill.getTotalDiscount());
+        out.writeMoney(bill.getNetAmount());
+        List<BillItem> items = bill.getItems();
+        out.writeVarInt(items.size());
+        for (BillItem item : items) {
+            Product product = item.getProduct();
+            out.writeString(product.getId());
+            out.writeString(product.getName());
+            out.writeString(product.getDescription());
+            out.writeMoney(product.getPrice());
+            out.writeEnum(product.getCategory());
+            out.writeTimestamp(product.getCreatedAt());
+            out.writeTimestamp(product.getUpdatedAt());
+            out.writeVarInt(item.getQuantity());
+            out.writeMoney(item.getUnitPrice());
+        }
+        return out.toRecord();
+    }
+
+    static byte[] delete(String id) {
+        Output out = new Output(HEADER_SIZE + 1 + 32);
+        out.writeByte(DELETE);
+        out.writeString(id);
+        return out.toRecord();
+    }
+
+    // Size of the intact record at offset, or -1 at the end of the written data or at a torn write
+    static int recordSize(ByteBuffer buffer, int offset, int limit) {
+        if (offset + HEADER_SIZE > limit) {
+            return -1;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || length > limit - offset - HEADER_SIZE) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + HEADER_SIZE, length));
+        if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+            return -1;
+        }
+        return HEADER_SIZE + length;
+    }
+
+    static byte kind(ByteBuffer buffer, int offset) {
+        return buffer.get(offset + HEADER_SIZE);
+    }
+
+    static Keys keys(ByteBuffer buffer, int offset) {
+        Input in = new Input(buffer, offset + HEADER_SIZE);
+        if (in.readByte() == DELETE) {
+            return new Keys(in.readString(), null, null, null);
+        }
+        return new Keys(in.readString(), in.readString(), in.readEnum(STATUSES), in.readTimestamp());
+    }
+
+    static Bill bill(ByteBuffer buffer, int offset) {
+        Input in = new Input(buffer, offset + HEADER_SIZE + 1);
+        try {
+            Bill bill = BILL_CONSTRUCTOR.newInstance();
+            BILL_ID.set(bill, in.readString());
+            BILL_CUSTOMER_ID.set(bill, in.readString());
+            BILL_STATUS.set(bill, in.readEnum(STATUSES));
+            BILL_CREATED_AT.set(bill, in.readTimestamp());
+            BILL_UPDATED_AT.set(bill, in.readTimestamp());
+            BILL_SUBTOTAL.set(bill, in.readMoney());
+            BILL_TOTAL_DISCOUNT.set(bill, in.readMoney());
+            BILL_NET_AMOUNT.set(bill, in.readMoney());
+            int itemCount = in.readVarInt();
+            List<BillItem> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                Product product = PRODUCT_CONSTRUCTOR.newInstance();
+                PRODUCT_ID.set(product, in.readString());
+                PRODUCT_NAME.set(product, in.readString());
+                PRODUCT_DESCRIPTION.set(product, in.readString());
+                PRODUCT_PRICE.set(product, in.readMoney());
+                PRODUCT_CATEGORY.set(product, in.readEnum(CATEGORIES));
+                PRODUCT_CREATED_AT.set(product, in.readTimestamp());
+                PRODUCT_UPDATED_AT.set(product, in.readTimestamp());
+                int quantity = in.readVarInt();
+                items.add(BillItem.create(product, quantity, in.readMoney()));
+            }
+            BILL_ITEMS.set(bill, items);
+            return bill;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not rebuild bill from segment record", e);
+        }
+    }
+
+    private static <T> Constructor<T> constructor(Class<T> type) {
+        try {
+            return ReflectionUtils.accessibleConstructor(type);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(type + " has no no-arg constructor", e);
+        }
+    }
+
+    private static Field field(Class<?> type, String name) {
+        Field field = ReflectionUtils.findField(type, name);
+        if (field == null) {
+            throw new IllegalStateException(type + " has no field " + name);
+        }
+        ReflectionUtils.makeAccessible(field);
+        return field;
+    }
+
+    private static final class Output {
+
+        private byte[] bytes;
+        private int size = HEADER_SIZE;
+
+        Output(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(utf8.length + 1);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        void writeEnum(Enum<?> value) {
+            writeByte(value == null ? 0xFF : value.ordinal());
+        }
+
+        void writeMoney(Money value) {
+            writeLong(value == null ? -1 : value.getAmount().movePointRight(2).longValueExact());
+        }
+
+        void writeTimestamp(LocalDateTime value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(value.getNano() + 1);
+            writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        }
+
+        byte[] toRecord() {
+            int length = size - HEADER_SIZE;
+            CRC32C crc = new CRC32C();
+            crc.update(bytes, HEADER_SIZE, length);
+            ByteBuffer header = ByteBuffer.wrap(bytes, 0, HEADER_SIZE);
+            header.putInt(length).putInt((int) crc.getValue());
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    // Absolute reads only, so concurrent readers can share one mapped buffer
+    private static final class Input {
+
+        private final ByteBuffer buffer;
+        private int position;
+
+        Input(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        byte readByte() {
+            return buffer.get(position++);
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte next = buffer.get(position++);
+                value |= (next & 0x7F) << shift;
+                if (next >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        long readLong() {
+            long value = buffer.getLong(position);
+            position += 8;
+            return value;
+        }
+
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            byte[] utf8 = new byte[length];
+            buffer.get(position, utf8);
+            position += length;
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        <E extends Enum<E>> E readEnum(E[] constants) {
+            int ordinal = readByte() & 0xFF;
+            return ordinal == 0xFF ? null : constants[ordinal];
+        }
+
+        Money readMoney() {
+            long cents = readLong();
+            return cents < 0 ? null : Money.of(BigDecimal.valueOf(cents, 2));
+        }
+
+        LocalDateTime readTimestamp() {
+            int nanos = readVarInt() - 1;
+            if (nanos < 0) {
+                return null;
+            }
+            return LocalDateTime.ofEpochSecond(readLong(), nanos, ZoneOffset.UTC);
+        }
+    }
+}
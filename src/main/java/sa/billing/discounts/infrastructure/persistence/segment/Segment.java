@@ -0,0 +1,148 @@
+package sa.billing.discounts.infrastructure.persistence.segment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped file of the bill log. The file is sized up front and mapped once; records are
+ * appended at {@link #position()} by the single writer and read in place by any thread. The mapping
+ * is never released explicitly, so a reader still holding a location in a segment that compaction
+ * has just deleted reads valid bytes until the buffer is garbage collected.
+ */
+final class Segment {
+
+    static final String SUFFIX = ".seg";
+    // Magic "BSEG" followed by the format version
+    static final int FILE_HEADER_SIZE = 8;
+    private static final int MAGIC = 0x42534547;
+    private static final int VERSION = 1;
+
+    private final long sequence;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int position;
+    // Bytes of records the index still points at; only touched under the repository write lock
+    private long liveBytes;
+
+    private Segment(long sequence, Path path, FileChannel channel, MappedByteBuffer buffer, int position) {
+        this.sequence = sequence;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    static Segment create(Path directory, long sequence, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(sequence));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION);
+        return new Segment(sequence, path, channel, buffer, FILE_HEADER_SIZE);
+    }
+
+    // Maps an existing file; the caller scans it and then sets the write position
+    static Segment open(Path path) throws IOException {
+        long sequence = sequenceOf(path);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size < FILE_HEADER_SIZE || size > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException("Unexpected segment size " + size + " for " + path);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Not a version " + VERSION + " bill segment: " + path);
+        }
+        return new Segment(sequence, path, channel, buffer, FILE_HEADER_SIZE);
+    }
+
+    static String fileName(long sequence) {
+        return String.format("bills-%020d%s", sequence, SUFFIX);
+    }
+
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring("bills-".length(), name.length() - SUFFIX.length()));
+    }
+
+    // Offset of the appended record, or -1 when it does not fit
+    int append(byte[] record) {
+        if (record.length > buffer.capacity() - position) {
+            return -1;
+        }
+        int offset = position;
+        buffer.put(offset, record);
+        position += record.length;
+        return offset;
+    }
+
+    // Clears a torn tail so later appends are not followed by stale bytes
+    void truncateTail() {
+        byte[] zeros = new byte[4096];
+        for (int i = position; i < buffer.capacity(); i += zeros.length) {
+            buffer.put(i, zeros, 0, Math.min(zeros.length, buffer.capacity() - i));
+        }
+    }
+
+    void force(int offset, int length) {
+        buffer.force(offset, length);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    int position() {
+        return position;
+    }
+
+    void position(int position) {
+        this.position = position;
+    }
+
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    void addLiveBytes(long delta) {
+        liveBytes += delta;
+    }
+
+    // Record bytes written to this segment that no index entry points at any more
+    long deadBytes() {
+        return position - FILE_HEADER_SIZE - liveBytes;
+    }
+}
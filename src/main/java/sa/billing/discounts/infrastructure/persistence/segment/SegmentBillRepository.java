@@ -0,0 +1,441 @@
+package sa.billing.discounts.infrastructure.persistence.segment;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.util.ReflectionUtils;
+
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillStatus;
+import sa.billing.discounts.infrastructure.persistence.repository.BillRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.FinalizedBillsChangedEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * {@link BillRepository} over an append-only log of memory-mapped segment files, for edge stores
+ * that run without MongoDB. Every save appends the whole bill as one {@link BillRecordCodec} record
+ * and every delete appends a tombstone; nothing is rewritten in place. The index by ID and by
+ * customer ID lives on the heap and is rebuilt on startup by replaying the segments in order, so the
+ * latest record for an ID wins and a torn record at the tail is discarded.
+ *
+ * <p>Appends are serialized by one lock; reads take no lock and decode straight from the mapped
+ * segment. When the active segment is full a new one is started, and once the share of superseded
+ * bytes in the sealed segments reaches the compaction threshold their live records are copied to
+ * the active segment in the background and the sealed files are deleted, oldest first, so a crash
+ * part-way through never brings a deleted bill back.
+ */
+public class SegmentBillRepository implements BillRepository, ApplicationEventPublisherAware, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentBillRepository.class);
+
+    private record Location(Segment segment, int offset, int length,
+                            String customerId, BillStatus status, LocalDateTime createdAt) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final double compactionThreshold;
+    private final boolean syncWrites;
+    private final Field idField = ReflectionUtils.findField(Bill.class, "id");
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<String, Location> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> byCustomerId = new ConcurrentHashMap<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bill-segment-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    private Segment active;
+    private ApplicationEventPublisher eventPublisher;
+
+    public SegmentBillRepository(Path directory, int segmentSize, double compactionThreshold, boolean syncWrites) {
+        if (segmentSize <= Segment.FILE_HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size must be larger than " + Segment.FILE_HEADER_SIZE + " bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.compactionThreshold = compactionThreshold;
+        this.syncWrites = syncWrites;
+        ReflectionUtils.makeAccessible(idField);
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open bill segments in " + directory, e);
+        }
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(path -> path.getFileName().toString().matches("bills-\\d{20}\\" + Segment.SUFFIX))
+                    .sorted(Comparator.comparingLong(Segment::sequenceOf))
+                    .toList();
+        }
+        for (Path file : files) {
+            Segment segment = Segment.open(file);
+            int position = Segment.FILE_HEADER_SIZE;
+            int size;
+            while ((size = BillRecordCodec.recordSize(segment.buffer(), position, segment.capacity())) > 0) {
+                replay(segment, position, size);
+                position += size;
+            }
+            segment.position(position);
+            if (position + 4 <= segment.capacity() && segment.buffer().getInt(position) != 0) {
+                log.warn("discarding torn record at offset {} of {}", position, file.getFileName());
+                segment.truncateTail();
+            }
+            segments.add(segment);
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.create(directory, 1, segmentSize));
+        }
+        active = segments.get(segments.size() - 1);
+        log.info("opened {} bill segment(s) in {} holding {} bill(s)", segments.size(), directory, byId.size());
+    }
+
+    private void replay(Segment segment, int offset, int size) {
+        BillRecordCodec.Keys keys = BillRecordCodec.keys(segment.buffer(), offset);
+        if (BillRecordCodec.kind(segment.buffer(), offset) == BillRecordCodec.PUT) {
+            index(keys.id(), new Location(segment, offset, size, keys.customerId(), keys.status(), keys.createdAt()));
+        } else {
+            unindex(keys.id());
+        }
+    }
+
+    @Override
+    public Bill save(Bill bill) {
+        if (bill.getId() == null) {
+            ReflectionUtils.setField(idField, bill, new ObjectId().toHexString());
+        }
+        byte[] record = BillRecordCodec.put(bill);
+        boolean finalizedNow;
+        writeLock.lock();
+        try {
+            Location previous = byId.get(bill.getId());
+            finalizedNow = bill.isFinalized() && (previous == null || previous.status() != BillStatus.FINALIZED);
+            int offset = append(record);
+            index(bill.getId(), new Location(active, offset, record.length,
+                    bill.getCustomerId(), bill.getStatus(), bill.getCreatedAt()));
+        } finally {
+            writeLock.unlock();
+        }
+        if (finalizedNow) {
+            publishChange(bill, false);
+        }
+        return bill;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        if (id == null) {
+            return;
+        }
+        byte[] record = BillRecordCodec.delete(id);
+        Bill removed = null;
+        writeLock.lock();
+        try {
+            Location location = byId.get(id);
+            if (location != null) {
+                // Decoded before the tombstone, and only when the spend summaries need its amounts
+                if (location.status() == BillStatus.FINALIZED) {
+                    removed = read(location);
+                }
+                append(record);
+                unindex(id);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (removed != null) {
+            publishChange(removed, true);
+        }
+    }
+
+    private void publishChange(Bill bill, boolean removed) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new FinalizedBillsChangedEvent(bill, removed));
+        }
+    }
+
+    // Caller holds the write lock
+    private int append(byte[] record) {
+        int offset = active.append(record);
+        if (offset < 0) {
+            roll(record.length);
+            offset = active.append(record);
+        }
+        if (syncWrites) {
+            active.force(offset, record.length);
+        }
+        return offset;
+    }
+
+    private void roll(int recordSize) {
+        active.force();
+        try {
+            // A bill larger than the configured size gets a segment of its own
+            active = Segment.create(directory, active.sequence() + 1,
+                    Math.max(segmentSize, Segment.FILE_HEADER_SIZE + recordSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start a new bill segment in " + directory, e);
+        }
+        segments.add(active);
+        if (shouldCompact() && compactionQueued.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                compactionQueued.set(false);
+                compact();
+            });
+        }
+    }
+
+    private boolean shouldCompact() {
+        long written = 0;
+        long dead = 0;
+        for (Segment segment : segments) {
+            if (segment != active) {
+                written += segment.position() - Segment.FILE_HEADER_SIZE;
+                dead += segment.deadBytes();
+            }
+        }
+        return written > 0 && dead >= written * compactionThreshold;
+    }
+
+    // Caller holds the write lock, or is the recovery thread
+    private void index(String id, Location location) {
+        Location previous = byId.put(id, location);
+        location.segment().addLiveBytes(location.length());
+        if (previous != null) {
+            previous.segment().addLiveBytes(-previous.length());
+            if (!Objects.equals(previous.customerId(), location.customerId())) {
+                removeFromCustomer(previous.customerId(), id);
+            }
+        }
+        if (location.customerId() != null) {
+            byCustomerId.computeIfAbsent(location.customerId(), key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void unindex(String id) {
+        Location previous = byId.remove(id);
+        if (previous != null) {
+            previous.segment().addLiveBytes(-previous.length());
+            removeFromCustomer(previous.customerId(), id);
+        }
+    }
+
+    private void removeFromCustomer(String customerId, String id) {
+        if (customerId != null) {
+            byCustomerId.computeIfPresent(customerId, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Copies the live records of every sealed segment to the active one, flushes it and deletes the
+     * sealed files. Records are moved one at a time under the write lock, so saves keep going meanwhile.
+     */
+    public void compact() {
+        compactionLock.lock();
+        try {
+            List<Segment> sealed = new ArrayList<>();
+            writeLock.lock();
+            try {
+                for (Segment segment : segments) {
+                    if (segment != active) {
+                        sealed.add(segment);
+                    }
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            if (sealed.isEmpty()) {
+                return;
+            }
+            Set<Segment> sealedSet = Set.copyOf(sealed);
+            int moved = 0;
+            for (Map.Entry<String, Location> entry : byId.entrySet()) {
+                if (sealedSet.contains(entry.getValue().segment()) && relocate(entry.getKey(), entry.getValue())) {
+                    moved++;
+                }
+            }
+            // The moved records must be on disk before their only other copy goes, sync-writes or not.
+            // Segments rolled past during the move were forced by roll.
+            writeLock.lock();
+            try {
+                active.force();
+            } finally {
+                writeLock.unlock();
+            }
+            segments.removeAll(sealed);
+            for (Segment segment : sealed) {
+                segment.delete();
+            }
+            log.info("compacted {} bill segment(s), {} live bill(s) moved", sealed.size(), moved);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete compacted bill segment", e);
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    private boolean relocate(String id, Location location) {
+        byte[] record = new byte[location.length()];
+        location.segment().buffer().get(location.offset(), record);
+        writeLock.lock();
+        try {
+            // Skip bills saved or deleted again since the snapshot
+            if (byId.get(id) != location) {
+                return false;
+            }
+            int offset = append(record);
+            index(id, new Location(active, offset, record.length,
+                    location.customerId(), location.status(), location.createdAt()));
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Bill> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Location location = byId.get(id);
+        return location != null ? Optional.of(read(location)) : Optional.empty();
+    }
+
+    @Override
+    public List<Bill> findByCustomerId(String customerId) {
+        return findByCustomer(customerId, location -> true);
+    }
+
+    @Override
+    public List<Bill> findByStatus(BillStatus status) {
+        return scan(location -> location.status() == status);
+    }
+
+    @Override
+    public List<Bill> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end) {
+        return scan(location -> location.createdAt() != null
+                && !location.createdAt().isBefore(start) && !location.createdAt().isAfter(end));
+    }
+
+    @Override
+    public List<Bill> findByCustomerIdAndStatus(String customerId, BillStatus status) {
+        return findByCustomer(customerId, location -> location.status() == status);
+    }
+
+    @Override
+    public List<Bill> findAll() {
+        return scan(location -> true);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return id != null && byId.containsKey(id);
+    }
+
+    @Override
+    public long count() {
+        return byId.size();
+    }
+
+    @Override
+    public long countByStatus(BillStatus status) {
+        return byId.values().stream().filter(location -> location.status() == status).count();
+    }
+
+    @Override
+    public long countByCustomerId(String customerId) {
+        return customerLocations(customerId).count();
+    }
+
+    private List<Bill> findByCustomer(String customerId, Predicate<Location> filter) {
+        return customerLocations(customerId).filter(filter).map(this::read).toList();
+    }
+
+    // Index hits are re-checked, since a bill can move to another customer between the two lookups
+    private Stream<Location> customerLocations(String customerId) {
+        if (customerId == null) {
+            return Stream.empty();
+        }
+        Set<String> ids = byCustomerId.get(customerId);
+        if (ids == null) {
+            return Stream.empty();
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(location -> location != null && customerId.equals(location.customerId()));
+    }
+
+    // Status and creation time are kept with each location, so these filters never decode a record
+    private List<Bill> scan(Predicate<Location> filter) {
+        return byId.values().stream().filter(filter).map(this::read).toList();
+    }
+
+    private Bill read(Location location) {
+        return BillRecordCodec.bill(location.segment().buffer(), location.offset());
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeLock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.force();
+                segment.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
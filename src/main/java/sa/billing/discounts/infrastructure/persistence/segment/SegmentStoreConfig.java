@@ -0,0 +1,23 @@
+package sa.billing.discounts.infrastructure.persistence.segment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Configuration
+@Profile("edge")
+public class SegmentStoreConfig {
+
+    @Bean
+    public SegmentBillRepository segmentBillRepository(
+            @Value("${billing.edge-store.directory:data/bills}") Path directory,
+            @Value("${billing.edge-store.segment-size:64MB}") DataSize segmentSize,
+            @Value("${billing.edge-store.compaction-threshold:0.5}") double compactionThreshold,
+            @Value("${billing.edge-store.sync-writes:false}") boolean syncWrites) {
+        return new SegmentBillRepository(directory, Math.toIntExact(segmentSize.toBytes()), compactionThreshold, syncWrites);
+    }
+}
@@ -1,5 +1,9 @@
 package sa.billing.discounts.infrastructure.security;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
+import org.springframework.boot.actuate.metrics.MetricsEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -28,7 +32,13 @@ public class SecurityConfig {
                 .contentTypeOptions(contentTypeOptions -> {})
             )
             .httpBasic(httpBasic -> {})
+            // Actuator endpoints expose internals and, for jfr, hold a request thread; only health, info
+            // and metrics, which dashboards read the stage timings from, stay open. Credentials come
+            // from spring.security.user.name/password.
             .authorizeHttpRequests(authorize -> authorize
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class, MetricsEndpoint.class))
+                    .permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).authenticated()
                 .anyRequest().permitAll()
             );
         
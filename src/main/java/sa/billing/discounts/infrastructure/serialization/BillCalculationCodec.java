@@ -0,0 +1,94 @@
+package sa.billing.discounts.infrastructure.serialization;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.CompactBillCalculationRequest;
+import sa.billing.discounts.presentation.dto.ApiResponse;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class BillCalculationCodec {
+
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        CBOR(MediaType.APPLICATION_CBOR);
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format forMediaType(MediaType mediaType) {
+            if (mediaType != null && CBOR.mediaType.equalsTypeAndSubtype(mediaType)) {
+                return CBOR;
+            }
+            return JSON;
+        }
+    }
+
+    // Readers and writers are resolved once per wire format so requests never look up serializers
+    private final Map<Format, Map<Class<?>, ObjectReader>> readers = new EnumMap<>(Format.class);
+    private final Map<Format, Map<Class<?>, ObjectWriter>> responseWriters = new EnumMap<>(Format.class);
+
+    public BillCalculationCodec(ObjectMapper jsonMapper, ObjectMapper cborMapper) {
+        register(Format.JSON, Objects.requireNonNull(jsonMapper, "JSON mapper cannot be null"));
+        register(Format.CBOR, Objects.requireNonNull(cborMapper, "CBOR mapper cannot be null"));
+    }
+
+    private void register(Format format, ObjectMapper mapper) {
+        Map<Class<?>, ObjectReader> formatReaders = new HashMap<>();
+        formatReaders.put(BillCalculationRequest.class, mapper.readerFor(BillCalculationRequest.class));
+        formatReaders.put(CompactBillCalculationRequest.class, mapper.readerFor(CompactBillCalculationRequest.class));
+        readers.put(format, formatReaders);
+
+        Map<Class<?>, ObjectWriter> formatWriters = new HashMap<>();
+        formatWriters.put(BillCalculationResponse.class, responseWriter(mapper, BillCalculationResponse.class));
+        formatWriters.put(BillCalculationSummaryResponse.class,
+            responseWriter(mapper, BillCalculationSummaryResponse.class));
+        responseWriters.put(format, formatWriters);
+    }
+
+    private static ObjectWriter responseWriter(ObjectMapper mapper, Class<?> dataType) {
+        JavaType type = mapper.getTypeFactory().constructParametricType(ApiResponse.class, dataType);
+        return mapper.writerFor(type);
+    }
+
+    public boolean canRead(Class<?> type) {
+        return readers.get(Format.JSON).containsKey(type);
+    }
+
+    public boolean canWriteResponse(Class<?> dataType) {
+        return responseWriters.get(Format.JSON).containsKey(dataType);
+    }
+
+    public ObjectReader reader(Class<?> type, Format format) {
+        ObjectReader reader = readers.get(format).get(type);
+        if (reader == null) {
+            throw new IllegalArgumentException("No reader registered for " + type.getName());
+        }
+        return reader;
+    }
+
+    public ObjectWriter responseWriter(Class<?> dataType, Format format) {
+        ObjectWriter writer = responseWriters.get(format).get(dataType);
+        if (writer == null) {
+            throw new IllegalArgumentException("No response writer registered for " + dataType.getName());
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,97 @@
+package sa.billing.discounts.infrastructure.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+import sa.billing.discounts.application.dto.CompactBillCalculationRequest;
+import sa.billing.discounts.application.service.CalculationTrace;
+import sa.billing.discounts.presentation.dto.ApiResponse;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+public class BillCalculationHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final BillCalculationCodec codec;
+
+    public BillCalculationHttpMessageConverter(BillCalculationCodec codec) {
+        super(BillCalculationCodec.Format.JSON.getMediaType(), BillCalculationCodec.Format.CBOR.getMediaType());
+        this.codec = codec;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // Only the generic read/write paths are supported, so plain class lookups never match
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return getSupportedMediaTypes();
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return type instanceof Class<?> clazz && codec.canRead(clazz)
+                && (canRead(mediaType) || CompactBillCalculationRequest.MEDIA_TYPE.includes(mediaType));
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        Class<?> dataType = responseDataType(type);
+        return dataType != null && codec.canWriteResponse(dataType) && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        BillCalculationCodec.Format format =
+                BillCalculationCodec.Format.forMediaType(inputMessage.getHeaders().getContentType());
+        try {
+            return codec.reader((Class<?>) type, format).readValue(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException(format + " parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        BillCalculationCodec.Format format =
+                BillCalculationCodec.Format.forMediaType(outputMessage.getHeaders().getContentType());
+        long started = CalculationTrace.begin(CalculationTrace.Stage.SERIALIZATION);
+        try {
+            codec.responseWriter(responseDataType(type), format)
+                    .writeValue(StreamUtils.nonClosing(outputMessage.getBody()), object);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write " + format + ": " + e.getOriginalMessage(), e);
+        } finally {
+            CalculationTrace.record(CalculationTrace.Stage.SERIALIZATION, started);
+        }
+    }
+
+    private static Class<?> responseDataType(Type type) {
+        if (type == null) {
+            return null;
+        }
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        if (resolvableType.resolve() != ApiResponse.class) {
+            return null;
+        }
+        return resolvableType.getGeneric(0).resolve();
+    }
+}
@@ -0,0 +1,85 @@
+package sa.billing.discounts.infrastructure.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import sa.billing.discounts.application.dto.BillItemResponse;
+import sa.billing.discounts.domain.model.bill.BillItem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Priced lines parked on disk until the totals are known, so itemized streaming keeps a flat heap
+public final class BillItemSpool implements Closeable {
+
+    private final Path file;
+    private final DataOutputStream output;
+    private int size;
+
+    private BillItemSpool(Path file) throws IOException {
+        this.file = file;
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    }
+
+    public static BillItemSpool create() throws IOException {
+        return new BillItemSpool(Files.createTempFile("bill-items-", ".spool"));
+    }
+
+    public void append(BillItem item, boolean eligibleForPercentageDiscount) throws IOException {
+        writeNullable(item.getProduct().getId());
+        writeNullable(item.getProduct().getName());
+        output.writeUTF(item.getProduct().getCategory().name());
+        output.writeInt(item.getQuantity());
+        output.writeUTF(item.getUnitPrice().getAmount().toPlainString());
+        output.writeUTF(item.getTotalPrice().getAmount().toPlainString());
+        output.writeBoolean(eligibleForPercentageDiscount);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(JsonGenerator generator) throws IOException {
+        output.close();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            for (int i = 0; i < size; i++) {
+                generator.writeObject(new BillItemResponse(
+                        readNullable(input),
+                        readNullable(input),
+                        input.readUTF(),
+                        input.readInt(),
+                        new BigDecimal(input.readUTF()),
+                        new BigDecimal(input.readUTF()),
+                        input.readBoolean()
+                ));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            output.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void writeNullable(String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+}
@@ -0,0 +1,142 @@
+package sa.billing.discounts.infrastructure.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import sa.billing.discounts.application.dto.CompactBillCalculationRequest;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads {@code {"customerId": "...", "items": [["productId", qty], ...]}} or the parallel-array
+ * form {@code {"customerId": "...", "productIds": [...], "quantities": [...]}} straight into
+ * primitive arrays, without binding a bean per line. An optional {@code couponCode} is read in
+ * either form.
+ */
+public class CompactBillCalculationRequestDeserializer extends StdDeserializer<CompactBillCalculationRequest> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    public CompactBillCalculationRequestDeserializer() {
+        super(CompactBillCalculationRequest.class);
+    }
+
+    @Override
+    public CompactBillCalculationRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return (CompactBillCalculationRequest) ctxt.handleUnexpectedToken(CompactBillCalculationRequest.class, p);
+        }
+
+        String customerId = null;
+        String couponCode = null;
+        String[] pairIds = null;
+        int[] pairQuantities = null;
+        String[] productIds = null;
+        int[] quantities = null;
+
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            JsonToken token = p.nextToken();
+            switch (field) {
+                case "customerId" -> customerId = token == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+                case "items" -> {
+                    Lines lines = readPairs(p, ctxt);
+                    pairIds = lines.productIds;
+                    pairQuantities = lines.quantities;
+                }
+                case "couponCode" -> couponCode = token == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+                case "productIds" -> productIds = readStrings(p, ctxt);
+                case "quantities" -> quantities = readInts(p, ctxt);
+                default -> p.skipChildren();
+            }
+        }
+
+        if (pairIds != null) {
+            if (productIds != null || quantities != null) {
+                ctxt.reportInputMismatch(this, "Use either items pairs or productIds/quantities arrays, not both");
+            }
+            return new CompactBillCalculationRequest(customerId, pairIds, pairQuantities, couponCode);
+        }
+        return new CompactBillCalculationRequest(customerId, productIds, quantities, couponCode);
+    }
+
+    private Lines readPairs(JsonParser p, DeserializationContext ctxt) throws IOException {
+        expect(p, ctxt, JsonToken.START_ARRAY, "items must be an array of [productId, quantity] pairs");
+        String[] ids = new String[INITIAL_CAPACITY];
+        int[] qtys = new int[INITIAL_CAPACITY];
+        int count = 0;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            expect(p, ctxt, JsonToken.START_ARRAY, "items must be an array of [productId, quantity] pairs");
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                qtys = Arrays.copyOf(qtys, count * 2);
+            }
+            p.nextToken();
+            ids[count] = readString(p, ctxt);
+            p.nextToken();
+            qtys[count] = readInt(p, ctxt);
+            if (p.nextToken() != JsonToken.END_ARRAY) {
+                ctxt.reportInputMismatch(this, "Each item must be exactly [productId, quantity]");
+            }
+            count++;
+        }
+        return new Lines(Arrays.copyOf(ids, count), Arrays.copyOf(qtys, count));
+    }
+
+    private String[] readStrings(JsonParser p, DeserializationContext ctxt) throws IOException {
+        expect(p, ctxt, JsonToken.START_ARRAY, "productIds must be an array");
+        String[] values = new String[INITIAL_CAPACITY];
+        int count = 0;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = readString(p, ctxt);
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    private int[] readInts(JsonParser p, DeserializationContext ctxt) throws IOException {
+        expect(p, ctxt, JsonToken.START_ARRAY, "quantities must be an array");
+        int[] values = new int[INITIAL_CAPACITY];
+        int count = 0;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = readInt(p, ctxt);
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    private String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            ctxt.reportInputMismatch(this, "Product ID must be a string");
+        }
+        return p.getText();
+    }
+
+    private int readInt(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+            ctxt.reportInputMismatch(this, "Quantity must be an integer");
+        }
+        // Fails with an input coercion error instead of silently truncating values beyond int range
+        return p.getIntValue();
+    }
+
+    private void expect(JsonParser p, DeserializationContext ctxt, JsonToken expected, String message)
+            throws IOException {
+        if (p.currentToken() != expected) {
+            ctxt.reportInputMismatch(this, message);
+        }
+    }
+
+    private record Lines(String[] productIds, int[] quantities) {
+    }
+}
@@ -0,0 +1,49 @@
+package sa.billing.discounts.infrastructure.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.util.StreamUtils;
+
+import sa.billing.discounts.application.dto.PriceList;
+import sa.billing.discounts.application.dto.PriceListEntry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Writes ApiResponse<PriceList> entry by entry, so a large catalog is never buffered as one document
+public class PriceListResponseWriter {
+
+    private final ObjectMapper objectMapper;
+    // Flushing after every entry would turn each one into its own socket write
+    private final ObjectWriter valueWriter;
+
+    public PriceListResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void write(OutputStream out, String message, PriceList priceList) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(StreamUtils.nonClosing(out))) {
+            generator.writeStartObject();
+            generator.writeStringField("message", message);
+            generator.writeStringField("status", "success");
+            generator.writeObjectFieldStart("data");
+            generator.writeStringField("tier", priceList.getTier().name());
+            generator.writeFieldName("generatedAt");
+            valueWriter.writeValue(generator, priceList.getGeneratedAt());
+            generator.writeNumberField("configVersion", priceList.getConfigVersion());
+            generator.writeArrayFieldStart("items");
+            for (PriceListEntry entry : priceList.getItems()) {
+                valueWriter.writeValue(generator, entry);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("meta");
+            generator.writeNumberField("count", priceList.getItems().size());
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package sa.billing.discounts.infrastructure.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class SerializationConfig {
+
+    @Bean
+    public BillCalculationCodec billCalculationCodec(ObjectMapper objectMapper,
+                                                     Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        // The builder carries the spring.jackson.* settings, so CBOR payloads mirror the JSON ones
+        ObjectMapper cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        return new BillCalculationCodec(objectMapper, cborMapper);
+    }
+
+    @Bean
+    public BillCalculationHttpMessageConverter billCalculationHttpMessageConverter(BillCalculationCodec codec) {
+        return new BillCalculationHttpMessageConverter(codec);
+    }
+
+    @Bean
+    public StreamingBillRequestReader streamingBillRequestReader(ObjectMapper objectMapper) {
+        return new StreamingBillRequestReader(objectMapper.getFactory());
+    }
+
+    @Bean
+    public StreamingBillResponseWriter streamingBillResponseWriter(ObjectMapper objectMapper) {
+        return new StreamingBillResponseWriter(objectMapper);
+    }
+
+    @Bean
+    public PriceListResponseWriter priceListResponseWriter(ObjectMapper objectMapper) {
+        return new PriceListResponseWriter(objectMapper);
+    }
+}
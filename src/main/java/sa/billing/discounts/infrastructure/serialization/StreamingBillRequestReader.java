@@ -0,0 +1,92 @@
+package sa.billing.discounts.infrastructure.serialization;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import sa.billing.discounts.application.service.StreamingBillCalculation;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Feeds a bill calculation request into a {@link StreamingBillCalculation} token by token, so
+ * the {@code items} array is never materialized. Items may be {@code {"productId", "quantity"}}
+ * objects or {@code [productId, quantity]} pairs, and fields may appear in any order.
+ */
+public class StreamingBillRequestReader {
+
+    private final JsonFactory jsonFactory;
+
+    public StreamingBillRequestReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public void read(InputStream body, StreamingBillCalculation calculation) throws IOException {
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Bill request must be a JSON object");
+            }
+            for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+                JsonToken token = p.nextToken();
+                switch (field) {
+                    case "customerId" -> calculation.customer(token == JsonToken.VALUE_NULL ? null : p.getValueAsString());
+                    case "couponCode" -> calculation.coupon(token == JsonToken.VALUE_NULL ? null : p.getValueAsString());
+                    case "items" -> readItems(p, calculation);
+                    default -> p.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed bill request: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private void readItems(JsonParser p, StreamingBillCalculation calculation) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("items must be an array");
+        }
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                readItemObject(p, calculation);
+            } else if (token == JsonToken.START_ARRAY) {
+                readItemPair(p, calculation);
+            } else {
+                throw new IllegalArgumentException("Each item must be an object or a [productId, quantity] pair");
+            }
+        }
+    }
+
+    private void readItemObject(JsonParser p, StreamingBillCalculation calculation) throws IOException {
+        String productId = null;
+        int quantity = 0;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            JsonToken token = p.nextToken();
+            switch (field) {
+                case "productId" -> productId = token == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+                case "quantity" -> quantity = readQuantity(p);
+                default -> p.skipChildren();
+            }
+        }
+        calculation.addLine(productId, quantity);
+    }
+
+    private void readItemPair(JsonParser p, StreamingBillCalculation calculation) throws IOException {
+        JsonToken token = p.nextToken();
+        String productId = token == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+        p.nextToken();
+        int quantity = readQuantity(p);
+        if (p.nextToken() != JsonToken.END_ARRAY) {
+            throw new IllegalArgumentException("Each item must be exactly [productId, quantity]");
+        }
+        calculation.addLine(productId, quantity);
+    }
+
+    private int readQuantity(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+            throw new IllegalArgumentException("Quantity must be an integer");
+        }
+        return p.getIntValue();
+    }
+}
@@ -0,0 +1,73 @@
+package sa.billing.discounts.infrastructure.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.util.StreamUtils;
+
+import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+// Writes the regular ApiResponse<BillCalculationResponse> shape with the items copied from a spool
+public class StreamingBillResponseWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public StreamingBillResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void write(OutputStream out, String message, BillCalculationSummaryResponse summary, BillItemSpool items)
+            throws IOException {
+        // Serializing an item-less response through the mapper keeps field naming, order, inclusion and decimal scale identical
+        BillCalculationResponse data = new BillCalculationResponse(
+                summary.getCustomerId(),
+                List.of(),
+                summary.getSubtotal(),
+                summary.getPercentageBasedDiscount(),
+                summary.getPercentageDiscountType(),
+                summary.getBillBasedDiscount(),
+                summary.getTotalDiscount(),
+                summary.getNetAmount()
+        );
+        data.setCalculatedAt(summary.getCalculatedAt());
+        data.setConfigVersion(summary.getConfigVersion());
+        data.setPromotionDiscount(summary.getPromotionDiscount());
+        data.setCouponCode(summary.getCouponCode());
+        data.setCouponDiscount(summary.getCouponDiscount());
+        TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+        objectMapper.writeValue(buffer, data);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(StreamUtils.nonClosing(out));
+             JsonParser dataParser = buffer.asParserOnFirstToken()) {
+            generator.writeStartObject();
+            generator.writeStringField("message", message);
+            generator.writeStringField("status", "success");
+            generator.writeFieldName("data");
+            generator.writeStartObject();
+            for (JsonToken token = dataParser.nextToken(); token == JsonToken.FIELD_NAME; token = dataParser.nextToken()) {
+                String field = dataParser.currentName();
+                generator.writeFieldName(field);
+                dataParser.nextToken();
+                if ("items".equals(field)) {
+                    dataParser.skipChildren();
+                    generator.writeStartArray();
+                    items.writeTo(generator);
+                    generator.writeEndArray();
+                } else {
+                    generator.copyCurrentStructure(dataParser);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("meta");
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+}
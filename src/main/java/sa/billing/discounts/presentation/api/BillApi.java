@@ -11,6 +11,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 
 import sa.billing.discounts.application.dto.BillCalculationRequest;
 import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.BillQuoteRequest;
+import sa.billing.discounts.application.dto.BillQuoteResponse;
+import sa.billing.discounts.application.dto.CompactBillCalculationRequest;
 
 @Tag(name = "bill management", description = "apis for bill calculation and discount management")
 public interface BillApi {
@@ -26,10 +30,73 @@ public interface BillApi {
       @ApiResponse(responseCode = "500", description = "internal server error")
   })
   ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<BillCalculationResponse>> calculateBill(
+      @Parameter(description = "bill calculation request containing customer id and items")
+      @Valid @RequestBody BillCalculationRequest request,
+      @Parameter(description = "original keeps every request line in the response, merged returns one line per product")
+      String lines
+  );
+
+  @Operation(
+      summary = "calculate bill totals only",
+      description = "same calculation as calculate, selected with view=summary; returns subtotal, discount breakdown and net amount without item lines"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "bill calculated successfully"),
+      @ApiResponse(responseCode = "400", description = "invalid request data"),
+      @ApiResponse(responseCode = "404", description = "customer or product not found"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<BillCalculationSummaryResponse>> calculateBillSummary(
       @Parameter(description = "bill calculation request containing customer id and items")
       @Valid @RequestBody BillCalculationRequest request
   );
 
+  @Operation(
+      summary = "calculate bill from compact item arrays",
+      description = "same calculation as calculate for content type application/vnd.billing.compact+json; items are sent as [productId, quantity] pairs or as parallel productIds/quantities arrays"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "bill calculated successfully"),
+      @ApiResponse(responseCode = "400", description = "invalid request data"),
+      @ApiResponse(responseCode = "404", description = "customer or product not found"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<BillCalculationResponse>> calculateCompactBill(
+      @Parameter(description = "compact bill calculation request containing customer id and item arrays")
+      @RequestBody CompactBillCalculationRequest request,
+      @Parameter(description = "original keeps every request line in the response, merged returns one line per product")
+      String lines
+  );
+
+  @Operation(
+      summary = "calculate bill totals only from compact item arrays",
+      description = "summary view of the compact calculate endpoint, selected with view=summary"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "bill calculated successfully"),
+      @ApiResponse(responseCode = "400", description = "invalid request data"),
+      @ApiResponse(responseCode = "404", description = "customer or product not found"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<BillCalculationSummaryResponse>> calculateCompactBillSummary(
+      @Parameter(description = "compact bill calculation request containing customer id and item arrays")
+      @RequestBody CompactBillCalculationRequest request
+  );
+
+  @Operation(
+      summary = "quote one cart for many customers",
+      description = "price the same items for a list of customer ids and/or customer types (employee, affiliate, loyalty, regular); products are resolved once and only the customer discount is worked out per audience"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "cart quoted successfully"),
+      @ApiResponse(responseCode = "400", description = "invalid request data, no audience or unsupported customer type"),
+      @ApiResponse(responseCode = "404", description = "customer or product not found")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<BillQuoteResponse>> quoteBill(
+      @Parameter(description = "items to price and the customers or customer types to price them for")
+      @Valid @RequestBody BillQuoteRequest request
+  );
+
   @Operation(
       summary = "health check",
       description = "check if the bill service is running"
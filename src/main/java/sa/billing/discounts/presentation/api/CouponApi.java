@@ -0,0 +1,47 @@
+package sa.billing.discounts.presentation.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import sa.billing.discounts.application.dto.CouponRequest;
+import sa.billing.discounts.application.dto.CouponResponse;
+
+@Tag(name = "coupons", description = "coupon codes priced by bill calculations and redeemed when a draft bill is finalized")
+public interface CouponApi {
+
+  @Operation(
+      summary = "create a coupon",
+      description = "percentage or fixed amount off the bill after every other discount, optionally limited in uses and time"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "201", description = "coupon created"),
+      @ApiResponse(responseCode = "400", description = "invalid request data or code already taken"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<CouponResponse>> createCoupon(
+      @Parameter(description = "coupon definition")
+      @Valid @RequestBody CouponRequest request
+  );
+
+  @Operation(summary = "get a coupon by code", description = "includes how often it has been redeemed so far")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "coupon returned"),
+      @ApiResponse(responseCode = "404", description = "coupon not found"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<CouponResponse>> getCoupon(String code);
+
+  @Operation(summary = "delete a coupon", description = "the code can no longer be redeemed")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "coupon deleted"),
+      @ApiResponse(responseCode = "404", description = "coupon not found"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<Void>> deleteCoupon(String code);
+}
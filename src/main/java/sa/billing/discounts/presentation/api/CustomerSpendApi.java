@@ -0,0 +1,24 @@
+package sa.billing.discounts.presentation.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+import sa.billing.discounts.application.dto.CustomerSpendResponse;
+
+@Tag(name = "customer spend", description = "what each customer has been billed so far")
+public interface CustomerSpendApi {
+
+  @Operation(
+      summary = "get a customer's lifetime spend",
+      description = "finalized bill count, net spend, discount received and time of the last bill, from a summary kept alongside the bills"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "summary returned"),
+      @ApiResponse(responseCode = "404", description = "customer not found"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<CustomerSpendResponse>> getCustomerSpend(String customerId);
+}
@@ -0,0 +1,73 @@
+package sa.billing.discounts.presentation.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.DraftBillRequest;
+import sa.billing.discounts.application.dto.DraftBillResponse;
+
+@Tag(name = "draft bills", description = "bills built one scan at a time at a point of sale")
+public interface DraftBillApi {
+
+  @Operation(summary = "open a draft bill", description = "an empty draft for the customer, optionally with a coupon; it expires after a period without changes")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "201", description = "draft created"),
+      @ApiResponse(responseCode = "400", description = "invalid request data"),
+      @ApiResponse(responseCode = "404", description = "customer or coupon not found"),
+      @ApiResponse(responseCode = "409", description = "coupon expired or used up")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<DraftBillResponse>> createDraft(
+      @Parameter(description = "customer the bill is for")
+      @Valid @RequestBody DraftBillRequest request
+  );
+
+  @Operation(summary = "get a draft's totals", description = "discounts worked out with the rules in force now")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "totals returned"),
+      @ApiResponse(responseCode = "404", description = "draft not found or expired")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<DraftBillResponse>> getDraft(String draftId);
+
+  @Operation(summary = "add a line to a draft", description = "prices only the new line and returns the updated totals")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "line added"),
+      @ApiResponse(responseCode = "400", description = "invalid request data"),
+      @ApiResponse(responseCode = "404", description = "draft or product not found")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<DraftBillResponse>> addLine(
+      String draftId,
+      @Parameter(description = "product and quantity scanned")
+      @Valid @RequestBody BillItemRequest request
+  );
+
+  @Operation(summary = "remove a line from a draft", description = "lines are numbered from 0 in the order they were added")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "line removed"),
+      @ApiResponse(responseCode = "400", description = "no such line"),
+      @ApiResponse(responseCode = "404", description = "draft not found or expired")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<DraftBillResponse>> removeLine(String draftId, int line);
+
+  @Operation(summary = "finalize a draft", description = "redeems the draft's coupon, stores the finalized bill and closes the draft")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "bill finalized"),
+      @ApiResponse(responseCode = "400", description = "draft has no lines"),
+      @ApiResponse(responseCode = "404", description = "draft not found or expired"),
+      @ApiResponse(responseCode = "409", description = "coupon expired or used up")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<DraftBillResponse>> finalizeDraft(String draftId);
+
+  @Operation(summary = "discard a draft", description = "closes the draft without storing a bill")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "draft discarded"),
+      @ApiResponse(responseCode = "404", description = "draft not found or expired")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<Void>> discardDraft(String draftId);
+}
@@ -0,0 +1,28 @@
+package sa.billing.discounts.presentation.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Tag(name = "price list", description = "precomputed discounted prices for shelf labels and listing pages")
+public interface PriceListApi {
+
+  @Operation(
+      summary = "discounted unit price of every catalog product",
+      description = "streams the precomputed price list for one customer type or for the type of a given customer; groceries always keep their list price"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "price list returned"),
+      @ApiResponse(responseCode = "400", description = "missing, conflicting or unsupported customer type"),
+      @ApiResponse(responseCode = "404", description = "customer not found"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<StreamingResponseBody> getPriceList(
+      @Parameter(description = "EMPLOYEE, AFFILIATE, LOYALTY or REGULAR") String customerType,
+      @Parameter(description = "customer whose type selects the price list, instead of customerType") String customerId
+  );
+}
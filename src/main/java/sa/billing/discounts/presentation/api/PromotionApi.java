@@ -0,0 +1,64 @@
+package sa.billing.discounts.presentation.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import sa.billing.discounts.application.dto.PromotionRequest;
+import sa.billing.discounts.application.dto.PromotionResponse;
+
+import java.util.List;
+
+@Tag(name = "promotions", description = "time-windowed product and category promotions")
+public interface PromotionApi {
+
+  @Operation(
+      summary = "schedule a promotion",
+      description = "percentage or fixed amount off each unit of one product or of every product in a category, valid from startsAt until endsAt"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "201", description = "promotion created"),
+      @ApiResponse(responseCode = "400", description = "invalid request data"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<PromotionResponse>> createPromotion(
+      @Parameter(description = "promotion with exactly one of category or productId")
+      @Valid @RequestBody PromotionRequest request
+  );
+
+  @Operation(
+      summary = "list active promotions",
+      description = "promotions running at the given instant, optionally for one category or one product"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "active promotions returned"),
+      @ApiResponse(responseCode = "400", description = "malformed instant, unknown category or both filters given"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<List<PromotionResponse>>> getActivePromotions(
+      @Parameter(description = "ISO-8601 instant, defaults to now") String at,
+      @Parameter(description = "only promotions on this category") String category,
+      @Parameter(description = "only promotions on this product") String productId
+  );
+
+  @Operation(summary = "get a promotion by id")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "promotion returned"),
+      @ApiResponse(responseCode = "404", description = "promotion not found"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<PromotionResponse>> getPromotion(String id);
+
+  @Operation(summary = "delete a promotion", description = "ends the promotion for every calculation that starts afterwards")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "promotion deleted"),
+      @ApiResponse(responseCode = "404", description = "promotion not found"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<Void>> deletePromotion(String id);
+}
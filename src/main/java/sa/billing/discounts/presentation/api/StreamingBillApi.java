@@ -0,0 +1,46 @@
+package sa.billing.discounts.presentation.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Tag(name = "bill management", description = "apis for bill calculation and discount management")
+public interface StreamingBillApi {
+
+  @Operation(
+      summary = "calculate a very large bill in streaming mode",
+      description = "same request and response shape as calculate; items are read token by token, products are resolved in chunks and the itemized response is streamed"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "bill calculated successfully"),
+      @ApiResponse(responseCode = "400", description = "invalid request data"),
+      @ApiResponse(responseCode = "404", description = "customer or product not found"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<StreamingResponseBody> calculateBillStream(
+      @Parameter(description = "bill calculation request containing customer id and items") InputStream body
+  ) throws IOException;
+
+  @Operation(
+      summary = "calculate totals of a very large bill in streaming mode",
+      description = "summary view of the streaming calculate endpoint, selected with view=summary"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "bill calculated successfully"),
+      @ApiResponse(responseCode = "400", description = "invalid request data"),
+      @ApiResponse(responseCode = "404", description = "customer or product not found"),
+      @ApiResponse(responseCode = "500", description = "internal server error")
+  })
+  ResponseEntity<sa.billing.discounts.presentation.dto.ApiResponse<BillCalculationSummaryResponse>> calculateBillStreamSummary(
+      @Parameter(description = "bill calculation request containing customer id and items") InputStream body
+  ) throws IOException;
+}
@@ -10,14 +10,24 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import sa.billing.discounts.application.dto.BillCalculationRequest;
 import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.BillLineView;
+import sa.billing.discounts.application.dto.BillQuoteRequest;
+import sa.billing.discounts.application.dto.BillQuoteResponse;
+import sa.billing.discounts.application.dto.CompactBillCalculationRequest;
 import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.domain.exception.CouponNotFoundException;
+import sa.billing.discounts.domain.exception.CouponNotRedeemableException;
 import sa.billing.discounts.presentation.api.BillApi;
 import sa.billing.discounts.presentation.dto.ApiResponse;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/bills")
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -33,18 +43,77 @@ public class BillController implements BillApi {
     @PostMapping("/calculate")
     @Override
     public ResponseEntity<ApiResponse<BillCalculationResponse>> calculateBill(
-            @Valid @RequestBody BillCalculationRequest request) {
+            @Valid @RequestBody BillCalculationRequest request,
+            @RequestParam(name = "lines", defaultValue = "original") String lines) {
         
+        BillLineView lineView = BillLineView.fromParameter(lines);
         logger.info("Processing bill calculation request for customer: {}", request.getCustomerId());
         logger.debug("Bill items count: {}", request.getItems().size());
         
         try {
-            BillCalculationResponse response = billCalculationService.calculateBillDiscount(request);
+            BillCalculationResponse response = billCalculationService.calculateBillDiscount(request, lineView);
+            logger.info("Bill calculation completed successfully for customer: {} | Total: ${}", 
+                       request.getCustomerId(), response.getNetAmount());
+            return ResponseEntity.ok(
+                ApiResponse.success("Bill calculated successfully", response)
+            );
+        } catch (CouponNotFoundException | CouponNotRedeemableException e) {
+            // Left to GlobalExceptionHandler, so clients can tell a bad coupon from a failed calculation
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to calculate bill for customer: {} | Error: {}", 
+                        request.getCustomerId(), e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to calculate bill: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping(value = "/calculate", params = "view=summary")
+    @Override
+    public ResponseEntity<ApiResponse<BillCalculationSummaryResponse>> calculateBillSummary(
+            @Valid @RequestBody BillCalculationRequest request) {
+        
+        logger.info("Processing bill summary request for customer: {}", request.getCustomerId());
+        logger.debug("Bill items count: {}", request.getItems().size());
+        
+        try {
+            BillCalculationSummaryResponse response = billCalculationService.calculateBillSummary(request);
+            logger.info("Bill summary completed successfully for customer: {} | Total: ${}", 
+                       request.getCustomerId(), response.getNetAmount());
+            // Totals-only callers get an empty immutable meta instead of a fresh HashMap per response
+            return ResponseEntity.ok(
+                new ApiResponse<>("Bill calculated successfully", "success", response, Map.of())
+            );
+        } catch (CouponNotFoundException | CouponNotRedeemableException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to calculate bill summary for customer: {} | Error: {}", 
+                        request.getCustomerId(), e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to calculate bill: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping(value = "/calculate", consumes = CompactBillCalculationRequest.MEDIA_TYPE_VALUE)
+    @Override
+    public ResponseEntity<ApiResponse<BillCalculationResponse>> calculateCompactBill(
+            @RequestBody CompactBillCalculationRequest request,
+            @RequestParam(name = "lines", defaultValue = "original") String lines) {
+        
+        request.validate();
+        BillLineView lineView = BillLineView.fromParameter(lines);
+        logger.info("Processing compact bill calculation request for customer: {}", request.getCustomerId());
+        logger.debug("Bill items count: {}", request.size());
+        
+        try {
+            BillCalculationResponse response = billCalculationService.calculateBillDiscount(request, lineView);
             logger.info("Bill calculation completed successfully for customer: {} | Total: ${}", 
                        request.getCustomerId(), response.getNetAmount());
             return ResponseEntity.ok(
                 ApiResponse.success("Bill calculated successfully", response)
             );
+        } catch (CouponNotFoundException | CouponNotRedeemableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to calculate bill for customer: {} | Error: {}", 
                         request.getCustomerId(), e.getMessage(), e);
@@ -53,6 +122,47 @@ public class BillController implements BillApi {
         }
     }
     
+    @PostMapping(value = "/calculate", consumes = CompactBillCalculationRequest.MEDIA_TYPE_VALUE,
+                 params = "view=summary")
+    @Override
+    public ResponseEntity<ApiResponse<BillCalculationSummaryResponse>> calculateCompactBillSummary(
+            @RequestBody CompactBillCalculationRequest request) {
+        
+        request.validate();
+        logger.info("Processing compact bill summary request for customer: {}", request.getCustomerId());
+        logger.debug("Bill items count: {}", request.size());
+        
+        try {
+            BillCalculationSummaryResponse response = billCalculationService.calculateBillSummary(request);
+            logger.info("Bill summary completed successfully for customer: {} | Total: ${}", 
+                       request.getCustomerId(), response.getNetAmount());
+            return ResponseEntity.ok(
+                new ApiResponse<>("Bill calculated successfully", "success", response, Map.of())
+            );
+        } catch (CouponNotFoundException | CouponNotRedeemableException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to calculate bill summary for customer: {} | Error: {}", 
+                        request.getCustomerId(), e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to calculate bill: " + e.getMessage()));
+        }
+    }
+    
+    // Not wrapped like calculate: an unknown customer or bad type is the caller's to fix, so the handler maps it to 404/400
+    @PostMapping("/quote")
+    @Override
+    public ResponseEntity<ApiResponse<BillQuoteResponse>> quoteBill(@Valid @RequestBody BillQuoteRequest request) {
+        logger.info("Processing bill quote request for {} customers and {} customer types",
+                   request.getCustomerIds().size(), request.getCustomerTypes().size());
+        logger.debug("Bill items count: {}", request.getItems().size());
+        
+        BillQuoteResponse response = billCalculationService.quote(request);
+        return ResponseEntity.ok(
+            ApiResponse.success("Bill quoted successfully", response)
+        );
+    }
+    
     @GetMapping("/health")
     @Override
     public ResponseEntity<ApiResponse<String>> healthCheck() {
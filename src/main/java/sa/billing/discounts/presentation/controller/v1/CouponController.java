@@ -0,0 +1,60 @@
+package sa.billing.discounts.presentation.controller.v1;
+
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import sa.billing.discounts.application.dto.CouponRequest;
+import sa.billing.discounts.application.dto.CouponResponse;
+import sa.billing.discounts.application.service.CouponService;
+import sa.billing.discounts.domain.model.coupon.Coupon;
+import sa.billing.discounts.presentation.api.CouponApi;
+import sa.billing.discounts.presentation.dto.ApiResponse;
+
+@RestController
+@RequestMapping("/api/v1/coupons")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CouponController implements CouponApi {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CouponController.class);
+    private final CouponService couponService;
+    
+    public CouponController(CouponService couponService) {
+        this.couponService = couponService;
+    }
+    
+    @PostMapping
+    @Override
+    public ResponseEntity<ApiResponse<CouponResponse>> createCoupon(@Valid @RequestBody CouponRequest request) {
+        Coupon coupon = couponService.create(request);
+        logger.info("Created coupon {} ({} redemptions max, expires {})",
+                coupon.getCode(), coupon.getMaxRedemptions(), coupon.getExpiresAt());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Coupon created successfully", CouponResponse.from(coupon)));
+    }
+    
+    @GetMapping("/{code}")
+    @Override
+    public ResponseEntity<ApiResponse<CouponResponse>> getCoupon(@PathVariable("code") String code) {
+        return ResponseEntity.ok(
+                ApiResponse.success("Coupon retrieved successfully", CouponResponse.from(couponService.findByCode(code))));
+    }
+    
+    @DeleteMapping("/{code}")
+    @Override
+    public ResponseEntity<ApiResponse<Void>> deleteCoupon(@PathVariable("code") String code) {
+        couponService.delete(code);
+        logger.info("Deleted coupon {}", code);
+        return ResponseEntity.ok(ApiResponse.success("Coupon deleted successfully", null));
+    }
+}
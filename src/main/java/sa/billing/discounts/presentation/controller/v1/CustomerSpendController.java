@@ -0,0 +1,32 @@
+package sa.billing.discounts.presentation.controller.v1;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import sa.billing.discounts.application.dto.CustomerSpendResponse;
+import sa.billing.discounts.application.service.CustomerSpendService;
+import sa.billing.discounts.presentation.api.CustomerSpendApi;
+import sa.billing.discounts.presentation.dto.ApiResponse;
+
+@RestController
+@RequestMapping("/api/v1/customers")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CustomerSpendController implements CustomerSpendApi {
+    
+    private final CustomerSpendService customerSpendService;
+    
+    public CustomerSpendController(CustomerSpendService customerSpendService) {
+        this.customerSpendService = customerSpendService;
+    }
+    
+    @GetMapping("/{customerId}/spend")
+    @Override
+    public ResponseEntity<ApiResponse<CustomerSpendResponse>> getCustomerSpend(@PathVariable("customerId") String customerId) {
+        return ResponseEntity.ok(ApiResponse.success("Customer spend retrieved successfully",
+                CustomerSpendResponse.from(customerSpendService.findByCustomerId(customerId))));
+    }
+}
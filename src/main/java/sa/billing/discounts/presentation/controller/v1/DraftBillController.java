@@ -0,0 +1,89 @@
+package sa.billing.discounts.presentation.controller.v1;
+
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.DraftBillRequest;
+import sa.billing.discounts.application.dto.DraftBillResponse;
+import sa.billing.discounts.application.service.DraftBillService;
+import sa.billing.discounts.presentation.api.DraftBillApi;
+import sa.billing.discounts.presentation.dto.ApiResponse;
+
+@RestController
+@RequestMapping("/api/v1/bills/drafts")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class DraftBillController implements DraftBillApi {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DraftBillController.class);
+    private final DraftBillService draftBillService;
+    
+    public DraftBillController(DraftBillService draftBillService) {
+        this.draftBillService = draftBillService;
+    }
+    
+    @PostMapping
+    @Override
+    public ResponseEntity<ApiResponse<DraftBillResponse>> createDraft(@Valid @RequestBody DraftBillRequest request) {
+        DraftBillResponse response = draftBillService.create(request.getCustomerId(), request.getCouponCode());
+        logger.info("Opened draft bill {} for customer: {}", response.getDraftId(), request.getCustomerId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Draft bill created successfully", response));
+    }
+    
+    @GetMapping("/{draftId}")
+    @Override
+    public ResponseEntity<ApiResponse<DraftBillResponse>> getDraft(@PathVariable("draftId") String draftId) {
+        return ResponseEntity.ok(
+                ApiResponse.success("Draft bill retrieved successfully", draftBillService.get(draftId)));
+    }
+    
+    // Called once per scan, so logged at debug only
+    @PostMapping("/{draftId}/lines")
+    @Override
+    public ResponseEntity<ApiResponse<DraftBillResponse>> addLine(
+            @PathVariable("draftId") String draftId,
+            @Valid @RequestBody BillItemRequest request) {
+        DraftBillResponse response = draftBillService.addLine(draftId, request.getProductId(), request.getQuantity());
+        logger.debug("Added {} x {} to draft bill {}", request.getQuantity(), request.getProductId(), draftId);
+        return ResponseEntity.ok(ApiResponse.success("Line added successfully", response));
+    }
+    
+    @DeleteMapping("/{draftId}/lines/{line}")
+    @Override
+    public ResponseEntity<ApiResponse<DraftBillResponse>> removeLine(
+            @PathVariable("draftId") String draftId,
+            @PathVariable("line") int line) {
+        DraftBillResponse response = draftBillService.removeLine(draftId, line);
+        logger.debug("Removed line {} from draft bill {}", line, draftId);
+        return ResponseEntity.ok(ApiResponse.success("Line removed successfully", response));
+    }
+    
+    @PostMapping("/{draftId}/finalize")
+    @Override
+    public ResponseEntity<ApiResponse<DraftBillResponse>> finalizeDraft(@PathVariable("draftId") String draftId) {
+        DraftBillResponse response = draftBillService.finalizeDraft(draftId);
+        logger.info("Finalized draft bill {} as bill {} | Total: ${}",
+                draftId, response.getBillId(), response.getTotals().getNetAmount());
+        return ResponseEntity.ok(ApiResponse.success("Bill finalized successfully", response));
+    }
+    
+    @DeleteMapping("/{draftId}")
+    @Override
+    public ResponseEntity<ApiResponse<Void>> discardDraft(@PathVariable("draftId") String draftId) {
+        draftBillService.discard(draftId);
+        logger.info("Discarded draft bill {}", draftId);
+        return ResponseEntity.ok(ApiResponse.success("Draft bill discarded successfully", null));
+    }
+}
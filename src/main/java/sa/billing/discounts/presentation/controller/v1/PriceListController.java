@@ -0,0 +1,53 @@
+package sa.billing.discounts.presentation.controller.v1;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import sa.billing.discounts.application.dto.PriceList;
+import sa.billing.discounts.application.dto.PriceTier;
+import sa.billing.discounts.application.service.PriceListService;
+import sa.billing.discounts.infrastructure.serialization.PriceListResponseWriter;
+import sa.billing.discounts.presentation.api.PriceListApi;
+
+@RestController
+@RequestMapping("/api/v1/price-list")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class PriceListController implements PriceListApi {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PriceListController.class);
+    private final PriceListService priceListService;
+    private final PriceListResponseWriter responseWriter;
+    
+    public PriceListController(PriceListService priceListService, PriceListResponseWriter responseWriter) {
+        this.priceListService = priceListService;
+        this.responseWriter = responseWriter;
+    }
+    
+    // The tier is resolved before the body is committed, so bad parameters still map to 400/404
+    @GetMapping
+    @Override
+    public ResponseEntity<StreamingResponseBody> getPriceList(
+            @RequestParam(name = "customerType", required = false) String customerType,
+            @RequestParam(name = "customerId", required = false) String customerId) {
+        
+        if ((customerType == null) == (customerId == null)) {
+            throw new IllegalArgumentException("Exactly one of customerType or customerId is required");
+        }
+        PriceTier tier = customerId != null
+                ? priceListService.tierOf(customerId)
+                : PriceTier.fromParameter(customerType);
+        PriceList priceList = priceListService.priceList(tier);
+        logger.debug("Serving {} price list with {} products", tier, priceList.getItems().size());
+        
+        StreamingResponseBody body = out -> responseWriter.write(out, "Price list generated successfully", priceList);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,88 @@
+package sa.billing.discounts.presentation.controller.v1;
+
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import sa.billing.discounts.application.dto.PromotionRequest;
+import sa.billing.discounts.application.dto.PromotionResponse;
+import sa.billing.discounts.application.service.PromotionService;
+import sa.billing.discounts.domain.model.promotion.Promotion;
+import sa.billing.discounts.presentation.api.PromotionApi;
+import sa.billing.discounts.presentation.dto.ApiResponse;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/promotions")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class PromotionController implements PromotionApi {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PromotionController.class);
+    private final PromotionService promotionService;
+    
+    public PromotionController(PromotionService promotionService) {
+        this.promotionService = promotionService;
+    }
+    
+    @PostMapping
+    @Override
+    public ResponseEntity<ApiResponse<PromotionResponse>> createPromotion(@Valid @RequestBody PromotionRequest request) {
+        Promotion promotion = promotionService.create(request);
+        logger.info("Scheduled promotion {} from {} until {}", promotion.getId(), promotion.getStartsAt(), promotion.getEndsAt());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Promotion created successfully", PromotionResponse.from(promotion)));
+    }
+    
+    @GetMapping
+    @Override
+    public ResponseEntity<ApiResponse<List<PromotionResponse>>> getActivePromotions(
+            @RequestParam(name = "at", required = false) String at,
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "productId", required = false) String productId) {
+        
+        List<PromotionResponse> active = promotionService.activeAt(parseInstant(at), category, productId).stream()
+                .map(PromotionResponse::from)
+                .toList();
+        return ResponseEntity.ok(ApiResponse.success("Active promotions retrieved successfully", active));
+    }
+    
+    @GetMapping("/{id}")
+    @Override
+    public ResponseEntity<ApiResponse<PromotionResponse>> getPromotion(@PathVariable("id") String id) {
+        return ResponseEntity.ok(
+                ApiResponse.success("Promotion retrieved successfully", PromotionResponse.from(promotionService.findById(id))));
+    }
+    
+    @DeleteMapping("/{id}")
+    @Override
+    public ResponseEntity<ApiResponse<Void>> deletePromotion(@PathVariable("id") String id) {
+        promotionService.delete(id);
+        logger.info("Deleted promotion {}", id);
+        return ResponseEntity.ok(ApiResponse.success("Promotion deleted successfully", null));
+    }
+    
+    private static Instant parseInstant(String at) {
+        if (at == null) {
+            return Instant.now();
+        }
+        try {
+            return Instant.parse(at.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Unsupported instant: " + at + " (expected ISO-8601, e.g. 2026-01-01T00:00:00Z)");
+        }
+    }
+}
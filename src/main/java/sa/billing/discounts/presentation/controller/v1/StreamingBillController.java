@@ -0,0 +1,81 @@
+package sa.billing.discounts.presentation.controller.v1;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.application.service.StreamingBillCalculation;
+import sa.billing.discounts.infrastructure.serialization.BillItemSpool;
+import sa.billing.discounts.infrastructure.serialization.StreamingBillRequestReader;
+import sa.billing.discounts.infrastructure.serialization.StreamingBillResponseWriter;
+import sa.billing.discounts.presentation.api.StreamingBillApi;
+import sa.billing.discounts.presentation.dto.ApiResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/bills")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class StreamingBillController implements StreamingBillApi {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StreamingBillController.class);
+    private final BillCalculationService billCalculationService;
+    private final StreamingBillRequestReader requestReader;
+    private final StreamingBillResponseWriter responseWriter;
+    
+    public StreamingBillController(BillCalculationService billCalculationService,
+                                   StreamingBillRequestReader requestReader,
+                                   StreamingBillResponseWriter responseWriter) {
+        this.billCalculationService = billCalculationService;
+        this.requestReader = requestReader;
+        this.responseWriter = responseWriter;
+    }
+    
+    // Errors surface before the body is committed, so GlobalExceptionHandler still maps them to 400/404
+    @PostMapping(value = "/calculate/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Override
+    public ResponseEntity<StreamingResponseBody> calculateBillStream(InputStream body) throws IOException {
+        BillItemSpool spool = BillItemSpool.create();
+        try {
+            StreamingBillCalculation calculation = billCalculationService.startStreamingCalculation(spool::append);
+            requestReader.read(body, calculation);
+            BillCalculationSummaryResponse summary = calculation.finish();
+            logger.info("Streaming bill calculation completed for customer: {} | Items: {} | Total: ${}", 
+                       summary.getCustomerId(), spool.size(), summary.getNetAmount());
+            
+            StreamingResponseBody responseBody = out -> {
+                try (spool) {
+                    responseWriter.write(out, "Bill calculated successfully", summary, spool);
+                }
+            };
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(responseBody);
+        } catch (IOException | RuntimeException e) {
+            spool.close();
+            throw e;
+        }
+    }
+    
+    @PostMapping(value = "/calculate/stream", consumes = MediaType.APPLICATION_JSON_VALUE, params = "view=summary")
+    @Override
+    public ResponseEntity<ApiResponse<BillCalculationSummaryResponse>> calculateBillStreamSummary(InputStream body)
+            throws IOException {
+        StreamingBillCalculation calculation = billCalculationService.startStreamingCalculation((item, eligible) -> { });
+        requestReader.read(body, calculation);
+        BillCalculationSummaryResponse summary = calculation.finish();
+        logger.info("Streaming bill summary completed for customer: {} | Total: ${}", 
+                   summary.getCustomerId(), summary.getNetAmount());
+        return ResponseEntity.ok(
+            new ApiResponse<>("Bill calculated successfully", "success", summary, Map.of())
+        );
+    }
+}
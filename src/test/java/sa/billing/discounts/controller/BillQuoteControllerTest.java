@@ -0,0 +1,162 @@
+package sa.billing.discounts.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import sa.billing.discounts.application.dto.AudienceQuote;
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.BillQuoteRequest;
+import sa.billing.discounts.application.dto.BillQuoteResponse;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.exception.GlobalExceptionHandler;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryCustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryProductRepository;
+import sa.billing.discounts.presentation.controller.v1.BillController;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Bill Quote Controller Tests")
+class BillQuoteControllerTest {
+
+    private ObjectMapper objectMapper;
+    private AtomicInteger productLookups;
+    private BillCalculationService billCalculationService;
+    private List<Customer> customers;
+    private List<BillItemRequest> cart;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        InMemoryCustomerRepository customerRepository = new InMemoryCustomerRepository();
+        productLookups = new AtomicInteger();
+        InMemoryProductRepository productRepository = new InMemoryProductRepository() {
+            @Override
+            public Optional<Product> findById(String id) {
+                productLookups.incrementAndGet();
+                return super.findById(id);
+            }
+        };
+        customers = List.of(
+            customerRepository.save(Customer.createEmployee("E", "e@store.com", LocalDateTime.now().minusYears(1))),
+            customerRepository.save(Customer.createAffiliate("A", "a@store.com", LocalDateTime.now().minusYears(1))),
+            customerRepository.save(Customer.createRegular("L", "l@store.com", LocalDateTime.now().minusYears(3))),
+            customerRepository.save(Customer.createRegular("R", "r@store.com", LocalDateTime.now())));
+        Product laptop = productRepository.save(Product.create("Laptop", "desc", Money.of("990.00"), ProductCategory.ELECTRONICS));
+        Product apple = productRepository.save(Product.create("Apple", "desc", Money.of("2.50"), ProductCategory.GROCERY));
+        Product book = productRepository.save(Product.create("Book", "desc", Money.of("19.99"), ProductCategory.BOOKS));
+        cart = List.of(new BillItemRequest(laptop.getId(), 1), new BillItemRequest(apple.getId(), 4),
+            new BillItemRequest(book.getId(), 3), new BillItemRequest(apple.getId(), 2));
+
+        billCalculationService = BillCalculationService.builder(customerRepository, productRepository).build();
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new BillController(billCalculationService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+    }
+
+    private List<String> customerIds() {
+        return customers.stream().map(Customer::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Should quote every customer exactly as their own calculation would, resolving products once")
+    void shouldMatchPerCustomerCalculations() {
+        BillQuoteResponse response = billCalculationService.quote(new BillQuoteRequest(cart, customerIds(), null));
+
+        assertEquals(3, productLookups.get());
+        assertEquals(customers.size(), response.getQuotes().size());
+        for (int i = 0; i < customers.size(); i++) {
+            AudienceQuote quote = response.getQuotes().get(i);
+            BillCalculationSummaryResponse expected = billCalculationService.calculateBillSummary(
+                new BillCalculationRequest(customers.get(i).getId(), cart));
+            assertEquals(customers.get(i).getId(), quote.getCustomerId());
+            assertEquals(0, expected.getSubtotal().compareTo(response.getSubtotal()));
+            assertEquals(expected.getPercentageDiscountType(), quote.getPercentageDiscountType());
+            assertEquals(0, expected.getPercentageBasedDiscount().compareTo(quote.getPercentageBasedDiscount()));
+            assertEquals(0, expected.getBillBasedDiscount().compareTo(quote.getBillBasedDiscount()));
+            assertEquals(0, expected.getNetAmount().compareTo(quote.getNetAmount()));
+        }
+        assertEquals(List.of("EMPLOYEE", "AFFILIATE", "LOYALTY", "REGULAR"),
+            response.getQuotes().stream().map(AudienceQuote::getCustomerType).toList());
+    }
+
+    @Test
+    @DisplayName("Should quote customer types without a stored customer, after the listed customers")
+    void shouldQuoteCustomerTypes() {
+        BillQuoteResponse response = billCalculationService.quote(
+            new BillQuoteRequest(cart, List.of(customers.get(0).getId()), List.of("loyalty", "EMPLOYEE", "regular")));
+
+        assertEquals(4, response.getQuotes().size());
+        AudienceQuote employee = response.getQuotes().get(0);
+        AudienceQuote loyalty = response.getQuotes().get(1);
+        AudienceQuote employeeType = response.getQuotes().get(2);
+        AudienceQuote regular = response.getQuotes().get(3);
+
+        assertNull(loyalty.getCustomerId());
+        assertEquals("LOYALTY", loyalty.getCustomerType());
+        // Laptop and books, 1049.97: 5% loyalty is 52.50 and 5 per full 100 of 1064.97 is 50
+        assertEquals(0, new BigDecimal("52.50").compareTo(loyalty.getPercentageBasedDiscount()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(loyalty.getBillBasedDiscount()));
+        assertEquals(0, new BigDecimal("962.47").compareTo(loyalty.getNetAmount()));
+        assertEquals(0, employee.getNetAmount().compareTo(employeeType.getNetAmount()));
+        assertNull(regular.getPercentageDiscountType());
+        assertEquals(0, regular.getPercentageBasedDiscount().signum());
+    }
+
+    @Test
+    @DisplayName("Should serve quotes over HTTP and reject bad audiences")
+    void shouldServeAndValidateQuotes() throws Exception {
+        mockMvc.perform(post("/api/v1/bills/quote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(new BillQuoteRequest(cart, customerIds(), List.of("AFFILIATE")))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.subtotal").value(1064.97))
+            .andExpect(jsonPath("$.data.quotes.length()").value(5))
+            .andExpect(jsonPath("$.data.quotes[4].customerType").value("AFFILIATE"))
+            .andExpect(jsonPath("$.data.quotes[1].netAmount").value(909.97))
+            .andExpect(jsonPath("$.data.quotes[4].netAmount").value(909.97));
+
+        mockMvc.perform(post("/api/v1/bills/quote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(new BillQuoteRequest(cart, List.of("missing"), null))))
+            .andExpect(status().isNotFound());
+        for (BillQuoteRequest request : List.of(
+                new BillQuoteRequest(cart, null, null),
+                new BillQuoteRequest(cart, null, List.of("VIP")),
+                new BillQuoteRequest(List.of(), customerIds(), null))) {
+            mockMvc.perform(post("/api/v1/bills/quote")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isBadRequest());
+        }
+    }
+}
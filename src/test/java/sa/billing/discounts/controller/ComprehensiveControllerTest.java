@@ -15,7 +15,9 @@ import sa.billing.discounts.presentation.controller.v1.RootController;
 import sa.billing.discounts.application.service.BillCalculationService;
 import sa.billing.discounts.application.dto.BillCalculationRequest;
 import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
 import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.BillLineView;
 import sa.billing.discounts.application.dto.BillItemResponse;
 import sa.billing.discounts.domain.exception.CustomerNotFoundException;
 import sa.billing.discounts.domain.exception.ProductNotFoundException;
@@ -102,7 +104,7 @@ class ComprehensiveControllerTest {
             new BigDecimal("135.00")
         );
 
-        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class)))
+        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class), eq(BillLineView.ORIGINAL)))
             .thenReturn(mockResponse);
 
         // When & Then
@@ -117,7 +119,7 @@ class ComprehensiveControllerTest {
                 .andExpect(jsonPath("$.data.totalDiscount").value(65.00))
                 .andExpect(jsonPath("$.data.netAmount").value(135.00));
 
-        verify(billCalculationService).calculateBillDiscount(any(BillCalculationRequest.class));
+        verify(billCalculationService).calculateBillDiscount(any(BillCalculationRequest.class), eq(BillLineView.ORIGINAL));
     }
 
     @Test
@@ -145,7 +147,7 @@ class ComprehensiveControllerTest {
             new BigDecimal("589.993")
         );
 
-        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class)))
+        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class), eq(BillLineView.ORIGINAL)))
             .thenReturn(mockResponse);
 
         // When & Then
@@ -182,7 +184,7 @@ class ComprehensiveControllerTest {
             new BigDecimal("150.00")
         );
 
-        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class)))
+        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class), eq(BillLineView.ORIGINAL)))
             .thenReturn(mockResponse);
 
         mockMvc.perform(post("/api/v1/bills/calculate")
@@ -228,7 +230,7 @@ class ComprehensiveControllerTest {
             new BigDecimal("500.00")
         );
 
-        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class)))
+        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class), eq(BillLineView.ORIGINAL)))
             .thenReturn(mockResponse);
 
         mockMvc.perform(post("/api/v1/bills/calculate")
@@ -251,7 +253,7 @@ class ComprehensiveControllerTest {
             )
         );
 
-        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class)))
+        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class), eq(BillLineView.ORIGINAL)))
             .thenThrow(new CustomerNotFoundException("Customer not found with ID: invalid-customer-id"));
 
         mockMvc.perform(post("/api/v1/bills/calculate")
@@ -273,7 +275,7 @@ class ComprehensiveControllerTest {
             )
         );
 
-        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class)))
+        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class), eq(BillLineView.ORIGINAL)))
             .thenThrow(new ProductNotFoundException("Product not found with ID: invalid-product-id"));
 
         mockMvc.perform(post("/api/v1/bills/calculate")
@@ -360,7 +362,7 @@ class ComprehensiveControllerTest {
             Arrays.asList(new BillItemRequest("65a1b2c3d4e5f6a7b8c9d0f1", 1))
         );
 
-        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class)))
+        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class), eq(BillLineView.ORIGINAL)))
             .thenThrow(new RuntimeException("Database connection failed"));
 
         mockMvc.perform(post("/api/v1/bills/calculate")
@@ -369,4 +371,60 @@ class ComprehensiveControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.message").value("Failed to calculate bill: Database connection failed"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return totals only when summary view is requested")
+    void shouldReturnSummaryView() throws Exception {
+        BillCalculationRequest request = new BillCalculationRequest(
+            "65a1b2c3d4e5f6a7b8c9d0e1",
+            Arrays.asList(new BillItemRequest("65a1b2c3d4e5f6a7b8c9d0f1", 1))
+        );
+
+        when(billCalculationService.calculateBillSummary(any(BillCalculationRequest.class)))
+            .thenReturn(new BillCalculationSummaryResponse("65a1b2c3d4e5f6a7b8c9d0e1",
+                new BigDecimal("200.00"), new BigDecimal("60.00"), "EMPLOYEE",
+                new BigDecimal("10.00"), new BigDecimal("70.00"), new BigDecimal("130.00")));
+
+        mockMvc.perform(post("/api/v1/bills/calculate")
+                .param("view", "summary")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.subtotal").value(200.00))
+                .andExpect(jsonPath("$.data.netAmount").value(130.00))
+                .andExpect(jsonPath("$.data.items").doesNotExist());
+
+        verify(billCalculationService).calculateBillSummary(any(BillCalculationRequest.class));
+        verify(billCalculationService, never()).calculateBillDiscount(any(BillCalculationRequest.class), any(BillLineView.class));
+    }
+
+    @Test
+    @DisplayName("Should pass the merged lines option to the service")
+    void shouldPassMergedLinesOption() throws Exception {
+        BillCalculationRequest request = new BillCalculationRequest(
+            "65a1b2c3d4e5f6a7b8c9d0e1",
+            Arrays.asList(
+                new BillItemRequest("65a1b2c3d4e5f6a7b8c9d0f1", 1),
+                new BillItemRequest("65a1b2c3d4e5f6a7b8c9d0f1", 2)
+            )
+        );
+
+        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class), eq(BillLineView.MERGED)))
+            .thenReturn(new BillCalculationResponse("65a1b2c3d4e5f6a7b8c9d0e1",
+                List.of(new BillItemResponse("65a1b2c3d4e5f6a7b8c9d0f1", "Product 1", "ELECTRONICS", 3,
+                    new BigDecimal("10.00"), new BigDecimal("30.00"), true)),
+                new BigDecimal("30.00"), new BigDecimal("9.00"), "EMPLOYEE",
+                BigDecimal.ZERO, new BigDecimal("9.00"), new BigDecimal("21.00")));
+
+        mockMvc.perform(post("/api/v1/bills/calculate")
+                .param("lines", "merged")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].quantity").value(3));
+
+        verify(billCalculationService).calculateBillDiscount(any(BillCalculationRequest.class), eq(BillLineView.MERGED));
+    }
+}
@@ -0,0 +1,314 @@
+package sa.billing.discounts.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.CompactBillCalculationRequest;
+import sa.billing.discounts.application.dto.CouponRequest;
+import sa.billing.discounts.application.dto.DraftBillRequest;
+import sa.billing.discounts.application.dto.DraftBillResponse;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.application.service.CouponService;
+import sa.billing.discounts.application.service.DraftBillService;
+import sa.billing.discounts.application.service.PromotionService;
+import sa.billing.discounts.application.service.StreamingBillCalculation;
+import sa.billing.discounts.domain.exception.CouponNotFoundException;
+import sa.billing.discounts.domain.exception.CouponNotRedeemableException;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.exception.GlobalExceptionHandler;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryBillRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryCouponRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryCustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryProductRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryPromotionRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CouponsChangedEvent;
+import sa.billing.discounts.infrastructure.serialization.StreamingBillRequestReader;
+import sa.billing.discounts.infrastructure.serialization.StreamingBillResponseWriter;
+import sa.billing.discounts.presentation.controller.v1.BillController;
+import sa.billing.discounts.presentation.controller.v1.CouponController;
+import sa.billing.discounts.presentation.controller.v1.DraftBillController;
+import sa.billing.discounts.presentation.controller.v1.StreamingBillController;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Coupon Controller Tests")
+class CouponControllerTest {
+
+    private ObjectMapper objectMapper;
+    private InMemoryCouponRepository couponRepository;
+    private CouponService couponService;
+    private BillCalculationService billCalculationService;
+    private DraftBillService draftBillService;
+    private Customer regular;
+    private Product laptop;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        InMemoryCustomerRepository customerRepository = new InMemoryCustomerRepository();
+        InMemoryProductRepository productRepository = new InMemoryProductRepository();
+        regular = customerRepository.save(Customer.createRegular("R", "r@store.com", LocalDateTime.now()));
+        laptop = productRepository.save(Product.create("Laptop", "desc", Money.of("200.00"), ProductCategory.ELECTRONICS));
+
+        couponRepository = new InMemoryCouponRepository();
+        couponService = new CouponService(couponRepository, Duration.ofMinutes(5));
+        couponRepository.setApplicationEventPublisher(
+            event -> couponService.onCouponsChanged((CouponsChangedEvent) event));
+        billCalculationService = BillCalculationService.builder(customerRepository, productRepository)
+            .promotions(new PromotionService(new InMemoryPromotionRepository(), Duration.ofMinutes(1)))
+            .coupons(couponService)
+            .build();
+        draftBillService = new DraftBillService(billCalculationService, new InMemoryBillRepository(), Duration.ofMinutes(30), 100);
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new CouponController(couponService), new BillController(billCalculationService),
+                new DraftBillController(draftBillService), new StreamingBillController(billCalculationService,
+                new StreamingBillRequestReader(objectMapper.getFactory()), new StreamingBillResponseWriter(objectMapper)))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+    }
+
+    private ResultActions create(CouponRequest request) throws Exception {
+        return mockMvc.perform(post("/api/v1/coupons")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsBytes(request)));
+    }
+
+    private BillCalculationRequest cart(String couponCode) {
+        BillCalculationRequest request = new BillCalculationRequest(regular.getId(), List.of(new BillItemRequest(laptop.getId(), 1)));
+        request.setCouponCode(couponCode);
+        return request;
+    }
+
+    // Opens a draft with the coupon, scans the laptop and checks out
+    private DraftBillResponse checkout(String couponCode) {
+        String draftId = draftBillService.create(regular.getId(), couponCode).getDraftId();
+        draftBillService.addLine(draftId, laptop.getId(), 1);
+        return draftBillService.finalizeDraft(draftId);
+    }
+
+    private ResultActions calculate(String couponCode) throws Exception {
+        return mockMvc.perform(post("/api/v1/bills/calculate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsBytes(cart(couponCode))));
+    }
+
+    @Test
+    @DisplayName("Should take the coupon off what is left after the other discounts and count it only at checkout")
+    void shouldRedeemCouponAtCheckout() throws Exception {
+        create(new CouponRequest("save10", "PERCENTAGE", new BigDecimal("10"), null, null))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.data.code").value("SAVE10"));
+
+        // 200 less 10 bill-based is 190; 10% of that is 19
+        BillCalculationResponse response = billCalculationService.calculateBillDiscount(cart(" Save10 "));
+        assertEquals("SAVE10", response.getCouponCode());
+        assertEquals(0, new BigDecimal("19.00").compareTo(response.getCouponDiscount()));
+        assertEquals(0, new BigDecimal("29.00").compareTo(response.getTotalDiscount()));
+        assertEquals(0, new BigDecimal("171.00").compareTo(response.getNetAmount()));
+        assertEquals(0, response.getNetAmount().compareTo(
+            billCalculationService.calculateBillSummary(cart("SAVE10")).getNetAmount()));
+
+        assertEquals(0, couponService.findByCode("SAVE10").getRedemptions());
+        assertEquals(0, billCalculationService.calculateBillDiscount(cart(null)).getCouponDiscount().signum());
+
+        String draftId = objectMapper.readTree(mockMvc.perform(post("/api/v1/bills/drafts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(new DraftBillRequest(regular.getId(), "save10"))))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsByteArray()).at("/data/draftId").asText();
+        draftBillService.addLine(draftId, laptop.getId(), 1);
+        mockMvc.perform(post("/api/v1/bills/drafts/" + draftId + "/finalize"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.totals.couponCode").value("SAVE10"))
+            .andExpect(jsonPath("$.data.totals.netAmount").value(171.0));
+
+        mockMvc.perform(get("/api/v1/coupons/save10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.redemptions").value(1));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown codes from the filter without a repository lookup")
+    void shouldRejectUnknownCodesWithoutLookup() throws Exception {
+        create(new CouponRequest("REAL", "FIXED_AMOUNT", new BigDecimal("5"), null, null)).andExpect(status().isCreated());
+
+        for (int i = 0; i < 200; i++) {
+            calculate("GUESS" + i)
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.meta.errorCode").value("COUPON_NOT_FOUND"));
+        }
+        assertTrue(couponService.getFilteredLookups() > 190, "filtered: " + couponService.getFilteredLookups());
+
+        calculate("REAL").andExpect(status().isOk()).andExpect(jsonPath("$.data.couponDiscount").value(5.0));
+        calculate("REAL").andExpect(status().isOk());
+        // The second lookup found the definition in the cache
+        assertEquals(1 + 200 - couponService.getFilteredLookups(), couponService.getRepositoryLookups());
+    }
+
+    @Test
+    @DisplayName("Should never redeem a coupon more often than its limit under concurrent checkouts")
+    void shouldHoldUsageLimitUnderConcurrency() throws Exception {
+        create(new CouponRequest("FIRST25", "FIXED_AMOUNT", new BigDecimal("25"), 25, null)).andExpect(status().isCreated());
+
+        int threads = 8;
+        int attemptsPerThread = 20;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int redeemed = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        try {
+                            checkout("FIRST25");
+                            redeemed++;
+                        } catch (CouponNotRedeemableException e) {
+                            // used up
+                        }
+                    }
+                    return redeemed;
+                }));
+            }
+            start.countDown();
+            int redeemed = 0;
+            for (Future<Integer> result : results) {
+                redeemed += result.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(25, redeemed);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(25, couponService.findByCode("FIRST25").getRedemptions());
+        // A draft cannot be opened with it any more, and neither can a calculation price it
+        assertThrows(CouponNotRedeemableException.class, () -> draftBillService.create(regular.getId(), "FIRST25"));
+        calculate("FIRST25")
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.meta.errorCode").value("COUPON_NOT_REDEEMABLE"));
+    }
+
+    @Test
+    @DisplayName("Should refuse expired and deleted coupons and duplicate codes")
+    void shouldRefuseExpiredDeletedAndDuplicateCoupons() throws Exception {
+        create(new CouponRequest("OLD", "PERCENTAGE", new BigDecimal("10"), null, Instant.now().minusSeconds(60)))
+            .andExpect(status().isCreated());
+        calculate("OLD").andExpect(status().isConflict());
+        assertEquals(0, couponService.findByCode("OLD").getRedemptions());
+
+        create(new CouponRequest("GONE", "PERCENTAGE", new BigDecimal("10"), null, null)).andExpect(status().isCreated());
+        calculate("GONE").andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/coupons/gone")).andExpect(status().isOk());
+        calculate("GONE").andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/coupons/gone")).andExpect(status().isNotFound());
+
+        create(new CouponRequest("old", "FIXED_AMOUNT", new BigDecimal("5"), null, null))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.meta.errorCode").value("INVALID_ARGUMENT"));
+        create(new CouponRequest("HALF", "PERCENTAGE", new BigDecimal("150"), null, null)).andExpect(status().isBadRequest());
+        create(new CouponRequest("NONE", "FIXED_AMOUNT", new BigDecimal("5"), 0, null)).andExpect(status().isBadRequest());
+        create(new CouponRequest("BOGO", "BUY_ONE_GET_ONE", new BigDecimal("5"), null, null)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should price a coupon on every calculation without using up a redemption")
+    void shouldNotRedeemOnCalculation() throws Exception {
+        create(new CouponRequest("ONCE", "FIXED_AMOUNT", new BigDecimal("500"), 1, null)).andExpect(status().isCreated());
+
+        // A fixed amount never takes more than is left to pay
+        for (int i = 0; i < 3; i++) {
+            calculate("ONCE")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.couponDiscount").value(190.0))
+                .andExpect(jsonPath("$.data.netAmount").value(0.0));
+        }
+        assertEquals(0, couponService.findByCode("ONCE").getRedemptions());
+
+        assertEquals(0, checkout("ONCE").getTotals().getNetAmount().signum());
+        assertEquals(1, couponService.findByCode("ONCE").getRedemptions());
+        assertThrows(CouponNotRedeemableException.class, () -> checkout("ONCE"));
+    }
+
+    @Test
+    @DisplayName("Should price coupons sent in the compact and streaming formats")
+    void shouldPriceCouponInCompactAndStreamingRequests() throws Exception {
+        create(new CouponRequest("SAVE10", "PERCENTAGE", new BigDecimal("10"), null, null)).andExpect(status().isCreated());
+
+        CompactBillCalculationRequest compact = new CompactBillCalculationRequest(regular.getId(),
+            new String[] {laptop.getId()}, new int[] {1}, "save10");
+        assertEquals(0, new BigDecimal("19.00").compareTo(billCalculationService.calculateBillDiscount(compact).getCouponDiscount()));
+        assertEquals(0, new BigDecimal("171.00").compareTo(billCalculationService.calculateBillSummary(compact).getNetAmount()));
+        assertThrows(CouponNotFoundException.class, () -> billCalculationService.calculateBillSummary(
+            new CompactBillCalculationRequest(regular.getId(), new String[] {laptop.getId()}, new int[] {1}, "nope")));
+
+        StreamingBillCalculation streaming = billCalculationService.startStreamingCalculation((item, eligible) -> { });
+        new StreamingBillRequestReader(objectMapper.getFactory()).read(new ByteArrayInputStream(
+            ("{\"couponCode\":\"SAVE10\",\"customerId\":\"" + regular.getId() + "\",\"items\":[[\"" + laptop.getId() + "\",1]]}")
+                .getBytes(StandardCharsets.UTF_8)), streaming);
+        BillCalculationSummaryResponse summary = streaming.finish();
+        assertEquals("SAVE10", summary.getCouponCode());
+        assertEquals(0, new BigDecimal("171.00").compareTo(summary.getNetAmount()));
+        assertEquals(0, couponService.findByCode("SAVE10").getRedemptions());
+    }
+
+    @Test
+    @DisplayName("Should show the coupon and what it took off in the streamed itemized response")
+    void shouldShowCouponInStreamedResponse() throws Exception {
+        create(new CouponRequest("SAVE10", "PERCENTAGE", new BigDecimal("10"), null, null)).andExpect(status().isCreated());
+
+        MvcResult started = mockMvc.perform(post("/api/v1/bills/calculate/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(cart("save10"))))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.couponCode").value("SAVE10"))
+            .andExpect(jsonPath("$.data.couponDiscount").value(19.0))
+            .andExpect(jsonPath("$.data.totalDiscount").value(29.0))
+            .andExpect(jsonPath("$.data.netAmount").value(171.0));
+    }
+}
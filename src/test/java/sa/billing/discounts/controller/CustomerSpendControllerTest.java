@@ -0,0 +1,187 @@
+package sa.billing.discounts.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import sa.billing.discounts.application.service.CustomerSpendService;
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.CustomerSpend;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.exception.GlobalExceptionHandler;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryBillRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryCustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryCustomerSpendRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.FinalizedBillsChangedEvent;
+import sa.billing.discounts.presentation.controller.v1.CustomerSpendController;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Customer Spend Controller Tests")
+class CustomerSpendControllerTest {
+
+    private InMemoryCustomerRepository customerRepository;
+    private InMemoryBillRepository billRepository;
+    private InMemoryCustomerSpendRepository customerSpendRepository;
+    private CustomerSpendService customerSpendService;
+    // Run once just before the next conditional rewrite, to land a record between a repair's read and write
+    private Runnable beforeReplace;
+    private Customer regular;
+    private Product laptop;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        customerRepository = new InMemoryCustomerRepository();
+        billRepository = new InMemoryBillRepository();
+        customerSpendRepository = new InMemoryCustomerSpendRepository() {
+            @Override
+            public boolean replace(CustomerSpend expected, CustomerSpend spend) {
+                Runnable write = beforeReplace;
+                beforeReplace = null;
+                if (write != null) {
+                    write.run();
+                }
+                return super.replace(expected, spend);
+            }
+        };
+        regular = customerRepository.save(Customer.createRegular("R", "r@store.com", LocalDateTime.now()));
+        laptop = Product.create("Laptop", "desc", Money.of("990.00"), ProductCategory.ELECTRONICS);
+
+        // A long max age, so every fresh answer below comes from an eviction rather than expiry. The
+        // clock runs ten minutes ahead, so bills finalized by the test are past the five-minute settle.
+        customerSpendService = new CustomerSpendService(customerSpendRepository, customerRepository, billRepository,
+            Clock.offset(Clock.systemDefaultZone(), Duration.ofMinutes(10)), Duration.ofHours(1), 100,
+            Duration.ofMinutes(5), 3);
+        billRepository.setApplicationEventPublisher(
+            event -> customerSpendService.onFinalizedBillsChanged((FinalizedBillsChangedEvent) event));
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new CustomerSpendController(customerSpendService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+    }
+
+    private Bill bill(Customer customer, String discount, boolean finalized) {
+        Bill bill = Bill.create(customer.getId(), List.of(BillItem.create(laptop, 1)), LocalDateTime.now());
+        bill.applyDiscount(Money.of(discount), LocalDateTime.now());
+        if (finalized) {
+            bill.finalize(LocalDateTime.now());
+        }
+        return billRepository.save(bill);
+    }
+
+    @Test
+    @DisplayName("Should sum finalized bills only and keep the summary current as bills change")
+    void shouldFollowFinalizedBills() throws Exception {
+        bill(regular, "45.00", true);
+        Bill draft = bill(regular, "0.00", false);
+
+        mockMvc.perform(get("/api/v1/customers/" + regular.getId() + "/spend"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.billCount").value(1))
+            .andExpect(jsonPath("$.data.lifetimeSpend").value(945.0))
+            .andExpect(jsonPath("$.data.lifetimeDiscount").value(45.0));
+
+        // The cached summary is dropped by the event, not left to expire
+        draft.finalize(LocalDateTime.now());
+        billRepository.save(draft);
+        mockMvc.perform(get("/api/v1/customers/" + regular.getId() + "/spend"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.billCount").value(2))
+            .andExpect(jsonPath("$.data.lifetimeSpend").value(1935.0));
+
+        billRepository.deleteById(draft.getId());
+        assertEquals(1, customerSpendService.findByCustomerId(regular.getId()).getBillCount());
+    }
+
+    @Test
+    @DisplayName("Should answer an empty summary for a customer without bills and 404 for an unknown one")
+    void shouldHandleCustomersWithoutSummary() throws Exception {
+        mockMvc.perform(get("/api/v1/customers/" + regular.getId() + "/spend"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.billCount").value(0))
+            .andExpect(jsonPath("$.data.lifetimeSpend").value(0.0));
+
+        mockMvc.perform(get("/api/v1/customers/missing/spend"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.meta.errorCode").value("CUSTOMER_NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("Should rewrite only drifted summaries when repairing")
+    void shouldRepairDriftedSummaries() {
+        Customer other = customerRepository.save(Customer.createRegular("O", "o@store.com", LocalDateTime.now()));
+        Customer idle = customerRepository.save(Customer.createRegular("I", "i@store.com", LocalDateTime.now()));
+        Bill first = bill(regular, "10.00", true);
+        bill(regular, "20.00", true);
+        bill(other, "0.00", true);
+        CustomerSpend expected = customerSpendService.findByCustomerId(regular.getId());
+
+        // Writes that bypassed the repositories' events
+        customerSpendRepository.save(CustomerSpend.of(regular.getId(), 7, 1, 0, first.getUpdatedAt()));
+        customerSpendRepository.deleteByCustomerId(other.getId());
+
+        assertEquals(2, customerSpendService.repair());
+        assertEquals(expected, customerSpendService.findByCustomerId(regular.getId()));
+        assertEquals(Money.of("990.00"), customerSpendService.findByCustomerId(other.getId()).getLifetimeSpend());
+        assertTrue(customerSpendRepository.findByCustomerId(idle.getId()).isEmpty());
+        assertEquals(0, customerSpendService.repair());
+    }
+
+    @Test
+    @DisplayName("Should keep a bill recorded between a repair's read and its rewrite")
+    void shouldKeepIncrementRecordedDuringRepair() {
+        bill(regular, "10.00", true);
+        customerSpendRepository.save(CustomerSpend.of(regular.getId(), 7, 1, 0, null));
+
+        // Stored by another instance, whose increment lands while this repair is under way
+        billRepository.setApplicationEventPublisher(event -> { });
+        Bill late = bill(regular, "20.00", true);
+        billRepository.setApplicationEventPublisher(
+            event -> customerSpendService.onFinalizedBillsChanged((FinalizedBillsChangedEvent) event));
+        beforeReplace = () -> customerSpendService.onFinalizedBillsChanged(new FinalizedBillsChangedEvent(late, false));
+
+        assertEquals(1, customerSpendService.repair());
+        CustomerSpend spend = customerSpendService.findByCustomerId(regular.getId());
+        assertEquals(2, spend.getBillCount());
+        assertEquals(Money.of("1950.00"), spend.getLifetimeSpend());
+        assertEquals(Money.of("30.00"), spend.getLifetimeDiscount());
+        assertEquals(0, customerSpendService.repair());
+    }
+
+    @Test
+    @DisplayName("Should leave customers with a bill finalized within the settle period for the next repair")
+    void shouldSkipUnsettledCustomers() {
+        Bill recent = Bill.create(regular.getId(), List.of(BillItem.create(laptop, 1)), LocalDateTime.now());
+        recent.finalize(LocalDateTime.now().plusMinutes(8));
+        billRepository.save(recent);
+        customerSpendRepository.save(CustomerSpend.of(regular.getId(), 7, 1, 0, null));
+
+        assertEquals(0, customerSpendService.repair());
+        assertEquals(7, customerSpendRepository.findByCustomerId(regular.getId()).orElseThrow().getBillCount());
+    }
+}
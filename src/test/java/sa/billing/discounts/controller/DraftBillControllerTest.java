@@ -0,0 +1,218 @@
+package sa.billing.discounts.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.DraftBillRequest;
+import sa.billing.discounts.application.dto.DraftBillResponse;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.application.service.DraftBillService;
+import sa.billing.discounts.domain.exception.DraftBillNotFoundException;
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillStatus;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.exception.GlobalExceptionHandler;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryBillRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryCustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryProductRepository;
+import sa.billing.discounts.presentation.controller.v1.DraftBillController;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Draft Bill Controller Tests")
+class DraftBillControllerTest {
+
+    private ObjectMapper objectMapper;
+    private InMemoryBillRepository billRepository;
+    private BillCalculationService billCalculationService;
+    private DraftBillService draftBillService;
+    private Customer employee;
+    private Product laptop;
+    private Product apple;
+    private Product book;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        InMemoryCustomerRepository customerRepository = new InMemoryCustomerRepository();
+        InMemoryProductRepository productRepository = new InMemoryProductRepository();
+        billRepository = new InMemoryBillRepository();
+        employee = customerRepository.save(Customer.createEmployee("E", "e@store.com", LocalDateTime.now().minusYears(1)));
+        laptop = productRepository.save(Product.create("Laptop", "desc", Money.of("990.00"), ProductCategory.ELECTRONICS));
+        apple = productRepository.save(Product.create("Apple", "desc", Money.of("2.50"), ProductCategory.GROCERY));
+        book = productRepository.save(Product.create("Book", "desc", Money.of("19.99"), ProductCategory.BOOKS));
+
+        billCalculationService = BillCalculationService.builder(customerRepository, productRepository).build();
+        draftBillService = drafts(Duration.ofMinutes(30), 100);
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new DraftBillController(draftBillService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+    }
+
+    private DraftBillService drafts(Duration ttl, int maxDrafts) {
+        return new DraftBillService(billCalculationService, billRepository, ttl, maxDrafts);
+    }
+
+    private static void assertSameTotals(BillCalculationSummaryResponse expected, BillCalculationSummaryResponse actual) {
+        assertEquals(0, expected.getSubtotal().compareTo(actual.getSubtotal()));
+        assertEquals(0, expected.getPercentageBasedDiscount().compareTo(actual.getPercentageBasedDiscount()));
+        assertEquals(0, expected.getBillBasedDiscount().compareTo(actual.getBillBasedDiscount()));
+        assertEquals(0, expected.getNetAmount().compareTo(actual.getNetAmount()));
+    }
+
+    @Test
+    @DisplayName("Should keep running totals equal to a full calculation and store the finalized bill")
+    void shouldTrackTotalsAndFinalize() {
+        String draftId = draftBillService.create(employee.getId()).getDraftId();
+        draftBillService.addLine(draftId, laptop.getId(), 1);
+        draftBillService.addLine(draftId, apple.getId(), 4);
+        draftBillService.addLine(draftId, book.getId(), 2);
+        DraftBillResponse afterRemove = draftBillService.removeLine(draftId, 1);
+
+        List<BillItemRequest> cart = List.of(new BillItemRequest(laptop.getId(), 1), new BillItemRequest(book.getId(), 2));
+        assertEquals(2, afterRemove.getItemCount());
+        assertEquals("DRAFT", afterRemove.getStatus());
+        assertSameTotals(billCalculationService.calculateBillSummary(new BillCalculationRequest(employee.getId(), cart)),
+            afterRemove.getTotals());
+
+        DraftBillResponse finalized = draftBillService.finalizeDraft(draftId);
+
+        assertEquals("FINALIZED", finalized.getStatus());
+        Bill stored = billRepository.findById(finalized.getBillId()).orElseThrow();
+        assertEquals(BillStatus.FINALIZED, stored.getStatus());
+        assertEquals(employee.getId(), stored.getCustomerId());
+        assertEquals(2, stored.getItems().size());
+        assertEquals(0, finalized.getTotals().getNetAmount().compareTo(stored.getNetAmount().getAmount()));
+        assertThrows(DraftBillNotFoundException.class, () -> draftBillService.get(draftId));
+        assertThrows(DraftBillNotFoundException.class, () -> draftBillService.finalizeDraft(draftId));
+        assertEquals(0, draftBillService.size());
+    }
+
+    @Test
+    @DisplayName("Should serialize concurrent scans on one draft")
+    void shouldSerializeConcurrentScans() throws Exception {
+        String draftId = draftBillService.create(employee.getId()).getDraftId();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tills = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tills.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        draftBillService.addLine(draftId, book.getId(), 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> till : tills) {
+                till.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        DraftBillResponse draft = draftBillService.get(draftId);
+        assertEquals(400, draft.getItemCount());
+        assertEquals(0, new BigDecimal("7996.00").compareTo(draft.getTotals().getSubtotal()));
+    }
+
+    @Test
+    @DisplayName("Should drop idle drafts and make room by closing the longest idle one")
+    void shouldExpireAndBoundDrafts() {
+        DraftBillService expiring = drafts(Duration.ofNanos(1), 100);
+        String expired = expiring.create(employee.getId()).getDraftId();
+        assertThrows(DraftBillNotFoundException.class, () -> expiring.addLine(expired, book.getId(), 1));
+        assertEquals(0, expiring.size());
+
+        DraftBillService bounded = drafts(Duration.ofMinutes(30), 2);
+        String first = bounded.create(employee.getId()).getDraftId();
+        String second = bounded.create(employee.getId()).getDraftId();
+        bounded.addLine(first, book.getId(), 1);
+        String third = bounded.create(employee.getId()).getDraftId();
+
+        assertEquals(2, bounded.size());
+        assertThrows(DraftBillNotFoundException.class, () -> bounded.get(second));
+        assertEquals(1, bounded.get(first).getItemCount());
+        assertEquals(0, bounded.get(third).getItemCount());
+    }
+
+    @Test
+    @DisplayName("Should serve drafts over HTTP and reject bad edits")
+    void shouldServeDraftsOverHttp() throws Exception {
+        byte[] created = mockMvc.perform(post("/api/v1/bills/drafts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(new DraftBillRequest(employee.getId()))))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.data.itemCount").value(0))
+            .andReturn().getResponse().getContentAsByteArray();
+        String draftId = objectMapper.readTree(created).get("data").get("draftId").asText();
+
+        mockMvc.perform(post("/api/v1/bills/drafts/" + draftId + "/finalize"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/bills/drafts/" + draftId + "/lines")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(new BillItemRequest(laptop.getId(), 1))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.itemCount").value(1))
+            .andExpect(jsonPath("$.data.totals.netAmount").value(648.00));
+        mockMvc.perform(post("/api/v1/bills/drafts/" + draftId + "/lines")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(new BillItemRequest("missing", 1))))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/v1/bills/drafts/" + draftId + "/lines")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(new BillItemRequest(laptop.getId(), 0))))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/v1/bills/drafts/" + draftId + "/lines/5"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/bills/drafts/" + draftId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.itemCount").value(1));
+
+        mockMvc.perform(delete("/api/v1/bills/drafts/" + draftId))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/bills/drafts/" + draftId))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.meta.errorCode").value("DRAFT_BILL_NOT_FOUND"));
+        assertEquals(0, billRepository.count());
+    }
+}
@@ -0,0 +1,225 @@
+package sa.billing.discounts.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import sa.billing.discounts.application.config.DiscountConfig;
+import sa.billing.discounts.application.config.DiscountParameters;
+import sa.billing.discounts.application.config.DiscountRules;
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.application.service.PriceListService;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.LoyaltyPolicy;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.exception.GlobalExceptionHandler;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductCatalogChangedEvent;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
+import sa.billing.discounts.infrastructure.serialization.PriceListResponseWriter;
+import sa.billing.discounts.presentation.controller.v1.PriceListController;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Price List Controller Tests")
+class PriceListControllerTest {
+
+    private ObjectMapper objectMapper;
+    private ProductRepository productRepository;
+    private DiscountRules discountRules;
+    private PriceListService priceListService;
+    private BillCalculationService billCalculationService;
+    private List<Product> catalog;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        Map<String, Customer> customers = new HashMap<>();
+        customers.put("employee", withId(Customer.createEmployee("E", "e@store.com", LocalDateTime.now().minusYears(1)), "employee"));
+        customers.put("affiliate", withId(Customer.createAffiliate("A", "a@store.com", LocalDateTime.now().minusYears(1)), "affiliate"));
+        customers.put("loyal", withId(Customer.createRegular("L", "l@store.com", LocalDateTime.now().minusYears(3)), "loyal"));
+        customers.put("regular", withId(Customer.createRegular("R", "r@store.com", LocalDateTime.now()), "regular"));
+
+        catalog = new ArrayList<>();
+        Map<String, Product> products = new HashMap<>();
+        ProductCategory[] categories = ProductCategory.values();
+        for (int i = 0; i < 40; i++) {
+            String id = String.format("product-%02d", i);
+            Money price = Money.of(String.format("%d.%02d", 1 + i * 7 % 90, i * 13 % 100));
+            Product product = withId(Product.create("Product " + i, "desc", price, categories[i % categories.length]), id);
+            catalog.add(product);
+            products.put(id, product);
+        }
+
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        productRepository = mock(ProductRepository.class);
+        lenient().when(customerRepository.findById(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(customers.get(invocation.<String>getArgument(0))));
+        lenient().when(productRepository.findById(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(products.get(invocation.<String>getArgument(0))));
+        lenient().when(productRepository.findAll()).thenAnswer(invocation -> List.copyOf(catalog));
+
+        discountRules = new DiscountRules(new DiscountConfig());
+        priceListService = new PriceListService(productRepository, customerRepository, discountRules, LoyaltyPolicy.TENURE,
+            Clock.systemDefaultZone(), Duration.ofMinutes(5));
+        billCalculationService = BillCalculationService.builder(customerRepository, productRepository)
+            .discountRules(discountRules).build();
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new PriceListController(priceListService, new PriceListResponseWriter(objectMapper)))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+    }
+
+    private static <T> T withId(T entity, String id) {
+        try {
+            Field idField = entity.getClass().getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not set ID for test", e);
+        }
+    }
+
+    private JsonNode priceList(String parameter, String value) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/price-list").param(parameter, value))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        byte[] response = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readTree(response);
+    }
+
+    private BigDecimal unitPrice(JsonNode response, String productId) {
+        for (JsonNode item : response.get("data").get("items")) {
+            if (item.get("productId").asText().equals(productId)) {
+                return item.get("unitPrice").decimalValue();
+            }
+        }
+        throw new AssertionError("No price list entry for " + productId);
+    }
+
+    @Test
+    @DisplayName("Should price every product like a one-unit cart for the customer")
+    void shouldMatchOneUnitCarts() throws Exception {
+        String[][] tiers = {{"EMPLOYEE", "employee"}, {"AFFILIATE", "affiliate"}, {"LOYALTY", "loyal"}, {"REGULAR", "regular"}};
+        for (String[] tier : tiers) {
+            JsonNode response = priceList("customerType", tier[0]);
+            assertEquals(tier[0], response.get("data").get("tier").asText());
+            assertEquals(catalog.size(), response.get("data").get("items").size());
+            assertEquals(catalog.size(), response.get("meta").get("count").asInt());
+
+            for (Product product : catalog) {
+                BillCalculationResponse cart = billCalculationService.calculateBillDiscount(
+                    new BillCalculationRequest(tier[1], List.of(new BillItemRequest(product.getId(), 1))));
+                BigDecimal expected = cart.getSubtotal().subtract(cart.getPercentageBasedDiscount());
+                assertEquals(0, expected.compareTo(unitPrice(response, product.getId())), tier[0] + " " + product);
+            }
+        }
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should never discount groceries")
+    void shouldKeepGroceryListPrice() throws Exception {
+        JsonNode response = priceList("customerType", "employee");
+        for (JsonNode item : response.get("data").get("items")) {
+            if (ProductCategory.GROCERY.name().equals(item.get("category").asText())) {
+                assertEquals(item.get("listPrice").decimalValue(), item.get("unitPrice").decimalValue());
+                assertFalse(item.get("eligibleForPercentageDiscount").asBoolean());
+                assertEquals(0, item.get("discountPercentage").decimalValue().signum());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should pick the price list from the customer's type")
+    void shouldResolveTierFromCustomer() throws Exception {
+        assertEquals("AFFILIATE", priceList("customerId", "affiliate").get("data").get("tier").asText());
+        assertEquals("LOYALTY", priceList("customerId", "loyal").get("data").get("tier").asText());
+        assertEquals("REGULAR", priceList("customerId", "regular").get("data").get("tier").asText());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the table after a catalog change")
+    void shouldRebuildAfterCatalogChange() throws Exception {
+        Product first = catalog.get(1);
+        priceList("customerType", "REGULAR");
+
+        first.updatePrice(Money.of("42.00"));
+        assertNotEquals(new BigDecimal("42.00"), unitPrice(priceList("customerType", "REGULAR"), first.getId()));
+        verify(productRepository, times(1)).findAll();
+
+        priceListService.onCatalogChanged(new ProductCatalogChangedEvent(first.getId()));
+        assertEquals(0, new BigDecimal("42.00").compareTo(unitPrice(priceList("customerType", "REGULAR"), first.getId())));
+        verify(productRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should rebuild the table after the discount rules are reloaded")
+    void shouldRebuildAfterDiscountRulesReload() throws Exception {
+        Product product = catalog.get(1);
+        assertTrue(product.isEligibleForPercentageDiscount());
+        assertEquals(1, priceList("customerType", "EMPLOYEE").get("data").get("configVersion").asLong());
+
+        discountRules.reload(new DiscountParameters(new BigDecimal("50"), null, null, null, null), "test");
+        JsonNode reloaded = priceList("customerType", "EMPLOYEE");
+        assertEquals(2, reloaded.get("data").get("configVersion").asLong());
+        // The discount is rounded first, as in the cart calculation
+        BigDecimal halfPrice = product.getPrice().subtract(product.getPrice().multiply(new BigDecimal("0.5"))).getAmount();
+        assertEquals(0, halfPrice.compareTo(unitPrice(reloaded, product.getId())));
+        verify(productRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should reject missing, conflicting and unknown parameters")
+    void shouldRejectBadParameters() throws Exception {
+        mockMvc.perform(get("/api/v1/price-list"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/price-list").param("customerType", "EMPLOYEE").param("customerId", "employee"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/price-list").param("customerType", "VIP"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.meta.errorCode").value("INVALID_ARGUMENT"));
+        mockMvc.perform(get("/api/v1/price-list").param("customerId", "nobody"))
+            .andExpect(status().isNotFound());
+        verify(productRepository, never()).findAll();
+    }
+}
@@ -0,0 +1,202 @@
+package sa.billing.discounts.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.PromotionRequest;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.application.service.PromotionService;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.exception.GlobalExceptionHandler;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryCustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryProductRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryPromotionRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.PromotionsChangedEvent;
+import sa.billing.discounts.presentation.controller.v1.PromotionController;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Promotion Controller Tests")
+class PromotionControllerTest {
+
+    private ObjectMapper objectMapper;
+    private PromotionService promotionService;
+    private BillCalculationService billCalculationService;
+    private Customer employee;
+    private Product laptop;
+    private Product apple;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        InMemoryCustomerRepository customerRepository = new InMemoryCustomerRepository();
+        InMemoryProductRepository productRepository = new InMemoryProductRepository();
+        InMemoryPromotionRepository promotionRepository = new InMemoryPromotionRepository();
+        employee = customerRepository.save(Customer.createEmployee("E", "e@store.com", LocalDateTime.now().minusYears(1)));
+        laptop = productRepository.save(Product.create("Laptop", "desc", Money.of("200.00"), ProductCategory.ELECTRONICS));
+        apple = productRepository.save(Product.create("Apple", "desc", Money.of("2.00"), ProductCategory.GROCERY));
+
+        promotionService = new PromotionService(promotionRepository, Duration.ofMinutes(1));
+        promotionRepository.setApplicationEventPublisher(
+            event -> promotionService.onPromotionsChanged((PromotionsChangedEvent) event));
+        billCalculationService = BillCalculationService.builder(customerRepository, productRepository)
+            .promotions(promotionService).build();
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new PromotionController(promotionService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+    }
+
+    private String create(String category, String productId, String kind, String value, Instant startsAt, Instant endsAt)
+            throws Exception {
+        PromotionRequest request = new PromotionRequest("Promo", category, productId, kind, new BigDecimal(value), startsAt, endsAt);
+        byte[] response = mockMvc.perform(post("/api/v1/promotions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(request)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readTree(response).get("data").get("id").asText();
+    }
+
+    private BillCalculationRequest cart(BillItemRequest... items) {
+        return new BillCalculationRequest(employee.getId(), List.of(items));
+    }
+
+    @Test
+    @DisplayName("Should apply promotions to line prices before the customer and bill-based discounts")
+    void shouldCombineWithCustomerDiscounts() throws Exception {
+        Instant now = Instant.now();
+        create("ELECTRONICS", null, "PERCENTAGE", "10", now.minusSeconds(60), now.plusSeconds(3600));
+
+        BillCalculationResponse response = billCalculationService.calculateBillDiscount(cart(new BillItemRequest(laptop.getId(), 1)));
+
+        // 200 less 10% is 180; employees get 30% of that, and 5 per full 100 comes on top
+        assertEquals(0, new BigDecimal("20.00").compareTo(response.getPromotionDiscount()));
+        assertEquals(0, new BigDecimal("180.00").compareTo(response.getSubtotal()));
+        assertEquals(0, new BigDecimal("180.00").compareTo(response.getItems().get(0).getUnitPrice()));
+        assertEquals(0, new BigDecimal("54.00").compareTo(response.getPercentageBasedDiscount()));
+        assertEquals(0, new BigDecimal("5.00").compareTo(response.getBillBasedDiscount()));
+        assertEquals(0, new BigDecimal("121.00").compareTo(response.getNetAmount()));
+
+        BillCalculationSummaryResponse summary = billCalculationService.calculateBillSummary(cart(new BillItemRequest(laptop.getId(), 1)));
+        assertEquals(0, response.getPromotionDiscount().compareTo(summary.getPromotionDiscount()));
+        assertEquals(0, response.getNetAmount().compareTo(summary.getNetAmount()));
+    }
+
+    @Test
+    @DisplayName("Should promote groceries without making them eligible for percentage discounts")
+    void shouldPromoteGroceries() throws Exception {
+        Instant now = Instant.now();
+        create(null, apple.getId(), "FIXED_AMOUNT", "0.50", now.minusSeconds(60), now.plusSeconds(3600));
+
+        BillCalculationResponse response = billCalculationService.calculateBillDiscount(cart(new BillItemRequest(apple.getId(), 4)));
+
+        assertEquals(0, new BigDecimal("2.00").compareTo(response.getPromotionDiscount()));
+        assertEquals(0, new BigDecimal("6.00").compareTo(response.getSubtotal()));
+        assertEquals(0, response.getPercentageBasedDiscount().signum());
+    }
+
+    @Test
+    @DisplayName("Should ignore promotions outside their window and stop applying deleted ones")
+    void shouldRespectWindowsAndDeletes() throws Exception {
+        Instant now = Instant.now();
+        create("ELECTRONICS", null, "PERCENTAGE", "50", now.plusSeconds(3600), now.plusSeconds(7200));
+        create("ELECTRONICS", null, "PERCENTAGE", "50", now.minusSeconds(7200), now.minusSeconds(3600));
+        String running = create(null, laptop.getId(), "FIXED_AMOUNT", "15", now.minusSeconds(60), now.plusSeconds(3600));
+
+        assertEquals(0, new BigDecimal("15.00").compareTo(
+            billCalculationService.calculateBillDiscount(cart(new BillItemRequest(laptop.getId(), 1))).getPromotionDiscount()));
+
+        mockMvc.perform(delete("/api/v1/promotions/" + running)).andExpect(status().isOk());
+        assertEquals(0, billCalculationService.calculateBillDiscount(cart(new BillItemRequest(laptop.getId(), 1)))
+            .getPromotionDiscount().signum());
+        mockMvc.perform(delete("/api/v1/promotions/" + running))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.meta.errorCode").value("PROMOTION_NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("Should list the promotions active at an instant")
+    void shouldListActivePromotions() throws Exception {
+        Instant now = Instant.now();
+        String electronics = create("ELECTRONICS", null, "PERCENTAGE", "10", now.minusSeconds(60), now.plusSeconds(3600));
+        String laptopOnly = create(null, laptop.getId(), "FIXED_AMOUNT", "15", now.minusSeconds(60), now.plusSeconds(60));
+        String ended = create("BOOKS", null, "PERCENTAGE", "10", now.minusSeconds(7200), now.minusSeconds(3600));
+
+        JsonNode active = objectMapper.readTree(mockMvc.perform(get("/api/v1/promotions"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray()).get("data");
+        assertEquals(2, active.size());
+
+        mockMvc.perform(get("/api/v1/promotions").param("category", "electronics"))
+            .andExpect(jsonPath("$.data.length()").value(1))
+            .andExpect(jsonPath("$.data[0].id").value(electronics));
+        mockMvc.perform(get("/api/v1/promotions").param("productId", laptop.getId()))
+            .andExpect(jsonPath("$.data[0].id").value(laptopOnly));
+        mockMvc.perform(get("/api/v1/promotions").param("at", now.plusSeconds(120).toString()))
+            .andExpect(jsonPath("$.data.length()").value(1));
+        // Ended promotions are not indexed, but an earlier instant still finds them
+        mockMvc.perform(get("/api/v1/promotions").param("at", now.minusSeconds(5400).toString()))
+            .andExpect(jsonPath("$.data.length()").value(1))
+            .andExpect(jsonPath("$.data[0].id").value(ended));
+        mockMvc.perform(get("/api/v1/promotions/" + laptopOnly))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.scope").value("PRODUCT"))
+            .andExpect(jsonPath("$.data.kind").value("FIXED_AMOUNT"));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed promotions and queries")
+    void shouldRejectBadRequests() throws Exception {
+        Instant now = Instant.now();
+        PromotionRequest both = new PromotionRequest("Promo", "BOOKS", laptop.getId(), "PERCENTAGE", BigDecimal.TEN, now, now.plusSeconds(60));
+        PromotionRequest backwards = new PromotionRequest("Promo", "BOOKS", null, "PERCENTAGE", BigDecimal.TEN, now, now.minusSeconds(60));
+        PromotionRequest unknownKind = new PromotionRequest("Promo", "BOOKS", null, "BOGO", BigDecimal.TEN, now, now.plusSeconds(60));
+        for (PromotionRequest request : List.of(both, backwards, unknownKind)) {
+            mockMvc.perform(post("/api/v1/promotions")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.meta.errorCode").value("INVALID_ARGUMENT"));
+        }
+        mockMvc.perform(get("/api/v1/promotions").param("at", "yesterday"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/promotions").param("category", "BOOKS").param("productId", laptop.getId()))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/promotions/missing"))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,230 @@
+package sa.billing.discounts.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.application.service.StreamingBillCalculation;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.exception.GlobalExceptionHandler;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
+import sa.billing.discounts.infrastructure.serialization.StreamingBillRequestReader;
+import sa.billing.discounts.infrastructure.serialization.StreamingBillResponseWriter;
+import sa.billing.discounts.presentation.controller.v1.BillController;
+import sa.billing.discounts.presentation.controller.v1.StreamingBillController;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Streaming Bill Controller Tests")
+class StreamingBillControllerTest {
+
+    private ObjectMapper objectMapper;
+    private ProductRepository productRepository;
+    private MockMvc mockMvc;
+    private List<String> productIds;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        Map<String, Customer> customers = new HashMap<>();
+        customers.put("employee", withId(Customer.createEmployee("E", "e@store.com", LocalDateTime.now().minusYears(1)), "employee"));
+        customers.put("affiliate", withId(Customer.createAffiliate("A", "a@store.com", LocalDateTime.now().minusYears(1)), "affiliate"));
+        customers.put("regular", withId(Customer.createRegular("R", "r@store.com", LocalDateTime.now()), "regular"));
+
+        Map<String, Product> products = new HashMap<>();
+        productIds = new ArrayList<>();
+        ProductCategory[] categories = ProductCategory.values();
+        for (int i = 0; i < 60; i++) {
+            String id = "product-" + i;
+            Money price = Money.of(String.format("%d.%02d", 1 + i * 11 % 200, i * 17 % 100));
+            products.put(id, withId(Product.create("Product " + i, "desc", price, categories[i % categories.length]), id));
+            productIds.add(id);
+        }
+
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        productRepository = mock(ProductRepository.class);
+        lenient().when(customerRepository.findById(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(customers.get(invocation.<String>getArgument(0))));
+        lenient().when(productRepository.findById(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(products.get(invocation.<String>getArgument(0))));
+        lenient().when(productRepository.findAllById(anyCollection()))
+            .thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList());
+
+        BillCalculationService service = BillCalculationService.builder(customerRepository, productRepository).build();
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new BillController(service), new StreamingBillController(service,
+                new StreamingBillRequestReader(objectMapper.getFactory()), new StreamingBillResponseWriter(objectMapper)))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+    }
+
+    private static <T> T withId(T entity, String id) {
+        try {
+            Field idField = entity.getClass().getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not set ID for test", e);
+        }
+    }
+
+    private String randomCart(String customerId, int itemCount, long seed) throws Exception {
+        Random random = new Random(seed);
+        List<BillItemRequest> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new BillItemRequest(productIds.get(random.nextInt(productIds.size())), 1 + random.nextInt(9)));
+        }
+        return objectMapper.writeValueAsString(new BillCalculationRequest(customerId, items));
+    }
+
+    private JsonNode withoutTimestamp(byte[] body) throws Exception {
+        JsonNode response = objectMapper.readTree(body);
+        ((ObjectNode) response.get("data")).remove("calculatedAt");
+        return response;
+    }
+
+    private JsonNode calculateStreaming(String body) throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/v1/bills/calculate/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        byte[] response = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        return withoutTimestamp(response);
+    }
+
+    @Test
+    @DisplayName("Should stream the same itemized response as the buffered endpoint")
+    void shouldMatchBufferedResponse() throws Exception {
+        int[] sizes = {1, StreamingBillCalculation.CHUNK_SIZE, 1_234};
+        String[] customers = {"employee", "affiliate", "regular"};
+        for (int size : sizes) {
+            for (String customerId : customers) {
+                String body = randomCart(customerId, size, size);
+
+                byte[] buffered = mockMvc.perform(post("/api/v1/bills/calculate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+
+                assertEquals(withoutTimestamp(buffered), calculateStreaming(body), customerId + " with " + size + " items");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should return summary totals synchronously and resolve products in chunks")
+    void shouldReturnSummaryAndResolveInChunks() throws Exception {
+        String body = randomCart("employee", 1_234, 99);
+        clearInvocations(productRepository);
+
+        byte[] streamed = mockMvc.perform(post("/api/v1/bills/calculate/stream")
+                .param("view", "summary")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.items").doesNotExist())
+            .andReturn().getResponse().getContentAsByteArray();
+
+        verify(productRepository, times(3)).findAllById(anyCollection());
+        verify(productRepository, never()).findById(anyString());
+
+        byte[] buffered = mockMvc.perform(post("/api/v1/bills/calculate")
+                .param("view", "summary")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(withoutTimestamp(buffered), withoutTimestamp(streamed));
+    }
+
+    @Test
+    @DisplayName("Should accept items before the customer and positional pairs")
+    void shouldAcceptAnyFieldOrderAndPairs() throws Exception {
+        JsonNode objects = calculateStreaming(
+            "{\"items\":[{\"productId\":\"product-1\",\"quantity\":2},{\"productId\":\"product-2\",\"quantity\":1}],\"customerId\":\"regular\"}");
+        JsonNode pairs = calculateStreaming(
+            "{\"customerId\":\"regular\",\"items\":[[\"product-1\",2],[\"product-2\",1]]}");
+
+        assertEquals(objects, pairs);
+        assertEquals(2, pairs.get("data").get("items").size());
+    }
+
+    @Test
+    @DisplayName("Should map streaming errors before the response is committed")
+    void shouldReportErrors() throws Exception {
+        mockMvc.perform(post("/api/v1/bills/calculate/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":\"regular\",\"items\":[{\"productId\":\"missing\",\"quantity\":1}]}"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.meta.errorCode").value("PRODUCT_NOT_FOUND"));
+
+        mockMvc.perform(post("/api/v1/bills/calculate/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":\"nobody\",\"items\":[]}"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.meta.errorCode").value("CUSTOMER_NOT_FOUND"));
+
+        String[] invalidBodies = {
+            "{\"customerId\":\"regular\",\"items\":[{\"productId\":\"product-1\",\"quantity\":0}]}",
+            "{\"customerId\":\"regular\",\"items\":[]}",
+            "{\"items\":[[\"product-1\",1]]}",
+            "{\"customerId\":\"regular\",\"items\":[[\"product-1\",1]"
+        };
+        for (String body : invalidBodies) {
+            mockMvc.perform(post("/api/v1/bills/calculate/stream")
+                    .param("view", "summary")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.meta.errorCode").value("INVALID_ARGUMENT"));
+        }
+    }
+}
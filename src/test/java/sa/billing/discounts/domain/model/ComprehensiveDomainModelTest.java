@@ -1,6 +1,7 @@
 package sa.billing.discounts.domain.model;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 import sa.billing.discounts.domain.model.customer.Customer;
 import sa.billing.discounts.domain.model.customer.CustomerType;
 import sa.billing.discounts.domain.model.product.Product;
@@ -279,6 +280,26 @@ class ComprehensiveDomainModelTest {
         assertFalse(customer.isLoyalCustomer(LocalDateTime.now()));
     }
 
+    @Test
+    void shouldPrecomputeLoyaltyCutoff() {
+        LocalDateTime registrationDate = LocalDateTime.of(2024, 2, 29, 10, 0);
+        Customer customer = Customer.createRegular("Bob Smith", "bob@example.com", registrationDate);
+        
+        assertEquals(LocalDateTime.of(2026, 2, 28, 10, 0), customer.getLoyaltyEligibleFrom());
+        assertFalse(customer.isLoyalCustomer(customer.getLoyaltyEligibleFrom()));
+        assertTrue(customer.isLoyalCustomer(customer.getLoyaltyEligibleFrom().plusNanos(1)));
+    }
+
+    @Test
+    void shouldDeriveLoyaltyCutoffForStoredCustomersWithoutOne() {
+        LocalDateTime registrationDate = LocalDateTime.now().minusYears(3);
+        Customer customer = Customer.createRegular("Bob Smith", "bob@example.com", registrationDate);
+        ReflectionTestUtils.setField(customer, "loyaltyEligibleFrom", null);
+        
+        assertEquals(registrationDate.plusYears(2), customer.getLoyaltyEligibleFrom());
+        assertTrue(customer.isLoyalCustomer(LocalDateTime.now()));
+    }
+
     @Test
     void shouldUpdateCustomerType() {
         LocalDateTime registrationDate = LocalDateTime.now().minusMonths(6);
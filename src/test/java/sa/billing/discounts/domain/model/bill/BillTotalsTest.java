@@ -0,0 +1,118 @@
+package sa.billing.discounts.domain.model.bill;
+
+import org.junit.jupiter.api.Test;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BillTotalsTest {
+
+    private static List<BillItem> randomItems(int count, long seed) {
+        Random random = new Random(seed);
+        ProductCategory[] categories = ProductCategory.values();
+        List<BillItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Money price = Money.of(BigDecimal.valueOf(1 + random.nextInt(500_000), 2));
+            Product product = Product.create("p" + i, "", price, categories[random.nextInt(categories.length)]);
+            items.add(BillItem.create(product, 1 + random.nextInt(50)));
+        }
+        return items;
+    }
+
+    private static Money streamSum(List<BillItem> items, boolean nonGroceryOnly) {
+        return items.stream()
+                .filter(item -> !nonGroceryOnly || !item.isGrocery())
+                .map(BillItem::getTotalPrice)
+                .reduce(Money.zero(), Money::add);
+    }
+
+    @Test
+    void shouldMatchSequentialResultExactlyWhenAggregatedInParallel() {
+        for (int count : new int[] {1, 2_047, 2_049, 25_000, 100_003}) {
+            List<BillItem> items = randomItems(count, count);
+
+            BillTotals sequential = BillTotals.sequential(items);
+            BillTotals parallel = BillTotals.parallel(items);
+
+            assertEquals(sequential, parallel);
+            assertEquals(count, parallel.getItemCount());
+            assertEquals(streamSum(items, false), parallel.getSubtotal());
+            assertEquals(streamSum(items, true), parallel.getNonGroceryAmount());
+            assertEquals(2, parallel.getSubtotal().getAmount().scale());
+            Money categorySum = Money.zero();
+            for (ProductCategory category : ProductCategory.values()) {
+                Money expected = items.stream()
+                        .filter(item -> item.getProduct().getCategory() == category)
+                        .map(BillItem::getTotalPrice)
+                        .reduce(Money.zero(), Money::add);
+                assertEquals(expected, parallel.getCategoryAmount(category), category.name());
+                categorySum = categorySum.add(parallel.getCategoryAmount(category));
+            }
+            assertEquals(parallel.getSubtotal(), categorySum);
+        }
+    }
+
+    @Test
+    void shouldUseParallelPathAboveThreshold() {
+        List<BillItem> items = randomItems(300, 7);
+        Bill bill = Bill.create("customer", items, 100, LocalDateTime.now());
+
+        assertEquals(BillTotals.sequential(items), bill.getTotals());
+        assertEquals(streamSum(items, false), bill.getSubtotal());
+    }
+
+    @Test
+    void shouldRefreshTotalsWhenItemsChange() {
+        Product phone = Product.create("Phone", "", Money.of("500.00"), ProductCategory.ELECTRONICS);
+        Product bread = Product.create("Bread", "", Money.of("2.50"), ProductCategory.GROCERY);
+        Bill bill = Bill.create("customer", List.of(BillItem.create(bread, 2)), LocalDateTime.now());
+        assertFalse(bill.hasNonGroceryItems());
+
+        BillItem phoneItem = BillItem.create(phone, 1);
+        bill.addItem(phoneItem, LocalDateTime.now());
+        assertTrue(bill.hasNonGroceryItems());
+        assertEquals(Money.of("505.00"), bill.getSubtotal());
+        assertEquals(Money.of("500.00"), bill.calculateEligibleAmountForPercentageDiscount());
+
+        bill.removeItem(phoneItem, LocalDateTime.now());
+        assertEquals(Money.of("5.00"), bill.getSubtotal());
+        assertEquals(Money.zero(), bill.getNonGroceryAmount());
+    }
+
+    @Test
+    void shouldMatchReaggregationWhenAdjustedOneLineAtATime() {
+        List<BillItem> items = randomItems(400, 11);
+        Bill bill = Bill.draft("customer", LocalDateTime.now());
+        assertEquals(BillTotals.sequential(List.of()), bill.getTotals());
+
+        for (BillItem item : items) {
+            bill.addItem(item, LocalDateTime.now());
+        }
+        assertEquals(BillTotals.sequential(items), bill.getTotals());
+
+        List<BillItem> remaining = new ArrayList<>(items);
+        for (int i = items.size() - 1; i >= 0; i -= 3) {
+            bill.removeItem(items.get(i), LocalDateTime.now());
+            remaining.remove(items.get(i));
+        }
+        assertEquals(BillTotals.sequential(remaining), bill.getTotals());
+        assertEquals(streamSum(remaining, false), bill.getSubtotal());
+
+        // Removing a line the bill does not have leaves the totals alone
+        bill.removeItem(BillItem.create(Product.create("x", "", Money.of("1.00"), ProductCategory.BOOKS), 1), LocalDateTime.now());
+        assertEquals(BillTotals.sequential(remaining), bill.getTotals());
+    }
+
+    @Test
+    void shouldRejectNonPositiveThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> BillTotals.of(List.of(), 0));
+    }
+}
@@ -0,0 +1,84 @@
+package sa.billing.discounts.domain.model.coupon;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Coupon Code Filter Tests")
+class CouponCodeFilterTest {
+
+    private static List<String> codes(String prefix, int count) {
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add(prefix + Integer.toString(i * 7919, 36).toUpperCase());
+        }
+        return codes;
+    }
+
+    @Test
+    @DisplayName("Should keep every added code and stay near the configured false-positive rate")
+    void shouldHaveNoFalseNegatives() {
+        List<String> valid = codes("SAVE-", 20_000);
+        CouponCodeFilter filter = CouponCodeFilter.of(valid, 20_000, 0.01);
+
+        assertTrue(valid.stream().allMatch(filter::mightContain));
+        long falsePositives = codes("GUESS-", 100_000).stream().filter(filter::mightContain).count();
+        // 1% expected; allow for the spread of a 100k sample
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+        assertFalse(filter.isOverCapacity());
+        assertEquals(7, filter.getHashCount());
+    }
+
+    @Test
+    @DisplayName("Should report when more codes were added than it was sized for")
+    void shouldTrackCapacity() {
+        CouponCodeFilter filter = CouponCodeFilter.create(10, 0.01);
+        codes("A", 10).forEach(filter::add);
+        assertFalse(filter.isOverCapacity());
+        filter.add("ONE-MORE");
+        assertTrue(filter.isOverCapacity());
+    }
+
+    @Test
+    @DisplayName("Should never lose a code added while other threads add and query")
+    void shouldAcceptConcurrentAdds() throws Exception {
+        CouponCodeFilter filter = CouponCodeFilter.create(40_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                List<String> batch = codes("T" + t + "-", 10_000);
+                writers.add(executor.submit(() -> {
+                    for (String code : batch) {
+                        filter.add(code);
+                        assertTrue(filter.mightContain(code));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int t = 0; t < 4; t++) {
+            assertTrue(codes("T" + t + "-", 10_000).stream().allMatch(filter::mightContain));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject nonsensical sizing")
+    void shouldRejectInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> CouponCodeFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> CouponCodeFilter.create(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> CouponCodeFilter.create(100, 1));
+    }
+}
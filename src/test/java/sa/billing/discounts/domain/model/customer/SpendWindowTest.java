@@ -0,0 +1,65 @@
+package sa.billing.discounts.domain.model.customer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpendWindowTest {
+
+    private static final int MARCH_2026 = SpendWindow.monthOf(LocalDateTime.of(2026, 3, 15, 10, 0));
+
+    @Test
+    @DisplayName("Should count the current month and the eleven before it")
+    void shouldSumTwelveMonths() {
+        SpendWindow window = SpendWindow.empty();
+        window.add(MARCH_2026 - 11, 100);
+        window.add(MARCH_2026 - 12, 1_000);
+        window.add(MARCH_2026, 10);
+
+        assertEquals(110, window.totalAt(MARCH_2026));
+        assertEquals(10, window.totalAt(MARCH_2026 + 1));
+        assertEquals(0, window.totalAt(MARCH_2026 + 12));
+    }
+
+    @Test
+    @DisplayName("Should clear every bucket after a long gap and ignore amounts already out of the window")
+    void shouldHandleLongGaps() {
+        SpendWindow window = SpendWindow.empty();
+        for (int month = MARCH_2026 - 11; month <= MARCH_2026; month++) {
+            window.add(month, 50);
+        }
+        assertEquals(600, window.totalAt(MARCH_2026));
+
+        assertEquals(0, window.totalAt(MARCH_2026 + 1_000));
+        window.add(MARCH_2026, 50);
+        assertEquals(0, window.totalAt(MARCH_2026 + 1_000));
+    }
+
+    @Test
+    @DisplayName("Should take a removed bill back out of its month")
+    void shouldSubtract() {
+        SpendWindow window = SpendWindow.empty();
+        window.add(MARCH_2026 - 1, 2_500);
+        window.add(MARCH_2026, 700);
+        window.add(MARCH_2026 - 1, -2_500);
+
+        assertEquals(700, window.totalAt(MARCH_2026));
+    }
+
+    @Test
+    @DisplayName("Should restore the same total from a checkpoint")
+    void shouldRestore() {
+        SpendWindow window = SpendWindow.empty();
+        window.add(MARCH_2026 - 3, 300);
+        window.add(MARCH_2026, 40);
+
+        SpendWindow restored = SpendWindow.restore(window.getNewestMonth(), window.getBuckets());
+
+        assertEquals(340, restored.totalAt(MARCH_2026));
+        assertEquals(40, restored.totalAt(MARCH_2026 + 9));
+        assertThrows(IllegalArgumentException.class, () -> SpendWindow.restore(MARCH_2026, new long[3]));
+    }
+}
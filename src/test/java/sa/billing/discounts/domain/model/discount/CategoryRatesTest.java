@@ -0,0 +1,88 @@
+package sa.billing.discounts.domain.model.discount;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.bill.BillTotals;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.domain.model.valueobject.Percentage;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Category Rates Tests")
+class CategoryRatesTest {
+
+    private static BillItem item(ProductCategory category, String price, int quantity) {
+        return BillItem.create(Product.create(category.name(), "desc", Money.of(price), category), quantity);
+    }
+
+    private static final List<BillItem> CART = List.of(
+            item(ProductCategory.ELECTRONICS, "333.33", 1),
+            item(ProductCategory.CLOTHING, "19.99", 3),
+            item(ProductCategory.BOOKS, "12.50", 2),
+            item(ProductCategory.GROCERY, "4.20", 5));
+
+    @Test
+    @DisplayName("Should give the built-in result when every category but groceries has the base rate")
+    void shouldMatchStandardRule() {
+        CategoryRates standard = CategoryRates.standard(new BigDecimal("10"));
+        Map<ProductCategory, BigDecimal> explicit = new EnumMap<>(ProductCategory.class);
+        for (ProductCategory category : ProductCategory.values()) {
+            if (category != ProductCategory.GROCERY) {
+                explicit.put(category, new BigDecimal("10.00"));
+            }
+        }
+
+        assertTrue(standard.isStandard());
+        assertFalse(standard.isEligible(ProductCategory.GROCERY));
+        assertEquals(standard, CategoryRates.of(explicit));
+        assertTrue(CategoryRates.of(explicit).isStandard());
+
+        BillTotals totals = BillTotals.of(CART);
+        Money expected = Percentage.of(10).applyTo(totals.getEligibleAmount());
+        assertEquals(expected, standard.applyTo(totals));
+    }
+
+    @Test
+    @DisplayName("Should apply each category's own rate and leave ineligible ones out")
+    void shouldApplyPerCategoryRates() {
+        Map<ProductCategory, BigDecimal> rates = new EnumMap<>(ProductCategory.class);
+        rates.put(ProductCategory.ELECTRONICS, BigDecimal.ZERO);
+        rates.put(ProductCategory.CLOTHING, new BigDecimal("10"));
+        rates.put(ProductCategory.GROCERY, new BigDecimal("10"));
+        CategoryRates categoryRates = CategoryRates.of(rates);
+
+        assertFalse(categoryRates.isStandard());
+        assertFalse(categoryRates.isEligible(ProductCategory.BOOKS));
+        assertTrue(categoryRates.rateFor(ProductCategory.BOOKS).isZero());
+        // Clothing and groceries share 10%, so it is applied once to 59.97 + 21.00
+        assertEquals(Money.of("8.10"), categoryRates.applyTo(BillTotals.of(CART)));
+
+        Customer affiliate = Customer.createAffiliate("A", "a@partner.com", LocalDateTime.now());
+        AffiliateDiscount discount = new AffiliateDiscount(new BigDecimal("10"), categoryRates);
+        Bill groceriesOnly = Bill.create("customer", List.of(item(ProductCategory.GROCERY, "4.20", 5)), LocalDateTime.now());
+        assertTrue(discount.isApplicable(groceriesOnly, affiliate));
+        assertEquals(Money.of("2.10"), discount.calculateDiscount(groceriesOnly, affiliate));
+        assertEquals(Money.of("8.10"), discount.calculateDiscount(BillTotals.of(CART), affiliate, LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should reject rates outside 0 to 100")
+    void shouldRejectInvalidRates() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CategoryRates.of(Map.of(ProductCategory.BOOKS, new BigDecimal("101"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> CategoryRates.of(Map.of(ProductCategory.BOOKS, new BigDecimal("-1"))));
+    }
+}
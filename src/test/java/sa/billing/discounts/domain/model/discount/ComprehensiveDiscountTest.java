@@ -5,12 +5,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillBasedDiscount;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.bill.BillTotals;
 import sa.billing.discounts.domain.model.customer.Customer;
 import sa.billing.discounts.domain.model.customer.CustomerType;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
 import sa.billing.discounts.domain.model.valueobject.Money;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -18,6 +24,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class ComprehensiveDiscountTest {
 
+    // Loyalty is decided as of the bill's last change
+    private static final LocalDateTime BILLED_AT = LocalDateTime.of(2026, 3, 1, 12, 0);
+
     @Mock
     private Bill bill;
 
@@ -175,7 +184,8 @@ class ComprehensiveDiscountTest {
         Money eligibleAmount = Money.of(new BigDecimal("100"));
         Money expectedDiscount = Money.of(new BigDecimal("5.00"));
         
-        when(customer.isLoyalCustomer(any(LocalDateTime.class))).thenReturn(true);
+        when(bill.getUpdatedAt()).thenReturn(BILLED_AT);
+        when(customer.isLoyalCustomer(BILLED_AT)).thenReturn(true);
         when(bill.isEmpty()).thenReturn(false);
         when(bill.calculateEligibleAmountForPercentageDiscount()).thenReturn(eligibleAmount);
         
@@ -188,7 +198,8 @@ class ComprehensiveDiscountTest {
     void shouldReturnZeroDiscountForNonLoyalCustomer() {
         LoyaltyDiscount discount = new LoyaltyDiscount(new BigDecimal("5"));
         
-        when(customer.isLoyalCustomer(any(LocalDateTime.class))).thenReturn(false);
+        when(bill.getUpdatedAt()).thenReturn(BILLED_AT);
+        when(customer.isLoyalCustomer(BILLED_AT)).thenReturn(false);
         
         Money result = discount.calculateDiscount(bill, customer);
         
@@ -199,7 +210,8 @@ class ComprehensiveDiscountTest {
     void shouldReturnZeroDiscountForLoyalCustomerWithEmptyBill() {
         LoyaltyDiscount discount = new LoyaltyDiscount(new BigDecimal("5"));
         
-        when(customer.isLoyalCustomer(any(LocalDateTime.class))).thenReturn(true);
+        when(bill.getUpdatedAt()).thenReturn(BILLED_AT);
+        when(customer.isLoyalCustomer(BILLED_AT)).thenReturn(true);
         when(bill.isEmpty()).thenReturn(true);
         
         Money result = discount.calculateDiscount(bill, customer);
@@ -211,7 +223,8 @@ class ComprehensiveDiscountTest {
     void shouldCheckLoyaltyDiscountApplicability() {
         LoyaltyDiscount discount = new LoyaltyDiscount(new BigDecimal("5"));
         
-        when(customer.isLoyalCustomer(any(LocalDateTime.class))).thenReturn(true);
+        when(bill.getUpdatedAt()).thenReturn(BILLED_AT);
+        when(customer.isLoyalCustomer(BILLED_AT)).thenReturn(true);
         when(bill.isEmpty()).thenReturn(false);
         
         assertTrue(discount.isApplicable(bill, customer));
@@ -221,7 +234,8 @@ class ComprehensiveDiscountTest {
     void shouldCheckLoyaltyDiscountNotApplicableForNonLoyalCustomer() {
         LoyaltyDiscount discount = new LoyaltyDiscount(new BigDecimal("5"));
         
-        when(customer.isLoyalCustomer(any(LocalDateTime.class))).thenReturn(false);
+        when(bill.getUpdatedAt()).thenReturn(BILLED_AT);
+        when(customer.isLoyalCustomer(BILLED_AT)).thenReturn(false);
         
         assertFalse(discount.isApplicable(bill, customer));
     }
@@ -230,12 +244,42 @@ class ComprehensiveDiscountTest {
     void shouldCheckLoyaltyDiscountNotApplicableForEmptyBill() {
         LoyaltyDiscount discount = new LoyaltyDiscount(new BigDecimal("5"));
         
-        when(customer.isLoyalCustomer(any(LocalDateTime.class))).thenReturn(true);
+        when(bill.getUpdatedAt()).thenReturn(BILLED_AT);
+        when(customer.isLoyalCustomer(BILLED_AT)).thenReturn(true);
         when(bill.isEmpty()).thenReturn(true);
         
         assertFalse(discount.isApplicable(bill, customer));
     }
 
+    @Test
+    void shouldCheckLoyaltyAtTheGivenTime() {
+        LoyaltyDiscount discount = new LoyaltyDiscount(new BigDecimal("5"));
+        Customer registered = Customer.createRegular("R", "r@store.com", BILLED_AT.minusYears(2));
+        
+        when(bill.isEmpty()).thenReturn(false);
+        
+        assertFalse(discount.isApplicable(bill, registered, BILLED_AT));
+        assertTrue(discount.isApplicable(bill, registered, BILLED_AT.plusSeconds(1)));
+    }
+
+    @Test
+    void shouldCalculateEveryDiscountFromTotals() {
+        BillTotals totals = BillTotals.of(List.of(BillItem.create(
+            Product.create("Laptop", "desc", Money.of("200.00"), ProductCategory.ELECTRONICS), 1)));
+        Customer loyal = Customer.createRegular("R", "r@store.com", BILLED_AT.minusYears(3));
+        Customer employee = Customer.createEmployee("E", "e@store.com", BILLED_AT);
+        Customer affiliate = Customer.createAffiliate("A", "a@partner.com", BILLED_AT);
+        
+        Discount loyalty = new LoyaltyDiscount(new BigDecimal("5"));
+        assertEquals(Money.of("10.00"), loyalty.calculateDiscount(totals, loyal, BILLED_AT));
+        assertEquals(Money.zero(), loyalty.calculateDiscount(totals, loyal, BILLED_AT.minusYears(2)));
+        assertEquals(Money.of("60.00"), new EmployeeDiscount(new BigDecimal("30")).calculateDiscount(totals, employee, BILLED_AT));
+        assertEquals(Money.zero(), new EmployeeDiscount(new BigDecimal("30")).calculateDiscount(totals, affiliate, BILLED_AT));
+        assertEquals(Money.of("20.00"), new AffiliateDiscount(new BigDecimal("10")).calculateDiscount(totals, affiliate, BILLED_AT));
+        assertEquals(Money.of("10.00"), new BillBasedDiscount(new BigDecimal("100"), new BigDecimal("5"))
+            .calculateDiscount(totals, loyal, BILLED_AT));
+    }
+
     @Test
     void shouldTestDiscountTypeEnumValues() {
         assertEquals(1, DiscountType.EMPLOYEE.getPriority());
@@ -308,6 +352,11 @@ class ComprehensiveDiscountTest {
             return Money.zero();
         }
 
+        @Override
+        public Money calculateDiscount(BillTotals totals, Customer customer, LocalDateTime at) {
+            return Money.zero();
+        }
+
         @Override
         public boolean isApplicable(Bill bill, Customer customer) {
             return false;
@@ -0,0 +1,166 @@
+package sa.billing.discounts.domain.model.promotion;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.discount.PromotionDiscount;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Promotion Index Tests")
+class PromotionIndexTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static <T> T withId(T entity, String id) {
+        try {
+            Field idField = entity.getClass().getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not set ID for test", e);
+        }
+    }
+
+    private static Promotion category(String id, ProductCategory category, String percentage, Instant from, Instant until) {
+        return withId(Promotion.forCategory(id, category, PromotionKind.PERCENTAGE, new BigDecimal(percentage), from, until), id);
+    }
+
+    private static Promotion product(String id, String productId, PromotionKind kind, String value, Instant from, Instant until) {
+        return withId(Promotion.forProduct(id, productId, kind, new BigDecimal(value), from, until), id);
+    }
+
+    private static Product laptop() {
+        return withId(Product.create("Laptop", "desc", Money.of("200.00"), ProductCategory.ELECTRONICS), "laptop");
+    }
+
+    private static List<String> ids(List<Promotion> promotions) {
+        return promotions.stream().map(Promotion::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Should find exactly the promotions a full scan finds")
+    void shouldMatchLinearScan() {
+        Random random = new Random(43);
+        ProductCategory[] categories = ProductCategory.values();
+        List<Promotion> promotions = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            Instant from = T0.plusSeconds(random.nextInt(1_000_000));
+            Instant until = from.plusSeconds(1 + random.nextInt(random.nextBoolean() ? 500 : 200_000));
+            String id = String.format("p%05d", i);
+            promotions.add(i % 3 == 0
+                    ? product(id, "product-" + random.nextInt(50), PromotionKind.FIXED_AMOUNT, "1.00", from, until)
+                    : category(id, categories[random.nextInt(categories.length)], "10", from, until));
+        }
+        PromotionIndex index = PromotionIndex.of(promotions);
+        assertEquals(promotions.size(), index.size());
+
+        for (int query = 0; query < 500; query++) {
+            Instant at = T0.plusSeconds(random.nextInt(1_300_000) - 100_000);
+            if (query % 10 == 0) {
+                // Window boundaries are where an off-by-one would show
+                Promotion edge = promotions.get(random.nextInt(promotions.size()));
+                at = random.nextBoolean() ? edge.getStartsAt() : edge.getEndsAt();
+            }
+            Instant instant = at;
+            List<Promotion> expected = promotions.stream()
+                    .filter(promotion -> promotion.isActiveAt(instant))
+                    .sorted(Comparator.comparing(Promotion::getId))
+                    .toList();
+            assertEquals(ids(expected), ids(index.activeAt(instant)), "at " + instant);
+
+            ProductCategory category = categories[query % categories.length];
+            assertEquals(ids(expected.stream().filter(p -> p.getCategory() == category).toList()),
+                    ids(index.activeForCategory(category, instant)));
+            String productId = "product-" + query % 50;
+            assertEquals(ids(expected.stream().filter(p -> productId.equals(p.getProductId())).toList()),
+                    ids(index.activeForProduct(productId, instant)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should treat the start as inclusive and the end as exclusive")
+    void shouldUseHalfOpenWindows() {
+        Instant end = T0.plus(Duration.ofDays(7));
+        PromotionIndex index = PromotionIndex.of(List.of(category("week", ProductCategory.ELECTRONICS, "10", T0, end)));
+
+        assertTrue(index.activeFor(laptop(), T0.minusMillis(1)).isEmpty());
+        assertEquals(List.of("week"), ids(index.activeFor(laptop(), T0)));
+        assertEquals(List.of("week"), ids(index.activeFor(laptop(), end.minusMillis(1))));
+        assertTrue(index.activeFor(laptop(), end).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should pick the promotion taking the most off, product and category alike")
+    void shouldPickBestPromotion() {
+        Instant until = T0.plus(Duration.ofDays(1));
+        PromotionIndex index = PromotionIndex.of(List.of(
+                category("electronics-10", ProductCategory.ELECTRONICS, "10", T0, until),
+                product("laptop-25-off", "laptop", PromotionKind.FIXED_AMOUNT, "25.00", T0, until),
+                product("laptop-later", "laptop", PromotionKind.PERCENTAGE, "50", until, until.plusSeconds(60)),
+                category("books-90", ProductCategory.BOOKS, "90", T0, until)));
+
+        Money price = Money.of("200.00");
+        assertEquals("laptop-25-off", index.bestFor(laptop(), price, T0).orElseThrow().getId());
+        // 10% of 300 beats a flat 25
+        assertEquals("electronics-10", index.bestFor(laptop(), Money.of("300.00"), T0).orElseThrow().getId());
+        assertEquals("laptop-later", index.bestFor(laptop(), price, until).orElseThrow().getId());
+        assertTrue(index.bestFor(laptop(), price, until.plusSeconds(60)).isEmpty());
+        assertTrue(PromotionIndex.empty().bestFor(laptop(), price, T0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reprice lines and never take more than the unit price")
+    void shouldRepriceLines() {
+        Product apple = withId(Product.create("Apple", "desc", Money.of("3.00"), ProductCategory.GROCERY), "apple");
+        Instant until = T0.plus(Duration.ofDays(1));
+        PromotionIndex index = PromotionIndex.of(List.of(
+                category("electronics-10", ProductCategory.ELECTRONICS, "10", T0, until),
+                product("free-apples", "apple", PromotionKind.FIXED_AMOUNT, "5.00", T0, until)));
+
+        PromotionDiscount discount = new PromotionDiscount(index, T0);
+        BillItem laptops = discount.apply(BillItem.create(laptop(), 2));
+        BillItem apples = discount.apply(BillItem.create(apple, 4));
+
+        assertEquals(Money.of("180.00"), laptops.getUnitPrice());
+        assertEquals(Money.of("360.00"), laptops.getTotalPrice());
+        assertEquals(Money.zero(), apples.getUnitPrice());
+        assertEquals(Money.of("52.00"), discount.getAppliedAmount());
+
+        Bill listPrices = Bill.create("customer", List.of(BillItem.create(laptop(), 2), BillItem.create(apple, 4)), LocalDateTime.now());
+        Customer customer = Customer.createRegular("R", "r@store.com", LocalDateTime.now());
+        assertEquals(Money.of("52.00"), new PromotionDiscount(index, T0).calculateDiscount(listPrices, customer));
+        assertEquals(Money.zero(), new PromotionDiscount(index, until).calculateDiscount(listPrices, customer));
+
+        BillItem untouched = BillItem.create(laptop(), 1);
+        assertSame(untouched, new PromotionDiscount(index, until).apply(untouched));
+    }
+
+    @Test
+    @DisplayName("Should reject empty windows and out-of-range values")
+    void shouldRejectInvalidPromotions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> category("empty", ProductCategory.BOOKS, "10", T0, T0));
+        assertThrows(IllegalArgumentException.class,
+                () -> category("too-much", ProductCategory.BOOKS, "101", T0, T0.plusSeconds(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> product("free", "laptop", PromotionKind.FIXED_AMOUNT, "0", T0, T0.plusSeconds(1)));
+    }
+}
@@ -0,0 +1,158 @@
+package sa.billing.discounts.infrastructure.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import sa.billing.discounts.application.config.DiscountConfig;
+import sa.billing.discounts.application.config.DiscountParameters;
+import sa.billing.discounts.application.config.DiscountRuleSet;
+import sa.billing.discounts.application.config.DiscountRules;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Discount Rules Reload Tests")
+class DiscountRulesFileWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private DiscountRules discountRules;
+
+    @BeforeEach
+    void setUp() {
+        discountRules = new DiscountRules(new DiscountConfig());
+    }
+
+    // Bumps the modification time so a rewrite within the same clock tick is still noticed
+    private static void write(Path file, String content, int generation) throws IOException {
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(generation)));
+    }
+
+    @Test
+    @DisplayName("Should start at version 1 with the application properties")
+    void shouldStartFromConfiguration() {
+        DiscountRuleSet rules = discountRules.current();
+
+        assertEquals(1, rules.getVersion());
+        assertEquals(0, new BigDecimal("30").compareTo(rules.getParameters().employeePercentage()));
+        assertEquals(0, new BigDecimal("100").compareTo(rules.getParameters().billThreshold()));
+    }
+
+    @Test
+    @DisplayName("Should publish a new version and fall back to startup values for unset keys")
+    void shouldReloadWithDefaults() {
+        DiscountRuleSet reloaded = discountRules.reload(
+            new DiscountParameters(null, new BigDecimal("15"), null, null, null), "test");
+
+        assertEquals(2, reloaded.getVersion());
+        assertSame(reloaded, discountRules.current());
+        assertEquals(0, new BigDecimal("15").compareTo(reloaded.getParameters().affiliatePercentage()));
+        assertEquals(0, new BigDecimal("30").compareTo(reloaded.getParameters().employeePercentage()));
+
+        DiscountRuleSet unchanged = discountRules.reload(
+            new DiscountParameters(null, new BigDecimal("15.00"), null, null, null), "test");
+        assertSame(reloaded, unchanged);
+    }
+
+    @Test
+    @DisplayName("Should reject out-of-range values and keep the active rules")
+    void shouldRejectInvalidValues() {
+        DiscountRuleSet active = discountRules.current();
+
+        assertThrows(IllegalArgumentException.class, () -> discountRules.reload(
+            new DiscountParameters(new BigDecimal("130"), null, null, null, null), "test"));
+        assertThrows(IllegalArgumentException.class, () -> discountRules.reload(
+            new DiscountParameters(null, new BigDecimal("-1"), null, null, null), "test"));
+        assertThrows(IllegalArgumentException.class, () -> discountRules.reload(
+            new DiscountParameters(null, null, null, BigDecimal.ZERO, null), "test"));
+        assertThrows(IllegalArgumentException.class, () -> discountRules.reload(
+            new DiscountParameters(null, null, null, null, new BigDecimal("-5")), "test"));
+
+        assertSame(active, discountRules.current());
+    }
+
+    @Test
+    @DisplayName("Should reload from YAML and properties files when they change")
+    void shouldReloadFromFile() throws IOException {
+        Path yaml = directory.resolve("discounts.yml");
+        write(yaml, "discount:\n  employee-percentage: 25\n  bill-threshold: 200\n", 1);
+        DiscountRulesFileWatcher watcher = new DiscountRulesFileWatcher(discountRules, yaml, Duration.ofHours(1));
+
+        watcher.poll();
+        assertEquals(2, discountRules.current().getVersion());
+        assertEquals(0, new BigDecimal("25").compareTo(discountRules.current().getParameters().employeePercentage()));
+        assertEquals(0, new BigDecimal("200").compareTo(discountRules.current().getParameters().billThreshold()));
+
+        watcher.poll();
+        assertEquals(2, discountRules.current().getVersion());
+
+        write(yaml, "discount:\n  employeePercentage: 20\n", 2);
+        watcher.poll();
+        assertEquals(3, discountRules.current().getVersion());
+        assertEquals(0, new BigDecimal("100").compareTo(discountRules.current().getParameters().billThreshold()));
+
+        Path properties = directory.resolve("discounts.properties");
+        write(properties, "discount.loyalty-percentage=7.5\n", 3);
+        new DiscountRulesFileWatcher(discountRules, properties, Duration.ofHours(1)).poll();
+        assertEquals(0, new BigDecimal("7.5").compareTo(discountRules.current().getParameters().loyaltyPercentage()));
+    }
+
+    @Test
+    @DisplayName("Should read per-category rules and merge them with the configured ones")
+    void shouldReloadCategoryRules() throws IOException {
+        Path yaml = directory.resolve("discounts.yml");
+        write(yaml, "discount:\n  categories:\n    ELECTRONICS:\n      affiliate-percentage: 0\n"
+            + "    grocery:\n      eligible: true\n", 1);
+        DiscountRulesFileWatcher watcher = new DiscountRulesFileWatcher(discountRules, yaml, Duration.ofHours(1));
+
+        watcher.poll();
+        DiscountRuleSet rules = discountRules.current();
+        assertEquals(2, rules.getVersion());
+        assertEquals(0, rules.getParameters().category(ProductCategory.ELECTRONICS).affiliatePercentage().signum());
+        assertTrue(rules.isEligible(ProductCategory.GROCERY));
+        assertEquals(0, new BigDecimal("10").compareTo(
+            rules.getAffiliateDiscount().getCategoryRates().rateFor(ProductCategory.GROCERY).getValue()));
+        assertTrue(rules.getAffiliateDiscount().getCategoryRates().rateFor(ProductCategory.ELECTRONICS).isZero());
+        assertEquals(0, new BigDecimal("30").compareTo(
+            rules.getEmployeeDiscount().getCategoryRates().rateFor(ProductCategory.ELECTRONICS).getValue()));
+
+        write(yaml, "discount:\n  categories:\n    ELECTRONICS:\n      affiliate-percentage: 0.00\n"
+            + "    GROCERY:\n      eligible: true\n", 2);
+        watcher.poll();
+        assertSame(rules, discountRules.current());
+
+        write(yaml, "discount:\n  categories:\n    BOOKS:\n      loyalty-percentage: 120\n", 3);
+        assertThrows(IllegalArgumentException.class, watcher::poll);
+        assertSame(rules, discountRules.current());
+    }
+
+    @Test
+    @DisplayName("Should fail at startup and keep running rules afterwards on an invalid file")
+    void shouldHandleInvalidFile() throws IOException {
+        Path yaml = directory.resolve("discounts.yml");
+        write(yaml, "discount:\n  employee-percentage: 150\n", 1);
+        DiscountRulesFileWatcher watcher = new DiscountRulesFileWatcher(discountRules, yaml, Duration.ofMillis(10));
+        assertThrows(IllegalArgumentException.class, watcher::start);
+
+        write(yaml, "discount:\n  employee-percentage: 40\n", 2);
+        watcher.poll();
+        DiscountRuleSet valid = discountRules.current();
+        assertEquals(2, valid.getVersion());
+
+        write(yaml, "discount:\n  bill-threshold: lots\n", 3);
+        assertThrows(RuntimeException.class, watcher::poll);
+        assertSame(valid, discountRules.current());
+    }
+}
@@ -1,8 +1,8 @@
 package sa.billing.discounts.infrastructure.data;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import sa.billing.discounts.domain.model.customer.Customer;
@@ -10,6 +10,9 @@ import sa.billing.discounts.domain.model.product.Product;
 import sa.billing.discounts.infrastructure.persistence.mongodb.CustomerRepositoryImpl;
 import sa.billing.discounts.infrastructure.persistence.mongodb.ProductRepositoryImpl;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,9 +29,15 @@ class DataInitializerTest {
     @Mock
     private ProductRepositoryImpl productRepository;
 
-    @InjectMocks
+    private final Clock clock = Clock.fixed(Instant.parse("2026-03-15T10:00:00Z"), ZoneOffset.UTC);
+
     private DataInitializer dataInitializer;
 
+    @BeforeEach
+    void setUp() {
+        dataInitializer = new DataInitializer(customerRepository, productRepository, clock);
+    }
+
     @Test
     void shouldInitializeSampleDataWhenRepositoriesAreEmpty() {
         when(customerRepository.findById(anyString())).thenReturn(Optional.empty());
@@ -159,7 +168,7 @@ class DataInitializerTest {
 
     @Test
     void shouldTestConstructor() {
-        DataInitializer initializer = new DataInitializer(customerRepository, productRepository);
+        DataInitializer initializer = new DataInitializer(customerRepository, productRepository, clock);
         
         assertNotNull(initializer);
     }
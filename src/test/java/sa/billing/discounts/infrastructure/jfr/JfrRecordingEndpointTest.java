@@ -0,0 +1,118 @@
+package sa.billing.discounts.infrastructure.jfr;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.application.service.CalculationTrace;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
+
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JFR Recording Endpoint Tests")
+class JfrRecordingEndpointTest {
+
+    private static <T> T withId(T entity, String id) {
+        try {
+            Field idField = entity.getClass().getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not set ID for test", e);
+        }
+    }
+
+    @Test
+    @DisplayName("Should capture calculation stage and repository events in the recording")
+    void shouldRecordBillingEvents() throws Exception {
+        Customer employee = withId(Customer.createEmployee("E", "e@store.com", LocalDateTime.now().minusYears(1)), "employee");
+        Product laptop = withId(Product.create("Laptop", "desc", Money.of("999.99"), ProductCategory.ELECTRONICS), "laptop");
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(customerRepository.findById("employee")).thenReturn(Optional.of(employee));
+        when(productRepository.findById("laptop")).thenReturn(Optional.of(laptop));
+        BillCalculationService service = BillCalculationService.builder(customerRepository, productRepository).build();
+
+        JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(60);
+        CompletableFuture<Path> recording = CompletableFuture.supplyAsync(() -> {
+            try {
+                return endpoint.record(Duration.ofSeconds(3));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .noneMatch(jfr -> jfr.getState() == RecordingState.RUNNING)) {
+            assertTrue(System.nanoTime() < deadline, "recording did not start");
+            Thread.sleep(20);
+        }
+        CalculationTrace.start();
+        try {
+            service.calculateBillDiscount(new BillCalculationRequest("employee", List.of(new BillItemRequest("laptop", 2))));
+        } finally {
+            CalculationTrace.end();
+        }
+        RepositoryCallEvent.begin("products", "findAllById", 3).complete(2);
+
+        Path file = recording.get();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<RecordedEvent> stages = events.stream()
+                .filter(event -> event.getEventType().getName().equals("sa.billing.CalculationStage"))
+                .toList();
+            assertEquals(List.of("customer", "products", "discounts", "mapping"),
+                stages.stream().map(event -> event.getString("stage")).toList());
+            RecordedEvent mapping = stages.get(3);
+            assertEquals("EMPLOYEE", mapping.getString("customerType"));
+            assertEquals("EMPLOYEE", mapping.getString("discountType"));
+            assertEquals(1, mapping.getInt("itemCount"));
+            assertEquals("employee".hashCode(), mapping.getInt("customerIdHash"));
+
+            RecordedEvent repositoryCall = events.stream()
+                .filter(event -> event.getEventType().getName().equals("sa.billing.RepositoryCall"))
+                .findFirst()
+                .orElseThrow();
+            assertEquals("findAllById", repositoryCall.getString("operation"));
+            assertEquals(3, repositoryCall.getInt("requestedIds"));
+            assertEquals(2, repositoryCall.getInt("resultCount"));
+            assertTrue(events.stream().noneMatch(
+                event -> JfrRecordingEndpoint.EXCLUDED_EVENTS.contains(event.getEventType().getName())));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject durations outside the allowed window")
+    void shouldRejectInvalidDuration() throws Exception {
+        JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(60);
+
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, endpoint.record(0).getStatus());
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, endpoint.record(61).getStatus());
+    }
+}
@@ -0,0 +1,99 @@
+package sa.billing.discounts.infrastructure.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.application.service.CalculationTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Calculation Flight Recorder Tests")
+class CalculationFlightRecorderTest {
+
+    // Sample whose duration is at least the requested number of microseconds
+    private static CalculationSample sample(String path, long minMicros) {
+        CalculationTrace trace = CalculationTrace.start();
+        long deadline = System.nanoTime() + minMicros * 1_000;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000);
+        }
+        CalculationTrace.end();
+        return CalculationSample.of("POST", path, 200, trace);
+    }
+
+    @Test
+    @DisplayName("Should keep the newest samples, newest first")
+    void shouldKeepMostRecent() {
+        CalculationFlightRecorder recorder = new CalculationFlightRecorder(3);
+        for (int i = 0; i < 7; i++) {
+            recorder.record(sample("/r" + i, 0));
+        }
+
+        List<String> paths = recorder.getRecent().stream().map(CalculationSample::getPath).toList();
+        assertEquals(List.of("/r6", "/r5", "/r4"), paths);
+    }
+
+    @Test
+    @DisplayName("Should keep the slowest samples, slowest first")
+    void shouldKeepSlowest() {
+        CalculationFlightRecorder recorder = new CalculationFlightRecorder(2);
+        recorder.record(sample("/fast", 0));
+        recorder.record(sample("/slow", 3_000));
+        recorder.record(sample("/medium", 1_000));
+        recorder.record(sample("/fast-again", 0));
+
+        List<String> paths = recorder.getSlowest().stream().map(CalculationSample::getPath).toList();
+        assertEquals(List.of("/slow", "/medium"), paths);
+    }
+
+    @Test
+    @DisplayName("Should retain the true slowest samples under concurrent writers")
+    void shouldKeepSlowestUnderContention() throws Exception {
+        CalculationFlightRecorder recorder = new CalculationFlightRecorder(4);
+        List<CalculationSample> samples = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            samples.add(sample("/s" + i, i % 10 == 9 ? 2_000 + i * 10L : 0));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = offset; i < samples.size(); i += 4) {
+                    recorder.record(samples.get(i));
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        List<CalculationSample> expected = samples.stream()
+            .sorted((a, b) -> Long.compare(b.getDurationNanos(), a.getDurationNanos()))
+            .limit(4)
+            .toList();
+        assertEquals(expected, recorder.getSlowest());
+        assertEquals(4, recorder.getRecent().size());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive capacity")
+    void shouldRejectInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new CalculationFlightRecorder(0));
+    }
+}
@@ -0,0 +1,147 @@
+package sa.billing.discounts.infrastructure.metrics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.exception.GlobalExceptionHandler;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
+import sa.billing.discounts.infrastructure.serialization.BillCalculationCodec;
+import sa.billing.discounts.infrastructure.serialization.BillCalculationHttpMessageConverter;
+import sa.billing.discounts.presentation.controller.v1.BillController;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Calculation Timing Filter Tests")
+class CalculationTimingFilterTest {
+
+    private static final String BODY =
+        "{\"customerId\":\"employee\",\"items\":[{\"productId\":\"laptop\",\"quantity\":2}]}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private CalculationFlightRecorder flightRecorder;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper jsonMapper = builder.build();
+        BillCalculationCodec codec = new BillCalculationCodec(jsonMapper, builder.factory(new CBORFactory()).build());
+
+        Customer employee = withId(Customer.createEmployee("E", "e@store.com", LocalDateTime.now().minusYears(1)), "employee");
+        Product laptop = withId(Product.create("Laptop", "desc", Money.of("999.99"), ProductCategory.ELECTRONICS), "laptop");
+
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(customerRepository.findById("employee")).thenReturn(Optional.of(employee));
+        when(productRepository.findById("laptop")).thenReturn(Optional.of(laptop));
+
+        meterRegistry = new SimpleMeterRegistry();
+        flightRecorder = new CalculationFlightRecorder(5);
+        BillCalculationService service = BillCalculationService.builder(customerRepository, productRepository).build();
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new BillController(service))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new BillCalculationHttpMessageConverter(codec),
+                new MappingJackson2HttpMessageConverter(jsonMapper))
+            .addFilters(new CalculationTimingFilter(meterRegistry, flightRecorder))
+            .build();
+    }
+
+    private static <T> T withId(T entity, String id) {
+        try {
+            Field idField = entity.getClass().getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not set ID for test", e);
+        }
+    }
+
+    @Test
+    @DisplayName("Should record every stage tagged by customer type and item bucket")
+    void shouldRecordStageTimers() throws Exception {
+        mockMvc.perform(post("/api/v1/bills/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Server-Timing"));
+
+        for (String stage : new String[]{"customer", "products", "discounts", "mapping", "serialize"}) {
+            Timer timer = meterRegistry.find(CalculationTimingFilter.METRIC_NAME)
+                .tags("stage", stage, "customerType", "EMPLOYEE", "items", "1-10")
+                .timer();
+            assertNotNull(timer, stage);
+            assertEquals(1, timer.count(), stage);
+        }
+
+        CalculationSample sample = flightRecorder.getRecent().get(0);
+        assertEquals(200, sample.getStatus());
+        assertEquals("/api/v1/bills/calculate", sample.getPath());
+        assertEquals("EMPLOYEE", sample.getCustomerType());
+        assertEquals(1, sample.getItemCount());
+        assertEquals(5, sample.getStagesMillis().size());
+        assertTrue(sample.getDurationMillis() >= 0);
+        assertEquals(sample, flightRecorder.getSlowest().get(0));
+    }
+
+    @Test
+    @DisplayName("Should return Server-Timing only when the debug flag is sent")
+    void shouldEmitServerTimingOnDebug() throws Exception {
+        mockMvc.perform(post("/api/v1/bills/calculate")
+                .header(CalculationTimingFilter.DEBUG_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Server-Timing", allOf(
+                containsString("customer;dur="),
+                containsString("products;dur="),
+                containsString("discounts;dur="),
+                containsString("mapping;dur="),
+                containsString("serialize;dur="))))
+            .andExpect(jsonPath("$.data.customerId").value("employee"));
+    }
+
+    @Test
+    @DisplayName("Should time the stages reached before a failure")
+    void shouldRecordPartialTraceOnError() throws Exception {
+        mockMvc.perform(post("/api/v1/bills/calculate")
+                .header(CalculationTimingFilter.DEBUG_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":\"nobody\",\"items\":[{\"productId\":\"laptop\",\"quantity\":1}]}"))
+            .andExpect(status().isInternalServerError())
+            .andExpect(header().exists("Server-Timing"));
+
+        assertNull(meterRegistry.find(CalculationTimingFilter.METRIC_NAME).tag("stage", "products").timer());
+        assertEquals(500, flightRecorder.getRecent().get(0).getStatus());
+    }
+}
@@ -0,0 +1,152 @@
+package sa.billing.discounts.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisherAware;
+
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.bill.BillStatus;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.persistence.repository.BillRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.FinalizedBillsChangedEvent;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every BillRepository implementation must share; subclasses supply an empty repository
+public abstract class BillRepositoryContract {
+
+    // Whole seconds so stores with millisecond timestamps compare the same way
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    protected BillRepository repository;
+
+    protected abstract BillRepository createRepository();
+
+    @BeforeEach
+    void setUpRepository() {
+        repository = createRepository();
+    }
+
+    private static Set<String> ids(List<Bill> bills) {
+        return bills.stream().map(Bill::getId).collect(Collectors.toSet());
+    }
+
+    private Bill save(String customerId, LocalDateTime createdAt, boolean finalized) {
+        Product product = Product.create("Laptop", "desc", Money.of("100.00"), ProductCategory.ELECTRONICS);
+        Bill bill = Bill.create(customerId, List.of(BillItem.create(product, 1)), LocalDateTime.now());
+        if (finalized) {
+            bill.finalize(LocalDateTime.now());
+        }
+        try {
+            Field field = Bill.class.getDeclaredField("createdAt");
+            field.setAccessible(true);
+            field.set(bill, createdAt);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not set createdAt for test", e);
+        }
+        return repository.save(bill);
+    }
+
+    @Test
+    @DisplayName("Should assign an ID on first save and find by it")
+    void shouldAssignIdAndFindById() {
+        Bill bill = save("customer-1", BASE, false);
+
+        assertNotNull(bill.getId());
+        Bill found = repository.findById(bill.getId()).orElseThrow();
+        assertEquals("customer-1", found.getCustomerId());
+        assertEquals(BASE, found.getCreatedAt());
+        assertTrue(repository.existsById(bill.getId()));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should find and count by customer, status and both")
+    void shouldFindByCustomerAndStatus() {
+        Bill draft = save("customer-1", BASE, false);
+        Bill finalized = save("customer-1", BASE, true);
+        Bill other = save("customer-2", BASE, true);
+
+        assertEquals(Set.of(draft.getId(), finalized.getId()), ids(repository.findByCustomerId("customer-1")));
+        assertEquals(Set.of(finalized.getId(), other.getId()), ids(repository.findByStatus(BillStatus.FINALIZED)));
+        assertEquals(Set.of(finalized.getId()),
+            ids(repository.findByCustomerIdAndStatus("customer-1", BillStatus.FINALIZED)));
+        assertTrue(repository.findByCustomerIdAndStatus("customer-2", BillStatus.DRAFT).isEmpty());
+        assertEquals(2, repository.countByCustomerId("customer-1"));
+        assertEquals(0, repository.countByCustomerId("customer-3"));
+        assertEquals(2, repository.countByStatus(BillStatus.FINALIZED));
+        assertEquals(0, repository.countByStatus(BillStatus.CANCELLED));
+    }
+
+    @Test
+    @DisplayName("Should publish a finalized bill once when it is finalized and once when it is deleted")
+    void shouldPublishFinalizedBillChanges() {
+        List<Object> events = new ArrayList<>();
+        ((ApplicationEventPublisherAware) repository).setApplicationEventPublisher(events::add);
+
+        Bill bill = save("customer-1", BASE, false);
+        assertTrue(events.isEmpty());
+        bill.finalize(LocalDateTime.now());
+        repository.save(bill);
+        repository.save(bill);
+        Bill direct = save("customer-2", BASE, true);
+        Bill draft = save("customer-1", BASE, false);
+        repository.deleteById(draft.getId());
+        repository.deleteById(bill.getId());
+
+        assertEquals(3, events.size());
+        FinalizedBillsChangedEvent finalized = (FinalizedBillsChangedEvent) events.get(0);
+        assertEquals(bill.getId(), finalized.bill().getId());
+        assertFalse(finalized.removed());
+        assertEquals(direct.getId(), ((FinalizedBillsChangedEvent) events.get(1)).bill().getId());
+        FinalizedBillsChangedEvent removed = (FinalizedBillsChangedEvent) events.get(2);
+        assertEquals(bill.getId(), removed.bill().getId());
+        assertEquals(Money.of("100.00"), removed.bill().getNetAmount());
+        assertTrue(removed.removed());
+    }
+
+    @Test
+    @DisplayName("Should find bills created within an inclusive range")
+    void shouldFindByCreatedAtBetween() {
+        Bill before = save("customer-1", BASE.minusDays(1), false);
+        Bill start = save("customer-1", BASE, false);
+        Bill inside = save("customer-1", BASE.plusHours(3), false);
+        Bill end = save("customer-1", BASE.plusDays(1), false);
+
+        assertEquals(Set.of(start.getId(), inside.getId(), end.getId()),
+            ids(repository.findByCreatedAtBetween(BASE, BASE.plusDays(1))));
+        assertEquals(Set.of(before.getId()),
+            ids(repository.findByCreatedAtBetween(BASE.minusDays(2), BASE.minusSeconds(1))));
+        assertTrue(repository.findByCreatedAtBetween(BASE.plusDays(2), BASE.plusDays(3)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should follow status changes and deletions")
+    void shouldReindexAndDelete() {
+        Bill bill = save("customer-1", BASE, false);
+
+        bill.finalize(LocalDateTime.now());
+        repository.save(bill);
+        assertTrue(repository.findByStatus(BillStatus.DRAFT).isEmpty());
+        assertEquals(1, repository.countByStatus(BillStatus.FINALIZED));
+        assertEquals(1, repository.count());
+
+        repository.deleteById(bill.getId());
+        assertFalse(repository.existsById(bill.getId()));
+        assertTrue(repository.findByCustomerId("customer-1").isEmpty());
+        assertTrue(repository.findByCreatedAtBetween(BASE, BASE).isEmpty());
+        assertEquals(0, repository.countByStatus(BillStatus.FINALIZED));
+        assertTrue(repository.findAll().isEmpty());
+    }
+}
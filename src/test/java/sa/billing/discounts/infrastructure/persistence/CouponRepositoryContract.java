@@ -0,0 +1,107 @@
+package sa.billing.discounts.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.domain.model.coupon.Coupon;
+import sa.billing.discounts.domain.model.coupon.CouponKind;
+import sa.billing.discounts.infrastructure.persistence.repository.CouponRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every CouponRepository implementation must share; subclasses supply an empty repository
+public abstract class CouponRepositoryContract {
+
+    protected CouponRepository repository;
+
+    protected abstract CouponRepository createRepository();
+
+    @BeforeEach
+    void setUpRepository() {
+        repository = createRepository();
+    }
+
+    @Test
+    @DisplayName("Should store a coupon under its normalized code and refuse a second one")
+    void shouldInsertOnce() {
+        Instant expiresAt = Instant.parse("2026-12-31T23:59:59Z");
+        repository.insert(Coupon.create(" winter25 ", CouponKind.PERCENTAGE, new BigDecimal("25"), 100, expiresAt));
+
+        Coupon found = repository.findByCode("WINTER25").orElseThrow();
+        assertEquals(CouponKind.PERCENTAGE, found.getKind());
+        assertEquals(0, new BigDecimal("25").compareTo(found.getValue()));
+        assertEquals(100, found.getMaxRedemptions());
+        assertEquals(expiresAt, found.getExpiresAt());
+        assertEquals(0, found.getRedemptions());
+        assertTrue(repository.existsByCode("WINTER25"));
+
+        assertThrows(IllegalArgumentException.class, () ->
+            repository.insert(Coupon.create("Winter25", CouponKind.FIXED_AMOUNT, BigDecimal.ONE, null, null)));
+        assertEquals(CouponKind.PERCENTAGE, repository.findByCode("WINTER25").orElseThrow().getKind());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should list codes and forget deleted coupons")
+    void shouldListAndDeleteCodes() {
+        repository.insert(Coupon.create("A", CouponKind.FIXED_AMOUNT, BigDecimal.ONE, null, null));
+        repository.insert(Coupon.create("B", CouponKind.FIXED_AMOUNT, BigDecimal.ONE, null, null));
+
+        assertEquals(Set.of("A", "B"), new HashSet<>(repository.findAllCodes()));
+        repository.deleteByCode("A");
+        assertEquals(List.of("B"), repository.findAllCodes());
+        assertTrue(repository.findByCode("A").isEmpty());
+        assertFalse(repository.redeem("A"));
+    }
+
+    @Test
+    @DisplayName("Should count redemptions atomically up to the limit")
+    void shouldRedeemUpToLimit() throws Exception {
+        repository.insert(Coupon.create("LIMITED", CouponKind.FIXED_AMOUNT, BigDecimal.ONE, 10, null));
+        repository.insert(Coupon.create("OPEN", CouponKind.FIXED_AMOUNT, BigDecimal.ONE, null, null));
+
+        AtomicInteger redeemed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10; i++) {
+                        if (repository.redeem("LIMITED")) {
+                            redeemed.incrementAndGet();
+                        }
+                        assertTrue(repository.redeem("OPEN"));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(10, redeemed.get());
+        assertEquals(10, repository.findByCode("LIMITED").orElseThrow().getRedemptions());
+        assertEquals(40, repository.findByCode("OPEN").orElseThrow().getRedemptions());
+        assertFalse(repository.redeem("MISSING"));
+    }
+}
@@ -0,0 +1,103 @@
+package sa.billing.discounts.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.CustomerType;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every CustomerRepository implementation must share; subclasses supply an empty repository
+public abstract class CustomerRepositoryContract {
+
+    protected CustomerRepository repository;
+
+    protected abstract CustomerRepository createRepository();
+
+    @BeforeEach
+    void setUpRepository() {
+        repository = createRepository();
+    }
+
+    private static Set<String> ids(List<Customer> customers) {
+        return customers.stream().map(Customer::getId).collect(Collectors.toSet());
+    }
+
+    @Test
+    @DisplayName("Should assign an ID on first save and find by it")
+    void shouldAssignIdAndFindById() {
+        Customer saved = repository.save(Customer.createEmployee("Sara", "sara@store.com", LocalDateTime.now()));
+
+        assertNotNull(saved.getId());
+        assertEquals("sara@store.com", repository.findById(saved.getId()).orElseThrow().getEmail());
+        assertTrue(repository.existsById(saved.getId()));
+        assertTrue(repository.findById("000000000000000000000000").isEmpty());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should find by email and type")
+    void shouldFindByEmailAndType() {
+        Customer employee = repository.save(Customer.createEmployee("E", "e@store.com", LocalDateTime.now()));
+        Customer affiliate = repository.save(Customer.createAffiliate("A", "a@store.com", LocalDateTime.now()));
+        Customer regular = repository.save(Customer.createRegular("R", "r@store.com", LocalDateTime.now()));
+
+        assertEquals(affiliate.getId(), repository.findByEmail("a@store.com").orElseThrow().getId());
+        assertTrue(repository.findByEmail("A@store.com").isEmpty());
+        assertTrue(repository.existsByEmail("e@store.com"));
+        assertFalse(repository.existsByEmail("nobody@store.com"));
+        assertEquals(Set.of(employee.getId()), ids(repository.findByType(CustomerType.EMPLOYEE)));
+        assertEquals(Set.of(regular.getId()), ids(repository.findByType(CustomerType.REGULAR)));
+        assertEquals(Set.of(employee.getId(), affiliate.getId(), regular.getId()), ids(repository.findAll()));
+    }
+
+    @Test
+    @DisplayName("Should find many customers by ID at once, each once and skipping unknown IDs")
+    void shouldFindAllById() {
+        Customer employee = repository.save(Customer.createEmployee("E", "e@store.com", LocalDateTime.now()));
+        Customer affiliate = repository.save(Customer.createAffiliate("A", "a@store.com", LocalDateTime.now()));
+        repository.save(Customer.createRegular("R", "r@store.com", LocalDateTime.now()));
+
+        List<Customer> found = repository.findAllById(
+            List.of(employee.getId(), affiliate.getId(), employee.getId(), "000000000000000000000000"));
+
+        assertEquals(2, found.size());
+        assertEquals(Set.of(employee.getId(), affiliate.getId()), ids(found));
+        assertTrue(repository.findAllById(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should move a customer between type results when it is saved again")
+    void shouldReindexOnUpdate() {
+        Customer customer = repository.save(Customer.createRegular("R", "r@store.com", LocalDateTime.now()));
+
+        customer.updateType(CustomerType.AFFILIATE);
+        repository.save(customer);
+
+        assertTrue(repository.findByType(CustomerType.REGULAR).isEmpty());
+        assertEquals(Set.of(customer.getId()), ids(repository.findByType(CustomerType.AFFILIATE)));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should drop a deleted customer from every lookup")
+    void shouldDeleteFromAllLookups() {
+        Customer customer = repository.save(Customer.createEmployee("E", "e@store.com", LocalDateTime.now()));
+
+        repository.deleteById(customer.getId());
+        repository.deleteById("000000000000000000000000");
+
+        assertFalse(repository.existsById(customer.getId()));
+        assertTrue(repository.findByEmail("e@store.com").isEmpty());
+        assertTrue(repository.findByType(CustomerType.EMPLOYEE).isEmpty());
+        assertEquals(0, repository.count());
+    }
+}
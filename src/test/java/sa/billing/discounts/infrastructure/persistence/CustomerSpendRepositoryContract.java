@@ -0,0 +1,125 @@
+package sa.billing.discounts.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.domain.model.customer.CustomerSpend;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerSpendRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every CustomerSpendRepository implementation must share; subclasses supply an empty repository
+public abstract class CustomerSpendRepositoryContract {
+
+    // Whole seconds so stores with millisecond timestamps compare the same way
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    protected CustomerSpendRepository repository;
+
+    protected abstract CustomerSpendRepository createRepository();
+
+    @BeforeEach
+    void setUpRepository() {
+        repository = createRepository();
+    }
+
+    @Test
+    @DisplayName("Should create a summary on first record and add to it afterwards")
+    void shouldRecordIncrements() {
+        repository.record("customer-1", 1, 10_050, 500, BASE);
+        repository.record("customer-1", 1, 2_000, 0, BASE.plusDays(1));
+        repository.record("customer-1", -1, -10_050, -500, null);
+
+        CustomerSpend spend = repository.findByCustomerId("customer-1").orElseThrow();
+        assertEquals(1, spend.getBillCount());
+        assertEquals(Money.of("20.00"), spend.getLifetimeSpend());
+        assertEquals(Money.zero(), spend.getLifetimeDiscount());
+        assertEquals(BASE.plusDays(1), spend.getLastBillAt());
+        assertTrue(repository.findByCustomerId("customer-2").isEmpty());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should never move the last bill time back")
+    void shouldKeepLatestBillTime() {
+        repository.record("customer-1", 1, 100, 0, BASE.plusDays(2));
+        repository.record("customer-1", 1, 100, 0, BASE);
+
+        assertEquals(BASE.plusDays(2), repository.findByCustomerId("customer-1").orElseThrow().getLastBillAt());
+    }
+
+    @Test
+    @DisplayName("Should replace and delete a whole summary")
+    void shouldSaveAndDelete() {
+        repository.record("customer-1", 3, 30_000, 1_000, BASE);
+        CustomerSpend rebuilt = CustomerSpend.of("customer-1", 2, 20_000, 500, BASE.minusDays(1));
+
+        repository.save(rebuilt);
+        assertEquals(rebuilt, repository.findByCustomerId("customer-1").orElseThrow());
+
+        repository.deleteByCustomerId("customer-1");
+        assertTrue(repository.findByCustomerId("customer-1").isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should replace a summary only if it has not changed since it was read")
+    void shouldReplaceOnlyUnchanged() {
+        CustomerSpend rebuilt = CustomerSpend.of("customer-1", 2, 20_000, 500, BASE);
+        assertTrue(repository.replace(null, rebuilt));
+        assertFalse(repository.replace(null, CustomerSpend.of("customer-1", 9, 1, 0, BASE)));
+
+        CustomerSpend read = repository.findByCustomerId("customer-1").orElseThrow();
+        repository.record("customer-1", 1, 1_000, 0, BASE.plusDays(1));
+        assertFalse(repository.replace(read, CustomerSpend.of("customer-1", 5, 50_000, 0, BASE)));
+        assertEquals(rebuilt.plus(1, 1_000, 0, BASE.plusDays(1)), repository.findByCustomerId("customer-1").orElseThrow());
+
+        CustomerSpend current = repository.findByCustomerId("customer-1").orElseThrow();
+        CustomerSpend replacement = CustomerSpend.of("customer-1", 3, 30_000, 0, null);
+        assertTrue(repository.replace(current, replacement));
+        assertEquals(replacement, repository.findByCustomerId("customer-1").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should not lose increments recorded concurrently for one customer")
+    void shouldRecordConcurrently() throws Exception {
+        int threads = 4;
+        int perThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        repository.record("customer-1", 1, 150, 25, BASE);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CustomerSpend spend = repository.findByCustomerId("customer-1").orElseThrow();
+        assertEquals(threads * perThread, spend.getBillCount());
+        assertEquals(threads * perThread * 150L, spend.getSpendCents());
+        assertEquals(threads * perThread * 25L, spend.getDiscountCents());
+    }
+}
@@ -0,0 +1,97 @@
+package sa.billing.discounts.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every ProductRepository implementation must share; subclasses supply an empty repository
+public abstract class ProductRepositoryContract {
+
+    protected ProductRepository repository;
+
+    protected abstract ProductRepository createRepository();
+
+    @BeforeEach
+    void setUpRepository() {
+        repository = createRepository();
+    }
+
+    private static Set<String> ids(List<Product> products) {
+        return products.stream().map(Product::getId).collect(Collectors.toSet());
+    }
+
+    private Product save(String name, ProductCategory category) {
+        return repository.save(Product.create(name, "desc", Money.of("10.00"), category));
+    }
+
+    @Test
+    @DisplayName("Should assign an ID on first save and find by it")
+    void shouldAssignIdAndFindById() {
+        Product laptop = save("Laptop", ProductCategory.ELECTRONICS);
+
+        assertNotNull(laptop.getId());
+        assertEquals("Laptop", repository.findById(laptop.getId()).orElseThrow().getName());
+        assertTrue(repository.existsById(laptop.getId()));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should return each requested product once and skip unknown IDs")
+    void shouldFindAllById() {
+        Product laptop = save("Laptop", ProductCategory.ELECTRONICS);
+        Product apple = save("Apple", ProductCategory.GROCERY);
+        save("Shirt", ProductCategory.CLOTHING);
+
+        List<Product> found = repository.findAllById(
+            List.of(laptop.getId(), apple.getId(), laptop.getId(), "000000000000000000000000"));
+
+        assertEquals(2, found.size());
+        assertEquals(Set.of(laptop.getId(), apple.getId()), ids(found));
+        assertTrue(repository.findAllById(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find by exact name, category and case-insensitive name pattern")
+    void shouldFindByNameAndCategory() {
+        Product laptop = save("Gaming Laptop", ProductCategory.ELECTRONICS);
+        Product phone = save("Phone", ProductCategory.ELECTRONICS);
+        Product apple = save("Apple", ProductCategory.GROCERY);
+
+        assertEquals(laptop.getId(), repository.findByName("Gaming Laptop").orElseThrow().getId());
+        assertTrue(repository.findByName("gaming laptop").isEmpty());
+        assertTrue(repository.existsByName("Apple"));
+        assertFalse(repository.existsByName("Pear"));
+        assertEquals(Set.of(laptop.getId(), phone.getId()), ids(repository.findByCategory(ProductCategory.ELECTRONICS)));
+        assertEquals(Set.of(laptop.getId()), ids(repository.findByNameContainingIgnoreCase("LAPTOP")));
+        assertEquals(Set.of(laptop.getId(), phone.getId()), ids(repository.findByNameContainingIgnoreCase("^(gaming|phone)")));
+        assertEquals(Set.of(laptop.getId(), phone.getId(), apple.getId()), ids(repository.findAll()));
+    }
+
+    @Test
+    @DisplayName("Should follow category changes and deletions")
+    void shouldReindexAndDelete() {
+        Product product = save("Bread", ProductCategory.OTHER);
+
+        product.updateCategory(ProductCategory.GROCERY);
+        repository.save(product);
+        assertTrue(repository.findByCategory(ProductCategory.OTHER).isEmpty());
+        assertEquals(Set.of(product.getId()), ids(repository.findByCategory(ProductCategory.GROCERY)));
+
+        repository.deleteById(product.getId());
+        assertFalse(repository.existsById(product.getId()));
+        assertTrue(repository.findByName("Bread").isEmpty());
+        assertTrue(repository.findByCategory(ProductCategory.GROCERY).isEmpty());
+        assertEquals(0, repository.count());
+    }
+}
@@ -0,0 +1,84 @@
+package sa.billing.discounts.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.promotion.Promotion;
+import sa.billing.discounts.domain.model.promotion.PromotionKind;
+import sa.billing.discounts.domain.model.promotion.PromotionScope;
+import sa.billing.discounts.infrastructure.persistence.repository.PromotionRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every PromotionRepository implementation must share; subclasses supply an empty repository
+public abstract class PromotionRepositoryContract {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    protected PromotionRepository repository;
+
+    protected abstract PromotionRepository createRepository();
+
+    @BeforeEach
+    void setUpRepository() {
+        repository = createRepository();
+    }
+
+    private static Set<String> ids(List<Promotion> promotions) {
+        return promotions.stream().map(Promotion::getId).collect(Collectors.toSet());
+    }
+
+    private Promotion save(Instant startsAt, Instant endsAt) {
+        return repository.save(Promotion.forCategory("Promo", ProductCategory.BOOKS, PromotionKind.PERCENTAGE,
+            new BigDecimal("15"), startsAt, endsAt));
+    }
+
+    @Test
+    @DisplayName("Should assign an ID on first save and read every field back")
+    void shouldRoundTripPromotion() {
+        Promotion saved = repository.save(Promotion.forProduct("Laptop deal", "laptop", PromotionKind.FIXED_AMOUNT,
+            new BigDecimal("25.00"), T0, T0.plusSeconds(3600)));
+
+        assertNotNull(saved.getId());
+        Promotion found = repository.findById(saved.getId()).orElseThrow();
+        assertEquals(PromotionScope.PRODUCT, found.getScope());
+        assertEquals("laptop", found.getProductId());
+        assertEquals(PromotionKind.FIXED_AMOUNT, found.getKind());
+        assertEquals(0, new BigDecimal("25.00").compareTo(found.getValue()));
+        assertEquals(T0, found.getStartsAt());
+        assertEquals(T0.plusSeconds(3600), found.getEndsAt());
+        assertTrue(repository.existsById(saved.getId()));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should find promotions that have not ended by the given instant")
+    void shouldFindEndingAfter() {
+        Promotion ended = save(T0, T0.plusSeconds(60));
+        Promotion running = save(T0, T0.plusSeconds(3600));
+        Promotion upcoming = save(T0.plusSeconds(3600), T0.plusSeconds(7200));
+
+        assertEquals(Set.of(running.getId(), upcoming.getId()), ids(repository.findEndingAfter(T0.plusSeconds(60))));
+        assertEquals(Set.of(ended.getId(), running.getId(), upcoming.getId()), ids(repository.findAll()));
+    }
+
+    @Test
+    @DisplayName("Should delete by ID")
+    void shouldDeleteById() {
+        Promotion promotion = save(T0, T0.plusSeconds(60));
+
+        repository.deleteById(promotion.getId());
+
+        assertFalse(repository.existsById(promotion.getId()));
+        assertTrue(repository.findById(promotion.getId()).isEmpty());
+        assertEquals(0, repository.count());
+    }
+}
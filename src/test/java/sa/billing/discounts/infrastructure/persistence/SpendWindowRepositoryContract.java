@@ -0,0 +1,77 @@
+package sa.billing.discounts.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.domain.model.customer.SpendWindow;
+import sa.billing.discounts.domain.model.customer.SpendWindowCheckpoint;
+import sa.billing.discounts.infrastructure.persistence.repository.SpendWindowRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every SpendWindowRepository implementation must share; subclasses supply an empty repository
+public abstract class SpendWindowRepositoryContract {
+
+    // Whole seconds so stores with millisecond timestamps compare the same way
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 12, 0);
+    private static final int MONTH = SpendWindow.monthOf(BASE);
+
+    protected SpendWindowRepository repository;
+
+    protected abstract SpendWindowRepository createRepository();
+
+    @BeforeEach
+    void setUpRepository() {
+        repository = createRepository();
+    }
+
+    private static SpendWindowCheckpoint delta(String customerId, long cents, LocalDateTime at) {
+        return SpendWindowCheckpoint.of(customerId, Map.of(MONTH - 1, cents, MONTH, 1L), at);
+    }
+
+    @Test
+    @DisplayName("Should store a batch of deltas and read each customer back")
+    void shouldIncrementAll() {
+        repository.incrementAll(List.of(delta("customer-1", 500, BASE), delta("customer-2", 70, BASE)));
+
+        SpendWindowCheckpoint found = repository.findByCustomerId("customer-1").orElseThrow();
+        assertEquals(Map.of(MONTH - 1, 500L, MONTH, 1L), found.getCentsByMonth());
+        assertEquals(BASE, found.getCheckpointedAt());
+        assertEquals(501, found.toWindow().totalAt(MONTH));
+        assertEquals(71, repository.findByCustomerId("customer-2").orElseThrow().toWindow().totalAt(MONTH));
+        assertTrue(repository.findByCustomerId("customer-3").isEmpty());
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should add deltas to what is stored instead of replacing it")
+    void shouldAddDeltas() {
+        repository.incrementAll(List.of(delta("customer-1", 500, BASE.plusMinutes(1))));
+        repository.incrementAll(List.of(delta("customer-1", 900, BASE),
+                SpendWindowCheckpoint.of("customer-1", Map.of(MONTH + 1, 5L), BASE)));
+        repository.incrementAll(List.of());
+
+        SpendWindowCheckpoint found = repository.findByCustomerId("customer-1").orElseThrow();
+        assertEquals(Map.of(MONTH - 1, 1400L, MONTH, 2L, MONTH + 1, 5L), found.getCentsByMonth());
+        assertEquals(BASE.plusMinutes(1), found.getCheckpointedAt());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should replace a customer's months with rebuilt ones")
+    void shouldSave() {
+        repository.incrementAll(List.of(delta("customer-1", 500, BASE)));
+        repository.save(SpendWindowCheckpoint.of("customer-1", Map.of(MONTH, 30L), BASE.plusMinutes(1)));
+
+        SpendWindowCheckpoint found = repository.findByCustomerId("customer-1").orElseThrow();
+        assertEquals(Map.of(MONTH, 30L), found.getCentsByMonth());
+        assertEquals(BASE.plusMinutes(1), found.getCheckpointedAt());
+        assertEquals(30, found.toWindow().totalAt(MONTH + 11));
+        assertEquals(0, found.toWindow().totalAt(MONTH + 12));
+    }
+}
@@ -0,0 +1,148 @@
+package sa.billing.discounts.infrastructure.persistence.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.CustomerType;
+import sa.billing.discounts.infrastructure.persistence.BillRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.CouponRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.CustomerRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.CustomerSpendRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.ProductRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.PromotionRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.SpendWindowRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.repository.BillRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CouponRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerSpendRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.PromotionRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.SpendWindowRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("In-Memory Repository Contract Tests")
+class InMemoryRepositoryContractTest {
+
+    @Nested
+    @DisplayName("Customers")
+    class Customers extends CustomerRepositoryContract {
+
+        @Override
+        protected CustomerRepository createRepository() {
+            return new InMemoryCustomerRepository();
+        }
+
+        @Test
+        @DisplayName("Should keep type results consistent while customers change type concurrently")
+        void shouldStayConsistentUnderConcurrentUpdates() throws Exception {
+            int threads = 4;
+            int perThread = 250;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            try {
+                for (int t = 0; t < threads; t++) {
+                    int thread = t;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            Customer customer = repository.save(Customer.createRegular(
+                                "C", "c-" + thread + "-" + i + "@store.com", LocalDateTime.now()));
+                            customer.updateType(CustomerType.AFFILIATE);
+                            repository.save(customer);
+                            if (i % 2 == 0) {
+                                repository.deleteById(customer.getId());
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            int expected = threads * perThread / 2;
+            assertEquals(expected, repository.count());
+            assertTrue(repository.findByType(CustomerType.REGULAR).isEmpty());
+            assertEquals(expected, repository.findByType(CustomerType.AFFILIATE).size());
+            assertTrue(repository.existsByEmail("c-0-1@store.com"));
+            assertFalse(repository.existsByEmail("c-0-0@store.com"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Products")
+    class Products extends ProductRepositoryContract {
+
+        @Override
+        protected ProductRepository createRepository() {
+            return new InMemoryProductRepository();
+        }
+    }
+
+    @Nested
+    @DisplayName("Promotions")
+    class Promotions extends PromotionRepositoryContract {
+
+        @Override
+        protected PromotionRepository createRepository() {
+            return new InMemoryPromotionRepository();
+        }
+    }
+
+    @Nested
+    @DisplayName("Coupons")
+    class Coupons extends CouponRepositoryContract {
+
+        @Override
+        protected CouponRepository createRepository() {
+            return new InMemoryCouponRepository();
+        }
+    }
+
+    @Nested
+    @DisplayName("Customer spend")
+    class CustomerSpends extends CustomerSpendRepositoryContract {
+
+        @Override
+        protected CustomerSpendRepository createRepository() {
+            return new InMemoryCustomerSpendRepository();
+        }
+    }
+
+    @Nested
+    @DisplayName("Spend windows")
+    class SpendWindows extends SpendWindowRepositoryContract {
+
+        @Override
+        protected SpendWindowRepository createRepository() {
+            return new InMemorySpendWindowRepository();
+        }
+    }
+
+    @Nested
+    @DisplayName("Bills")
+    class Bills extends BillRepositoryContract {
+
+        @Override
+        protected BillRepository createRepository() {
+            return new InMemoryBillRepository();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package sa.billing.discounts.infrastructure.persistence.mongodb;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import sa.billing.discounts.domain.model.customer.Customer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Batch Loader Tests")
+class BatchLoaderTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    private Map<String, String> echo(Collection<String> keys) {
+        batches.add(List.copyOf(keys));
+        Map<String, String> found = new HashMap<>();
+        for (String key : keys) {
+            if (!key.startsWith("missing")) {
+                found.put(key, key.toUpperCase());
+            }
+        }
+        return found;
+    }
+
+    // Starts every caller at the same moment so they land in one window
+    private List<Future<String>> loadTogether(BatchLoader<String, String> loader, List<String> keys) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (String key : keys) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return loader.load(key);
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+
+    @Test
+    @DisplayName("Should merge concurrent lookups within the window into one loader call")
+    void shouldMergeWithinWindow() throws Exception {
+        BatchLoader<String, String> loader = new BatchLoader<>(this::echo, Duration.ofMillis(200), 100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        loader.bindTo(registry, "customers");
+
+        List<String> keys = List.of("a", "b", "c", "a", "missing-1");
+        List<Future<String>> results = loadTogether(loader, keys);
+
+        List<String> values = new ArrayList<>();
+        for (Future<String> result : results) {
+            values.add(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(Arrays.asList("A", "B", "C", "A", null), values);
+        assertEquals(1, batches.size());
+        assertEquals(4, batches.get(0).size());
+        DistributionSummary sizes = registry.get("billing.repository.batch.size").tag("repository", "customers").summary();
+        assertEquals(1, sizes.count());
+        assertEquals(4, sizes.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should send a full batch without waiting for the window")
+    void shouldFlushFullBatchEarly() throws Exception {
+        BatchLoader<String, String> loader = new BatchLoader<>(this::echo, Duration.ofSeconds(30), 3);
+
+        List<Future<String>> results = loadTogether(loader, List.of("a", "b", "c"));
+
+        for (Future<String> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(3), batches.stream().map(List::size).toList());
+    }
+
+    @Test
+    @DisplayName("Should fail every caller of a batch whose query fails")
+    void shouldPropagateFailures() throws Exception {
+        BatchLoader<String, String> loader = new BatchLoader<>(keys -> {
+            throw new IllegalStateException("database down");
+        }, Duration.ofMillis(100), 100);
+
+        for (Future<String> result : loadTogether(loader, List.of("a", "b"))) {
+            Exception failure = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve customer findById through one $in query when batching is on")
+    void shouldBatchRepositoryLookups() throws Exception {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        Customer employee = withId(Customer.createEmployee("E", "e@store.com", LocalDateTime.now()), "employee");
+        Customer regular = withId(Customer.createRegular("R", "r@store.com", LocalDateTime.now()), "regular");
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class))).thenReturn(List.of(employee, regular));
+        CustomerRepositoryImpl repository = new CustomerRepositoryImpl(mongoTemplate);
+        repository.configureBatching(Duration.ofMillis(200), 100);
+
+        CountDownLatch start = new CountDownLatch(1);
+        Future<Customer> first = executor.submit(() -> {
+            start.await();
+            return repository.findById("employee").orElseThrow();
+        });
+        Future<Customer> second = executor.submit(() -> {
+            start.await();
+            return repository.findById("regular").orElseThrow();
+        });
+        start.countDown();
+
+        assertSame(employee, first.get(5, TimeUnit.SECONDS));
+        assertSame(regular, second.get(5, TimeUnit.SECONDS));
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Customer.class));
+        verify(mongoTemplate, never()).findById(anyString(), eq(Customer.class));
+    }
+
+    private static Customer withId(Customer customer, String id) {
+        try {
+            var field = Customer.class.getDeclaredField("id");
+            field.setAccessible(true);
+            field.set(customer, id);
+            return customer;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not set ID for test", e);
+        }
+    }
+}
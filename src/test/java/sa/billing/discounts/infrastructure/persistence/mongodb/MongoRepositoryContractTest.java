@@ -0,0 +1,125 @@
+package sa.billing.discounts.infrastructure.persistence.mongodb;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import sa.billing.discounts.infrastructure.persistence.BillRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.CouponRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.CustomerRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.CustomerSpendRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.ProductRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.PromotionRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.SpendWindowRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.repository.BillRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CouponRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerSpendRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.PromotionRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.SpendWindowRepository;
+
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("MongoDB Repository Contract Tests")
+class MongoRepositoryContractTest {
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer(DockerImageName.parse("mongo:6.0"));
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void connect() {
+        client = MongoClients.create(MONGO.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(client, "contract");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        client.close();
+    }
+
+    private static MongoTemplate emptyDatabase() {
+        mongoTemplate.getDb().drop();
+        return mongoTemplate;
+    }
+
+    @Nested
+    @DisplayName("Customers")
+    class Customers extends CustomerRepositoryContract {
+
+        @Override
+        protected CustomerRepository createRepository() {
+            return new CustomerRepositoryImpl(emptyDatabase());
+        }
+    }
+
+    @Nested
+    @DisplayName("Products")
+    class Products extends ProductRepositoryContract {
+
+        @Override
+        protected ProductRepository createRepository() {
+            return new ProductRepositoryImpl(emptyDatabase());
+        }
+    }
+
+    @Nested
+    @DisplayName("Promotions")
+    class Promotions extends PromotionRepositoryContract {
+
+        @Override
+        protected PromotionRepository createRepository() {
+            return new PromotionRepositoryImpl(emptyDatabase());
+        }
+    }
+
+    @Nested
+    @DisplayName("Coupons")
+    class Coupons extends CouponRepositoryContract {
+
+        @Override
+        protected CouponRepository createRepository() {
+            return new CouponRepositoryImpl(emptyDatabase());
+        }
+    }
+
+    @Nested
+    @DisplayName("Customer spend")
+    class CustomerSpends extends CustomerSpendRepositoryContract {
+
+        @Override
+        protected CustomerSpendRepository createRepository() {
+            return new CustomerSpendRepositoryImpl(emptyDatabase());
+        }
+    }
+
+    @Nested
+    @DisplayName("Spend windows")
+    class SpendWindows extends SpendWindowRepositoryContract {
+
+        @Override
+        protected SpendWindowRepository createRepository() {
+            return new SpendWindowRepositoryImpl(emptyDatabase());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bills")
+    class Bills extends BillRepositoryContract {
+
+        @Override
+        protected BillRepository createRepository() {
+            return new BillRepositoryImpl(emptyDatabase());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package sa.billing.discounts.infrastructure.persistence.mongodb;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Single Flight Tests")
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    private <T> List<Future<T>> submit(int count, Callable<T> task) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(executor.submit(task));
+        }
+        return futures;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for callers to coalesce");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Should run one load for concurrent callers of the same key and share its result")
+    void shouldCoalesceConcurrentLoads() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Future<String>> results = submit(8, () -> flight.load("hot", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "value";
+        }));
+        awaitTrue(() -> flight.getCoalescedCount() == 7);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, flight.getLoadCount());
+
+        // Nothing is cached once the call completes
+        assertEquals("fresh", flight.load("hot", () -> "fresh"));
+        assertEquals(2, flight.getLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should hand the loader's exception to every waiting caller")
+    void shouldShareFailures() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submit(4, () -> flight.load("key", () -> {
+            await(release);
+            throw new IllegalStateException("database down");
+        }));
+        awaitTrue(() -> flight.getCoalescedCount() == 3);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Exception failure = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+        }
+        assertEquals("recovered", flight.load("key", () -> "recovered"));
+    }
+
+    @Test
+    @DisplayName("Should load only the keys of a batch that are not already in flight")
+    void shouldJoinInFlightKeysOfABatch() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> single = executor.submit(() -> flight.load("p1", () -> {
+            await(release);
+            return "one";
+        }));
+        awaitTrue(() -> flight.getLoadCount() == 1);
+
+        List<Collection<String>> batches = new ArrayList<>();
+        Future<Map<String, String>> batch = executor.submit(() -> flight.loadAll(List.of("p1", "p2", "p2", "p3"), keys -> {
+            batches.add(List.copyOf(keys));
+            return Map.of("p2", "two");
+        }));
+        awaitTrue(() -> flight.getCoalescedCount() == 1);
+        release.countDown();
+
+        Map<String, String> values = batch.get(5, TimeUnit.SECONDS);
+        assertEquals("one", single.get(5, TimeUnit.SECONDS));
+        assertEquals("one", values.get("p1"));
+        assertEquals("two", values.get("p2"));
+        assertTrue(values.containsKey("p3"));
+        assertNull(values.get("p3"));
+        assertEquals(List.of(List.of("p2", "p3")), batches);
+    }
+
+    @Test
+    @DisplayName("Should share one Mongo call between concurrent customer lookups and count it")
+    void shouldCoalesceRepositoryLookups() throws Exception {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        CountDownLatch release = new CountDownLatch(1);
+        Customer customer = Customer.createEmployee("E", "e@store.com", LocalDateTime.now());
+        when(mongoTemplate.findById("employee", Customer.class)).thenAnswer(invocation -> {
+            await(release);
+            return customer;
+        });
+        CustomerRepositoryImpl repository = new CustomerRepositoryImpl(mongoTemplate);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        repository.bindTo(registry);
+
+        List<Future<Optional<Customer>>> results = submit(6, () -> repository.findById("employee"));
+        awaitTrue(() -> registry.get("billing.repository.coalesced").tag("repository", "customers")
+            .functionCounter().count() == 5);
+        release.countDown();
+
+        for (Future<Optional<Customer>> result : results) {
+            assertSame(customer, result.get(5, TimeUnit.SECONDS).orElseThrow());
+        }
+        verify(mongoTemplate, times(1)).findById("employee", Customer.class);
+        assertEquals(1, registry.get("billing.repository.loads").tag("repository", "customers").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should return each product of a batch once, in request order")
+    void shouldKeepFindAllByIdSemantics() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        Product laptop = withId(Product.create("Laptop", "", Money.of("10.00"), ProductCategory.ELECTRONICS), "p1");
+        Product apple = withId(Product.create("Apple", "", Money.of("1.00"), ProductCategory.GROCERY), "p2");
+        when(mongoTemplate.find(any(Query.class), eq(Product.class))).thenReturn(List.of(laptop, apple));
+
+        List<Product> products = new ProductRepositoryImpl(mongoTemplate).findAllById(List.of("p2", "missing", "p1", "p2"));
+
+        assertEquals(List.of(apple, laptop), products);
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Product.class));
+    }
+
+    private static Product withId(Product product, String id) {
+        try {
+            var field = Product.class.getDeclaredField("id");
+            field.setAccessible(true);
+            field.set(product, id);
+            return product;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not set ID for test", e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
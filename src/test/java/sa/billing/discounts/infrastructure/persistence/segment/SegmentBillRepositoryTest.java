@@ -0,0 +1,220 @@
+package sa.billing.discounts.infrastructure.persistence.segment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.bill.BillStatus;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.persistence.BillRepositoryContract;
+import sa.billing.discounts.infrastructure.persistence.repository.BillRepository;
+
+import java.time.LocalDateTime;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Segment Bill Repository Tests")
+class SegmentBillRepositoryTest {
+
+    private static final int SMALL_SEGMENT = 4 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private final List<SegmentBillRepository> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeRepositories() {
+        opened.forEach(SegmentBillRepository::close);
+    }
+
+    private SegmentBillRepository open(int segmentSize, double compactionThreshold) {
+        SegmentBillRepository repository = new SegmentBillRepository(directory, segmentSize, compactionThreshold, false);
+        opened.add(repository);
+        return repository;
+    }
+
+    private SegmentBillRepository reopen(SegmentBillRepository repository, int segmentSize) {
+        repository.close();
+        opened.remove(repository);
+        return open(segmentSize, 1.0);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static Bill bill(String customerId, int items) {
+        List<BillItem> lines = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            Product product = Product.create("Product " + i, i % 2 == 0 ? null : "Deluxe édition",
+                Money.of("19.99"), i % 3 == 0 ? ProductCategory.GROCERY : ProductCategory.ELECTRONICS);
+            lines.add(BillItem.create(product, i + 1, Money.of("17.50")));
+        }
+        return Bill.create(customerId, lines, LocalDateTime.now());
+    }
+
+    @Nested
+    @DisplayName("Contract")
+    class Contract extends BillRepositoryContract {
+
+        @Override
+        protected BillRepository createRepository() {
+            return open(SMALL_SEGMENT, 0.5);
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore every field and the indexes after a restart")
+    void shouldRecoverAfterRestart() {
+        SegmentBillRepository repository = open(SMALL_SEGMENT, 1.0);
+        Bill bill = bill("customer-1", 3);
+        bill.applyDiscount(Money.of("12.34"), LocalDateTime.now());
+        bill.finalize(LocalDateTime.now());
+        repository.save(bill);
+        Bill deleted = repository.save(bill("customer-1", 1));
+        repository.deleteById(deleted.getId());
+
+        repository = reopen(repository, SMALL_SEGMENT);
+
+        Bill restored = repository.findById(bill.getId()).orElseThrow();
+        assertEquals(bill.getCustomerId(), restored.getCustomerId());
+        assertEquals(BillStatus.FINALIZED, restored.getStatus());
+        assertEquals(bill.getCreatedAt(), restored.getCreatedAt());
+        assertEquals(bill.getUpdatedAt(), restored.getUpdatedAt());
+        assertEquals(bill.getSubtotal(), restored.getSubtotal());
+        assertEquals(bill.getTotalDiscount(), restored.getTotalDiscount());
+        assertEquals(bill.getNetAmount(), restored.getNetAmount());
+        assertEquals(3, restored.getItems().size());
+        for (int i = 0; i < 3; i++) {
+            BillItem expected = bill.getItems().get(i);
+            BillItem actual = restored.getItems().get(i);
+            assertEquals(expected.getProduct().getName(), actual.getProduct().getName());
+            assertEquals(expected.getProduct().getDescription(), actual.getProduct().getDescription());
+            assertEquals(expected.getProduct().getPrice(), actual.getProduct().getPrice());
+            assertEquals(expected.getProduct().getCategory(), actual.getProduct().getCategory());
+            assertEquals(expected.getProduct().getCreatedAt(), actual.getProduct().getCreatedAt());
+            assertEquals(expected.getQuantity(), actual.getQuantity());
+            assertEquals(expected.getUnitPrice(), actual.getUnitPrice());
+            assertEquals(expected.getTotalPrice(), actual.getTotalPrice());
+        }
+        assertEquals(bill.getSubtotal(), restored.calculateSubtotal());
+        assertFalse(repository.existsById(deleted.getId()));
+        assertEquals(1, repository.countByCustomerId("customer-1"));
+    }
+
+    @Test
+    @DisplayName("Should roll to new segments and give an oversized bill its own segment")
+    void shouldRollSegments() throws IOException {
+        SegmentBillRepository repository = open(SMALL_SEGMENT, 1.0);
+        for (int i = 0; i < 100; i++) {
+            repository.save(bill("customer-" + i % 5, 2));
+        }
+        Bill large = repository.save(bill("customer-large", 200));
+
+        assertTrue(repository.segmentCount() > 3);
+        assertEquals(repository.segmentCount(), segmentFiles().size());
+
+        repository = reopen(repository, SMALL_SEGMENT);
+        assertEquals(101, repository.count());
+        assertEquals(20, repository.countByCustomerId("customer-3"));
+        assertEquals(200, repository.findById(large.getId()).orElseThrow().getItems().size());
+    }
+
+    @Test
+    @DisplayName("Should drop superseded records on compaction without reviving deleted bills")
+    void shouldCompact() throws IOException {
+        SegmentBillRepository repository = open(SMALL_SEGMENT, 1.0);
+        List<Bill> kept = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Bill bill = repository.save(bill("customer-" + i % 3, 2));
+            if (i % 3 == 0) {
+                repository.deleteById(bill.getId());
+            } else {
+                kept.add(bill);
+            }
+        }
+        for (Bill bill : kept) {
+            bill.finalize(LocalDateTime.now());
+            repository.save(bill);
+        }
+        int before = segmentFiles().size();
+
+        repository.compact();
+
+        assertTrue(segmentFiles().size() < before);
+        assertEquals(kept.size(), repository.count());
+        assertEquals(kept.size(), repository.countByStatus(BillStatus.FINALIZED));
+
+        repository = reopen(repository, SMALL_SEGMENT);
+        assertEquals(kept.size(), repository.count());
+        assertEquals(0, repository.countByCustomerId("customer-0"));
+        assertEquals(kept.size(), repository.findByStatus(BillStatus.FINALIZED).size());
+    }
+
+    @Test
+    @DisplayName("Should compact in the background once the threshold is reached")
+    void shouldCompactAutomatically() throws Exception {
+        SegmentBillRepository repository = open(SMALL_SEGMENT, 0.5);
+        Bill bill = repository.save(bill("customer-1", 2));
+        for (int i = 0; i < 200; i++) {
+            repository.save(bill);
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (repository.segmentCount() > 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(repository.segmentCount() <= 3);
+        assertEquals(1, repository.count());
+        assertTrue(repository.findById(bill.getId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should discard a torn record at the tail and keep appending after it")
+    void shouldDiscardTornTail() throws IOException {
+        SegmentBillRepository repository = open(SMALL_SEGMENT, 1.0);
+        Bill first = repository.save(bill("customer-1", 1));
+        Bill second = repository.save(bill("customer-1", 1));
+        repository.close();
+        opened.remove(repository);
+
+        // Corrupt the last byte of the second record, as if the write was cut short
+        Path segment = segmentFiles().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long end = Segment.FILE_HEADER_SIZE;
+            for (int i = 0; i < 2; i++) {
+                file.seek(end);
+                end += BillRecordCodec.HEADER_SIZE + file.readInt();
+            }
+            file.seek(end - 1);
+            int last = file.read();
+            file.seek(end - 1);
+            file.write(last ^ 0xFF);
+        }
+
+        repository = open(SMALL_SEGMENT, 1.0);
+        assertTrue(repository.existsById(first.getId()));
+        assertFalse(repository.existsById(second.getId()));
+
+        Bill third = repository.save(bill("customer-1", 1));
+        repository = reopen(repository, SMALL_SEGMENT);
+        assertEquals(2, repository.count());
+        assertTrue(repository.existsById(third.getId()));
+    }
+}
@@ -0,0 +1,130 @@
+package sa.billing.discounts.infrastructure.serialization;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.BillLineView;
+import sa.billing.discounts.application.dto.BillItemResponse;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.presentation.controller.v1.BillController;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Bill Calculation Message Converter Tests")
+class BillCalculationHttpMessageConverterTest {
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private BillCalculationService billCalculationService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        jsonMapper = mapperBuilder().build();
+        cborMapper = mapperBuilder().factory(new CBORFactory()).build();
+        BillCalculationCodec codec = new BillCalculationCodec(jsonMapper, cborMapper);
+
+        billCalculationService = mock(BillCalculationService.class);
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new BillController(billCalculationService))
+            .setMessageConverters(new BillCalculationHttpMessageConverter(codec),
+                new MappingJackson2HttpMessageConverter(jsonMapper))
+            .build();
+    }
+
+    private static Jackson2ObjectMapperBuilder mapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static BillCalculationResponse sampleResponse() {
+        return new BillCalculationResponse(
+            "cust-1",
+            List.of(new BillItemResponse("prod-1", "Laptop", "ELECTRONICS", 2,
+                new BigDecimal("100.00"), new BigDecimal("200.00"), true)),
+            new BigDecimal("200.00"),
+            new BigDecimal("60.00"),
+            "EMPLOYEE",
+            new BigDecimal("10.00"),
+            new BigDecimal("70.00"),
+            new BigDecimal("130.00")
+        );
+    }
+
+    @Test
+    @DisplayName("Should read CBOR request and write CBOR response when negotiated")
+    void shouldNegotiateCbor() throws Exception {
+        BillCalculationRequest request = new BillCalculationRequest("cust-1",
+            List.of(new BillItemRequest("prod-1", 2)));
+        when(billCalculationService.calculateBillDiscount(request, BillLineView.ORIGINAL)).thenReturn(sampleResponse());
+
+        MvcResult result = mockMvc.perform(post("/api/v1/bills/calculate")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cborMapper.writeValueAsBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn();
+
+        JsonNode body = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("success", body.get("status").asText());
+        assertEquals(0, new BigDecimal("130.00").compareTo(body.get("data").get("netAmount").decimalValue()));
+        assertEquals("prod-1", body.get("data").get("items").get(0).get("productId").asText());
+        verify(billCalculationService).calculateBillDiscount(request, BillLineView.ORIGINAL);
+    }
+
+    @Test
+    @DisplayName("Should keep JSON output identical to the default Jackson converter")
+    void shouldWriteSameJsonAsDefaultConverter() throws Exception {
+        BillCalculationResponse response = sampleResponse();
+        when(billCalculationService.calculateBillDiscount(any(BillCalculationRequest.class), eq(BillLineView.ORIGINAL))).thenReturn(response);
+
+        MvcResult result = mockMvc.perform(post("/api/v1/bills/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("{\"customerId\":\"cust-1\",\"items\":[{\"productId\":\"prod-1\",\"quantity\":2}]}"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.data.percentageDiscountType").value("EMPLOYEE"))
+            .andReturn();
+
+        JsonNode expected = jsonMapper.readTree(jsonMapper.writeValueAsBytes(
+            sa.billing.discounts.presentation.dto.ApiResponse.success("Bill calculated successfully", response)));
+        assertEquals(expected, jsonMapper.readTree(result.getResponse().getContentAsByteArray()));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed CBOR payloads as unreadable")
+    void shouldRejectMalformedCbor() throws Exception {
+        mockMvc.perform(post("/api/v1/bills/calculate")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(new byte[] {(byte) 0xff, 0x01, 0x02}))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(billCalculationService);
+    }
+}
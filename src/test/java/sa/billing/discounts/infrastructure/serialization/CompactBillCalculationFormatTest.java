@@ -0,0 +1,209 @@
+package sa.billing.discounts.infrastructure.serialization;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.CompactBillCalculationRequest;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.exception.GlobalExceptionHandler;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
+import sa.billing.discounts.presentation.controller.v1.BillController;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Compact Bill Calculation Format Tests")
+class CompactBillCalculationFormatTest {
+
+    private static final String[] CUSTOMER_IDS = {"employee", "affiliate", "loyal", "regular"};
+
+    private ObjectMapper jsonMapper;
+    private MockMvc mockMvc;
+    private List<String> productIds;
+
+    @BeforeEach
+    void setUp() {
+        jsonMapper = mapperBuilder().build();
+        BillCalculationCodec codec = new BillCalculationCodec(jsonMapper, mapperBuilder().factory(new CBORFactory()).build());
+
+        Map<String, Customer> customers = new HashMap<>();
+        customers.put("employee", withId(Customer.createEmployee("E", "e@store.com", LocalDateTime.now().minusYears(1)), "employee"));
+        customers.put("affiliate", withId(Customer.createAffiliate("A", "a@store.com", LocalDateTime.now().minusYears(1)), "affiliate"));
+        customers.put("loyal", withId(Customer.createRegular("L", "l@store.com", LocalDateTime.now().minusYears(3)), "loyal"));
+        customers.put("regular", withId(Customer.createRegular("R", "r@store.com", LocalDateTime.now()), "regular"));
+
+        Map<String, Product> products = new HashMap<>();
+        productIds = new ArrayList<>();
+        ProductCategory[] categories = ProductCategory.values();
+        for (int i = 0; i < 40; i++) {
+            String id = "product-" + i;
+            Money price = Money.of(String.format("%d.%02d", 1 + i * 7 % 300, i * 13 % 100));
+            products.put(id, withId(Product.create("Product " + i, "desc", price, categories[i % categories.length]), id));
+            productIds.add(id);
+        }
+
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        lenient().when(customerRepository.findById(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(customers.get(invocation.<String>getArgument(0))));
+        lenient().when(productRepository.findById(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(products.get(invocation.<String>getArgument(0))));
+
+        BillCalculationService service = BillCalculationService.builder(customerRepository, productRepository).build();
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new BillController(service))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new BillCalculationHttpMessageConverter(codec),
+                new MappingJackson2HttpMessageConverter(jsonMapper))
+            .build();
+    }
+
+    private static Jackson2ObjectMapperBuilder mapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static <T> T withId(T entity, String id) {
+        try {
+            Field idField = entity.getClass().getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not set ID for test", e);
+        }
+    }
+
+    private JsonNode calculate(MediaType contentType, String body, String view) throws Exception {
+        var request = post("/api/v1/bills/calculate").contentType(contentType).content(body);
+        if (view != null) {
+            request.param("view", view);
+        }
+        byte[] response = mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        ObjectNode data = (ObjectNode) jsonMapper.readTree(response).get("data");
+        data.remove("calculatedAt");
+        return data;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 120, 600})
+    @DisplayName("Should produce identical results for object, pair and parallel-array encodings")
+    void shouldMatchObjectFormat(int itemCount) throws Exception {
+        Random random = new Random(itemCount);
+        for (String customerId : CUSTOMER_IDS) {
+            List<BillItemRequest> items = new ArrayList<>();
+            ObjectNode pairs = jsonMapper.createObjectNode().put("customerId", customerId);
+            ArrayNode pairItems = pairs.putArray("items");
+            ObjectNode parallel = jsonMapper.createObjectNode().put("customerId", customerId);
+            ArrayNode ids = parallel.putArray("productIds");
+            ArrayNode quantities = parallel.putArray("quantities");
+            for (int i = 0; i < itemCount; i++) {
+                String productId = productIds.get(random.nextInt(productIds.size()));
+                int quantity = 1 + random.nextInt(20);
+                items.add(new BillItemRequest(productId, quantity));
+                pairItems.addArray().add(productId).add(quantity);
+                ids.add(productId);
+                quantities.add(quantity);
+            }
+            String objectBody = jsonMapper.writeValueAsString(new BillCalculationRequest(customerId, items));
+
+            for (String view : new String[] {null, "summary"}) {
+                JsonNode expected = calculate(MediaType.APPLICATION_JSON, objectBody, view);
+                assertEquals(expected, calculate(CompactBillCalculationRequest.MEDIA_TYPE, pairs.toString(), view),
+                    "pairs, customer " + customerId + ", view " + view);
+                assertEquals(expected, calculate(CompactBillCalculationRequest.MEDIA_TYPE, parallel.toString(), view),
+                    "parallel arrays, customer " + customerId + ", view " + view);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should deserialize pairs and parallel arrays into the same request")
+    void shouldDeserializeBothShapes() throws Exception {
+        CompactBillCalculationRequest pairs = jsonMapper.readValue(
+            "{\"customerId\":\"c1\",\"items\":[[\"p1\",2],[\"p2\",5]],\"extra\":{\"ignored\":[1]}}",
+            CompactBillCalculationRequest.class);
+        CompactBillCalculationRequest parallel = jsonMapper.readValue(
+            "{\"productIds\":[\"p1\",\"p2\"],\"quantities\":[2,5],\"customerId\":\"c1\"}",
+            CompactBillCalculationRequest.class);
+
+        assertEquals(pairs, parallel);
+        assertArrayEquals(new String[] {"p1", "p2"}, pairs.getProductIds());
+        assertArrayEquals(new int[] {2, 5}, pairs.getQuantities());
+        assertNull(pairs.getCouponCode());
+        assertEquals("SAVE10", jsonMapper.readValue(
+            "{\"customerId\":\"c1\",\"couponCode\":\"SAVE10\",\"productIds\":[\"p1\"],\"quantities\":[1]}",
+            CompactBillCalculationRequest.class).getCouponCode());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid compact requests with bad request")
+    void shouldRejectInvalidCompactRequests() throws Exception {
+        String[] invalidBodies = {
+            "{\"items\":[[\"product-1\",1]]}",
+            "{\"customerId\":\"regular\",\"items\":[]}",
+            "{\"customerId\":\"regular\",\"items\":[[\"product-1\",0]]}",
+            "{\"customerId\":\"regular\",\"items\":[[null,1]]}",
+            "{\"customerId\":\"regular\",\"productIds\":[\"product-1\"],\"quantities\":[1,2]}",
+            "{\"customerId\":\"regular\",\"couponCode\":\"" + "C".repeat(65) + "\",\"items\":[[\"product-1\",1]]}"
+        };
+        for (String body : invalidBodies) {
+            mockMvc.perform(post("/api/v1/bills/calculate")
+                    .contentType(CompactBillCalculationRequest.MEDIA_TYPE)
+                    .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.meta.errorCode").value("INVALID_ARGUMENT"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject structurally malformed compact payloads")
+    void shouldRejectMalformedPairs() throws Exception {
+        String[] malformedBodies = {
+            "{\"customerId\":\"regular\",\"items\":[[\"product-1\",1,3]]}",
+            "{\"customerId\":\"regular\",\"items\":[{\"productId\":\"product-1\",\"quantity\":1}]}",
+            "{\"customerId\":\"regular\",\"items\":[[\"product-1\",\"1\"]]}",
+            "{\"customerId\":\"regular\",\"items\":[[\"product-1\",3000000000]]}"
+        };
+        for (String body : malformedBodies) {
+            assertThrows(Exception.class, () -> jsonMapper.readValue(body, CompactBillCalculationRequest.class), body);
+        }
+    }
+}
@@ -211,7 +211,7 @@ class RepositoryTest {
         String customerId = "customer123";
         Product product = Product.create("Laptop", "Gaming laptop", Money.of("1000.00"), ProductCategory.ELECTRONICS);
         BillItem billItem = BillItem.create(product, 1);
-        Bill bill = Bill.create(customerId, List.of(billItem));
+        Bill bill = Bill.create(customerId, List.of(billItem), LocalDateTime.now());
         
         when(mongoTemplate.save(bill)).thenReturn(bill);
         
@@ -231,7 +231,7 @@ class RepositoryTest {
         String customerId = "customer123";
         Product product = Product.create("Laptop", "Gaming laptop", Money.of("1000.00"), ProductCategory.ELECTRONICS);
         BillItem billItem = BillItem.create(product, 1);
-        Bill expectedBill = Bill.create(customerId, List.of(billItem));
+        Bill expectedBill = Bill.create(customerId, List.of(billItem), LocalDateTime.now());
         
         when(mongoTemplate.findById(billId, Bill.class)).thenReturn(expectedBill);
         
@@ -256,8 +256,8 @@ class RepositoryTest {
         BillItem billItem2 = BillItem.create(product, 2);
         
         List<Bill> expectedBills = List.of(
-            Bill.create(customerId1, List.of(billItem1)),
-            Bill.create(customerId2, List.of(billItem2))
+            Bill.create(customerId1, List.of(billItem1), LocalDateTime.now()),
+            Bill.create(customerId2, List.of(billItem2), LocalDateTime.now())
         );
         
         when(mongoTemplate.findAll(Bill.class)).thenReturn(expectedBills);
@@ -279,7 +279,7 @@ class RepositoryTest {
         Product product = Product.create("Laptop", "Gaming laptop", Money.of("1000.00"), ProductCategory.ELECTRONICS);
         BillItem billItem = BillItem.create(product, 1);
         
-        List<Bill> expectedBills = List.of(Bill.create(customerId, List.of(billItem)));
+        List<Bill> expectedBills = List.of(Bill.create(customerId, List.of(billItem), LocalDateTime.now()));
         
         when(mongoTemplate.find(any(Query.class), eq(Bill.class))).thenReturn(expectedBills);
         
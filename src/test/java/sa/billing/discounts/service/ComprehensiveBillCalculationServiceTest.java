@@ -14,7 +14,9 @@ import sa.billing.discounts.infrastructure.persistence.repository.CustomerReposi
 import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
 import sa.billing.discounts.application.dto.BillCalculationRequest;
 import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
 import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.dto.BillLineView;
 import sa.billing.discounts.domain.model.customer.Customer;
 import sa.billing.discounts.domain.model.product.Product;
 import sa.billing.discounts.domain.model.product.ProductCategory;
@@ -49,7 +51,8 @@ class ComprehensiveBillCalculationServiceTest {
         when(discountConfig.getBillThreshold()).thenReturn(new BigDecimal("100.00"));
         when(discountConfig.getBillDiscountAmount()).thenReturn(new BigDecimal("5.00"));
         
-        billCalculationService = new BillCalculationService(customerRepository, productRepository, discountConfig);
+        billCalculationService = BillCalculationService.builder(customerRepository, productRepository)
+            .discountConfig(discountConfig).build();
     }
     
     private Customer createCustomerWithId(String id, Customer customer) {
@@ -249,4 +252,94 @@ class ComprehensiveBillCalculationServiceTest {
         // Should get bill-based discount for orders over threshold
         assertTrue(response.getTotalDiscount().compareTo(BigDecimal.ZERO) >= 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return the same totals in summary view as in the full response")
+    void shouldReturnSameTotalsInSummaryView() {
+        // Given
+        Customer employee = createCustomerWithId("emp3", Customer.createEmployee("Sam", "sam@company.com", LocalDateTime.now().minusYears(1)));
+        Product laptop = Product.create("Laptop", "Work laptop", Money.of("800.00"), ProductCategory.ELECTRONICS);
+        Product groceries = Product.create("Groceries", "Food items", Money.of("100.00"), ProductCategory.GROCERY);
+        
+        BillCalculationRequest request = new BillCalculationRequest("emp3", Arrays.asList(
+            new BillItemRequest("laptop1", 1), new BillItemRequest("food1", 2)));
+        
+        when(customerRepository.findById("emp3")).thenReturn(Optional.of(employee));
+        when(productRepository.findById("laptop1")).thenReturn(Optional.of(laptop));
+        when(productRepository.findById("food1")).thenReturn(Optional.of(groceries));
+        
+        // When
+        BillCalculationResponse full = billCalculationService.calculateBillDiscount(request);
+        BillCalculationSummaryResponse summary = billCalculationService.calculateBillSummary(request);
+        
+        // Then
+        assertEquals("emp3", summary.getCustomerId());
+        assertEquals(new BigDecimal("1000.00"), summary.getSubtotal());
+        assertEquals(new BigDecimal("240.00"), summary.getPercentageBasedDiscount());
+        assertEquals("EMPLOYEE", summary.getPercentageDiscountType());
+        assertEquals(new BigDecimal("50.00"), summary.getBillBasedDiscount());
+        assertEquals(full.getTotalDiscount(), summary.getTotalDiscount());
+        assertEquals(full.getNetAmount(), summary.getNetAmount());
+        assertEquals(new BigDecimal("710.00"), summary.getNetAmount());
+    }
+
+    @Test
+    @DisplayName("Should resolve each product once when lines repeat")
+    void shouldCoalesceDuplicateLines() {
+        // Given
+        Customer employee = createCustomerWithId("emp4", Customer.createEmployee("Kim", "kim@company.com", LocalDateTime.now().minusYears(1)));
+        Product cable = Product.create("Cable", "USB cable", Money.of("12.50"), ProductCategory.ELECTRONICS);
+        Product milk = Product.create("Milk", "1L", Money.of("3.25"), ProductCategory.GROCERY);
+        
+        BillCalculationRequest request = new BillCalculationRequest("emp4", Arrays.asList(
+            new BillItemRequest("cable1", 2),
+            new BillItemRequest("milk1", 1),
+            new BillItemRequest("cable1", 3),
+            new BillItemRequest("milk1", 4),
+            new BillItemRequest("cable1", 1)));
+        
+        when(customerRepository.findById("emp4")).thenReturn(Optional.of(employee));
+        when(productRepository.findById("cable1")).thenReturn(Optional.of(cable));
+        when(productRepository.findById("milk1")).thenReturn(Optional.of(milk));
+        
+        // When
+        BillCalculationResponse original = billCalculationService.calculateBillDiscount(request, BillLineView.ORIGINAL);
+        BillCalculationResponse merged = billCalculationService.calculateBillDiscount(request, BillLineView.MERGED);
+        
+        // Then
+        assertEquals(5, original.getItems().size());
+        assertEquals(3, original.getItems().get(2).getQuantity());
+        assertEquals(new BigDecimal("37.50"), original.getItems().get(2).getTotalPrice());
+        
+        assertEquals(2, merged.getItems().size());
+        assertEquals(6, merged.getItems().get(0).getQuantity());
+        assertEquals(new BigDecimal("75.00"), merged.getItems().get(0).getTotalPrice());
+        assertEquals(5, merged.getItems().get(1).getQuantity());
+        
+        assertEquals(new BigDecimal("91.25"), original.getSubtotal());
+        assertEquals(original.getSubtotal(), merged.getSubtotal());
+        assertEquals(original.getTotalDiscount(), merged.getTotalDiscount());
+        assertEquals(original.getNetAmount(), merged.getNetAmount());
+        
+        verify(productRepository, times(2)).findById("cable1");
+        verify(productRepository, times(2)).findById("milk1");
+    }
+
+    @Test
+    @DisplayName("Should reject merged quantities that overflow")
+    void shouldRejectOverflowingMergedQuantity() {
+        // Given
+        Customer regular = createCustomerWithId("regular2", Customer.createRegular("Lee", "lee@customer.com", LocalDateTime.now()));
+        BillCalculationRequest request = new BillCalculationRequest("regular2", Arrays.asList(
+            new BillItemRequest("bulk1", Integer.MAX_VALUE),
+            new BillItemRequest("bulk1", 1)));
+        
+        when(customerRepository.findById("regular2")).thenReturn(Optional.of(regular));
+        
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> billCalculationService.calculateBillDiscount(request));
+        assertTrue(exception.getMessage().contains("bulk1"));
+        verifyNoInteractions(productRepository);
+    }
+}
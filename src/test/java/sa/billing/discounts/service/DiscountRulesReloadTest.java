@@ -0,0 +1,143 @@
+package sa.billing.discounts.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.application.config.CategoryParameters;
+import sa.billing.discounts.application.config.DiscountConfig;
+import sa.billing.discounts.application.config.DiscountParameters;
+import sa.billing.discounts.application.config.DiscountRules;
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.persistence.repository.CustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Discount Rules Reload Tests")
+class DiscountRulesReloadTest {
+
+    private DiscountRules discountRules;
+    private BillCalculationService billCalculationService;
+    private BillCalculationRequest request;
+
+    @BeforeEach
+    void setUp() {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        Customer employee = withId(Customer.createEmployee("John", "john@company.com", LocalDateTime.now().minusYears(1)), "emp1");
+        Product laptop = Product.create("Laptop", "Gaming laptop", Money.of("1000.00"), ProductCategory.ELECTRONICS);
+        when(customerRepository.findById("emp1")).thenReturn(Optional.of(employee));
+        when(productRepository.findById("laptop1")).thenReturn(Optional.of(laptop));
+
+        discountRules = new DiscountRules(new DiscountConfig());
+        billCalculationService = BillCalculationService.builder(customerRepository, productRepository)
+            .discountRules(discountRules).build();
+        request = new BillCalculationRequest("emp1", List.of(new BillItemRequest("laptop1", 1)));
+    }
+
+    private static Customer withId(Customer customer, String id) {
+        try {
+            java.lang.reflect.Field idField = Customer.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(customer, id);
+            return customer;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not set customer ID for test", e);
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply reloaded rules and report the version used")
+    void shouldApplyReloadedRules() {
+        BillCalculationResponse before = billCalculationService.calculateBillDiscount(request);
+        assertEquals(1, before.getConfigVersion());
+        assertEquals(new BigDecimal("300.00"), before.getPercentageBasedDiscount());
+        assertEquals(new BigDecimal("50.00"), before.getBillBasedDiscount());
+
+        discountRules.reload(new DiscountParameters(new BigDecimal("20"), null, null,
+            new BigDecimal("500"), new BigDecimal("10")), "test");
+
+        BillCalculationResponse after = billCalculationService.calculateBillDiscount(request);
+        assertEquals(2, after.getConfigVersion());
+        assertEquals(new BigDecimal("200.00"), after.getPercentageBasedDiscount());
+        assertEquals(new BigDecimal("20.00"), after.getBillBasedDiscount());
+        BillCalculationSummaryResponse summary = billCalculationService.calculateBillSummary(request);
+        assertEquals(2, summary.getConfigVersion());
+        assertEquals(after.getNetAmount(), summary.getNetAmount());
+    }
+
+    @Test
+    @DisplayName("Should apply category rate overrides and exclusions from reloaded rules")
+    void shouldApplyCategoryRules() {
+        discountRules.reload(new DiscountParameters(null, null, null, null, null,
+            Map.of(ProductCategory.ELECTRONICS, new CategoryParameters(null, new BigDecimal("10"), null, null))), "test");
+
+        BillCalculationResponse reduced = billCalculationService.calculateBillDiscount(request);
+        assertEquals(new BigDecimal("100.00"), reduced.getPercentageBasedDiscount());
+        assertTrue(reduced.getItems().get(0).isEligibleForPercentageDiscount());
+        assertEquals(reduced.getNetAmount(), billCalculationService.calculateBillSummary(request).getNetAmount());
+
+        discountRules.reload(new DiscountParameters(null, null, null, null, null,
+            Map.of(ProductCategory.ELECTRONICS, new CategoryParameters(false, null, null, null))), "test");
+
+        BillCalculationResponse excluded = billCalculationService.calculateBillDiscount(request);
+        assertEquals(0, excluded.getPercentageBasedDiscount().signum());
+        assertFalse(excluded.getItems().get(0).isEligibleForPercentageDiscount());
+        assertEquals(new BigDecimal("50.00"), excluded.getBillBasedDiscount());
+    }
+
+    @Test
+    @DisplayName("Should never mix two rule set versions within one calculation")
+    void shouldNeverMixVersions() throws Exception {
+        DiscountParameters low = new DiscountParameters(new BigDecimal("10"), null, null,
+            new BigDecimal("100"), new BigDecimal("1"));
+        DiscountParameters high = new DiscountParameters(new BigDecimal("40"), null, null,
+            new BigDecimal("200"), new BigDecimal("20"));
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> reloads = executor.submit(() -> {
+                for (int i = 0; running.get(); i++) {
+                    discountRules.reload(i % 2 == 0 ? high : low, "test");
+                }
+            });
+            for (int i = 0; i < 2_000; i++) {
+                BillCalculationResponse response = billCalculationService.calculateBillDiscount(request);
+                // 10% goes with $1 per $100 and 40% with $20 per $200; any other pairing is a torn read
+                boolean lowRules = new BigDecimal("100.00").equals(response.getPercentageBasedDiscount())
+                    && new BigDecimal("10.00").equals(response.getBillBasedDiscount());
+                boolean highRules = new BigDecimal("400.00").equals(response.getPercentageBasedDiscount())
+                    && new BigDecimal("100.00").equals(response.getBillBasedDiscount());
+                boolean startupRules = response.getConfigVersion() == 1;
+                assertTrue(lowRules || highRules || startupRules, response.toString());
+                assertEquals(response.getConfigVersion() % 2 == 0, highRules, response.toString());
+            }
+            running.set(false);
+            reloads.get(5, TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package sa.billing.discounts.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationResponse;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.application.service.DraftBillService;
+import sa.billing.discounts.application.service.PromotionService;
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.LoyaltyPolicy;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryBillRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryCustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryProductRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryPromotionRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Request Clock Tests")
+class RequestClockTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private InMemoryCustomerRepository customerRepository;
+    private InMemoryProductRepository productRepository;
+    private Product laptop;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = new InMemoryCustomerRepository();
+        productRepository = new InMemoryProductRepository();
+        laptop = productRepository.save(Product.create("Laptop", "desc", Money.of("1000.00"), ProductCategory.ELECTRONICS));
+    }
+
+    private BillCalculationService service(LoyaltyPolicy policy, Clock clock) {
+        return BillCalculationService.builder(customerRepository, productRepository)
+            .promotions(new PromotionService(new InMemoryPromotionRepository(), Duration.ofMinutes(1)))
+            .loyaltyPolicy(policy)
+            .clock(clock)
+            .build();
+    }
+
+    private static Clock at(LocalDateTime time) {
+        return Clock.fixed(time.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+
+    private BillCalculationResponse calculate(BillCalculationService service, Customer customer) {
+        return service.calculateBillDiscount(
+            new BillCalculationRequest(customer.getId(), List.of(new BillItemRequest(laptop.getId(), 1))));
+    }
+
+    @Test
+    @DisplayName("Should ask the loyalty policy once per calculation, at the clock's time")
+    void shouldDecideLoyaltyOncePerCalculation() {
+        Customer customer = customerRepository.save(Customer.createRegular("R", "r@store.com", NOW.minusYears(3)));
+        List<LocalDateTime> asked = new ArrayList<>();
+        BillCalculationService service = service((c, time) -> {
+            asked.add(time);
+            return LoyaltyPolicy.TENURE.isLoyal(c, time);
+        }, at(NOW));
+
+        BillCalculationResponse response = calculate(service, customer);
+
+        assertEquals(List.of(NOW), asked);
+        assertEquals("LOYALTY", response.getPercentageDiscountType());
+        assertEquals(NOW, response.getCalculatedAt());
+    }
+
+    @Test
+    @DisplayName("Should stamp summaries with the same reading of the clock the calculation used")
+    void shouldStampSummaryWithClock() {
+        Customer customer = customerRepository.save(Customer.createRegular("R", "r@store.com", NOW.minusYears(3)));
+
+        BillCalculationSummaryResponse summary = service(LoyaltyPolicy.TENURE, at(NOW)).calculateBillSummary(
+            new BillCalculationRequest(customer.getId(), List.of(new BillItemRequest(laptop.getId(), 1))));
+
+        assertEquals(NOW, summary.getCalculatedAt());
+        assertEquals("LOYALTY", summary.getPercentageDiscountType());
+    }
+
+    @Test
+    @DisplayName("Should grant tenure loyalty only once the second anniversary has passed")
+    void shouldGrantLoyaltyAfterCutoff() {
+        Customer customer = customerRepository.save(Customer.createRegular("R", "r@store.com", NOW.minusYears(2)));
+
+        BillCalculationResponse atCutoff = calculate(service(LoyaltyPolicy.TENURE, at(NOW)), customer);
+        BillCalculationResponse justAfter = calculate(
+            service(LoyaltyPolicy.TENURE, Clock.offset(at(NOW), Duration.ofNanos(1))), customer);
+
+        assertNull(atCutoff.getPercentageDiscountType());
+        assertEquals(0, atCutoff.getPercentageBasedDiscount().signum());
+        assertEquals("LOYALTY", justAfter.getPercentageDiscountType());
+    }
+
+    @Test
+    @DisplayName("Should stamp draft edits and the finalized bill with the request clock")
+    void shouldStampDraftWithClock() {
+        Customer customer = customerRepository.save(Customer.createRegular("R", "r@store.com", NOW.minusYears(3)));
+        InMemoryBillRepository billRepository = new InMemoryBillRepository();
+        DraftBillService drafts = new DraftBillService(service(LoyaltyPolicy.TENURE, at(NOW)), billRepository,
+            Duration.ofMinutes(30), 100);
+
+        String draftId = drafts.create(customer.getId()).getDraftId();
+        drafts.addLine(draftId, laptop.getId(), 1);
+        drafts.addLine(draftId, laptop.getId(), 2);
+        drafts.removeLine(draftId, 0);
+        Bill bill = billRepository.findById(drafts.finalizeDraft(draftId).getBillId()).orElseThrow();
+
+        assertEquals(NOW, bill.getCreatedAt());
+        assertEquals(NOW, bill.getUpdatedAt());
+    }
+}
@@ -0,0 +1,186 @@
+package sa.billing.discounts.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sa.billing.discounts.application.config.LoyaltyConfig;
+import sa.billing.discounts.application.dto.BillCalculationRequest;
+import sa.billing.discounts.application.dto.BillCalculationSummaryResponse;
+import sa.billing.discounts.application.dto.BillItemRequest;
+import sa.billing.discounts.application.service.BillCalculationService;
+import sa.billing.discounts.application.service.PromotionService;
+import sa.billing.discounts.application.service.RollingSpendService;
+import sa.billing.discounts.domain.model.bill.Bill;
+import sa.billing.discounts.domain.model.bill.BillItem;
+import sa.billing.discounts.domain.model.customer.Customer;
+import sa.billing.discounts.domain.model.customer.LoyaltyPolicy;
+import sa.billing.discounts.domain.model.product.Product;
+import sa.billing.discounts.domain.model.product.ProductCategory;
+import sa.billing.discounts.domain.model.valueobject.Money;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryBillRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryCustomerRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryProductRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemoryPromotionRepository;
+import sa.billing.discounts.infrastructure.persistence.memory.InMemorySpendWindowRepository;
+import sa.billing.discounts.infrastructure.persistence.repository.FinalizedBillsChangedEvent;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Spend-Based Loyalty Tests")
+class SpendBasedLoyaltyTest {
+
+    private InMemoryCustomerRepository customerRepository;
+    private InMemoryBillRepository billRepository;
+    private InMemorySpendWindowRepository spendWindowRepository;
+    private RollingSpendService rollingSpendService;
+    private BillCalculationService billCalculationService;
+    private Customer newcomer;
+    private Product laptop;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = new InMemoryCustomerRepository();
+        InMemoryProductRepository productRepository = new InMemoryProductRepository();
+        billRepository = new InMemoryBillRepository();
+        spendWindowRepository = new InMemorySpendWindowRepository();
+        newcomer = customerRepository.save(Customer.createRegular("N", "n@store.com", LocalDateTime.now()));
+        laptop = productRepository.save(Product.create("Laptop", "desc", Money.of("990.00"), ProductCategory.ELECTRONICS));
+
+        rollingSpendService = rollingSpendService(10_000);
+        billRepository.setApplicationEventPublisher(
+            event -> rollingSpendService.onFinalizedBillsChanged((FinalizedBillsChangedEvent) event));
+        LoyaltyPolicy policy = new LoyaltyConfig().loyaltyPolicy("spend", rollingSpendService);
+        billCalculationService = BillCalculationService.builder(customerRepository, productRepository)
+            .promotions(new PromotionService(new InMemoryPromotionRepository(), Duration.ofMinutes(1)))
+            .loyaltyPolicy(policy)
+            .build();
+    }
+
+    // Settles at once, so every stored bill is repaired
+    private RollingSpendService rollingSpendService(int maxCached) {
+        return new RollingSpendService(spendWindowRepository, customerRepository, billRepository,
+            Clock.systemDefaultZone(), new BigDecimal("1000"), Duration.ofMinutes(1), maxCached, Duration.ZERO, 2);
+    }
+
+    private void finalizedBill() {
+        Bill bill = Bill.create(newcomer.getId(), List.of(BillItem.create(laptop, 1)), LocalDateTime.now());
+        bill.finalize(LocalDateTime.now());
+        billRepository.save(bill);
+    }
+
+    private BillCalculationSummaryResponse calculate() {
+        return billCalculationService.calculateBillSummary(
+            new BillCalculationRequest(newcomer.getId(), List.of(new BillItemRequest(laptop.getId(), 1))));
+    }
+
+    @Test
+    @DisplayName("Should make a new customer loyal once their spend over twelve months reaches the threshold")
+    void shouldGrantLoyaltyBySpend() {
+        finalizedBill();
+        assertNull(calculate().getPercentageDiscountType());
+
+        finalizedBill();
+        BillCalculationSummaryResponse summary = calculate();
+
+        assertEquals("LOYALTY", summary.getPercentageDiscountType());
+        assertEquals(0, new BigDecimal("49.50").compareTo(summary.getPercentageBasedDiscount()));
+        assertEquals(Money.of("1980.00"), rollingSpendService.spendInWindow(newcomer.getId(), LocalDateTime.now()));
+        assertEquals(Money.zero(), rollingSpendService.spendInWindow(newcomer.getId(), LocalDateTime.now().plusYears(1)));
+    }
+
+    @Test
+    @DisplayName("Should pick up checkpointed windows after a restart")
+    void shouldRestoreFromCheckpoint() {
+        finalizedBill();
+        finalizedBill();
+
+        assertEquals(1, rollingSpendService.checkpoint());
+        assertEquals(0, rollingSpendService.checkpoint());
+
+        RollingSpendService restarted = rollingSpendService(10_000);
+        assertEquals(Money.of("1980.00"), restarted.spendInWindow(newcomer.getId(), LocalDateTime.now()));
+        assertTrue(restarted.isLoyal(newcomer, LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should add up checkpoints from several instances instead of keeping the last one")
+    void shouldAddUpCheckpointsFromSeveralInstances() {
+        RollingSpendService other = rollingSpendService(10_000);
+        Bill bill = Bill.create(newcomer.getId(), List.of(BillItem.create(laptop, 1)), LocalDateTime.now());
+        bill.finalize(LocalDateTime.now());
+        billRepository.save(bill);
+        other.onFinalizedBillsChanged(new FinalizedBillsChangedEvent(bill, false));
+
+        assertEquals(1, rollingSpendService.checkpoint());
+        assertEquals(1, other.checkpoint());
+
+        assertEquals(Money.of("1980.00"), rollingSpendService.spendInWindow(newcomer.getId(), LocalDateTime.now()));
+        assertEquals(Money.of("1980.00"), other.spendInWindow(newcomer.getId(), LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should seed windows from bills finalized before the service started and undo lost deltas")
+    void shouldRepairFromBills() {
+        billRepository.setApplicationEventPublisher(event -> { });
+        finalizedBill();
+        finalizedBill();
+        Customer other = customerRepository.save(Customer.createRegular("O", "o@store.com", LocalDateTime.now()));
+
+        assertEquals(1, rollingSpendService.repair());
+        assertTrue(rollingSpendService.isLoyal(newcomer, LocalDateTime.now()));
+        assertFalse(rollingSpendService.isLoyal(other, LocalDateTime.now()));
+        assertEquals(0, rollingSpendService.repair());
+
+        RollingSpendService restarted = rollingSpendService(10_000);
+        assertEquals(Money.of("1980.00"), restarted.spendInWindow(newcomer.getId(), LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should not rewrite a window over months that have left it")
+    void shouldIgnoreMonthsOutsideWindowWhenRepairing() {
+        Bill old = Bill.create(newcomer.getId(), List.of(BillItem.create(laptop, 1)), LocalDateTime.now().minusMonths(14));
+        old.finalize(LocalDateTime.now().minusMonths(14));
+        billRepository.save(old);
+        finalizedBill();
+        assertEquals(1, rollingSpendService.checkpoint());
+
+        assertEquals(0, rollingSpendService.repair());
+        assertEquals(0, rollingSpendService.repair());
+        assertEquals(Money.of("990.00"), rollingSpendService.spendInWindow(newcomer.getId(), LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should evict cached windows when full but keep the ones still to checkpoint")
+    void shouldBoundCachedWindows() {
+        RollingSpendService small = rollingSpendService(1);
+        billRepository.setApplicationEventPublisher(
+            event -> small.onFinalizedBillsChanged((FinalizedBillsChangedEvent) event));
+        finalizedBill();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Money.zero(), small.spendInWindow("someone-" + i, LocalDateTime.now()));
+        }
+
+        assertEquals(Money.of("990.00"), small.spendInWindow(newcomer.getId(), LocalDateTime.now()));
+        assertEquals(1, small.checkpoint());
+        assertEquals(Money.of("990.00"), small.spendInWindow(newcomer.getId(), LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should keep the tenure rule by default and reject unknown rules")
+    void shouldSelectRule() {
+        LoyaltyConfig config = new LoyaltyConfig();
+        Customer veteran = Customer.createRegular("V", "v@store.com", LocalDateTime.now().minusYears(3));
+
+        assertSame(LoyaltyPolicy.TENURE, config.loyaltyPolicy("tenure", rollingSpendService));
+        assertTrue(config.loyaltyPolicy("either", rollingSpendService).isLoyal(veteran, LocalDateTime.now()));
+        assertFalse(config.loyaltyPolicy("spend", rollingSpendService).isLoyal(veteran, LocalDateTime.now()));
+        assertThrows(IllegalArgumentException.class, () -> config.loyaltyPolicy("lifetime", rollingSpendService));
+    }
+}